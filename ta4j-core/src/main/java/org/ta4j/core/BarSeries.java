@@ -155,6 +155,27 @@ public interface BarSeries extends Serializable {
      */
     void setMaximumBarCount(int maximumBarCount);
 
+    /**
+     * Returns whether this series and the indicators built on it are confined to a
+     * single thread.
+     *
+     * <p>
+     * Indicators read this flag when they are created: on a thread-confined series,
+     * {@link org.ta4j.core.indicators.CachedIndicator CachedIndicator} caches use
+     * plain array reads and writes without locks or memory fences, which removes
+     * the synchronization overhead of single-threaded workloads such as backtests.
+     * Such indicators must then only be used by one thread at a time (or be handed
+     * over with external synchronization).
+     *
+     * @return {@code true} if the series is thread-confined; {@code false} (the
+     *         default) for the thread-safe caching path
+     *
+     * @since 0.22.5
+     */
+    default boolean isThreadConfined() {
+        return false;
+    }
+
     /**
      * @return the number of removed bars
      */
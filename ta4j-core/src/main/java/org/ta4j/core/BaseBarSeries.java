@@ -62,6 +62,10 @@ public class BaseBarSeries implements BarSeries {
      * The number of removed bars.
      */
     private int removedBarsCount = 0;
+    /**
+     * True if indicators built on this series are confined to a single thread.
+     */
+    private boolean threadConfined;
 
     /**
      * Convenience constructor for BaseBarSeries minimizing upfront parameter
@@ -145,7 +149,8 @@ public class BaseBarSeries implements BarSeries {
         }
         var builder = new BaseBarSeriesBuilder().withName(getName())
                 .withNumFactory(this.numFactory)
-                .withMaxBarCount(this.maximumBarCount);
+                .withMaxBarCount(this.maximumBarCount)
+                .withThreadConfined(this.threadConfined);
         if (!this.bars.isEmpty()) {
             var removedBarsCount = getRemovedBarsCount();
             var start = startIndex - removedBarsCount;
@@ -230,6 +235,19 @@ public class BaseBarSeries implements BarSeries {
         return this.constrained;
     }
 
+    /**
+     * @see BaseBarSeriesBuilder#withThreadConfined(boolean)
+     * @since 0.22.5
+     */
+    @Override
+    public boolean isThreadConfined() {
+        return this.threadConfined;
+    }
+
+    void setThreadConfined(final boolean threadConfined) {
+        this.threadConfined = threadConfined;
+    }
+
     @Override
     public void setMaximumBarCount(final int maximumBarCount) {
         if (this.constrained) {
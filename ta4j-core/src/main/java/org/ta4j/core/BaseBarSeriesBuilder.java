@@ -22,6 +22,7 @@ public class BaseBarSeriesBuilder implements BarSeriesBuilder {
     private String name;
     private boolean constrained;
     private int maxBarCount;
+    private boolean threadConfined;
     private boolean isNumFactoryAssigned = false;
     private NumFactory numFactory = DecimalNumFactory.getInstance();
     private BarBuilderFactory barBuilderFactory = new TimeBarBuilderFactory();
@@ -36,6 +37,7 @@ public class BaseBarSeriesBuilder implements BarSeriesBuilder {
         this.name = "unnamed_series";
         this.constrained = false;
         this.maxBarCount = Integer.MAX_VALUE;
+        this.threadConfined = false;
     }
 
     @Override
@@ -67,6 +69,7 @@ public class BaseBarSeriesBuilder implements BarSeriesBuilder {
         var series = new BaseBarSeries(name == null ? UNNAMED_SERIES_NAME : name, bars, beginIndex, endIndex,
                 constrained, numFactory, barBuilderFactory);
         series.setMaximumBarCount(maxBarCount);
+        series.setThreadConfined(threadConfined);
         initValues(); // reinitialize values for next series
         return series;
     }
@@ -131,6 +134,26 @@ public class BaseBarSeriesBuilder implements BarSeriesBuilder {
         return this;
     }
 
+    /**
+     * Confines the series and the indicators built on it to a single thread.
+     *
+     * <p>
+     * Indicator caches then skip all locking (see
+     * {@link BarSeries#isThreadConfined()}), which suits backtests where each
+     * indicator graph is only touched by the thread running it. Use a
+     * {@link ConcurrentBarSeries} when indicators are shared between threads.
+     *
+     * @param threadConfined to set {@link BaseBarSeries#isThreadConfined()}
+     *                       (default {@code false})
+     * @return {@code this}
+     *
+     * @since 0.22.5
+     */
+    public BaseBarSeriesBuilder withThreadConfined(boolean threadConfined) {
+        this.threadConfined = threadConfined;
+        return this;
+    }
+
     /**
      * @param barBuilderFactory to build bars with the same datatype as series (by
      *                          default, uses {@link TimeBarBuilderFactory})
@@ -0,0 +1,591 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core;
+
+import java.io.Serial;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+/**
+ * Column-oriented {@link BarSeries} implementation backed by primitive arrays.
+ *
+ * <p>
+ * Instead of keeping one {@link BaseBar} object (six {@link Num} fields and two
+ * {@link Instant instants}) per bar, this series stores every bar field in a
+ * parallel {@code double[]}/{@code long[]} column (open, high, low, close,
+ * volume, amount, trades, begin/end epoch nanoseconds). This removes the
+ * per-bar object overhead, which dominates heap usage and GC time for long,
+ * fine-grained histories.
+ *
+ * <p>
+ * {@link #getBar(int)} returns a lightweight flyweight view over the columns.
+ * {@link Num} values are materialized through the series {@link NumFactory} on
+ * access, so callers that only need primitive values should prefer the
+ * {@link DoubleBarSeries} accessors. Values are stored as {@code double},
+ * therefore this series is intended for {@link org.ta4j.core.num.DoubleNum}
+ * based analysis; a {@link org.ta4j.core.num.DecimalNum} factory is accepted
+ * but precision is limited to {@code double}. Missing ({@code null}) bar fields
+ * are stored as {@link Double#NaN} and read back as {@link NaN#NaN}.
+ *
+ * <p>
+ * When a {@code maximumBarCount} is set, the columns are used as a ring buffer:
+ * once the retention limit is reached, each new bar overwrites the oldest slot
+ * in place, so old bars are dropped without copying.
+ *
+ * <p>
+ * Bar views stay valid as long as their bar is retained by the series; reading
+ * a view whose bar has been evicted throws an {@link IllegalStateException}.
+ * This class is not thread-safe.
+ *
+ * @since 0.22.5
+ */
+public class ColumnarBarSeries implements DoubleBarSeries {
+
+    @Serial
+    private static final long serialVersionUID = 2953427816405112075L;
+
+    /** Initial column capacity for series without a maximum bar count. */
+    static final int DEFAULT_INITIAL_CAPACITY = 256;
+
+    private final String name;
+    private final NumFactory numFactory;
+    private final BarBuilderFactory barBuilderFactory;
+
+    private double[] openPrices;
+    private double[] highPrices;
+    private double[] lowPrices;
+    private double[] closePrices;
+    private double[] volumes;
+    private double[] amounts;
+    private long[] trades;
+    private long[] beginTimes;
+    private long[] endTimes;
+
+    /** Slot of the oldest retained bar. */
+    private int head;
+
+    /** Number of retained bars. */
+    private int size;
+
+    private int seriesBeginIndex = -1;
+    private int seriesEndIndex = -1;
+    private int maximumBarCount = Integer.MAX_VALUE;
+    private int removedBarsCount;
+
+    /**
+     * Stable view of the last bar, so that mutation-aware caches can rely on its
+     * identity until the bar is replaced or a new bar is added.
+     */
+    private transient ColumnarBar lastBarView;
+
+    /**
+     * Constructor.
+     *
+     * @param name              the name of the series
+     * @param numFactory        the factory of numbers used to materialize bar
+     *                          values
+     * @param barBuilderFactory factory for creating bars of this series
+     * @param initialCapacity   the initial capacity of the columns
+     */
+    ColumnarBarSeries(final String name, final NumFactory numFactory, final BarBuilderFactory barBuilderFactory,
+            final int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be strictly positive");
+        }
+        this.name = name;
+        this.numFactory = Objects.requireNonNull(numFactory, "numFactory must not be null");
+        this.barBuilderFactory = Objects.requireNonNull(barBuilderFactory, "barBuilderFactory must not be null");
+        allocate(initialCapacity);
+    }
+
+    private void allocate(final int capacity) {
+        this.openPrices = new double[capacity];
+        this.highPrices = new double[capacity];
+        this.lowPrices = new double[capacity];
+        this.closePrices = new double[capacity];
+        this.volumes = new double[capacity];
+        this.amounts = new double[capacity];
+        this.trades = new long[capacity];
+        this.beginTimes = new long[capacity];
+        this.endTimes = new long[capacity];
+    }
+
+    @Override
+    public NumFactory numFactory() {
+        return numFactory;
+    }
+
+    @Override
+    public BarBuilder barBuilder() {
+        return barBuilderFactory.createBarBuilder(this);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Bar getBar(final int i) {
+        final int offset = toOffset(i);
+        final int index = removedBarsCount + offset;
+        if (index == seriesEndIndex) {
+            ColumnarBar view = lastBarView;
+            if (view == null || view.index != index) {
+                view = new ColumnarBar(index);
+                lastBarView = view;
+            }
+            return view;
+        }
+        return new ColumnarBar(index);
+    }
+
+    @Override
+    public int getBarCount() {
+        if (seriesEndIndex < 0) {
+            return 0;
+        }
+        final int startIndex = Math.max(removedBarsCount, seriesBeginIndex);
+        return seriesEndIndex - startIndex + 1;
+    }
+
+    /**
+     * Returns a read-only view of the retained bars. The returned list does not
+     * copy any data; its elements are flyweight views over the columns.
+     *
+     * @return the retained bars
+     */
+    @Override
+    public List<Bar> getBarData() {
+        return new BarDataView();
+    }
+
+    @Override
+    public int getBeginIndex() {
+        return seriesBeginIndex;
+    }
+
+    @Override
+    public int getEndIndex() {
+        return seriesEndIndex;
+    }
+
+    @Override
+    public int getMaximumBarCount() {
+        return maximumBarCount;
+    }
+
+    @Override
+    public void setMaximumBarCount(final int maximumBarCount) {
+        if (maximumBarCount <= 0) {
+            throw new IllegalArgumentException("Maximum bar count must be strictly positive");
+        }
+        this.maximumBarCount = maximumBarCount;
+        if (size > maximumBarCount) {
+            final int barsToRemove = size - maximumBarCount;
+            head = slot(barsToRemove);
+            size = maximumBarCount;
+            removedBarsCount += barsToRemove;
+            seriesBeginIndex = Math.max(seriesBeginIndex, removedBarsCount);
+        }
+        if (capacity() > maximumBarCount) {
+            relayout(maximumBarCount);
+        }
+    }
+
+    @Override
+    public int getRemovedBarsCount() {
+        return removedBarsCount;
+    }
+
+    /**
+     * @throws NullPointerException if {@code bar} is {@code null}
+     */
+    @Override
+    public void addBar(final Bar bar, final boolean replace) {
+        Objects.requireNonNull(bar, "bar must not be null");
+        if (!numFactory.produces(bar.getClosePrice())) {
+            throw new IllegalArgumentException(
+                    String.format("Cannot add Bar with data type: %s to series with datatype: %s",
+                            bar.getClosePrice().getClass(), numFactory.one().getClass()));
+        }
+        if (size > 0) {
+            if (replace) {
+                write(slot(size - 1), bar);
+                lastBarView = null;
+                return;
+            }
+            final long seriesEndTime = endTimes[slot(size - 1)];
+            if (toEpochNanos(bar.getEndTime()) <= seriesEndTime) {
+                throw new IllegalArgumentException(
+                        String.format("Cannot add a bar with end time:%s that is <= to series end time: %s",
+                                bar.getEndTime(), toInstant(seriesEndTime)));
+            }
+        }
+
+        if (size == maximumBarCount) {
+            // Ring mode: overwrite the oldest slot in place
+            final int target = head;
+            head = slot(1);
+            removedBarsCount++;
+            write(target, bar);
+            seriesBeginIndex = Math.max(seriesBeginIndex, removedBarsCount);
+        } else {
+            if (size == capacity()) {
+                final long grown = Math.max(2L * capacity(), DEFAULT_INITIAL_CAPACITY);
+                relayout((int) Math.min(Math.min(grown, maximumBarCount), Integer.MAX_VALUE - 8));
+            }
+            write(slot(size), bar);
+            size++;
+        }
+        if (seriesBeginIndex == -1) {
+            // The begin index is set to 0 if not already initialized:
+            seriesBeginIndex = 0;
+        }
+        seriesEndIndex++;
+        lastBarView = null;
+    }
+
+    @Override
+    public void addTrade(final Num tradeVolume, final Num tradePrice) {
+        getLastBar().addTrade(tradeVolume, tradePrice);
+    }
+
+    @Override
+    public void addPrice(final Num price) {
+        getLastBar().addPrice(price);
+    }
+
+    /**
+     * Returns a new {@code ColumnarBarSeries} holding a copy of the columns between
+     * {@code startIndex} (inclusive) and {@code endIndex} (exclusive).
+     *
+     * @see BarSeries#getSubSeries(int, int)
+     */
+    @Override
+    public ColumnarBarSeries getSubSeries(final int startIndex, final int endIndex) {
+        if (startIndex < 0) {
+            throw new IllegalArgumentException(String.format("the startIndex: %s must not be negative", startIndex));
+        }
+        if (startIndex >= endIndex) {
+            throw new IllegalArgumentException(
+                    String.format("the endIndex: %s must be greater than startIndex: %s", endIndex, startIndex));
+        }
+        final int start = Math.max(startIndex - removedBarsCount, 0);
+        final int end = Math.min(endIndex - removedBarsCount, size);
+        final int count = Math.max(end - start, 0);
+        final var subSeries = new ColumnarBarSeries(name, numFactory, barBuilderFactory, Math.max(count, 1));
+        for (int offset = start; offset < end; offset++) {
+            final int from = slot(offset);
+            final int to = subSeries.size;
+            subSeries.openPrices[to] = openPrices[from];
+            subSeries.highPrices[to] = highPrices[from];
+            subSeries.lowPrices[to] = lowPrices[from];
+            subSeries.closePrices[to] = closePrices[from];
+            subSeries.volumes[to] = volumes[from];
+            subSeries.amounts[to] = amounts[from];
+            subSeries.trades[to] = trades[from];
+            subSeries.beginTimes[to] = beginTimes[from];
+            subSeries.endTimes[to] = endTimes[from];
+            subSeries.size++;
+        }
+        if (count > 0) {
+            subSeries.seriesBeginIndex = 0;
+            subSeries.seriesEndIndex = count - 1;
+        }
+        subSeries.setMaximumBarCount(maximumBarCount);
+        return subSeries;
+    }
+
+    @Override
+    public double getOpenPriceAsDouble(final int index) {
+        return openPrices[slot(toOffset(index))];
+    }
+
+    @Override
+    public double getHighPriceAsDouble(final int index) {
+        return highPrices[slot(toOffset(index))];
+    }
+
+    @Override
+    public double getLowPriceAsDouble(final int index) {
+        return lowPrices[slot(toOffset(index))];
+    }
+
+    @Override
+    public double getClosePriceAsDouble(final int index) {
+        return closePrices[slot(toOffset(index))];
+    }
+
+    @Override
+    public double getVolumeAsDouble(final int index) {
+        return volumes[slot(toOffset(index))];
+    }
+
+    @Override
+    public double getAmountAsDouble(final int index) {
+        return amounts[slot(toOffset(index))];
+    }
+
+    /**
+     * @param index the series index
+     * @return the begin time of the bar at {@code index} in epoch nanoseconds
+     */
+    public long getBeginTimeEpochNanos(final int index) {
+        return beginTimes[slot(toOffset(index))];
+    }
+
+    /**
+     * @param index the series index
+     * @return the end time of the bar at {@code index} in epoch nanoseconds
+     */
+    public long getEndTimeEpochNanos(final int index) {
+        return endTimes[slot(toOffset(index))];
+    }
+
+    /**
+     * Maps a series index to the offset of the retained bar, applying the same
+     * "removed bars map to the first retained bar" rule as {@link BaseBarSeries}.
+     */
+    private int toOffset(final int i) {
+        int offset = i - removedBarsCount;
+        if (offset < 0) {
+            if (i < 0 || size == 0) {
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+            }
+            return 0;
+        }
+        if (offset >= size) {
+            throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+        }
+        return offset;
+    }
+
+    private String buildOutOfBoundsMessage(final int index) {
+        return String.format("Size of series: %s bars, %s bars removed, index = %s", size, removedBarsCount, index);
+    }
+
+    private int capacity() {
+        return closePrices.length;
+    }
+
+    private int slot(final int offset) {
+        final int slot = head + offset;
+        final int capacity = capacity();
+        return slot >= capacity ? slot - capacity : slot;
+    }
+
+    /**
+     * Copies the retained bars into freshly allocated columns of the given
+     * capacity, starting at slot {@code 0}.
+     */
+    private void relayout(final int newCapacity) {
+        final double[] oldOpen = openPrices;
+        final double[] oldHigh = highPrices;
+        final double[] oldLow = lowPrices;
+        final double[] oldClose = closePrices;
+        final double[] oldVolume = volumes;
+        final double[] oldAmount = amounts;
+        final long[] oldTrades = trades;
+        final long[] oldBegin = beginTimes;
+        final long[] oldEnd = endTimes;
+        final int oldHead = head;
+        final int oldCapacity = oldClose.length;
+
+        allocate(Math.max(newCapacity, 1));
+        final int firstChunk = Math.min(size, oldCapacity - oldHead);
+        final int secondChunk = size - firstChunk;
+        copyColumns(oldOpen, oldHigh, oldLow, oldClose, oldVolume, oldAmount, oldTrades, oldBegin, oldEnd, oldHead, 0,
+                firstChunk);
+        copyColumns(oldOpen, oldHigh, oldLow, oldClose, oldVolume, oldAmount, oldTrades, oldBegin, oldEnd, 0,
+                firstChunk, secondChunk);
+        head = 0;
+    }
+
+    private void copyColumns(final double[] open, final double[] high, final double[] low, final double[] close,
+            final double[] volume, final double[] amount, final long[] tradeCounts, final long[] begin,
+            final long[] end, final int from, final int to, final int length) {
+        if (length <= 0) {
+            return;
+        }
+        System.arraycopy(open, from, openPrices, to, length);
+        System.arraycopy(high, from, highPrices, to, length);
+        System.arraycopy(low, from, lowPrices, to, length);
+        System.arraycopy(close, from, closePrices, to, length);
+        System.arraycopy(volume, from, volumes, to, length);
+        System.arraycopy(amount, from, amounts, to, length);
+        System.arraycopy(tradeCounts, from, trades, to, length);
+        System.arraycopy(begin, from, beginTimes, to, length);
+        System.arraycopy(end, from, endTimes, to, length);
+    }
+
+    private void write(final int slot, final Bar bar) {
+        openPrices[slot] = toDouble(bar.getOpenPrice());
+        highPrices[slot] = toDouble(bar.getHighPrice());
+        lowPrices[slot] = toDouble(bar.getLowPrice());
+        closePrices[slot] = toDouble(bar.getClosePrice());
+        volumes[slot] = toDouble(bar.getVolume());
+        amounts[slot] = toDouble(bar.getAmount());
+        trades[slot] = bar.getTrades();
+        beginTimes[slot] = toEpochNanos(bar.getBeginTime());
+        endTimes[slot] = toEpochNanos(bar.getEndTime());
+    }
+
+    private static double toDouble(final Num value) {
+        return value == null ? Double.NaN : value.doubleValue();
+    }
+
+    private Num toNum(final double value) {
+        return Double.isNaN(value) ? NaN.NaN : numFactory.numOf(value);
+    }
+
+    private static long toEpochNanos(final Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+    }
+
+    private static Instant toInstant(final long epochNanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(epochNanos, 1_000_000_000L),
+                Math.floorMod(epochNanos, 1_000_000_000L));
+    }
+
+    /**
+     * Flyweight {@link Bar} view over one row of the columns.
+     */
+    private final class ColumnarBar implements Bar {
+
+        @Serial
+        private static final long serialVersionUID = -6315092614930725375L;
+
+        private final int index;
+
+        private ColumnarBar(final int index) {
+            this.index = index;
+        }
+
+        private int slot() {
+            final int offset = index - removedBarsCount;
+            if (offset < 0 || offset >= size) {
+                throw new IllegalStateException(String.format("Bar %s has been removed from series `%s`", index, name));
+            }
+            return ColumnarBarSeries.this.slot(offset);
+        }
+
+        @Override
+        public Duration getTimePeriod() {
+            final int slot = slot();
+            return Duration.ofNanos(endTimes[slot] - beginTimes[slot]);
+        }
+
+        @Override
+        public Instant getBeginTime() {
+            return toInstant(beginTimes[slot()]);
+        }
+
+        @Override
+        public Instant getEndTime() {
+            return toInstant(endTimes[slot()]);
+        }
+
+        @Override
+        public Num getOpenPrice() {
+            return toNum(openPrices[slot()]);
+        }
+
+        @Override
+        public Num getHighPrice() {
+            return toNum(highPrices[slot()]);
+        }
+
+        @Override
+        public Num getLowPrice() {
+            return toNum(lowPrices[slot()]);
+        }
+
+        @Override
+        public Num getClosePrice() {
+            return toNum(closePrices[slot()]);
+        }
+
+        @Override
+        public Num getVolume() {
+            return toNum(volumes[slot()]);
+        }
+
+        @Override
+        public Num getAmount() {
+            return toNum(amounts[slot()]);
+        }
+
+        @Override
+        public long getTrades() {
+            return trades[slot()];
+        }
+
+        @Override
+        public NumFactory numFactory() {
+            return numFactory;
+        }
+
+        @Override
+        public void addTrade(final Num tradeVolume, final Num tradePrice) {
+            addPrice(tradePrice);
+            final int slot = slot();
+            final double volume = tradeVolume.doubleValue();
+            volumes[slot] = Double.isNaN(volumes[slot]) ? volume : volumes[slot] + volume;
+            final double amount = volume * tradePrice.doubleValue();
+            amounts[slot] = Double.isNaN(amounts[slot]) ? amount : amounts[slot] + amount;
+            trades[slot]++;
+        }
+
+        @Override
+        public void addPrice(final Num price) {
+            final int slot = slot();
+            final double value = price.doubleValue();
+            if (Double.isNaN(openPrices[slot])) {
+                openPrices[slot] = value;
+            }
+            closePrices[slot] = value;
+            if (Double.isNaN(highPrices[slot]) || highPrices[slot] < value) {
+                highPrices[slot] = value;
+            }
+            if (Double.isNaN(lowPrices[slot]) || lowPrices[slot] > value) {
+                lowPrices[slot] = value;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "{end time: %1s, close price: %2s, open price: %3s, low price: %4s high price: %5s, volume: %6s}",
+                    getEndTime(), getClosePrice(), getOpenPrice(), getLowPrice(), getHighPrice(), getVolume());
+        }
+    }
+
+    /**
+     * Read-only list view of the retained bars.
+     */
+    private final class BarDataView extends AbstractList<Bar> implements RandomAccess {
+
+        @Override
+        public Bar get(final int offset) {
+            if (offset < 0 || offset >= size) {
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(removedBarsCount + offset));
+            }
+            return getBar(removedBarsCount + offset);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.ta4j.core.bars.TimeBarBuilderFactory;
+import org.ta4j.core.num.DoubleNumFactory;
+import org.ta4j.core.num.NumFactory;
+
+/**
+ * A builder to build a new {@link ColumnarBarSeries}.
+ *
+ * @since 0.22.5
+ */
+public class ColumnarBarSeriesBuilder implements BarSeriesBuilder {
+
+    /** The name for an unnamed bar series. */
+    private static final String UNNAMED_SERIES_NAME = "unnamed_series";
+
+    private List<Bar> bars;
+    private String name;
+    private int maxBarCount;
+    private int initialCapacity;
+    private NumFactory numFactory;
+    private BarBuilderFactory barBuilderFactory;
+
+    /** Constructor to build a {@code ColumnarBarSeries}. */
+    public ColumnarBarSeriesBuilder() {
+        initValues();
+    }
+
+    private void initValues() {
+        this.bars = new ArrayList<>();
+        this.name = UNNAMED_SERIES_NAME;
+        this.maxBarCount = Integer.MAX_VALUE;
+        this.initialCapacity = ColumnarBarSeries.DEFAULT_INITIAL_CAPACITY;
+        this.numFactory = null;
+        this.barBuilderFactory = new TimeBarBuilderFactory();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 0.22.5
+     */
+    @Override
+    public ColumnarBarSeries build() {
+        int capacity = Math.max(initialCapacity, bars.size());
+        capacity = Math.max(1, Math.min(capacity, maxBarCount));
+        NumFactory factory = numFactory;
+        if (factory == null) {
+            // use numFactory derived from bars instead of default numFactory
+            factory = bars.isEmpty() ? DoubleNumFactory.getInstance() : bars.getFirst().numFactory();
+        }
+        var series = new ColumnarBarSeries(name == null ? UNNAMED_SERIES_NAME : name, factory, barBuilderFactory,
+                capacity);
+        series.setMaximumBarCount(maxBarCount);
+        for (Bar bar : bars) {
+            series.addBar(bar);
+        }
+        initValues(); // reinitialize values for next series
+        return series;
+    }
+
+    /**
+     * @param numFactory {@link NumFactory} used to materialize bar values (by
+     *                   default, uses either the {@code numFactory} derived from
+     *                   the bars or {@link DoubleNumFactory})
+     * @return {@code this}
+     *
+     * @since 0.22.5
+     */
+    public ColumnarBarSeriesBuilder withNumFactory(NumFactory numFactory) {
+        this.numFactory = numFactory;
+        return this;
+    }
+
+    /**
+     * @param name name of the series
+     * @return {@code this}
+     *
+     * @since 0.22.5
+     */
+    public ColumnarBarSeriesBuilder withName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    /**
+     * @param bars initial bars, copied into the columns on {@link #build()}
+     * @return {@code this}
+     *
+     * @since 0.22.5
+     */
+    public ColumnarBarSeriesBuilder withBars(List<Bar> bars) {
+        this.bars = new ArrayList<>(bars);
+        return this;
+    }
+
+    /**
+     * @param maxBarCount maximum retained bars; the columns are then used as a ring
+     *                    buffer of that size
+     * @return {@code this}
+     *
+     * @since 0.22.5
+     */
+    public ColumnarBarSeriesBuilder withMaxBarCount(int maxBarCount) {
+        this.maxBarCount = maxBarCount;
+        return this;
+    }
+
+    /**
+     * @param initialCapacity initial column capacity, useful to avoid regrowth when
+     *                        the number of bars is known upfront
+     * @return {@code this}
+     *
+     * @since 0.22.5
+     */
+    public ColumnarBarSeriesBuilder withInitialCapacity(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be strictly positive");
+        }
+        this.initialCapacity = initialCapacity;
+        return this;
+    }
+
+    /**
+     * @param barBuilderFactory builder factory for bars (by default
+     *                          {@link TimeBarBuilderFactory})
+     * @return {@code this}
+     *
+     * @since 0.22.5
+     */
+    public ColumnarBarSeriesBuilder withBarBuilderFactory(BarBuilderFactory barBuilderFactory) {
+        this.barBuilderFactory = barBuilderFactory;
+        return this;
+    }
+}
@@ -109,6 +109,18 @@ public class ConcurrentBarSeries extends BaseBarSeries {
         return new ArrayList<>(bars.subList(startIndex, endIndex));
     }
 
+    /**
+     * A concurrent series is never thread-confined, so indicators built on it keep
+     * the thread-safe caching path.
+     *
+     * @return {@code false}
+     * @since 0.22.5
+     */
+    @Override
+    public final boolean isThreadConfined() {
+        return false;
+    }
+
     @Override
     public ConcurrentBarSeries getSubSeries(final int startIndex, final int endIndex) {
         this.readLock.lock();
@@ -0,0 +1,60 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core;
+
+import org.ta4j.core.num.Num;
+
+/**
+ * {@link BarSeries} that stores its bar values as primitive {@code double}
+ * values and can read them without materializing a {@link Num}.
+ *
+ * <p>
+ * Missing ({@code null}) bar values are read back as {@link Double#NaN}.
+ *
+ * @since 0.22.5
+ */
+public interface DoubleBarSeries extends BarSeries {
+
+    /**
+     * @param index the series index
+     * @return the open price of the bar at {@code index} without materializing a
+     *         {@link Num}
+     */
+    double getOpenPriceAsDouble(int index);
+
+    /**
+     * @param index the series index
+     * @return the high price of the bar at {@code index} without materializing a
+     *         {@link Num}
+     */
+    double getHighPriceAsDouble(int index);
+
+    /**
+     * @param index the series index
+     * @return the low price of the bar at {@code index} without materializing a
+     *         {@link Num}
+     */
+    double getLowPriceAsDouble(int index);
+
+    /**
+     * @param index the series index
+     * @return the close price of the bar at {@code index} without materializing a
+     *         {@link Num}
+     */
+    double getClosePriceAsDouble(int index);
+
+    /**
+     * @param index the series index
+     * @return the volume of the bar at {@code index} without materializing a
+     *         {@link Num}
+     */
+    double getVolumeAsDouble(int index);
+
+    /**
+     * @param index the series index
+     * @return the amount of the bar at {@code index} without materializing a
+     *         {@link Num}
+     */
+    double getAmountAsDouble(int index);
+}
@@ -0,0 +1,80 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core;
+
+import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.num.DoubleNumFactory;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+
+/**
+ * {@link Indicator} over {@link Num} values that can also be evaluated on
+ * primitive {@code double} values.
+ *
+ * <p>
+ * On a {@link BarSeries} whose {@link BarSeries#numFactory() numFactory} is
+ * {@link DoubleNumFactory}, implementations evaluate {@link #getDouble(int)}
+ * natively on {@code double} arithmetic without allocating a
+ * {@link org.ta4j.core.num.DoubleNum} per step. On any other series, the
+ * primitive value is derived from {@link #getValue(int)}, so results keep the
+ * precision of the series {@link Num} implementation up to the final
+ * conversion.
+ *
+ * <p>
+ * {@link NaN#NaN} (and {@code null}) values are represented as
+ * {@link Double#NaN}.
+ *
+ * @since 0.22.5
+ */
+public interface DoubleIndicator extends Indicator<Num> {
+
+    /**
+     * @param index the bar index
+     * @return the value of the indicator as a primitive {@code double}, or
+     *         {@link Double#NaN} if the value is not available
+     */
+    double getDouble(int index);
+
+    /**
+     * Returns the primitive value of any {@link Num} indicator, using
+     * {@link #getDouble(int)} when the indicator supports it, or reading the
+     * primitive cache of a {@link CachedIndicator}.
+     *
+     * @param indicator the indicator
+     * @param index     the bar index
+     * @return the value as a primitive {@code double}, or {@link Double#NaN} if the
+     *         value is {@link NaN#NaN} or {@code null}
+     */
+    static double valueOf(Indicator<Num> indicator, int index) {
+        if (indicator instanceof DoubleIndicator doubleIndicator) {
+            return doubleIndicator.getDouble(index);
+        }
+        if (indicator instanceof CachedIndicator<Num> cachedIndicator) {
+            return cachedIndicator.getValueAsDouble(index);
+        }
+        Num value = indicator.getValue(index);
+        return value == null ? Double.NaN : value.doubleValue();
+    }
+
+    /**
+     * @param series the bar series (may be {@code null})
+     * @return {@code true} if primitive {@code double} arithmetic produces the same
+     *         results as the {@link Num} implementation of {@code series}
+     */
+    static boolean supportsNativeDoubles(BarSeries series) {
+        return series != null && series.numFactory() instanceof DoubleNumFactory;
+    }
+
+    /**
+     * Compares two primitive values with the equality semantics of
+     * {@link Num#isEqual(Num)}, i.e. two {@link NaN#NaN} values are equal.
+     *
+     * @param first  the first value
+     * @param second the second value
+     * @return {@code true} if both values are equal or both are {@link Double#NaN}
+     */
+    static boolean isEqual(double first, double second) {
+        return first == second || (Double.isNaN(first) && Double.isNaN(second));
+    }
+}
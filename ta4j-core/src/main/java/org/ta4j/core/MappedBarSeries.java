@@ -0,0 +1,579 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import org.ta4j.core.bars.TimeBarBuilderFactory;
+import org.ta4j.core.num.DoubleNumFactory;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+/**
+ * Read-only {@link BarSeries} backed by a memory-mapped bar file.
+ *
+ * <p>
+ * Bars are read straight from a fixed-width binary file written by
+ * {@link MappedBarSeriesWriter}, mapped with {@link FileChannel#map} so that
+ * the operating system pages bars in on demand: opening a multi-gigabyte
+ * history costs no heap beyond a handful of buffer objects, and untouched parts
+ * of the file are never read. Files larger than 2 GB are mapped as several
+ * consecutive regions.
+ *
+ * <p>
+ * Each bar is stored as one little-endian record of nine 8-byte fields: open,
+ * high, low, close, volume and amount as {@code double}, then trades, begin and
+ * end time (epoch nanoseconds) as {@code long}. {@link #getBar(int)} returns a
+ * flyweight view over the record; {@link Num} values are materialized through
+ * the series {@link NumFactory} on access, so callers that only need primitive
+ * values should prefer the {@link DoubleBarSeries} accessors. As with
+ * {@link ColumnarBarSeries}, values are stored as {@code double} and missing
+ * values ({@link Double#NaN}) are read back as {@link NaN#NaN}.
+ *
+ * <p>
+ * The series is immutable: adding bars, trades or prices throws an
+ * {@link UnsupportedOperationException}. {@link #getSubSeries(int, int)}
+ * returns a zero-copy view sharing the same mapping, and
+ * {@link #setMaximumBarCount(int)} only hides the oldest bars, following the
+ * index semantics of {@link BaseBarSeries}. The file must not be modified while
+ * it is mapped. Since the data never changes, instances can be read
+ * concurrently.
+ *
+ * @since 0.22.5
+ */
+public class MappedBarSeries implements DoubleBarSeries {
+
+    @Serial
+    private static final long serialVersionUID = -3418519207360412653L;
+
+    /** Magic number identifying a bar file ({@code "TA4JBARS"}). */
+    static final long MAGIC = 0x5441344A42415253L;
+
+    /** Version of the file format. */
+    static final int VERSION = 1;
+
+    /** Size of one bar record, in bytes. */
+    static final int RECORD_SIZE = 72;
+
+    /** Offset of the bar count within the header. */
+    static final int BAR_COUNT_OFFSET = 16;
+
+    /** Size of the fixed part of the header, before the series name. */
+    static final int FIXED_HEADER_SIZE = 28;
+
+    static final int OPEN_OFFSET = 0;
+    static final int HIGH_OFFSET = 8;
+    static final int LOW_OFFSET = 16;
+    static final int CLOSE_OFFSET = 24;
+    static final int VOLUME_OFFSET = 32;
+    static final int AMOUNT_OFFSET = 40;
+    static final int TRADES_OFFSET = 48;
+    static final int BEGIN_TIME_OFFSET = 56;
+    static final int END_TIME_OFFSET = 64;
+
+    /** Maximum number of records of one mapped region (one region is < 2 GB). */
+    static final int MAX_RECORDS_PER_REGION = Integer.MAX_VALUE / RECORD_SIZE;
+
+    private final String path;
+    private final String name;
+    private final NumFactory numFactory;
+    private final BarBuilderFactory barBuilderFactory;
+    private final int recordsPerRegion;
+
+    /** Record of the first bar of this series within the file. */
+    private final long firstRecord;
+
+    /** Number of bars of this series. */
+    private final int size;
+
+    private transient ByteBuffer[] regions;
+
+    /**
+     * Stable view of the last bar, so that mutation-aware caches can rely on its
+     * identity. The series is immutable, so one view serves for its lifetime.
+     */
+    private transient MappedBar lastBarView;
+
+    private int maximumBarCount = Integer.MAX_VALUE;
+    private int removedBarsCount;
+
+    private MappedBarSeries(final String path, final String name, final NumFactory numFactory,
+            final BarBuilderFactory barBuilderFactory, final int recordsPerRegion, final long firstRecord,
+            final int size, final ByteBuffer[] regions) {
+        this.path = path;
+        this.name = name;
+        this.numFactory = numFactory;
+        this.barBuilderFactory = barBuilderFactory;
+        this.recordsPerRegion = recordsPerRegion;
+        this.firstRecord = firstRecord;
+        this.size = size;
+        this.regions = regions;
+    }
+
+    /**
+     * Opens a bar file with a {@link DoubleNumFactory}.
+     *
+     * @param file the bar file
+     * @return the series
+     * @throws IOException if the file cannot be read or is not a bar file
+     * @see #open(Path, NumFactory)
+     */
+    public static MappedBarSeries open(final Path file) throws IOException {
+        return open(file, DoubleNumFactory.getInstance());
+    }
+
+    /**
+     * Opens a bar file.
+     *
+     * @param file       the bar file
+     * @param numFactory the factory of numbers used to materialize bar values
+     * @return the series
+     * @throws IOException if the file cannot be read or is not a bar file
+     */
+    public static MappedBarSeries open(final Path file, final NumFactory numFactory) throws IOException {
+        return open(file, numFactory, MAX_RECORDS_PER_REGION);
+    }
+
+    static MappedBarSeries open(final Path file, final NumFactory numFactory, final int recordsPerRegion)
+            throws IOException {
+        Objects.requireNonNull(file, "file must not be null");
+        Objects.requireNonNull(numFactory, "numFactory must not be null");
+        final var path = file.toAbsolutePath().toString();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final var header = readHeader(channel, path);
+            final var regions = map(channel, header.dataOffset, header.barCount, recordsPerRegion);
+            return new MappedBarSeries(path, header.name, numFactory, new TimeBarBuilderFactory(), recordsPerRegion, 0,
+                    header.barCount, regions);
+        }
+    }
+
+    private record Header(String name, int barCount, long dataOffset) {
+    }
+
+    private static Header readHeader(final FileChannel channel, final String path) throws IOException {
+        final var fixed = ByteBuffer.allocate(FIXED_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, fixed, 0, path);
+        if (fixed.getLong(0) != MAGIC) {
+            throw new IOException(String.format("%s is not a bar file", path));
+        }
+        final int version = fixed.getInt(8);
+        if (version != VERSION) {
+            throw new IOException(String.format("Unsupported bar file version %s in %s", version, path));
+        }
+        final int recordSize = fixed.getInt(12);
+        if (recordSize != RECORD_SIZE) {
+            throw new IOException(String.format("Unsupported record size %s in %s", recordSize, path));
+        }
+        final long barCount = fixed.getLong(BAR_COUNT_OFFSET);
+        final int nameLength = fixed.getInt(24);
+        if (barCount < 0 || barCount > Integer.MAX_VALUE || nameLength < 0) {
+            throw new IOException(String.format("Corrupted header in %s", path));
+        }
+        final var nameBytes = ByteBuffer.allocate(nameLength);
+        readFully(channel, nameBytes, FIXED_HEADER_SIZE, path);
+        final long dataOffset = dataOffset(nameLength);
+        if (channel.size() < dataOffset + barCount * RECORD_SIZE) {
+            throw new IOException(String.format("Truncated bar file %s: %s bars expected", path, barCount));
+        }
+        final var name = nameLength == 0 ? null : new String(nameBytes.array(), StandardCharsets.UTF_8);
+        return new Header(name, (int) barCount, dataOffset);
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position,
+            final String path) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, offset);
+            if (read < 0) {
+                throw new IOException(String.format("Truncated bar file header in %s", path));
+            }
+            offset += read;
+        }
+    }
+
+    /**
+     * @return the offset of the first record, aligned on 8 bytes
+     */
+    static long dataOffset(final int nameLength) {
+        return (FIXED_HEADER_SIZE + nameLength + 7L) & ~7L;
+    }
+
+    private static ByteBuffer[] map(final FileChannel channel, final long dataOffset, final int barCount,
+            final int recordsPerRegion) throws IOException {
+        final int regionCount = (int) ((barCount + (long) recordsPerRegion - 1) / recordsPerRegion);
+        final var regions = new ByteBuffer[regionCount];
+        for (int i = 0; i < regionCount; i++) {
+            final long firstRecord = (long) i * recordsPerRegion;
+            final long records = Math.min(recordsPerRegion, barCount - firstRecord);
+            regions[i] = channel
+                    .map(FileChannel.MapMode.READ_ONLY, dataOffset + firstRecord * RECORD_SIZE, records * RECORD_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return regions;
+    }
+
+    @Serial
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+            final var header = readHeader(channel, path);
+            if (firstRecord + size > header.barCount) {
+                throw new IOException(String.format("Bar file %s no longer holds %s bars", path, firstRecord + size));
+            }
+            regions = map(channel, header.dataOffset, header.barCount, recordsPerRegion);
+        }
+    }
+
+    /**
+     * @return the path of the mapped file
+     */
+    public Path getPath() {
+        return Path.of(path);
+    }
+
+    @Override
+    public NumFactory numFactory() {
+        return numFactory;
+    }
+
+    @Override
+    public BarBuilder barBuilder() {
+        return barBuilderFactory.createBarBuilder(this);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Bar getBar(final int i) {
+        final int index = toIndex(i);
+        if (index == size - 1) {
+            MappedBar view = lastBarView;
+            if (view == null) {
+                view = new MappedBar(index);
+                lastBarView = view;
+            }
+            return view;
+        }
+        return new MappedBar(index);
+    }
+
+    @Override
+    public int getBarCount() {
+        return size - removedBarsCount;
+    }
+
+    /**
+     * Returns a read-only view of the retained bars. The returned list does not
+     * copy any data; its elements are flyweight views over the file.
+     *
+     * @return the retained bars
+     */
+    @Override
+    public List<Bar> getBarData() {
+        return new BarDataView();
+    }
+
+    @Override
+    public int getBeginIndex() {
+        return size == 0 ? -1 : removedBarsCount;
+    }
+
+    @Override
+    public int getEndIndex() {
+        return size - 1;
+    }
+
+    @Override
+    public int getMaximumBarCount() {
+        return maximumBarCount;
+    }
+
+    /**
+     * Hides the oldest bars beyond {@code maximumBarCount}; the file itself is left
+     * untouched.
+     */
+    @Override
+    public void setMaximumBarCount(final int maximumBarCount) {
+        if (maximumBarCount <= 0) {
+            throw new IllegalArgumentException("Maximum bar count must be strictly positive");
+        }
+        this.maximumBarCount = maximumBarCount;
+        removedBarsCount = Math.max(removedBarsCount, size - maximumBarCount);
+    }
+
+    @Override
+    public int getRemovedBarsCount() {
+        return removedBarsCount;
+    }
+
+    /**
+     * @throws UnsupportedOperationException always, the series is read-only
+     */
+    @Override
+    public void addBar(final Bar bar, final boolean replace) {
+        throw readOnly();
+    }
+
+    /**
+     * @throws UnsupportedOperationException always, the series is read-only
+     */
+    @Override
+    public void addTrade(final Num tradeVolume, final Num tradePrice) {
+        throw readOnly();
+    }
+
+    /**
+     * @throws UnsupportedOperationException always, the series is read-only
+     */
+    @Override
+    public void addPrice(final Num price) {
+        throw readOnly();
+    }
+
+    private UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException(String.format("Mapped bar series `%s` is read-only", name));
+    }
+
+    /**
+     * Returns a {@code MappedBarSeries} view of the bars between {@code startIndex}
+     * (inclusive) and {@code endIndex} (exclusive). The view shares the mapping of
+     * this series, no bar is copied.
+     *
+     * @see BarSeries#getSubSeries(int, int)
+     */
+    @Override
+    public MappedBarSeries getSubSeries(final int startIndex, final int endIndex) {
+        if (startIndex < 0) {
+            throw new IllegalArgumentException(String.format("the startIndex: %s must not be negative", startIndex));
+        }
+        if (startIndex >= endIndex) {
+            throw new IllegalArgumentException(
+                    String.format("the endIndex: %s must be greater than startIndex: %s", endIndex, startIndex));
+        }
+        final int start = Math.min(Math.max(startIndex, removedBarsCount), size);
+        final int end = Math.min(endIndex, size);
+        final int count = Math.max(end - start, 0);
+        final var subSeries = new MappedBarSeries(path, name, numFactory, barBuilderFactory, recordsPerRegion,
+                firstRecord + start, count, regions);
+        subSeries.setMaximumBarCount(maximumBarCount);
+        return subSeries;
+    }
+
+    @Override
+    public double getOpenPriceAsDouble(final int index) {
+        return readDouble(toIndex(index), OPEN_OFFSET);
+    }
+
+    @Override
+    public double getHighPriceAsDouble(final int index) {
+        return readDouble(toIndex(index), HIGH_OFFSET);
+    }
+
+    @Override
+    public double getLowPriceAsDouble(final int index) {
+        return readDouble(toIndex(index), LOW_OFFSET);
+    }
+
+    @Override
+    public double getClosePriceAsDouble(final int index) {
+        return readDouble(toIndex(index), CLOSE_OFFSET);
+    }
+
+    @Override
+    public double getVolumeAsDouble(final int index) {
+        return readDouble(toIndex(index), VOLUME_OFFSET);
+    }
+
+    @Override
+    public double getAmountAsDouble(final int index) {
+        return readDouble(toIndex(index), AMOUNT_OFFSET);
+    }
+
+    /**
+     * @param index the series index
+     * @return the begin time of the bar at {@code index} in epoch nanoseconds
+     */
+    public long getBeginTimeEpochNanos(final int index) {
+        return readLong(toIndex(index), BEGIN_TIME_OFFSET);
+    }
+
+    /**
+     * @param index the series index
+     * @return the end time of the bar at {@code index} in epoch nanoseconds
+     */
+    public long getEndTimeEpochNanos(final int index) {
+        return readLong(toIndex(index), END_TIME_OFFSET);
+    }
+
+    /**
+     * Maps a series index to a bar index, applying the same "removed bars map to
+     * the first retained bar" rule as {@link BaseBarSeries}.
+     */
+    private int toIndex(final int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+        }
+        return Math.max(i, removedBarsCount);
+    }
+
+    private String buildOutOfBoundsMessage(final int index) {
+        return String.format("Size of series: %s bars, %s bars removed, index = %s", getBarCount(), removedBarsCount,
+                index);
+    }
+
+    private double readDouble(final int index, final int fieldOffset) {
+        final long record = firstRecord + index;
+        return regions[(int) (record / recordsPerRegion)]
+                .getDouble((int) (record % recordsPerRegion) * RECORD_SIZE + fieldOffset);
+    }
+
+    private long readLong(final int index, final int fieldOffset) {
+        final long record = firstRecord + index;
+        return regions[(int) (record / recordsPerRegion)]
+                .getLong((int) (record % recordsPerRegion) * RECORD_SIZE + fieldOffset);
+    }
+
+    private Num toNum(final double value) {
+        return Double.isNaN(value) ? NaN.NaN : numFactory.numOf(value);
+    }
+
+    static Instant toInstant(final long epochNanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(epochNanos, 1_000_000_000L),
+                Math.floorMod(epochNanos, 1_000_000_000L));
+    }
+
+    static long toEpochNanos(final Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+    }
+
+    /**
+     * Flyweight read-only {@link Bar} view over one record of the file.
+     */
+    private final class MappedBar implements Bar {
+
+        @Serial
+        private static final long serialVersionUID = 4526470392683148120L;
+
+        private final int index;
+
+        private MappedBar(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Duration getTimePeriod() {
+            return Duration.ofNanos(readLong(index, END_TIME_OFFSET) - readLong(index, BEGIN_TIME_OFFSET));
+        }
+
+        @Override
+        public Instant getBeginTime() {
+            return toInstant(readLong(index, BEGIN_TIME_OFFSET));
+        }
+
+        @Override
+        public Instant getEndTime() {
+            return toInstant(readLong(index, END_TIME_OFFSET));
+        }
+
+        @Override
+        public Num getOpenPrice() {
+            return toNum(readDouble(index, OPEN_OFFSET));
+        }
+
+        @Override
+        public Num getHighPrice() {
+            return toNum(readDouble(index, HIGH_OFFSET));
+        }
+
+        @Override
+        public Num getLowPrice() {
+            return toNum(readDouble(index, LOW_OFFSET));
+        }
+
+        @Override
+        public Num getClosePrice() {
+            return toNum(readDouble(index, CLOSE_OFFSET));
+        }
+
+        @Override
+        public Num getVolume() {
+            return toNum(readDouble(index, VOLUME_OFFSET));
+        }
+
+        @Override
+        public Num getAmount() {
+            return toNum(readDouble(index, AMOUNT_OFFSET));
+        }
+
+        @Override
+        public long getTrades() {
+            return readLong(index, TRADES_OFFSET);
+        }
+
+        @Override
+        public NumFactory numFactory() {
+            return numFactory;
+        }
+
+        /**
+         * @throws UnsupportedOperationException always, the series is read-only
+         */
+        @Override
+        public void addTrade(final Num tradeVolume, final Num tradePrice) {
+            throw readOnly();
+        }
+
+        /**
+         * @throws UnsupportedOperationException always, the series is read-only
+         */
+        @Override
+        public void addPrice(final Num price) {
+            throw readOnly();
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "{end time: %1s, close price: %2s, open price: %3s, low price: %4s high price: %5s, volume: %6s}",
+                    getEndTime(), getClosePrice(), getOpenPrice(), getLowPrice(), getHighPrice(), getVolume());
+        }
+    }
+
+    /**
+     * Read-only list view of the retained bars.
+     */
+    private final class BarDataView extends AbstractList<Bar> implements RandomAccess {
+
+        @Override
+        public Bar get(final int offset) {
+            if (offset < 0 || offset >= getBarCount()) {
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(removedBarsCount + offset));
+            }
+            return getBar(removedBarsCount + offset);
+        }
+
+        @Override
+        public int size() {
+            return getBarCount();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core;
+
+import static org.ta4j.core.MappedBarSeries.AMOUNT_OFFSET;
+import static org.ta4j.core.MappedBarSeries.BAR_COUNT_OFFSET;
+import static org.ta4j.core.MappedBarSeries.BEGIN_TIME_OFFSET;
+import static org.ta4j.core.MappedBarSeries.CLOSE_OFFSET;
+import static org.ta4j.core.MappedBarSeries.END_TIME_OFFSET;
+import static org.ta4j.core.MappedBarSeries.FIXED_HEADER_SIZE;
+import static org.ta4j.core.MappedBarSeries.HIGH_OFFSET;
+import static org.ta4j.core.MappedBarSeries.LOW_OFFSET;
+import static org.ta4j.core.MappedBarSeries.MAGIC;
+import static org.ta4j.core.MappedBarSeries.OPEN_OFFSET;
+import static org.ta4j.core.MappedBarSeries.RECORD_SIZE;
+import static org.ta4j.core.MappedBarSeries.TRADES_OFFSET;
+import static org.ta4j.core.MappedBarSeries.VERSION;
+import static org.ta4j.core.MappedBarSeries.VOLUME_OFFSET;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+import org.ta4j.core.num.Num;
+
+/**
+ * Writes a {@link BarSeries} into the fixed-width binary format read by
+ * {@link MappedBarSeries}.
+ *
+ * <p>
+ * Bars are streamed through a small direct buffer, so converting a series never
+ * needs a second in-memory copy of it. Values are stored as {@code double} (see
+ * {@link MappedBarSeries}); {@code null} values are written as
+ * {@link Double#NaN}.
+ *
+ * @since 0.22.5
+ */
+public final class MappedBarSeriesWriter {
+
+    /** Number of records written per I/O call. */
+    private static final int RECORDS_PER_WRITE = 4096;
+
+    private MappedBarSeriesWriter() {
+    }
+
+    /**
+     * Writes the bars of {@code series} between its begin and end index into
+     * {@code file}, replacing any existing content.
+     *
+     * @param series the series to write
+     * @param file   the target file
+     * @return the number of written bars
+     * @throws IOException if the file cannot be written
+     */
+    public static int write(final BarSeries series, final Path file) throws IOException {
+        Objects.requireNonNull(series, "series must not be null");
+        Objects.requireNonNull(file, "file must not be null");
+        final byte[] name = series.getName() == null ? new byte[0] : series.getName().getBytes(StandardCharsets.UTF_8);
+        final long dataOffset = MappedBarSeries.dataOffset(name.length);
+        final int barCount = series.getBarCount();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final var header = ByteBuffer.allocate((int) dataOffset).order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(0, MAGIC);
+            header.putInt(8, VERSION);
+            header.putInt(12, RECORD_SIZE);
+            // The bar count is written last, so an interrupted write is detected as
+            // truncated
+            header.putLong(BAR_COUNT_OFFSET, 0);
+            header.putInt(24, name.length);
+            header.put(FIXED_HEADER_SIZE, name);
+            writeFully(channel, header, 0);
+
+            final var buffer = ByteBuffer.allocateDirect(RECORDS_PER_WRITE * RECORD_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            long position = dataOffset;
+            int written = 0;
+            for (int i = series.getBeginIndex(); barCount > 0 && i <= series.getEndIndex(); i++) {
+                final int record = buffer.position();
+                write(buffer, record, series.getBar(i));
+                buffer.position(record + RECORD_SIZE);
+                written++;
+                if (!buffer.hasRemaining()) {
+                    buffer.flip();
+                    position += writeFully(channel, buffer, position);
+                    buffer.clear();
+                }
+            }
+            buffer.flip();
+            writeFully(channel, buffer, position);
+
+            channel.force(false);
+            final var count = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(0, written);
+            writeFully(channel, count, BAR_COUNT_OFFSET);
+            return written;
+        }
+    }
+
+    private static void write(final ByteBuffer buffer, final int record, final Bar bar) {
+        buffer.putDouble(record + OPEN_OFFSET, toDouble(bar.getOpenPrice()));
+        buffer.putDouble(record + HIGH_OFFSET, toDouble(bar.getHighPrice()));
+        buffer.putDouble(record + LOW_OFFSET, toDouble(bar.getLowPrice()));
+        buffer.putDouble(record + CLOSE_OFFSET, toDouble(bar.getClosePrice()));
+        buffer.putDouble(record + VOLUME_OFFSET, toDouble(bar.getVolume()));
+        buffer.putDouble(record + AMOUNT_OFFSET, toDouble(bar.getAmount()));
+        buffer.putLong(record + TRADES_OFFSET, bar.getTrades());
+        buffer.putLong(record + BEGIN_TIME_OFFSET, MappedBarSeries.toEpochNanos(bar.getBeginTime()));
+        buffer.putLong(record + END_TIME_OFFSET, MappedBarSeries.toEpochNanos(bar.getEndTime()));
+    }
+
+    private static double toDouble(final Num value) {
+        return value == null ? Double.NaN : value.doubleValue();
+    }
+
+    private static int writeFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+            throws IOException {
+        final int length = buffer.remaining();
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+        return length;
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.analysis;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.criteria.ReturnRepresentation;
+
+/**
+ * Evaluation-scoped memo of the equity curves ({@link CashFlow},
+ * {@link Returns}, {@link CumulativePnL}) built by analysis criteria.
+ *
+ * <p>
+ * Criteria such as Sharpe, Sortino, Calmar, Omega, value at risk or the
+ * drawdown criteria each derive their own equity curve from the same
+ * {@code (series, tradingRecord)} pair. While a cache is open on the current
+ * thread, the built-in criteria obtain their curves through {@link #cashFlow
+ * cashFlow(...)}, {@link #returns returns(...)} and {@link #cumulativePnL
+ * cumulativePnL(...)}, so each distinct curve (keyed by series and trading
+ * record identity, final index, {@link EquityCurveMode},
+ * {@link OpenPositionHandling} and {@link ReturnRepresentation}) is computed
+ * once for the whole criterion suite:
+ *
+ * <pre>{@code
+ * try (var cache = EquityCurveCache.open()) {
+ *     for (AnalysisCriterion criterion : criteria) {
+ *         values.add(criterion.calculate(series, tradingRecord));
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>
+ * Without an open cache, the lookup methods simply build a new curve. Cached
+ * curves are shared between criteria and must not be modified; the trading
+ * records must not change while the cache is open. A cache is confined to the
+ * thread that opened it; caches opened on the same thread must be closed in
+ * reverse order.
+ *
+ * @since 0.22.5
+ */
+public final class EquityCurveCache implements AutoCloseable {
+
+    private static final ThreadLocal<EquityCurveCache> ACTIVE = new ThreadLocal<>();
+
+    private final EquityCurveCache previous;
+    private final Map<Key, Object> curves = new HashMap<>();
+    private boolean closed;
+
+    private EquityCurveCache(EquityCurveCache previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Opens a cache on the current thread.
+     *
+     * @return the cache, to be closed once the evaluation is done
+     */
+    public static EquityCurveCache open() {
+        EquityCurveCache cache = new EquityCurveCache(ACTIVE.get());
+        ACTIVE.set(cache);
+        return cache;
+    }
+
+    /**
+     * Runs {@code evaluation} with a cache open on the current thread.
+     *
+     * @param evaluation the evaluation
+     * @param <T>        the result type
+     * @return the result of {@code evaluation}
+     */
+    public static <T> T evaluate(Supplier<T> evaluation) {
+        Objects.requireNonNull(evaluation, "evaluation");
+        try (EquityCurveCache ignored = open()) {
+            return evaluation.get();
+        }
+    }
+
+    /**
+     * @return {@code true} if a cache is open on the current thread
+     */
+    public static boolean isOpen() {
+        return ACTIVE.get() != null;
+    }
+
+    /**
+     * Returns the cash flow of the trading record, from the open cache if any.
+     *
+     * @param series               the bar series
+     * @param tradingRecord        the trading record
+     * @param finalIndex           index up until cash flows of open positions are
+     *                             considered
+     * @param equityCurveMode      the calculation mode
+     * @param openPositionHandling how to handle open positions
+     * @return the cash flow
+     * @see CashFlow#CashFlow(BarSeries, TradingRecord, int, EquityCurveMode,
+     *      OpenPositionHandling)
+     */
+    public static CashFlow cashFlow(BarSeries series, TradingRecord tradingRecord, int finalIndex,
+            EquityCurveMode equityCurveMode, OpenPositionHandling openPositionHandling) {
+        return lookup(
+                new Key(CashFlow.class, series, tradingRecord, finalIndex, equityCurveMode, openPositionHandling, null),
+                () -> new CashFlow(series, tradingRecord, finalIndex, equityCurveMode, openPositionHandling));
+    }
+
+    /**
+     * Returns the returns of the trading record, from the open cache if any.
+     *
+     * @param series               the bar series
+     * @param tradingRecord        the trading record
+     * @param finalIndex           the index up to which the returns of open
+     *                             positions are considered
+     * @param representation       the return representation
+     * @param equityCurveMode      the calculation mode
+     * @param openPositionHandling how to handle open positions
+     * @return the returns
+     * @see Returns#Returns(BarSeries, TradingRecord, int, ReturnRepresentation,
+     *      EquityCurveMode, OpenPositionHandling)
+     */
+    public static Returns returns(BarSeries series, TradingRecord tradingRecord, int finalIndex,
+            ReturnRepresentation representation, EquityCurveMode equityCurveMode,
+            OpenPositionHandling openPositionHandling) {
+        return lookup(
+                new Key(Returns.class, series, tradingRecord, finalIndex, equityCurveMode, openPositionHandling,
+                        representation),
+                () -> new Returns(series, tradingRecord, finalIndex, representation, equityCurveMode,
+                        openPositionHandling));
+    }
+
+    /**
+     * Returns the cumulative profit and loss of the trading record, from the open
+     * cache if any.
+     *
+     * @param series               the bar series
+     * @param tradingRecord        the trading record
+     * @param finalIndex           index up until the PnL of open positions is
+     *                             considered
+     * @param equityCurveMode      the calculation mode
+     * @param openPositionHandling how to handle open positions
+     * @return the cumulative profit and loss
+     * @see CumulativePnL#CumulativePnL(BarSeries, TradingRecord, int,
+     *      EquityCurveMode, OpenPositionHandling)
+     */
+    public static CumulativePnL cumulativePnL(BarSeries series, TradingRecord tradingRecord, int finalIndex,
+            EquityCurveMode equityCurveMode, OpenPositionHandling openPositionHandling) {
+        return lookup(
+                new Key(CumulativePnL.class, series, tradingRecord, finalIndex, equityCurveMode, openPositionHandling,
+                        null),
+                () -> new CumulativePnL(series, tradingRecord, finalIndex, equityCurveMode, openPositionHandling));
+    }
+
+    /**
+     * @return the number of distinct curves held by this cache
+     */
+    public int size() {
+        return curves.size();
+    }
+
+    /**
+     * Closes the cache and restores the cache that was open before it, if any.
+     *
+     * @throws IllegalStateException if a cache opened later on this thread is still
+     *                               open, or if called from another thread
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        if (ACTIVE.get() != this) {
+            throw new IllegalStateException("EquityCurveCache must be closed in reverse opening order on its thread");
+        }
+        closed = true;
+        curves.clear();
+        if (previous == null) {
+            ACTIVE.remove();
+        } else {
+            ACTIVE.set(previous);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T lookup(Key key, Supplier<T> factory) {
+        EquityCurveCache cache = ACTIVE.get();
+        if (cache == null) {
+            return factory.get();
+        }
+        Object curve = cache.curves.get(key);
+        if (curve == null) {
+            curve = factory.get();
+            cache.curves.put(key, curve);
+        }
+        return (T) curve;
+    }
+
+    /** Series and trading records are compared by identity. */
+    private record Key(Class<?> type, BarSeries series, TradingRecord tradingRecord, int finalIndex,
+            EquityCurveMode equityCurveMode, OpenPositionHandling openPositionHandling,
+            ReturnRepresentation representation) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && type == other.type && series == other.series
+                    && tradingRecord == other.tradingRecord && finalIndex == other.finalIndex
+                    && equityCurveMode == other.equityCurveMode && openPositionHandling == other.openPositionHandling
+                    && representation == other.representation;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = type.hashCode();
+            result = 31 * result + System.identityHashCode(series);
+            result = 31 * result + System.identityHashCode(tradingRecord);
+            result = 31 * result + finalIndex;
+            result = 31 * result + Objects.hashCode(equityCurveMode);
+            result = 31 * result + Objects.hashCode(openPositionHandling);
+            return 31 * result + Objects.hashCode(representation);
+        }
+    }
+}
@@ -118,7 +118,8 @@ public final class ExcessReturns {
                 ? OpenPositionHandling.IGNORE
                 : openPositionHandling;
         this.investedInterval = new InvestedInterval(series, tradingRecord, effectiveOpenPositionHandling);
-        this.cashFlow = new CashFlow(series, tradingRecord, equityCurveMode, effectiveOpenPositionHandling);
+        this.cashFlow = EquityCurveCache.cashFlow(series, tradingRecord, tradingRecord.getEndIndex(series),
+                equityCurveMode, effectiveOpenPositionHandling);
     }
 
     /**
@@ -9,6 +9,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import org.ta4j.core.AnalysisCriterion;
 import org.ta4j.core.BarSeries;
+import org.ta4j.core.criteria.CriterionSuite;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.reports.BaseTradingStatement;
 import org.ta4j.core.reports.TradingStatement;
@@ -117,13 +118,13 @@ public record BacktestExecutionResult(BarSeries barSeries, List<TradingStatement
         Map<TradingStatement, List<Num>> criterionValuesMap = new IdentityHashMap<>(tradingStatements.size());
         Map<TradingStatement, Map<AnalysisCriterion, Num>> criterionScoresMap = new IdentityHashMap<>(
                 tradingStatements.size());
+        // Criteria of one statement are evaluated together in a single pass
+        CriterionSuite suite = new CriterionSuite(criteria);
         for (TradingStatement statement : tradingStatements) {
-            List<Num> values = new ArrayList<>(criteria.size());
+            List<Num> values = suite.calculate(barSeries, statement.getTradingRecord());
             Map<AnalysisCriterion, Num> scores = new HashMap<>(criteria.size());
-            for (AnalysisCriterion criterion : criteria) {
-                Num value = criterion.calculate(barSeries, statement.getTradingRecord());
-                values.add(value);
-                scores.put(criterion, value);
+            for (int i = 0; i < criteria.size(); i++) {
+                scores.put(criteria.get(i), values.get(i));
             }
             criterionValuesMap.put(statement, values);
             criterionScoresMap.put(statement, scores);
@@ -18,9 +18,14 @@ import org.ta4j.core.walkforward.WalkForwardConfig;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 /**
@@ -31,6 +36,11 @@ public class BacktestExecutor {
 
     private final BarSeriesManager seriesManager;
     private final TradingStatementGenerator tradingStatementGenerator;
+    /** Streaming execution settings, or null for batched execution. */
+    private final BacktestParallelism parallelism;
+
+    /** Abandons hopeless strategies of top-K sweeps, or {@code null}. */
+    private final SweepPruner pruner;
 
     /**
      * Default batch size for processing strategies. When the number of strategies
@@ -154,8 +164,85 @@ public class BacktestExecutor {
      * @since 0.22.4
      */
     public BacktestExecutor(BarSeriesManager seriesManager, TradingStatementGenerator tradingStatementGenerator) {
+        this(seriesManager, tradingStatementGenerator, null, null);
+    }
+
+    private BacktestExecutor(BarSeriesManager seriesManager, TradingStatementGenerator tradingStatementGenerator,
+            BacktestParallelism parallelism, SweepPruner pruner) {
         this.seriesManager = Objects.requireNonNull(seriesManager, "seriesManager");
         this.tradingStatementGenerator = Objects.requireNonNull(tradingStatementGenerator, "tradingStatementGenerator");
+        this.parallelism = parallelism;
+        this.pruner = pruner;
+    }
+
+    /**
+     * Returns a copy of this executor that runs strategies as a continuous stream
+     * on the given executor settings instead of in batches.
+     *
+     * @param parallelism the streaming execution settings, or {@code null} for the
+     *                    default batched execution
+     * @return the configured executor
+     * @see BacktestParallelism
+     * @since 0.22.5
+     */
+    public BacktestExecutor withParallelism(BacktestParallelism parallelism) {
+        return new BacktestExecutor(seriesManager, tradingStatementGenerator, parallelism, pruner);
+    }
+
+    /**
+     * @return the streaming execution settings, empty for batched execution
+     * @since 0.22.5
+     */
+    public Optional<BacktestParallelism> getParallelism() {
+        return Optional.ofNullable(parallelism);
+    }
+
+    /**
+     * Returns a copy of this executor that simulates the strategies from rule
+     * signals precomputed once for the whole strategy set (see
+     * {@link SignalMatrix}). Worthwhile for parameter grids whose strategies share
+     * record-independent entry and exit rules; the trading statements are identical
+     * to those of the per-bar execution.
+     *
+     * @return the configured executor, sharing a new signal matrix of the series
+     * @see BarSeriesManager#withSignalMatrix(SignalMatrix)
+     * @since 0.22.5
+     */
+    public BacktestExecutor withSignalMatrix() {
+        BarSeries series = seriesManager.getBarSeries();
+        return new BacktestExecutor(seriesManager.withSignalMatrix(new SignalMatrix(series)), tradingStatementGenerator,
+                parallelism, pruner);
+    }
+
+    /**
+     * Returns a copy of this executor whose top-K sweeps (see
+     * {@link #executeAndKeepTopK(List, Num, Trade.TradeType, AnalysisCriterion, int, Consumer)})
+     * abandon a strategy in the middle of its backtest as soon as the pruner rules
+     * it out, e.g. once it can no longer beat the K-th best strategy or once it
+     * breaches a drawdown limit. Abandoned strategies are left out of the results;
+     * a {@link SweepCheckpoint} logs them as pruned, so that a resumed sweep does
+     * not backtest them again.
+     * <p>
+     * With {@link #withParallelism(BacktestParallelism) streaming execution}, the
+     * K-th best strategy is updated as soon as each strategy completes; with the
+     * default batched execution, it is updated after each batch.
+     * </p>
+     *
+     * @param pruner the pruner, or {@code null} to run every strategy to completion
+     * @return the configured executor
+     * @see SweepPruner
+     * @since 0.22.5
+     */
+    public BacktestExecutor withPruning(SweepPruner pruner) {
+        return new BacktestExecutor(seriesManager, tradingStatementGenerator, parallelism, pruner);
+    }
+
+    /**
+     * @return the pruner of top-K sweeps, empty if strategies run to completion
+     * @since 0.22.5
+     */
+    public Optional<SweepPruner> getPruner() {
+        return Optional.ofNullable(pruner);
     }
 
     /**
@@ -253,6 +340,11 @@ public class BacktestExecutor {
      * in parallel, but batches are executed sequentially with explicit GC hints
      * between batches to manage memory pressure.
      * </p>
+     * <p>
+     * If {@link #withParallelism(BacktestParallelism) parallelism} is configured,
+     * strategies are streamed through its executor instead and {@code batchSize} is
+     * ignored.
+     * </p>
      *
      * @param strategies       the strategies
      * @param amount           the amount used to open/close the position
@@ -293,9 +385,12 @@ public class BacktestExecutor {
 
         long overallStart = System.nanoTime();
 
-        // For large strategy counts, use batched processing to prevent memory
-        // exhaustion. Use smaller batches for very large counts.
-        if (strategyCount > PARALLEL_THRESHOLD) {
+        if (parallelism != null) {
+            executeStreaming(strategyArray, allIndices(strategyCount), durations, amount, tradeType, effectiveCallback,
+                    null, (index, statement) -> statements[index] = statement);
+        } else if (strategyCount > PARALLEL_THRESHOLD) {
+            // For large strategy counts, use batched processing to prevent memory
+            // exhaustion. Use smaller batches for very large counts.
             int effectiveBatchSize = strategyCount > LARGE_COUNT_THRESHOLD ? Math.min(batchSize, SMALL_BATCH_SIZE)
                     : batchSize;
             executeBatched(strategyArray, statements, durations, amount, tradeType, effectiveCallback,
@@ -457,6 +552,11 @@ public class BacktestExecutor {
      * Memory usage is O(K + batchSize) instead of O(strategyCount), making it
      * suitable for massive parameter sweeps.
      * </p>
+     * <p>
+     * If {@link #withParallelism(BacktestParallelism) parallelism} is configured,
+     * each completed strategy is offered to the shared top-K heap right away, and
+     * memory usage is O(K + {@link BacktestParallelism#maxInFlight()}).
+     * </p>
      *
      * @param strategies       the strategies to evaluate
      * @param amount           the amount used to open/close the position
@@ -473,6 +573,43 @@ public class BacktestExecutor {
      */
     public BacktestExecutionResult executeAndKeepTopK(List<Strategy> strategies, Num amount, Trade.TradeType tradeType,
             AnalysisCriterion criterion, int topK, Consumer<Integer> progressCallback) {
+        return executeAndKeepTopK(strategies, amount, tradeType, criterion, topK, progressCallback, null);
+    }
+
+    /**
+     * Executes strategies and returns only the top K results based on a criterion,
+     * checkpointing every evaluated strategy so that an interrupted sweep can be
+     * resumed.
+     * <p>
+     * Works like
+     * {@link #executeAndKeepTopK(List, Num, Trade.TradeType, AnalysisCriterion, int, Consumer)},
+     * but appends each evaluated strategy to the {@link SweepCheckpoint} log.
+     * Strategies already present in the log (from an earlier, interrupted run of
+     * the same sweep) are not backtested again; only those of them that end up in
+     * the top K are re-run to rebuild their trading statements. Progress is
+     * reported for the strategies evaluated by this run.
+     * </p>
+     *
+     * @param strategies       the strategies to evaluate, in the same order on
+     *                         every run of the sweep
+     * @param amount           the amount used to open/close the position
+     * @param tradeType        the {@link Trade.TradeType} used to open the position
+     * @param criterion        the criterion used to rank strategies
+     * @param topK             the maximum number of top strategies to return
+     * @param progressCallback optional callback for progress updates (receives
+     *                         completed count). May be null.
+     * @param checkpoint       the checkpoint log, or {@code null} for none
+     * @return execution result containing only the top K strategies and runtime
+     *         report
+     * @throws java.io.UncheckedIOException if the checkpoint cannot be read or
+     *                                      written
+     * @throws IllegalStateException        if the checkpoint belongs to another
+     *                                      sweep
+     *
+     * @since 0.22.5
+     */
+    public BacktestExecutionResult executeAndKeepTopK(List<Strategy> strategies, Num amount, Trade.TradeType tradeType,
+            AnalysisCriterion criterion, int topK, Consumer<Integer> progressCallback, SweepCheckpoint checkpoint) {
         Objects.requireNonNull(strategies, "strategies must not be null");
         Objects.requireNonNull(amount, "amount must not be null");
         Objects.requireNonNull(tradeType, "tradeType must not be null");
@@ -509,53 +646,105 @@ public class BacktestExecutor {
         Strategy[] strategyArray = strategies.toArray(Strategy[]::new);
         long[] durationNanos = new long[strategyCount];
 
-        // Process in batches
-        for (int batchStart = 0; batchStart < strategyCount; batchStart += batchSize) {
-            int batchEnd = Math.min(batchStart + batchSize, strategyCount);
-            final int batchStartFinal = batchStart;
-
-            batchResults.clear();
-
-            // Evaluate batch in parallel
-            IntStream.range(0, batchEnd - batchStart).parallel().forEach(localIndex -> {
-                int globalIndex = batchStartFinal + localIndex;
-                Strategy strategy = strategyArray[globalIndex];
-
-                long strategyStart = System.nanoTime();
-                TradingRecord tradingRecord = seriesManager.run(strategy, tradeType, amount);
-                TradingStatement statement = tradingStatementGenerator.generate(strategy, tradingRecord,
-                        seriesManager.getBarSeries());
-                long duration = System.nanoTime() - strategyStart;
-                durationNanos[globalIndex] = duration;
-                Num criterionValue = criterion.calculate(seriesManager.getBarSeries(), statement.getTradingRecord());
-                batchResults.add(new StrategyEvaluation(statement, criterionValue, globalIndex));
-
-                if (progressTracker != null) {
-                    progressTracker.reportCompletion();
+        if (pruner != null) {
+            // Fails fast on a criterion the pruner does not support
+            pruner.forRun(seriesManager.getBarSeries(), criterion);
+        }
+        Supplier<BarSeriesManager.RunGuard> guards = pruner == null ? null
+                : () -> new PruningGuard(criterion, topStrategies, effectiveTopK);
+
+        SweepCheckpoint.Log log = checkpoint == null ? null
+                : checkpoint.open(strategyArray, seriesManager, amount, tradeType, criterion);
+        try {
+            // Strategies evaluated by an earlier run only contribute their logged values
+            int[] pending = allIndices(strategyCount);
+            if (log != null && !log.entries().isEmpty()) {
+                for (SweepCheckpoint.Entry entry : log.entries().values()) {
+                    durationNanos[entry.index()] = entry.durationNanos();
+                    if (entry.pruned()) {
+                        continue;
+                    }
+                    offerTopK(topStrategies, new StrategyEvaluation(null, entry.criterionValue(), entry.index()),
+                            effectiveTopK, bestFirstComparator);
                 }
-            });
+                pending = IntStream.range(0, strategyCount).filter(i -> !log.entries().containsKey(i)).toArray();
+            }
 
-            // Merge batch results into top-K heap
-            for (StrategyEvaluation evaluation : batchResults) {
-                if (topStrategies.size() < effectiveTopK) {
-                    topStrategies.offer(evaluation);
-                } else {
-                    // Heap is full - compare with worst strategy
-                    StrategyEvaluation worst = topStrategies.peek();
-                    if (worst != null) {
-                        if (bestFirstComparator.compare(evaluation, worst) < 0) {
-                            topStrategies.poll(); // Remove worst
-                            topStrategies.offer(evaluation); // Add new
+            if (parallelism != null) {
+                executeStreaming(strategyArray, pending, durationNanos, amount, tradeType, effectiveCallback, guards,
+                        (index, statement) -> {
+                            if (statement == null) {
+                                if (log != null) {
+                                    log.appendPruned(index, strategyArray[index], durationNanos[index]);
+                                }
+                                return;
+                            }
+                            Num criterionValue = criterion.calculate(seriesManager.getBarSeries(),
+                                    statement.getTradingRecord());
+                            offerTopK(topStrategies, new StrategyEvaluation(statement, criterionValue, index),
+                                    effectiveTopK, bestFirstComparator);
+                            if (log != null) {
+                                log.append(index, strategyArray[index], criterionValue, durationNanos[index]);
+                            }
+                        });
+            } else {
+                int pendingCount = pending.length;
+                int[] pendingIndices = pending;
+                // Process in batches
+                for (int batchStart = 0; batchStart < pendingCount; batchStart += batchSize) {
+                    int batchEnd = Math.min(batchStart + batchSize, pendingCount);
+                    final int batchStartFinal = batchStart;
+
+                    batchResults.clear();
+
+                    // Evaluate batch in parallel
+                    IntStream.range(0, batchEnd - batchStart).parallel().forEach(localIndex -> {
+                        int globalIndex = pendingIndices[batchStartFinal + localIndex];
+                        Strategy strategy = strategyArray[globalIndex];
+
+                        long strategyStart = System.nanoTime();
+                        BarSeriesManager.RunGuard guard = guards == null ? null : guards.get();
+                        TradingRecord tradingRecord = seriesManager.run(strategy, tradeType, amount, guard);
+                        if (BarSeriesManager.RunGuard.isStopped(guard)) {
+                            durationNanos[globalIndex] = System.nanoTime() - strategyStart;
+                            if (log != null) {
+                                log.appendPruned(globalIndex, strategy, durationNanos[globalIndex]);
+                            }
+                        } else {
+                            TradingStatement statement = tradingStatementGenerator.generate(strategy, tradingRecord,
+                                    seriesManager.getBarSeries());
+                            long duration = System.nanoTime() - strategyStart;
+                            durationNanos[globalIndex] = duration;
+                            Num criterionValue = criterion.calculate(seriesManager.getBarSeries(),
+                                    statement.getTradingRecord());
+                            batchResults.add(new StrategyEvaluation(statement, criterionValue, globalIndex));
+                        }
+
+                        if (progressTracker != null) {
+                            progressTracker.reportCompletion();
+                        }
+                    });
+
+                    // Merge batch results into top-K heap
+                    for (StrategyEvaluation evaluation : batchResults) {
+                        offerTopK(topStrategies, evaluation, effectiveTopK, bestFirstComparator);
+                        if (log != null) {
+                            log.append(evaluation.index(), strategyArray[evaluation.index()],
+                                    evaluation.criterionValue(), durationNanos[evaluation.index()]);
                         }
                     }
+
+                    // Clear batch results and suggest GC
+                    batchResults.clear();
+                    if (batchEnd < pendingCount) {
+                        System.gc();
+                        Thread.yield(); // Give GC a chance to run
+                    }
                 }
             }
-
-            // Clear batch results and suggest GC
-            batchResults.clear();
-            if (batchEnd < strategyCount) {
-                System.gc();
-                Thread.yield(); // Give GC a chance to run
+        } finally {
+            if (log != null) {
+                log.close();
             }
         }
 
@@ -566,15 +755,21 @@ public class BacktestExecutor {
         sortedEvaluations.sort(bestFirstComparator); // Sort using non-reversed comparator (best first)
         List<TradingStatement> resultStatements = new ArrayList<>(sortedEvaluations.size());
         for (StrategyEvaluation evaluation : sortedEvaluations) {
-            resultStatements.add(evaluation.statement());
+            TradingStatement statement = evaluation.statement();
+            if (statement == null) {
+                // Restored from the checkpoint: rebuild the statement
+                Strategy strategy = strategyArray[evaluation.index()];
+                statement = tradingStatementGenerator.generate(strategy, seriesManager.run(strategy, tradeType, amount),
+                        seriesManager.getBarSeries());
+            }
+            resultStatements.add(statement);
         }
 
         // Build runtime report (approximate, since we don't track all individual times)
         List<BacktestRuntimeReport.StrategyRuntime> strategyRuntimes = new ArrayList<>(sortedEvaluations.size());
         for (StrategyEvaluation evaluation : sortedEvaluations) {
             Duration runtime = Duration.ofNanos(durationNanos[evaluation.index()]);
-            strategyRuntimes
-                    .add(new BacktestRuntimeReport.StrategyRuntime(evaluation.statement().getStrategy(), runtime));
+            strategyRuntimes.add(new BacktestRuntimeReport.StrategyRuntime(strategyArray[evaluation.index()], runtime));
         }
 
         // Calculate summary statistics from saved durations
@@ -583,6 +778,64 @@ public class BacktestExecutor {
         return new BacktestExecutionResult(seriesManager.getBarSeries(), resultStatements, runtimeReport);
     }
 
+    /**
+     * Consults the pruner prepared for one backtest each time a position closes,
+     * against the K-th best strategy of the top-K heap.
+     */
+    private final class PruningGuard extends BarSeriesManager.RunGuard {
+
+        private final SweepPruner runPruner;
+        private final AnalysisCriterion criterion;
+        private final PriorityQueue<StrategyEvaluation> topStrategies;
+        private final int topK;
+        private int positionCount;
+
+        private PruningGuard(AnalysisCriterion criterion, PriorityQueue<StrategyEvaluation> topStrategies, int topK) {
+            this.runPruner = pruner.forRun(seriesManager.getBarSeries(), criterion);
+            this.criterion = criterion;
+            this.topStrategies = topStrategies;
+            this.topK = topK;
+        }
+
+        @Override
+        protected boolean shouldStop(int index, TradingRecord tradingRecord) {
+            int count = tradingRecord.getPositionCount();
+            if (count == positionCount) {
+                return false;
+            }
+            positionCount = count;
+            Num kthBestValue;
+            synchronized (topStrategies) {
+                kthBestValue = topStrategies.size() < topK ? null : topStrategies.peek().criterionValue();
+            }
+            return runPruner.shouldAbandon(seriesManager.getBarSeries(), tradingRecord, criterion, kthBestValue);
+        }
+    }
+
+    private static int[] allIndices(int count) {
+        return IntStream.range(0, count).toArray();
+    }
+
+    /**
+     * Offers an evaluation to the top-K min-heap (worst strategy at the head).
+     * Synchronized on the heap, as streaming workers offer concurrently.
+     */
+    private static void offerTopK(PriorityQueue<StrategyEvaluation> topStrategies, StrategyEvaluation evaluation,
+            int topK, Comparator<StrategyEvaluation> bestFirstComparator) {
+        synchronized (topStrategies) {
+            if (topStrategies.size() < topK) {
+                topStrategies.offer(evaluation);
+            } else {
+                // Heap is full - compare with worst strategy
+                StrategyEvaluation worst = topStrategies.peek();
+                if (worst != null && bestFirstComparator.compare(evaluation, worst) < 0) {
+                    topStrategies.poll(); // Remove worst
+                    topStrategies.offer(evaluation); // Add new
+                }
+            }
+        }
+    }
+
     private Comparator<StrategyEvaluation> createBestFirstComparator(AnalysisCriterion criterion) {
         return (left, right) -> {
             Num leftValue = left.criterionValue();
@@ -738,6 +991,82 @@ public class BacktestExecutor {
         }
     }
 
+    /**
+     * Receives the statement of each completed strategy, or {@code null} for a
+     * strategy abandoned by its run guard.
+     */
+    @FunctionalInterface
+    private interface StatementSink {
+        void accept(int index, TradingStatement statement);
+    }
+
+    /**
+     * Streams strategies through the configured {@link BacktestParallelism}
+     * executor. The submitting thread blocks while
+     * {@link BacktestParallelism#maxInFlight()} strategies are in flight, so at
+     * most that many trading records are alive besides those kept by the sink.
+     */
+    private void executeStreaming(Strategy[] strategyArray, int[] indices, long[] durations, Num amount,
+            Trade.TradeType tradeType, Consumer<Integer> progressCallback, Supplier<BarSeriesManager.RunGuard> guards,
+            StatementSink sink) {
+        ProgressTracker progressTracker = ProgressTracker.create(progressCallback);
+        int maxInFlight = parallelism.maxInFlight();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ExecutorService executor = parallelism.acquireExecutor();
+        try {
+            for (int i = 0; i < indices.length && failure.get() == null; i++) {
+                inFlight.acquireUninterruptibly();
+                int index = indices[i];
+                try {
+                    executor.execute(() -> {
+                        try {
+                            Strategy strategy = strategyArray[index];
+                            long strategyStart = System.nanoTime();
+                            BarSeriesManager.RunGuard guard = guards == null ? null : guards.get();
+                            TradingRecord tradingRecord = seriesManager.run(strategy, tradeType, amount, guard);
+                            if (BarSeriesManager.RunGuard.isStopped(guard)) {
+                                durations[index] = System.nanoTime() - strategyStart;
+                                sink.accept(index, null);
+                            } else {
+                                TradingStatement statement = tradingStatementGenerator.generate(strategy, tradingRecord,
+                                        seriesManager.getBarSeries());
+                                durations[index] = System.nanoTime() - strategyStart;
+                                sink.accept(index, statement);
+                            }
+                            if (progressTracker != null) {
+                                progressTracker.reportCompletion();
+                            }
+                        } catch (Throwable t) {
+                            failure.compareAndSet(null, t);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    // Let the strategies already submitted finish before reporting
+                    inFlight.release();
+                    inFlight.acquireUninterruptibly(maxInFlight);
+                    throw e;
+                }
+            }
+            // Wait for the remaining strategies
+            inFlight.acquireUninterruptibly(maxInFlight);
+        } finally {
+            parallelism.releaseExecutor(executor);
+        }
+        Throwable t = failure.get();
+        if (t instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (t instanceof Error error) {
+            throw error;
+        }
+        if (t != null) {
+            throw new IllegalStateException("Strategy execution failed", t);
+        }
+    }
+
     private static final class ProgressTracker {
 
         private final Consumer<Integer> callback;
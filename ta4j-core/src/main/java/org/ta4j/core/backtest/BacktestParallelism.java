@@ -0,0 +1,148 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.backtest;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Streaming parallel execution settings for a {@link BacktestExecutor}.
+ *
+ * <p>
+ * By default, large strategy sets are processed in fixed-size batches on the
+ * common pool with GC hints between batches. With parallelism configured (see
+ * {@link BacktestExecutor#withParallelism(BacktestParallelism)}), strategies
+ * are instead submitted to a dedicated executor as a continuous stream:
+ * <ul>
+ * <li>at most {@link #maxInFlight()} strategies are being backtested at any
+ * time, which bounds the number of live {@link org.ta4j.core.TradingRecord
+ * trading records} (back-pressure blocks the submitting thread, not the
+ * workers);</li>
+ * <li>each result is handed over as soon as it completes (for
+ * {@link BacktestExecutor#executeAndKeepTopK executeAndKeepTopK}, it is offered
+ * to a shared top-K heap and dropped immediately if it does not qualify);</li>
+ * <li>no batch barriers and no {@code System.gc()} calls, so all workers stay
+ * busy until the last strategy.</li>
+ * </ul>
+ *
+ * <pre>{@code
+ * var executor = new BacktestExecutor(series).withParallelism(BacktestParallelism.forkJoin(8));
+ * var top = executor.executeAndKeepTopK(strategies, amount, TradeType.BUY, criterion, 20, null);
+ * }</pre>
+ *
+ * @since 0.22.5
+ */
+public final class BacktestParallelism {
+
+    /** In-flight strategies per worker of the owned pools. */
+    private static final int DEFAULT_IN_FLIGHT_PER_WORKER = 4;
+
+    private final Supplier<ExecutorService> executorFactory;
+    private final boolean ownsExecutor;
+    private final int maxInFlight;
+    private final String description;
+
+    private BacktestParallelism(Supplier<ExecutorService> executorFactory, boolean ownsExecutor, int maxInFlight,
+            String description) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        this.executorFactory = executorFactory;
+        this.ownsExecutor = ownsExecutor;
+        this.maxInFlight = maxInFlight;
+        this.description = description;
+    }
+
+    /**
+     * Runs each execution on a dedicated {@link ForkJoinPool}, created when the
+     * execution starts and shut down when it ends.
+     *
+     * @param parallelism the number of worker threads
+     * @return the parallelism settings
+     */
+    public static BacktestParallelism forkJoin(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        return new BacktestParallelism(() -> new ForkJoinPool(parallelism), true,
+                parallelism * DEFAULT_IN_FLIGHT_PER_WORKER, "forkJoin(" + parallelism + ")");
+    }
+
+    /**
+     * Runs each execution on a dedicated {@link ForkJoinPool} with one worker per
+     * available processor.
+     *
+     * @return the parallelism settings
+     */
+    public static BacktestParallelism forkJoin() {
+        return forkJoin(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Runs each strategy on its own virtual thread. The backtests are CPU bound, so
+     * they still share the carrier threads; {@code maxInFlight} bounds the number
+     * of strategies (and trading records) alive at once.
+     *
+     * @param maxInFlight the maximum number of strategies being backtested at once
+     * @return the parallelism settings
+     */
+    public static BacktestParallelism virtualThreads(int maxInFlight) {
+        return new BacktestParallelism(Executors::newVirtualThreadPerTaskExecutor, true, maxInFlight, "virtualThreads");
+    }
+
+    /**
+     * Runs the strategies on a caller-managed executor, which is neither shut down
+     * nor closed by the backtest executor.
+     *
+     * @param executor    the executor
+     * @param maxInFlight the maximum number of strategies submitted and not yet
+     *                    completed
+     * @return the parallelism settings
+     */
+    public static BacktestParallelism using(ExecutorService executor, int maxInFlight) {
+        Objects.requireNonNull(executor, "executor");
+        return new BacktestParallelism(() -> executor, false, maxInFlight, "using(" + executor + ")");
+    }
+
+    /**
+     * @param maxInFlight the maximum number of strategies being backtested at once
+     * @return a copy of these settings with the given in-flight bound
+     */
+    public BacktestParallelism withMaxInFlight(int maxInFlight) {
+        return new BacktestParallelism(executorFactory, ownsExecutor, maxInFlight, description);
+    }
+
+    /**
+     * @return the maximum number of strategies being backtested at once
+     */
+    public int maxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * @return the executor for one execution
+     */
+    ExecutorService acquireExecutor() {
+        return executorFactory.get();
+    }
+
+    /**
+     * Releases an executor obtained from {@link #acquireExecutor()}.
+     *
+     * @param executor the executor
+     */
+    void releaseExecutor(ExecutorService executor) {
+        if (ownsExecutor) {
+            executor.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BacktestParallelism{" + description + ", maxInFlight=" + maxInFlight + '}';
+    }
+}
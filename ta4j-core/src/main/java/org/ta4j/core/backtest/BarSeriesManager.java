@@ -4,16 +4,19 @@
 package org.ta4j.core.backtest;
 
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Indicator;
 import org.ta4j.core.Strategy;
 import org.ta4j.core.Trade.TradeType;
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.analysis.cost.CostModel;
 import org.ta4j.core.analysis.cost.ZeroCostModel;
+import org.ta4j.core.indicators.CachedIndicator;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.reports.TradingStatementGenerator;
 import org.ta4j.core.walkforward.AnchoredExpandingWalkForwardSplitter;
@@ -53,6 +56,9 @@ public class BarSeriesManager {
     /** The trading record factory used by default run overloads. */
     private final TradingRecordFactory tradingRecordFactory;
 
+    /** The precomputed rule signals, or {@code null} to evaluate rules per bar. */
+    private final SignalMatrix signalMatrix;
+
     /**
      * Factory for creating trading records for backtest runs.
      *
@@ -139,6 +145,12 @@ public class BarSeriesManager {
      */
     public BarSeriesManager(BarSeries barSeries, CostModel transactionCostModel, CostModel holdingCostModel,
             TradeExecutionModel tradeExecutionModel, TradingRecordFactory tradingRecordFactory) {
+        this(barSeries, transactionCostModel, holdingCostModel, tradeExecutionModel, tradingRecordFactory, null);
+    }
+
+    private BarSeriesManager(BarSeries barSeries, CostModel transactionCostModel, CostModel holdingCostModel,
+            TradeExecutionModel tradeExecutionModel, TradingRecordFactory tradingRecordFactory,
+            SignalMatrix signalMatrix) {
         Objects.requireNonNull(barSeries, "barSeries");
         Objects.requireNonNull(transactionCostModel, "transactionCostModel");
         Objects.requireNonNull(holdingCostModel, "holdingCostModel");
@@ -149,6 +161,36 @@ public class BarSeriesManager {
         this.holdingCostModel = holdingCostModel;
         this.tradeExecutionModel = tradeExecutionModel;
         this.tradingRecordFactory = tradingRecordFactory;
+        this.signalMatrix = signalMatrix;
+    }
+
+    /**
+     * Returns a copy of this manager that simulates strategies from precomputed
+     * rule signals (see {@link SignalMatrix}). Sharing one matrix between the runs
+     * of a parameter sweep evaluates each record-independent rule once over the
+     * whole series; the resulting trading records are identical to those of the
+     * per-bar loop.
+     *
+     * @param signalMatrix the signals of the managed series, or {@code null} to
+     *                     evaluate the rules bar by bar
+     * @return a manager with the same series, models and record factory
+     * @throws IllegalArgumentException if the matrix was built for another series
+     * @since 0.22.5
+     */
+    public BarSeriesManager withSignalMatrix(SignalMatrix signalMatrix) {
+        if (signalMatrix != null && signalMatrix.getBarSeries() != barSeries) {
+            throw new IllegalArgumentException("signalMatrix was built for another bar series");
+        }
+        return new BarSeriesManager(barSeries, transactionCostModel, holdingCostModel, tradeExecutionModel,
+                tradingRecordFactory, signalMatrix);
+    }
+
+    /**
+     * @return the precomputed rule signals, if configured
+     * @since 0.22.5
+     */
+    public Optional<SignalMatrix> getSignalMatrix() {
+        return Optional.ofNullable(signalMatrix);
     }
 
     /**
@@ -172,6 +214,36 @@ public class BarSeriesManager {
         return holdingCostModel;
     }
 
+    /**
+     * @return the trade execution model
+     * @since 0.22.5
+     */
+    public TradeExecutionModel getTradeExecutionModel() {
+        return tradeExecutionModel;
+    }
+
+    /**
+     * Precomputes the given indicators over the whole managed series.
+     *
+     * <p>
+     * Each {@link CachedIndicator} fills its cache in one forward pass (see
+     * {@link CachedIndicator#computeRange(int, int)}), which also warms the
+     * indicators it depends on, so that a subsequent {@code run(...)} evaluates its
+     * rules over hot caches. Other indicators are ignored.
+     *
+     * @param indicators the indicators used by the strategies to run
+     * @return {@code this}
+     * @since 0.22.5
+     */
+    public BarSeriesManager precompute(Indicator<?>... indicators) {
+        for (Indicator<?> indicator : indicators) {
+            if (indicator instanceof CachedIndicator<?> cachedIndicator) {
+                cachedIndicator.computeRange(barSeries.getBeginIndex(), barSeries.getEndIndex());
+            }
+        }
+        return this;
+    }
+
     /**
      * Runs the provided strategy over the managed series.
      *
@@ -255,6 +327,19 @@ public class BarSeriesManager {
         return run(strategy, tradingRecord, amount, startIndex, finishIndex);
     }
 
+    /**
+     * Same as {@link #run(Strategy, TradeType, Num)}, stopping once the guard asks
+     * to.
+     *
+     * @param guard the guard checked after each trade signal, or {@code null}
+     */
+    TradingRecord run(Strategy strategy, TradeType tradeType, Num amount, RunGuard guard) {
+        int startIndex = barSeries.getBeginIndex();
+        int finishIndex = barSeries.getEndIndex();
+        TradingRecord tradingRecord = createDefaultTradingRecord(tradeType, startIndex, finishIndex);
+        return run(strategy, tradingRecord, amount, startIndex, finishIndex, guard);
+    }
+
     /**
      * Runs the provided strategy over the managed series using the supplied trading
      * record.
@@ -310,6 +395,17 @@ public class BarSeriesManager {
      */
     public TradingRecord run(Strategy strategy, TradingRecord tradingRecord, Num amount, int startIndex,
             int finishIndex) {
+        return run(strategy, tradingRecord, amount, startIndex, finishIndex, null);
+    }
+
+    /**
+     * Same as {@link #run(Strategy, TradingRecord, Num, int, int)}, stopping once
+     * the guard asks to.
+     *
+     * @param guard the guard checked after each trade signal, or {@code null}
+     */
+    TradingRecord run(Strategy strategy, TradingRecord tradingRecord, Num amount, int startIndex, int finishIndex,
+            RunGuard guard) {
         Objects.requireNonNull(strategy, "strategy");
         Objects.requireNonNull(tradingRecord, "tradingRecord");
         Objects.requireNonNull(amount, "amount");
@@ -321,6 +417,11 @@ public class BarSeriesManager {
                     strategy, tradingRecord.getStartingType());
         }
 
+        SignalMatrix.StrategySignals signals = signalMatrix == null ? null : signalMatrix.compile(strategy, barSeries);
+        if (signals != null) {
+            return runWithSignals(signals, tradingRecord, amount, runBeginIndex, runEndIndex, guard);
+        }
+
         int lastProcessedIndex = runEndIndex;
         for (int i = runBeginIndex; i <= runEndIndex; i++) {
             lastProcessedIndex = i;
@@ -328,10 +429,13 @@ public class BarSeriesManager {
             // For each bar between both indexes...
             if (strategy.shouldOperate(i, tradingRecord)) {
                 tradeExecutionModel.execute(i, tradingRecord, barSeries, amount);
+                if (guard != null && guard.check(i, tradingRecord)) {
+                    break;
+                }
             }
         }
 
-        if (!tradingRecord.isClosed() && runEndIndex == barSeries.getEndIndex()) {
+        if (!tradingRecord.isClosed() && runEndIndex == barSeries.getEndIndex() && !RunGuard.isStopped(guard)) {
             // If the last position is still open and there are still bars after the
             // endIndex of the barSeries, then we execute the strategy on these bars
             // to give an opportunity to close this position.
@@ -351,6 +455,81 @@ public class BarSeriesManager {
         return tradingRecord;
     }
 
+    /**
+     * Same as the loops of {@link #run(Strategy, TradingRecord, Num, int, int)},
+     * with the rules looked up in the signal matrix.
+     */
+    private TradingRecord runWithSignals(SignalMatrix.StrategySignals signals, TradingRecord tradingRecord, Num amount,
+            int runBeginIndex, int runEndIndex, RunGuard guard) {
+        int lastProcessedIndex = runBars(signals, tradingRecord, amount, runBeginIndex, runEndIndex, false, guard);
+        if (!tradingRecord.isClosed() && runEndIndex == barSeries.getEndIndex() && !RunGuard.isStopped(guard)) {
+            // Give the last open position a chance to close on the bars after the end
+            int seriesMaxSize = Math.max(barSeries.getEndIndex() + 1, barSeries.getBarData().size());
+            if (runEndIndex + 1 < seriesMaxSize) {
+                lastProcessedIndex = runBars(signals, tradingRecord, amount, runEndIndex + 1, seriesMaxSize - 1, true,
+                        null);
+            }
+        }
+        tradeExecutionModel.onRunEnd(lastProcessedIndex, tradingRecord);
+        return tradingRecord;
+    }
+
+    /**
+     * @return the last processed index
+     */
+    private int runBars(SignalMatrix.StrategySignals signals, TradingRecord tradingRecord, Num amount, int fromIndex,
+            int toIndex, boolean stopAfterFirstTrade, RunGuard guard) {
+        if (signals.isScannable() && tradeExecutionModel.ignoresOnBar()) {
+            // Nothing happens between two signals: jump from one to the next
+            int i = fromIndex;
+            while ((i = signals.nextOperation(i, toIndex, tradingRecord)) >= 0) {
+                tradeExecutionModel.execute(i, tradingRecord, barSeries, amount);
+                if (stopAfterFirstTrade || (guard != null && guard.check(i, tradingRecord))) {
+                    return i;
+                }
+                i++;
+            }
+            return toIndex;
+        }
+        for (int i = fromIndex; i <= toIndex; i++) {
+            tradeExecutionModel.onBar(i, tradingRecord, barSeries);
+            if (signals.shouldOperate(i, tradingRecord)) {
+                tradeExecutionModel.execute(i, tradingRecord, barSeries, amount);
+                if (stopAfterFirstTrade || (guard != null && guard.check(i, tradingRecord))) {
+                    return i;
+                }
+            }
+        }
+        return toIndex;
+    }
+
+    /**
+     * Stops a run early, e.g. to abandon a strategy that can no longer make it into
+     * the results of a sweep.
+     */
+    abstract static class RunGuard {
+
+        private boolean stopped;
+
+        /**
+         * @param index         the index of the bar a trade signal was just executed on
+         * @param tradingRecord the trading record of the run
+         * @return true to stop the run
+         */
+        protected abstract boolean shouldStop(int index, TradingRecord tradingRecord);
+
+        final boolean check(int index, TradingRecord tradingRecord) {
+            if (!stopped && shouldStop(index, tradingRecord)) {
+                stopped = true;
+            }
+            return stopped;
+        }
+
+        static boolean isStopped(RunGuard guard) {
+            return guard != null && guard.stopped;
+        }
+    }
+
     private TradingRecord createDefaultTradingRecord(TradeType tradeType, int startIndex, int finishIndex) {
         int clampedStartIndex = Math.max(startIndex, barSeries.getBeginIndex());
         int clampedEndIndex = Math.min(finishIndex, barSeries.getEndIndex());
@@ -0,0 +1,35 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.backtest;
+
+import java.util.Objects;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Strategy;
+
+/**
+ * A symbol of a {@link PortfolioBacktester portfolio backtest}: its bar series
+ * and the strategy trading it.
+ *
+ * @param symbol   the unique symbol
+ * @param series   the bars of the symbol
+ * @param strategy the strategy trading the symbol, opening positions with its
+ *                 {@link Strategy#getStartingType() starting type}
+ * @since 0.22.5
+ */
+public record PortfolioAsset(String symbol, BarSeries series, Strategy strategy) {
+
+    /**
+     * Constructor.
+     *
+     * @param symbol   the unique symbol
+     * @param series   the bars of the symbol
+     * @param strategy the strategy trading the symbol
+     */
+    public PortfolioAsset {
+        Objects.requireNonNull(symbol, "symbol");
+        Objects.requireNonNull(series, "series");
+        Objects.requireNonNull(strategy, "strategy");
+    }
+}
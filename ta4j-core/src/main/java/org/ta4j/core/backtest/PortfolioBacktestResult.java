@@ -0,0 +1,100 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.backtest;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.Num;
+
+/**
+ * The outcome of a {@link PortfolioBacktester portfolio backtest}.
+ *
+ * <p>
+ * Each symbol has its own {@link TradingRecord}, indexed on its own bar series,
+ * so that all analysis criteria apply per symbol. The portfolio as a whole is
+ * described by its equity and cash curves, sampled after each step of the
+ * shared clock (the distinct bar end times of all symbols).
+ *
+ * @since 0.22.5
+ */
+public final class PortfolioBacktestResult {
+
+    private final Num initialCapital;
+    private final Map<String, TradingRecord> tradingRecords;
+    private final List<Instant> timestamps;
+    private final List<Num> equityCurve;
+    private final List<Num> cashCurve;
+
+    PortfolioBacktestResult(Num initialCapital, Map<String, TradingRecord> tradingRecords, List<Instant> timestamps,
+            List<Num> equityCurve, List<Num> cashCurve) {
+        this.initialCapital = initialCapital;
+        this.tradingRecords = Collections.unmodifiableMap(tradingRecords);
+        this.timestamps = Collections.unmodifiableList(timestamps);
+        this.equityCurve = Collections.unmodifiableList(equityCurve);
+        this.cashCurve = Collections.unmodifiableList(cashCurve);
+    }
+
+    /**
+     * @return the capital the portfolio started with
+     */
+    public Num getInitialCapital() {
+        return initialCapital;
+    }
+
+    /**
+     * @return the trading record of each symbol, in the order of the assets
+     */
+    public Map<String, TradingRecord> getTradingRecords() {
+        return tradingRecords;
+    }
+
+    /**
+     * @param symbol a symbol of the portfolio
+     * @return the trading record of the symbol, or {@code null} if unknown
+     */
+    public TradingRecord getTradingRecord(String symbol) {
+        return tradingRecords.get(symbol);
+    }
+
+    /**
+     * @return the end times of the steps of the shared clock, ascending
+     */
+    public List<Instant> getTimestamps() {
+        return timestamps;
+    }
+
+    /**
+     * @return the equity (cash plus open positions at their last close price) after
+     *         each step of the clock
+     */
+    public List<Num> getEquityCurve() {
+        return equityCurve;
+    }
+
+    /**
+     * @return the cash after each step of the clock
+     */
+    public List<Num> getCashCurve() {
+        return cashCurve;
+    }
+
+    /**
+     * @return the equity after the last step, or the initial capital if there was
+     *         no bar
+     */
+    public Num getFinalEquity() {
+        return equityCurve.isEmpty() ? initialCapital : equityCurve.getLast();
+    }
+
+    /**
+     * @return the final equity divided by the initial capital
+     */
+    public Num getTotalReturn() {
+        return getFinalEquity().dividedBy(initialCapital);
+    }
+}
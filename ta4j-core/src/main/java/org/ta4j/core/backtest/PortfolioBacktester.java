@@ -0,0 +1,360 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.backtest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Position;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.cost.CostModel;
+import org.ta4j.core.analysis.cost.ZeroCostModel;
+import org.ta4j.core.num.Num;
+
+/**
+ * Backtests several symbols against a single pool of capital.
+ *
+ * <p>
+ * The bar series of the symbols are merged by bar end time into a shared clock:
+ * at each step, every symbol having a bar ending at that time advances by one
+ * bar, while the others keep their last close price. Within a step:
+ * <ol>
+ * <li>the trades filled on the bar (e.g. orders placed on the previous bar by a
+ * {@link TradeOnNextOpenModel}) are settled against the cash;
+ * <li>the strategies holding a position are asked to exit, releasing capital;
+ * <li>the strategies without a position are asked to enter, each new position
+ * being sized by the {@link PositionSizer} at the close price from the current
+ * equity and the cash not yet spent nor reserved. An entry filled on a later
+ * bar (e.g. at the next open) is sized again at its fill price if it cannot be
+ * paid for at that price. Entries that cannot be paid for are skipped;
+ * <li>the cash and the equity (cash plus open positions at their last close
+ * price) are recorded.
+ * </ol>
+ *
+ * <p>
+ * Short positions (strategies starting with {@link Trade.TradeType#SELL}) are
+ * cash secured: an entry needs its value available, like a long entry, and
+ * until the position is covered its proceeds are held back along with that
+ * value, so that they never fund the positions of other symbols.
+ *
+ * <p>
+ * Each symbol keeps its own {@link TradingRecord}, indexed on its own bar
+ * series, so that all analysis criteria remain applicable per symbol. Like in
+ * {@link BarSeriesManager}, each strategy makes one decision per bar. Positions
+ * still open after the last bar are kept open and valued at their last close
+ * price.
+ *
+ * @since 0.22.5
+ */
+public class PortfolioBacktester {
+
+    /**
+     * Relative tolerance of the affordability check, absorbing the rounding of
+     * amounts sized as {@code available / price}.
+     */
+    private static final double AFFORDABILITY_TOLERANCE = 1e-9;
+
+    private final Num initialCapital;
+    private final PositionSizer positionSizer;
+    private final CostModel transactionCostModel;
+    private final CostModel holdingCostModel;
+    private final TradeExecutionModel tradeExecutionModel;
+
+    /**
+     * Constructor without trading costs, trading on the next open price.
+     *
+     * @param initialCapital the capital of the portfolio
+     * @param positionSizer  the sizer of new positions
+     */
+    public PortfolioBacktester(Num initialCapital, PositionSizer positionSizer) {
+        this(initialCapital, positionSizer, new ZeroCostModel(), new ZeroCostModel(), new TradeOnNextOpenModel());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param initialCapital       the capital of the portfolio
+     * @param positionSizer        the sizer of new positions
+     * @param transactionCostModel the cost model for transactions
+     * @param holdingCostModel     the cost model for holding positions (e.g.
+     *                             borrowing)
+     * @param tradeExecutionModel  the trade execution model, shared by all symbols
+     */
+    public PortfolioBacktester(Num initialCapital, PositionSizer positionSizer, CostModel transactionCostModel,
+            CostModel holdingCostModel, TradeExecutionModel tradeExecutionModel) {
+        this.initialCapital = Objects.requireNonNull(initialCapital, "initialCapital");
+        this.positionSizer = Objects.requireNonNull(positionSizer, "positionSizer");
+        this.transactionCostModel = Objects.requireNonNull(transactionCostModel, "transactionCostModel");
+        this.holdingCostModel = Objects.requireNonNull(holdingCostModel, "holdingCostModel");
+        this.tradeExecutionModel = Objects.requireNonNull(tradeExecutionModel, "tradeExecutionModel");
+        if (!initialCapital.isPositive()) {
+            throw new IllegalArgumentException("initialCapital must be positive");
+        }
+    }
+
+    /**
+     * Runs the strategies of the assets over their bar series.
+     *
+     * @param assets the assets, with distinct symbols
+     * @return the trading records of the symbols and the portfolio equity curve
+     * @throws IllegalArgumentException if two assets have the same symbol
+     */
+    public PortfolioBacktestResult run(List<PortfolioAsset> assets) {
+        Objects.requireNonNull(assets, "assets");
+        Set<String> symbols = new HashSet<>();
+        for (PortfolioAsset asset : assets) {
+            if (!symbols.add(asset.symbol())) {
+                throw new IllegalArgumentException("Duplicate symbol: " + asset.symbol());
+            }
+        }
+        return new Run(assets).execute();
+    }
+
+    /** The state of one run. */
+    private final class Run {
+
+        private final List<PortfolioAsset> assets;
+        private final TradingRecord[] records;
+        /** The next bar index of each asset */
+        private final int[] cursors;
+        /** The number of trades of each record already settled */
+        private final int[] settledTrades;
+        /** The amount held by each asset, negative when short */
+        private final Num[] holdings;
+        /** The value of the holdings of each asset at its last close price */
+        private final Num[] marks;
+        /**
+         * The cash reserved for the entry each asset has pending, or held back as
+         * collateral of its short position
+         */
+        private final Num[] reservations;
+        private final Num zero;
+        private final Num tolerance;
+        private final Num collateralFactor;
+        private Num cash;
+        private Num marksTotal;
+        private Num reservedTotal;
+
+        private Run(List<PortfolioAsset> assets) {
+            this.assets = assets;
+            int n = assets.size();
+            this.records = new TradingRecord[n];
+            this.cursors = new int[n];
+            this.settledTrades = new int[n];
+            this.holdings = new Num[n];
+            this.marks = new Num[n];
+            this.reservations = new Num[n];
+            this.zero = initialCapital.getNumFactory().zero();
+            this.tolerance = initialCapital.getNumFactory().numOf(AFFORDABILITY_TOLERANCE);
+            this.collateralFactor = initialCapital.getNumFactory().two();
+            this.cash = initialCapital;
+            this.marksTotal = zero;
+            this.reservedTotal = zero;
+            for (int a = 0; a < n; a++) {
+                BarSeries series = assets.get(a).series();
+                records[a] = new BaseTradingRecord(assets.get(a).strategy().getStartingType(), series.getBeginIndex(),
+                        series.getEndIndex(), transactionCostModel, holdingCostModel);
+                cursors[a] = series.getBeginIndex();
+                holdings[a] = zero;
+                marks[a] = zero;
+                reservations[a] = zero;
+            }
+        }
+
+        private PortfolioBacktestResult execute() {
+            // Merge the series by bar end time, ties broken by asset order
+            PriorityQueue<Integer> clock = new PriorityQueue<>(Math.max(1, assets.size()), (a1, a2) -> {
+                int byTime = endTime(a1).compareTo(endTime(a2));
+                return byTime != 0 ? byTime : Integer.compare(a1, a2);
+            });
+            for (int a = 0; a < assets.size(); a++) {
+                if (hasBar(a)) {
+                    clock.add(a);
+                }
+            }
+            List<Instant> timestamps = new ArrayList<>();
+            List<Num> equityCurve = new ArrayList<>();
+            List<Num> cashCurve = new ArrayList<>();
+            List<Integer> stepping = new ArrayList<>();
+            List<Integer> entering = new ArrayList<>();
+            while (!clock.isEmpty()) {
+                Instant time = endTime(clock.peek());
+                stepping.clear();
+                while (!clock.isEmpty() && endTime(clock.peek()).equals(time)) {
+                    stepping.add(clock.poll());
+                }
+                step(stepping, entering);
+                timestamps.add(time);
+                equityCurve.add(cash.plus(marksTotal));
+                cashCurve.add(cash);
+                for (int a : stepping) {
+                    cursors[a]++;
+                    if (hasBar(a)) {
+                        clock.add(a);
+                    }
+                }
+            }
+            Map<String, TradingRecord> tradingRecords = new LinkedHashMap<>();
+            for (int a = 0; a < assets.size(); a++) {
+                tradeExecutionModel.onRunEnd(cursors[a] - 1, records[a]);
+                tradingRecords.put(assets.get(a).symbol(), records[a]);
+            }
+            return new PortfolioBacktestResult(initialCapital, tradingRecords, timestamps, equityCurve, cashCurve);
+        }
+
+        private void step(List<Integer> stepping, List<Integer> entering) {
+            entering.clear();
+            for (int a : stepping) {
+                int index = cursors[a];
+                tradeExecutionModel.onBar(index, records[a], assets.get(a).series());
+                settle(a, index);
+                if (records[a].isClosed()) {
+                    entering.add(a);
+                }
+            }
+            // Exits first, so that the capital they release can be reused
+            for (int a : stepping) {
+                int index = cursors[a];
+                Strategy strategy = assets.get(a).strategy();
+                if (!records[a].isClosed() && strategy.shouldOperate(index, records[a])) {
+                    Trade entry = records[a].getCurrentPosition().getEntry();
+                    Num amount = entry != null ? entry.getAmount() : holdings[a].abs();
+                    tradeExecutionModel.execute(index, records[a], assets.get(a).series(), amount);
+                    settle(a, index);
+                }
+            }
+            for (int a : entering) {
+                int index = cursors[a];
+                if (assets.get(a).strategy().shouldOperate(index, records[a])) {
+                    enter(a, index);
+                }
+            }
+        }
+
+        private void enter(int a, int index) {
+            PortfolioAsset asset = assets.get(a);
+            Num price = asset.series().getBar(index).getClosePrice();
+            if (price.isZero() || price.isNaN()) {
+                return;
+            }
+            Num available = cash.minus(reservedTotal);
+            Num equity = cash.plus(marksTotal);
+            Num amount = positionSizer.size(asset.symbol(), price, equity, available);
+            if (!isValid(amount)) {
+                return;
+            }
+            if (exceeds(price.multipliedBy(amount), available)) {
+                return;
+            }
+            Num fillPrice = deferredFillPrice(a, index, amount);
+            if (fillPrice != null && exceeds(fillPrice.multipliedBy(amount), available)) {
+                // The price moved against the order before its fill
+                amount = positionSizer.size(asset.symbol(), fillPrice, equity, available);
+                if (!isValid(amount) || exceeds(fillPrice.multipliedBy(amount), available)) {
+                    return;
+                }
+            }
+            int tradeCount = records[a].getTrades().size();
+            tradeExecutionModel.execute(index, records[a], asset.series(), amount);
+            List<Trade> trades = records[a].getTrades();
+            if (trades.size() > tradeCount) {
+                Trade trade = trades.getLast();
+                if (trade.getIndex() > index) {
+                    // Filled on a later bar: keep its cash aside until then
+                    reserve(a, trade.getValue().plus(trade.getCost()));
+                }
+            }
+            settle(a, index);
+        }
+
+        private boolean isValid(Num amount) {
+            return amount != null && !amount.isNaN() && amount.isPositive();
+        }
+
+        /** @return whether {@code value} exceeds {@code available} beyond rounding */
+        private boolean exceeds(Num value, Num available) {
+            return value.isGreaterThan(available.plus(available.abs().multipliedBy(tolerance)));
+        }
+
+        /**
+         * Executes the entry on a scratch record to learn its fill price.
+         *
+         * @return the price of the entry if it is filled on a later bar, otherwise
+         *         {@code null}
+         */
+        private Num deferredFillPrice(int a, int index, Num amount) {
+            BarSeries series = assets.get(a).series();
+            TradingRecord probe = new BaseTradingRecord(records[a].getStartingType(), series.getBeginIndex(),
+                    series.getEndIndex(), transactionCostModel, holdingCostModel);
+            tradeExecutionModel.execute(index, probe, series, amount);
+            Trade trade = probe.getLastTrade();
+            return trade != null && trade.getIndex() > index ? trade.getPricePerAsset() : null;
+        }
+
+        /** Applies the trades filled up to the index to the cash. */
+        private void settle(int a, int index) {
+            List<Trade> trades = records[a].getTrades();
+            Trade.TradeType entryType = records[a].getStartingType();
+            Num close = assets.get(a).series().getBar(index).getClosePrice();
+            while (settledTrades[a] < trades.size() && trades.get(settledTrades[a]).getIndex() <= index) {
+                Trade trade = trades.get(settledTrades[a]++);
+                if (trade.isBuy()) {
+                    cash = cash.minus(trade.getValue()).minus(trade.getCost());
+                    holdings[a] = holdings[a].plus(trade.getAmount());
+                } else {
+                    cash = cash.plus(trade.getValue()).minus(trade.getCost());
+                    holdings[a] = holdings[a].minus(trade.getAmount());
+                }
+                if (trade.getType() == entryType) {
+                    // A short entry holds back its proceeds and as much again as collateral
+                    reserve(a, trade.isBuy() ? zero : trade.getValue().multipliedBy(collateralFactor));
+                } else {
+                    reserve(a, zero);
+                    cash = cash.minus(holdingCost(records[a], trade));
+                }
+            }
+            Num mark = holdings[a].multipliedBy(close);
+            marksTotal = marksTotal.plus(mark).minus(marks[a]);
+            marks[a] = mark;
+        }
+
+        private void reserve(int a, Num value) {
+            reservedTotal = reservedTotal.plus(value).minus(reservations[a]);
+            reservations[a] = value;
+        }
+
+        private Num holdingCost(TradingRecord record, Trade exit) {
+            Position position = record.getLastPosition();
+            if (position == null || position.getExit() != exit) {
+                position = null;
+                for (Position closed : record.getPositions()) {
+                    if (closed.getExit() == exit) {
+                        position = closed;
+                    }
+                }
+            }
+            return position == null ? zero : position.getHoldingCost();
+        }
+
+        private boolean hasBar(int a) {
+            BarSeries series = assets.get(a).series();
+            return !series.isEmpty() && cursors[a] <= series.getEndIndex();
+        }
+
+        private Instant endTime(int a) {
+            return assets.get(a).series().getBar(cursors[a]).getEndTime();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.backtest;
+
+import java.util.Objects;
+
+import org.ta4j.core.num.Num;
+
+/**
+ * Decides the amount of a new position opened by a {@link PortfolioBacktester
+ * portfolio backtest}.
+ *
+ * @since 0.22.5
+ */
+@FunctionalInterface
+public interface PositionSizer {
+
+    /**
+     * @param symbol        the symbol of the position
+     * @param price         the price the position is sized at (the close price of
+     *                      the signal bar)
+     * @param equity        the current equity of the portfolio (cash plus open
+     *                      positions at their last close price)
+     * @param availableCash the cash not spent nor reserved for pending entries
+     * @return the amount of the position; zero, negative or NaN to skip the entry
+     */
+    Num size(String symbol, Num price, Num equity, Num availableCash);
+
+    /**
+     * Invests a fixed fraction of the portfolio equity in each position, limited by
+     * the available cash.
+     *
+     * @param fraction the fraction of equity per position, in (0, 1]
+     * @return the position sizer
+     */
+    static PositionSizer fractionOfEquity(Num fraction) {
+        Objects.requireNonNull(fraction, "fraction");
+        if (!fraction.isPositive() || fraction.isGreaterThan(fraction.getNumFactory().one())) {
+            throw new IllegalArgumentException("fraction must be in (0, 1]");
+        }
+        return (symbol, price, equity,
+                availableCash) -> equity.multipliedBy(fraction).min(availableCash).dividedBy(price);
+    }
+
+    /**
+     * Invests a fixed value in each position, limited by the available cash.
+     *
+     * @param value the value per position
+     * @return the position sizer
+     */
+    static PositionSizer fixedValue(Num value) {
+        Objects.requireNonNull(value, "value");
+        return (symbol, price, equity, availableCash) -> value.min(availableCash).dividedBy(price);
+    }
+
+    /**
+     * Opens every position with the same amount.
+     *
+     * @param amount the amount per position
+     * @return the position sizer
+     */
+    static PositionSizer fixedAmount(Num amount) {
+        Objects.requireNonNull(amount, "amount");
+        return (symbol, price, equity, availableCash) -> amount;
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.backtest;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Position;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.rules.AndRule;
+import org.ta4j.core.rules.CachedRule;
+import org.ta4j.core.rules.NotRule;
+import org.ta4j.core.rules.OrRule;
+import org.ta4j.core.rules.XorRule;
+
+/**
+ * Precomputed entry/exit signals of the rules of many strategies over one bar
+ * series.
+ *
+ * <p>
+ * Most rules of a parameter sweep only compare indicator values and never look
+ * at the {@link TradingRecord}. Such a rule is evaluated once over the whole
+ * bar range into a {@link BitSet} of the indexes where it is satisfied, and
+ * that bit set is shared by every strategy using the same rule instance. AND,
+ * OR, XOR and NOT combinations of such rules are derived from the bit sets of
+ * their operands, so a grid combining a few hundred entry and exit rules only
+ * evaluates each of them once.
+ *
+ * <p>
+ * A {@link BarSeriesManager} configured with a signal matrix (see
+ * {@link BarSeriesManager#withSignalMatrix(SignalMatrix)} and
+ * {@link BacktestExecutor#withSignalMatrix()}) simulates {@link BaseStrategy}
+ * instances by looking up these bit sets instead of calling
+ * {@link Strategy#shouldOperate(int, TradingRecord)}. When both rules of a
+ * strategy are record independent and the trade execution model does nothing
+ * between trades, the simulation jumps from one set bit to the next. Rules that
+ * depend on the trading record or keep internal state (stops such as
+ * {@link org.ta4j.core.rules.StopLossRule StopLossRule} and
+ * {@link org.ta4j.core.rules.TrailingStopLossRule TrailingStopLossRule},
+ * {@link org.ta4j.core.rules.WaitForRule WaitForRule},
+ * {@link org.ta4j.core.rules.JustOnceRule JustOnceRule}, custom rules...) are
+ * still evaluated bar by bar, with the same short-circuit order as their
+ * combination rules. Other strategy implementations are run unchanged.
+ *
+ * <p>
+ * The signals are computed for the bars present when the matrix is created.
+ * Runs on a series that has grown since then fall back to the per-bar loop.
+ * Instances are thread-safe.
+ *
+ * @since 0.22.5
+ */
+public final class SignalMatrix {
+
+    private final BarSeries series;
+    private final int beginIndex;
+    private final int endIndex;
+    private final Map<Rule, BitSet> signals = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * Constructor.
+     *
+     * @param series the bar series
+     */
+    public SignalMatrix(BarSeries series) {
+        this.series = Objects.requireNonNull(series, "series");
+        this.beginIndex = Math.max(series.getBeginIndex(), 0);
+        this.endIndex = lastIndex(series);
+    }
+
+    /**
+     * @param series a bar series
+     * @return the last index a backtest can reach, including bars after the end
+     *         index of the series
+     */
+    private static int lastIndex(BarSeries series) {
+        return Math.max(series.getEndIndex(), series.getBarData().size() - 1);
+    }
+
+    /**
+     * @return the bar series of the signals
+     */
+    public BarSeries getBarSeries() {
+        return series;
+    }
+
+    /**
+     * Tells whether a rule is evaluated into a bit set, i.e. whether its result
+     * depends only on the bar index.
+     *
+     * @param rule the rule
+     * @return true if the rule does not depend on the trading record
+     * @see CachedRule#isCacheable(Rule)
+     */
+    public static boolean isRecordIndependent(Rule rule) {
+        return CachedRule.isCacheable(rule);
+    }
+
+    /**
+     * Returns the indexes where a record-independent rule is satisfied, computing
+     * them on first use.
+     *
+     * @param rule a rule for which {@link #isRecordIndependent(Rule)} holds
+     * @return a copy of the satisfied indexes
+     * @throws IllegalArgumentException if the rule depends on the trading record
+     */
+    public BitSet signals(Rule rule) {
+        if (!isRecordIndependent(rule)) {
+            throw new IllegalArgumentException("Rule depends on the trading record: " + rule);
+        }
+        return (BitSet) bits(rule).clone();
+    }
+
+    /**
+     * @return the number of rules evaluated so far
+     */
+    public int size() {
+        return signals.size();
+    }
+
+    private BitSet bits(Rule rule) {
+        BitSet bits = signals.get(rule);
+        if (bits == null) {
+            // Computed outside the lock: concurrent runs may duplicate work, not block
+            bits = computeBits(rule);
+            BitSet previous = signals.putIfAbsent(rule, bits);
+            if (previous != null) {
+                bits = previous;
+            }
+        }
+        return bits;
+    }
+
+    private BitSet computeBits(Rule rule) {
+        Class<?> type = rule.getClass();
+        BitSet bits;
+        if (type == AndRule.class) {
+            AndRule and = (AndRule) rule;
+            bits = (BitSet) bits(and.getRule1()).clone();
+            bits.and(bits(and.getRule2()));
+        } else if (type == OrRule.class) {
+            OrRule or = (OrRule) rule;
+            bits = (BitSet) bits(or.getRule1()).clone();
+            bits.or(bits(or.getRule2()));
+        } else if (type == XorRule.class) {
+            XorRule xor = (XorRule) rule;
+            bits = (BitSet) bits(xor.getRule1()).clone();
+            bits.xor(bits(xor.getRule2()));
+        } else if (type == NotRule.class) {
+            bits = (BitSet) bits(((NotRule) rule).getRuleToNegate()).clone();
+            bits.flip(beginIndex, endIndex + 1);
+        } else {
+            bits = new BitSet(endIndex + 1);
+            for (int i = beginIndex; i <= endIndex; i++) {
+                if (rule.isSatisfied(i, null)) {
+                    bits.set(i);
+                }
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Compiles the rules of a strategy into signals.
+     *
+     * @param strategy the strategy
+     * @param series   the series being backtested
+     * @return the signals of the strategy, or {@code null} if the strategy must be
+     *         run through {@link Strategy#shouldOperate(int, TradingRecord)}
+     */
+    StrategySignals compile(Strategy strategy, BarSeries series) {
+        if (strategy.getClass() != BaseStrategy.class || series != this.series || series.getBeginIndex() < beginIndex
+                || lastIndex(series) > endIndex) {
+            return null;
+        }
+        return new StrategySignals(compile(strategy.getEntryRule()), compile(strategy.getExitRule()),
+                strategy.getUnstableBars());
+    }
+
+    private Signal compile(Rule rule) {
+        if (isRecordIndependent(rule)) {
+            return new BitSetSignal(bits(rule));
+        }
+        // Keep the evaluation order of the combinations: stateful operands may
+        // depend on being (or not being) called
+        Class<?> type = rule.getClass();
+        if (type == AndRule.class) {
+            Signal first = compile(((AndRule) rule).getRule1());
+            Signal second = compile(((AndRule) rule).getRule2());
+            return (index, record) -> first.test(index, record) && second.test(index, record);
+        }
+        if (type == OrRule.class) {
+            Signal first = compile(((OrRule) rule).getRule1());
+            Signal second = compile(((OrRule) rule).getRule2());
+            return (index, record) -> first.test(index, record) || second.test(index, record);
+        }
+        if (type == XorRule.class) {
+            Signal first = compile(((XorRule) rule).getRule1());
+            Signal second = compile(((XorRule) rule).getRule2());
+            return (index, record) -> first.test(index, record) ^ second.test(index, record);
+        }
+        if (type == NotRule.class) {
+            Signal negated = compile(((NotRule) rule).getRuleToNegate());
+            return (index, record) -> !negated.test(index, record);
+        }
+        return rule::isSatisfied;
+    }
+
+    /** The satisfaction of a compiled rule. */
+    @FunctionalInterface
+    interface Signal {
+
+        boolean test(int index, TradingRecord tradingRecord);
+    }
+
+    /** A signal looked up in precomputed satisfied indexes. */
+    record BitSetSignal(BitSet bits) implements Signal {
+
+        @Override
+        public boolean test(int index, TradingRecord tradingRecord) {
+            return bits.get(index);
+        }
+    }
+
+    /** The compiled entry and exit rules of a {@link BaseStrategy}. */
+    static final class StrategySignals {
+
+        private final Signal entry;
+        private final Signal exit;
+        private final int unstableBars;
+
+        private StrategySignals(Signal entry, Signal exit, int unstableBars) {
+            this.entry = entry;
+            this.exit = exit;
+            this.unstableBars = unstableBars;
+        }
+
+        /**
+         * @return true if both signals are bit sets, so that idle bars can be skipped
+         */
+        boolean isScannable() {
+            return entry instanceof BitSetSignal && exit instanceof BitSetSignal;
+        }
+
+        /**
+         * Equivalent of {@link Strategy#shouldOperate(int, TradingRecord)}.
+         *
+         * @param index         the bar index
+         * @param tradingRecord the trading record
+         * @return true to recommend a trade
+         */
+        boolean shouldOperate(int index, TradingRecord tradingRecord) {
+            if (index < unstableBars) {
+                return false;
+            }
+            Position position = tradingRecord.getCurrentPosition();
+            if (position.isNew()) {
+                return entry.test(index, tradingRecord);
+            } else if (position.isOpened()) {
+                return exit.test(index, tradingRecord);
+            }
+            return false;
+        }
+
+        /**
+         * Finds the next bar where a {@linkplain #isScannable() scannable} strategy
+         * operates, given that the trading record does not change in between.
+         *
+         * @param fromIndex     the first candidate index
+         * @param toIndex       the last candidate index
+         * @param tradingRecord the trading record
+         * @return the index of the next trade, or -1 if there is none up to
+         *         {@code toIndex}
+         */
+        int nextOperation(int fromIndex, int toIndex, TradingRecord tradingRecord) {
+            Position position = tradingRecord.getCurrentPosition();
+            Signal signal;
+            if (position.isNew()) {
+                signal = entry;
+            } else if (position.isOpened()) {
+                signal = exit;
+            } else {
+                return -1;
+            }
+            int next = ((BitSetSignal) signal).bits().nextSetBit(Math.max(fromIndex, unstableBars));
+            return next >= 0 && next <= toIndex ? next : -1;
+        }
+    }
+}
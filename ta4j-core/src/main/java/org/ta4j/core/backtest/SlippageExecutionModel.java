@@ -83,6 +83,12 @@ public class SlippageExecutionModel implements TradeExecutionModel {
         tradingRecord.operate(executionTarget.index(), slippedPrice, amount);
     }
 
+    /** @return {@code true}, since trades are only placed from signals */
+    @Override
+    public boolean ignoresOnBar() {
+        return true;
+    }
+
     private static Num applySlippage(Num price, TradeType tradeType, Num slippageRatio) {
         Num one = price.getNumFactory().one();
         if (tradeType == TradeType.BUY) {
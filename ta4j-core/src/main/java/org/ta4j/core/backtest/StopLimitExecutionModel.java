@@ -42,8 +42,9 @@ public class StopLimitExecutionModel implements TradeExecutionModel {
     private final int maxBarsToFill;
     private final PriceSource priceSource;
 
-    private final Map<TradingRecord, PendingOrder> pendingOrders = new WeakHashMap<>();
-    private final Map<TradingRecord, List<RejectedOrder>> rejectedOrders = new WeakHashMap<>();
+    /** Run state, not part of the configuration of the model */
+    private final transient Map<TradingRecord, PendingOrder> pendingOrders = new WeakHashMap<>();
+    private final transient Map<TradingRecord, List<RejectedOrder>> rejectedOrders = new WeakHashMap<>();
 
     /**
      * Creates a stop-limit execution model using next-bar open as the reference
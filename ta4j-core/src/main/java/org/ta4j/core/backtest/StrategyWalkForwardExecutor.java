@@ -145,6 +145,13 @@ public class StrategyWalkForwardExecutor {
     /**
      * Executes walk-forward testing with optional per-fold progress callback.
      *
+     * <p>
+     * The folds share one indicator graph and one {@link SignalMatrix} over the
+     * whole series: the rules of the strategy are evaluated once per bar for all
+     * folds, and each fold only scans the signals of its own test window. A signal
+     * matrix already configured on the {@link BarSeriesManager} is reused, so that
+     * several strategies can share it as well.
+     *
      * @param strategy         strategy to execute
      * @param tradeType        trade type used to open positions
      * @param amount           amount used for entries/exits
@@ -168,6 +175,8 @@ public class StrategyWalkForwardExecutor {
         }
 
         Consumer<Integer> effectiveCallback = progressCallback == null ? ProgressCompletion.noOp() : progressCallback;
+        BarSeriesManager foldManager = seriesManager.getSignalMatrix().isPresent() ? seriesManager
+                : seriesManager.withSignalMatrix(new SignalMatrix(series));
         List<StrategyWalkForwardExecutionResult.FoldResult> foldResults = new ArrayList<>(splits.size());
         List<WalkForwardRuntimeReport.FoldRuntime> foldRuntimes = new ArrayList<>(splits.size());
 
@@ -175,8 +184,7 @@ public class StrategyWalkForwardExecutor {
         int completed = 0;
         for (WalkForwardSplit split : splits) {
             long foldStart = System.nanoTime();
-            TradingRecord foldRecord = seriesManager.run(strategy, tradeType, amount, split.testStart(),
-                    split.testEnd());
+            TradingRecord foldRecord = foldManager.run(strategy, tradeType, amount, split.testStart(), split.testEnd());
             TradingStatement statement = tradingStatementGenerator.generate(strategy, foldRecord, series);
             Duration foldRuntime = Duration.ofNanos(System.nanoTime() - foldStart);
 
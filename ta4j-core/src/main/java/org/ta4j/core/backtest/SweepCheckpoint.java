@@ -0,0 +1,593 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.backtest;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.Trade;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.serialization.ComponentDescriptor;
+import org.ta4j.core.serialization.ComponentSerialization;
+import org.ta4j.core.serialization.StrategySerialization;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAmount;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Append-only checkpoint log of a top-K strategy sweep, making
+ * {@link BacktestExecutor#executeAndKeepTopK(List, Num, org.ta4j.core.Trade.TradeType, AnalysisCriterion, int, java.util.function.Consumer, SweepCheckpoint)
+ * executeAndKeepTopK} resumable after a crash or preemption.
+ *
+ * <p>
+ * The log is a JSON-lines file: a header identifying the sweep (strategy count,
+ * criterion class, a fingerprint of the bar series, cost and execution models
+ * of the {@link BarSeriesManager}, amount, trade type and criterion
+ * configuration, and a digest of the serialized strategies), then one line per
+ * evaluated strategy holding its index in the strategy list, its name, its
+ * criterion value (or a pruned flag for strategies abandoned by a
+ * {@link SweepPruner}) and its runtime. Lines are buffered, then flushed and
+ * synced to the storage device every {@link #flushEvery()} completed
+ * strategies, so checkpointing costs one small append per strategy.
+ *
+ * <p>
+ * When a sweep is started on an existing log, the logged strategies are not
+ * backtested again: their logged criterion values and runtimes take part in the
+ * top-K leaderboard and the runtime report as if they had just been evaluated,
+ * and logged pruned strategies stay pruned. Only the logged strategies that end
+ * up in the final top K are re-run, to rebuild their trading statements. A
+ * truncated last line (from a crash while writing) is ignored, and so is any
+ * other malformed strategy line, whose strategy is then evaluated again.
+ * Resuming requires the same strategy list (same order, names and rules as
+ * serialized by {@link StrategySerialization}), bar series, cost and execution
+ * models, amount, trade type and criterion; a mismatch, or a malformed header,
+ * is rejected with an {@link IllegalStateException}. The configuration of the
+ * criterion and of the models is read from their fields, which must hold values
+ * or nested components: a sweep whose strategies cannot be serialized, or whose
+ * criterion or models hold anything else (e.g. a lambda), cannot be
+ * checkpointed. Backtests
+ * must be deterministic for a resumed sweep to match an uninterrupted one.
+ *
+ * <pre>{@code
+ * var checkpoint = SweepCheckpoint.at(Path.of("sweep.ckpt"));
+ * var result = executor.executeAndKeepTopK(strategies, amount, TradeType.BUY, criterion, 50, null, checkpoint);
+ * }</pre>
+ *
+ * @since 0.22.5
+ */
+public final class SweepCheckpoint {
+
+    private static final int FORMAT_VERSION = 3;
+    private static final int DEFAULT_FLUSH_EVERY = 64;
+    private static final Gson GSON = new Gson();
+
+    private final Path path;
+    private final int flushEvery;
+
+    private SweepCheckpoint(Path path, int flushEvery) {
+        this.path = Objects.requireNonNull(path, "path");
+        if (flushEvery <= 0) {
+            throw new IllegalArgumentException("flushEvery must be positive");
+        }
+        this.flushEvery = flushEvery;
+    }
+
+    /**
+     * @param path the checkpoint log file; created on first use
+     * @return a checkpoint flushing every {@value #DEFAULT_FLUSH_EVERY} strategies
+     */
+    public static SweepCheckpoint at(Path path) {
+        return new SweepCheckpoint(path, DEFAULT_FLUSH_EVERY);
+    }
+
+    /**
+     * @param flushEvery the number of completed strategies between two flushes to
+     *                   disk; at most that many evaluations are lost on a crash
+     * @return a copy of this checkpoint with the given flush interval
+     */
+    public SweepCheckpoint withFlushEvery(int flushEvery) {
+        return new SweepCheckpoint(path, flushEvery);
+    }
+
+    /**
+     * @return the checkpoint log file
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return the number of completed strategies between two flushes
+     */
+    public int flushEvery() {
+        return flushEvery;
+    }
+
+    /**
+     * An evaluated strategy read from the log; {@code criterionValue} is
+     * {@code null} if the strategy was pruned.
+     */
+    record Entry(int index, Num criterionValue, long durationNanos) {
+
+        boolean pruned() {
+            return criterionValue == null;
+        }
+    }
+
+    /**
+     * Opens the log for a sweep, reading the strategies evaluated so far and
+     * writing the header if the log is new.
+     *
+     * @param strategies    the strategies of the sweep
+     * @param seriesManager the manager running the sweep
+     * @param amount        the amount traded by the sweep
+     * @param tradeType     the trade type of the sweep
+     * @param criterion     the ranking criterion
+     * @return the open log
+     * @throws UncheckedIOException     if the log cannot be read or written
+     * @throws IllegalStateException    if the log belongs to another sweep or its
+     *                                  header is malformed
+     * @throws IllegalArgumentException if a strategy cannot be serialized, or the
+     *                                  criterion or a model of the manager holds
+     *                                  a field that is not a value
+     */
+    Log open(Strategy[] strategies, BarSeriesManager seriesManager, Num amount, Trade.TradeType tradeType,
+            AnalysisCriterion criterion) {
+        String fingerprint = fingerprint(seriesManager, amount, tradeType, criterion);
+        String strategiesDigest = strategiesDigest(strategies);
+        BarSeries series = seriesManager.getBarSeries();
+        try {
+            Map<Integer, Entry> entries = new HashMap<>();
+            boolean exists = Files.exists(path) && Files.size(path) > 0;
+            long validLength = 0;
+            if (exists) {
+                validLength = read(strategies, criterion, fingerprint, strategiesDigest, series.numFactory(), entries);
+                if (validLength < 0) {
+                    // Crashed while writing the header: start over
+                    exists = false;
+                    validLength = 0;
+                }
+            }
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            Log log;
+            try {
+                // Drop a truncated trailing line before appending
+                channel.truncate(validLength);
+                channel.position(validLength);
+                log = new Log(channel, flushEvery, entries);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+            if (!exists) {
+                JsonObject header = new JsonObject();
+                header.addProperty("version", FORMAT_VERSION);
+                header.addProperty("strategyCount", strategies.length);
+                header.addProperty("criterion", criterion.getClass().getName());
+                header.addProperty("fingerprint", fingerprint);
+                header.addProperty("strategies", strategiesDigest);
+                log.writeLine(GSON.toJson(header));
+                log.sync();
+            }
+            return log;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open sweep checkpoint " + path, e);
+        }
+    }
+
+    /**
+     * @return the length of the well-formed prefix of the log, or -1 if it has no
+     *         complete header
+     */
+    private long read(Strategy[] strategies, AnalysisCriterion criterion, String fingerprint,
+            String strategiesDigest, NumFactory numFactory, Map<Integer, Entry> entries) throws IOException {
+        long validLength = 0;
+        boolean header = true;
+        // Streamed line by line: the log of a large sweep may not fit in memory
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(path))) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long position = 0;
+            for (int b = input.read(); b >= 0; b = input.read()) {
+                position++;
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                JsonObject json = parse(line.toString(StandardCharsets.UTF_8));
+                line.reset();
+                if (header) {
+                    if (json == null) {
+                        throw new IllegalStateException("Sweep checkpoint " + path + " has a malformed header");
+                    }
+                    checkHeader(json, strategies, criterion, fingerprint, strategiesDigest);
+                    header = false;
+                } else if (json != null) {
+                    Entry entry = entry(json, strategies, numFactory);
+                    if (entry != null) {
+                        entries.put(entry.index(), entry);
+                    }
+                }
+                validLength = position;
+            }
+        }
+        return header ? -1 : validLength;
+    }
+
+    private static JsonObject parse(String line) {
+        try {
+            JsonElement json = JsonParser.parseString(line);
+            return json.isJsonObject() ? json.getAsJsonObject() : null;
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    private void checkHeader(JsonObject header, Strategy[] strategies, AnalysisCriterion criterion,
+            String fingerprint, String strategiesDigest) {
+        int version;
+        int strategyCount;
+        String criterionClass;
+        String loggedFingerprint;
+        String loggedStrategiesDigest;
+        try {
+            version = header.get("version").getAsInt();
+            strategyCount = header.get("strategyCount").getAsInt();
+            criterionClass = header.get("criterion").getAsString();
+            loggedFingerprint = header.get("fingerprint").getAsString();
+            // Missing from the headers of earlier formats, rejected below
+            JsonElement digest = header.get("strategies");
+            loggedStrategiesDigest = digest == null ? null : digest.getAsString();
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Sweep checkpoint " + path + " has a malformed header", e);
+        }
+        if (version != FORMAT_VERSION || strategyCount != strategies.length
+                || !criterionClass.equals(criterion.getClass().getName())) {
+            throw new IllegalStateException("Sweep checkpoint " + path + " was written for " + strategyCount
+                    + " strategies ranked by " + criterionClass + " (format " + version + "), not " + strategies.length
+                    + " strategies ranked by " + criterion.getClass().getName());
+        }
+        if (!loggedFingerprint.equals(fingerprint)) {
+            throw new IllegalStateException("Sweep checkpoint " + path
+                    + " was written for another bar series, cost or execution model, amount, trade type"
+                    + " or criterion configuration");
+        }
+        if (!strategiesDigest.equals(loggedStrategiesDigest)) {
+            throw new IllegalStateException("Sweep checkpoint " + path + " was written for other strategies");
+        }
+    }
+
+    /**
+     * @return the logged strategy, or {@code null} if the line is malformed
+     */
+    private Entry entry(JsonObject json, Strategy[] strategies, NumFactory numFactory) {
+        int index;
+        String name;
+        Num criterionValue;
+        long durationNanos;
+        try {
+            index = json.get("index").getAsInt();
+            name = json.get("name").getAsString();
+            JsonElement pruned = json.get("pruned");
+            if (pruned != null && pruned.getAsBoolean()) {
+                criterionValue = null;
+            } else {
+                String value = json.get("value").getAsString();
+                criterionValue = "NaN".equals(value) ? NaN.NaN : numFactory.numOf(value);
+            }
+            durationNanos = json.get("nanos").getAsLong();
+        } catch (RuntimeException e) {
+            return null;
+        }
+        if (index < 0 || index >= strategies.length || !name.equals(String.valueOf(strategies[index].getName()))) {
+            throw new IllegalStateException("Sweep checkpoint " + path + " lists strategy " + index + " as '" + name
+                    + "', which does not match");
+        }
+        return new Entry(index, criterionValue, durationNanos);
+    }
+
+    /**
+     * @return a digest of the bars of the series of {@code seriesManager}, the
+     *         configuration of its cost and execution models, {@code amount},
+     *         {@code tradeType} and the configuration of {@code criterion}
+     */
+    static String fingerprint(BarSeriesManager seriesManager, Num amount, Trade.TradeType tradeType,
+            AnalysisCriterion criterion) {
+        BarSeries series = seriesManager.getBarSeries();
+        MessageDigest digest = sha256();
+        StringBuilder text = new StringBuilder();
+        text.append(series.getName())
+                .append('|')
+                .append(series.getBeginIndex())
+                .append('|')
+                .append(series.getEndIndex())
+                .append('|')
+                .append(amount)
+                .append('|')
+                .append(tradeType)
+                .append('|');
+        for (Object component : List.of(criterion, seriesManager.getTransactionCostModel(),
+                seriesManager.getHoldingCostModel(), seriesManager.getTradeExecutionModel())) {
+            describe(component, text, Collections.newSetFromMap(new IdentityHashMap<>()));
+            text.append('|');
+        }
+        update(digest, text);
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            Bar bar = series.getBar(i);
+            text.append(bar.getEndTime())
+                    .append('|')
+                    .append(bar.getOpenPrice())
+                    .append('|')
+                    .append(bar.getHighPrice())
+                    .append('|')
+                    .append(bar.getLowPrice())
+                    .append('|')
+                    .append(bar.getClosePrice())
+                    .append('|')
+                    .append(bar.getVolume())
+                    .append('\n');
+            update(digest, text);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * @return a digest of the serialized strategies, in order
+     * @throws IllegalArgumentException if a strategy cannot be serialized, or has
+     *                                  a lambda rule, whose class name changes
+     *                                  from one run to the next
+     */
+    static String strategiesDigest(Strategy[] strategies) {
+        MessageDigest digest = sha256();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < strategies.length; i++) {
+            ComponentDescriptor descriptor;
+            try {
+                descriptor = StrategySerialization.describe(strategies[i]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Strategy " + i + " ('" + strategies[i].getName()
+                        + "') cannot be serialized, so a checkpoint could not tell whether it changed", e);
+            }
+            if (hasHiddenType(descriptor)) {
+                throw new IllegalArgumentException("Strategy " + i + " ('" + strategies[i].getName()
+                        + "') has a lambda rule, so a checkpoint could not tell whether it changed");
+            }
+            text.append(ComponentSerialization.toJson(descriptor)).append('\n');
+            update(digest, text);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * @return whether {@code descriptor} or one of its components has the type of a
+     *         hidden class (e.g. a lambda), whose name holds a {@code /}
+     */
+    private static boolean hasHiddenType(ComponentDescriptor descriptor) {
+        if (descriptor.getType() != null && descriptor.getType().indexOf('/') >= 0) {
+            return true;
+        }
+        for (ComponentDescriptor component : descriptor.getComponents()) {
+            if (component != null && hasHiddenType(component)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, StringBuilder text) {
+        digest.update(text.toString().getBytes(StandardCharsets.UTF_8));
+        text.setLength(0);
+    }
+
+    /**
+     * Appends the class and the fields of {@code component}, which must all hold
+     * values (numbers, {@link Num} values, strings, enums, booleans, time zones,
+     * durations and arrays of values) or nested components described the same
+     * way.
+     *
+     * @throws IllegalArgumentException if a field holds anything else (e.g. a
+     *                                  lambda or a collection), which the
+     *                                  fingerprint could not tell apart
+     */
+    private static void describe(Object component, StringBuilder text, Set<Object> enclosing) {
+        if (!enclosing.add(component)) {
+            throw new IllegalArgumentException(
+                    "Cannot fingerprint " + component.getClass().getName() + ", which refers to itself");
+        }
+        text.append(component.getClass().getName()).append('{');
+        for (Class<?> type = component.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                Object value;
+                try {
+                    field.setAccessible(true);
+                    value = field.get(component);
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    throw new IllegalArgumentException(
+                            "Cannot read " + type.getName() + "." + field.getName() + " to fingerprint it", e);
+                }
+                text.append(field.getName()).append('=');
+                if (!describeValue(value, text, enclosing)) {
+                    throw new IllegalArgumentException("Cannot fingerprint " + type.getName() + "." + field.getName()
+                            + " of type " + value.getClass().getName()
+                            + ": checkpointed sweeps only support fields holding values");
+                }
+                text.append(';');
+            }
+        }
+        text.append('}');
+        enclosing.remove(component);
+    }
+
+    /**
+     * @return whether {@code value} could be appended to {@code text}
+     */
+    private static boolean describeValue(Object value, StringBuilder text, Set<Object> enclosing) {
+        if (value == null || value instanceof Number || value instanceof Num || value instanceof CharSequence
+                || value instanceof Enum<?> || value instanceof Boolean || value instanceof Character
+                || value instanceof ZoneId || value instanceof TemporalAmount) {
+            text.append(value);
+        } else if (value.getClass().isArray()) {
+            text.append('[');
+            for (int i = 0; i < Array.getLength(value); i++) {
+                if (!describeValue(Array.get(value, i), text, enclosing)) {
+                    return false;
+                }
+                text.append(',');
+            }
+            text.append(']');
+        } else if (isComponent(value.getClass())) {
+            describe(value, text, enclosing);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return whether the fields of a {@code type} instance may describe it: not
+     *         so for lambdas, whose class name changes from one run to the next,
+     *         nor for JDK classes, whose fields are not accessible
+     */
+    private static boolean isComponent(Class<?> type) {
+        String packageName = type.getPackageName();
+        return !type.isHidden() && !type.isAnonymousClass() && !packageName.startsWith("java.")
+                && !packageName.startsWith("javax.") && !packageName.startsWith("jdk.")
+                && !packageName.startsWith("sun.");
+    }
+
+    /** The open, append-only log of a running sweep. */
+    static final class Log implements Closeable {
+
+        private final FileChannel channel;
+        private final BufferedWriter writer;
+        private final int flushEvery;
+        private final Map<Integer, Entry> entries;
+        private int pending;
+
+        private Log(FileChannel channel, int flushEvery, Map<Integer, Entry> entries) {
+            this.channel = channel;
+            this.writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+            this.flushEvery = flushEvery;
+            this.entries = entries;
+        }
+
+        /**
+         * @return the strategies evaluated by previous runs, by index
+         */
+        Map<Integer, Entry> entries() {
+            return entries;
+        }
+
+        /**
+         * Appends an evaluated strategy. Safe to call from concurrent workers.
+         *
+         * @param index          the index of the strategy
+         * @param strategy       the strategy
+         * @param criterionValue the criterion value
+         * @param durationNanos  the runtime of the strategy
+         */
+        synchronized void append(int index, Strategy strategy, Num criterionValue, long durationNanos) {
+            JsonObject json = new JsonObject();
+            json.addProperty("index", index);
+            json.addProperty("name", String.valueOf(strategy.getName()));
+            json.addProperty("value", criterionValue.isNaN() ? "NaN" : criterionValue.toString());
+            json.addProperty("nanos", durationNanos);
+            append(json);
+        }
+
+        /**
+         * Appends a strategy abandoned by the pruner. Safe to call from concurrent
+         * workers.
+         *
+         * @param index         the index of the strategy
+         * @param strategy      the strategy
+         * @param durationNanos the runtime of the strategy until it was abandoned
+         */
+        synchronized void appendPruned(int index, Strategy strategy, long durationNanos) {
+            JsonObject json = new JsonObject();
+            json.addProperty("index", index);
+            json.addProperty("name", String.valueOf(strategy.getName()));
+            json.addProperty("pruned", true);
+            json.addProperty("nanos", durationNanos);
+            append(json);
+        }
+
+        private void append(JsonObject json) {
+            try {
+                writeLine(GSON.toJson(json));
+                if (++pending >= flushEvery) {
+                    sync();
+                    pending = 0;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot append to sweep checkpoint", e);
+            }
+        }
+
+        private void writeLine(String line) throws IOException {
+            writer.write(line);
+            writer.write('\n');
+        }
+
+        /** Flushes the buffered lines and forces them to the storage device. */
+        private void sync() throws IOException {
+            writer.flush();
+            channel.force(false);
+        }
+
+        @Override
+        public synchronized void close() {
+            try (writer) {
+                sync();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot close sweep checkpoint", e);
+            }
+        }
+    }
+}
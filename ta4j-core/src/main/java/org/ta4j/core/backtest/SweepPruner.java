@@ -0,0 +1,214 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.backtest;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Position;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.criteria.NumberOfBarsCriterion;
+import org.ta4j.core.criteria.NumberOfBreakEvenPositionsCriterion;
+import org.ta4j.core.criteria.NumberOfLosingPositionsCriterion;
+import org.ta4j.core.criteria.NumberOfPositionsCriterion;
+import org.ta4j.core.num.Num;
+
+/**
+ * Abandons hopeless strategies in the middle of a top-K sweep (see
+ * {@link BacktestExecutor#withPruning(SweepPruner)}).
+ *
+ * <p>
+ * The pruner is consulted each time a position of the running strategy closes.
+ * An abandoned strategy stops being backtested and is left out of the results,
+ * so a pruner must only abandon strategies that cannot, or must not, make it
+ * into the top K.
+ *
+ * @since 0.22.5
+ */
+@FunctionalInterface
+public interface SweepPruner {
+
+    /**
+     * @param series        the bar series
+     * @param tradingRecord the trading record of the running strategy, whose last
+     *                      position has just closed
+     * @param criterion     the criterion ranking the strategies
+     * @param kthBestValue  the criterion value of the K-th best strategy evaluated
+     *                      so far, or {@code null} while fewer than K strategies
+     *                      have been evaluated
+     * @return true to abandon the strategy
+     */
+    boolean shouldAbandon(BarSeries series, TradingRecord tradingRecord, AnalysisCriterion criterion, Num kthBestValue);
+
+    /**
+     * Prepares the pruner for the backtest of one strategy.
+     *
+     * <p>
+     * The executor calls this method before each backtest and consults the returned
+     * pruner for that backtest only, so that a pruner can keep running state
+     * instead of re-evaluating the whole trading record each time a position
+     * closes. The returned pruner is consulted from a single thread.
+     *
+     * @param series    the bar series
+     * @param criterion the criterion ranking the strategies
+     * @return the pruner to consult for the backtest, this pruner by default
+     * @throws IllegalArgumentException if the pruner does not support the criterion
+     */
+    default SweepPruner forRun(BarSeries series, AnalysisCriterion criterion) {
+        return this;
+    }
+
+    /**
+     * Abandons a strategy once its criterion value is worse than the one of the
+     * K-th best strategy.
+     *
+     * <p>
+     * Only supports criteria that add up a non-negative value per position and
+     * prefer lower values, so that their value on the positions closed so far
+     * bounds the value of the whole run: the
+     * {@link org.ta4j.core.criteria.NumberOfPositionsCriterion number of positions}
+     * when fewer is better, and the number of
+     * {@link org.ta4j.core.criteria.NumberOfLosingPositionsCriterion losing} and
+     * {@link org.ta4j.core.criteria.NumberOfBreakEvenPositionsCriterion break-even}
+     * positions, or of {@link org.ta4j.core.criteria.NumberOfBarsCriterion bars} in
+     * position. The value is accumulated over the newly closed positions only.
+     * Sweeps ranked by drawdown can use {@link #maxDrawdown(Num)} instead.
+     *
+     * @return the pruner
+     * @throws IllegalArgumentException (from {@link #forRun}) for any other
+     *                                  criterion
+     */
+    static SweepPruner monotoneCriterion() {
+        return new SweepPruner() {
+
+            @Override
+            public SweepPruner forRun(BarSeries series, AnalysisCriterion criterion) {
+                if (!isMonotone(series, criterion)) {
+                    throw new IllegalArgumentException(
+                            "criterion is not known to never improve: " + criterion.getClass().getName());
+                }
+                return new SweepPruner() {
+
+                    private int closedPositions;
+                    private Num value;
+
+                    @Override
+                    public boolean shouldAbandon(BarSeries series, TradingRecord tradingRecord,
+                            AnalysisCriterion criterion, Num kthBestValue) {
+                        List<Position> positions = tradingRecord.getPositions();
+                        if (value == null || positions.size() < closedPositions) {
+                            value = series.numFactory().zero();
+                            closedPositions = 0;
+                        }
+                        for (; closedPositions < positions.size(); closedPositions++) {
+                            value = value.plus(criterion.calculate(series, positions.get(closedPositions)));
+                        }
+                        return kthBestValue != null && !kthBestValue.isNaN() && !value.isNaN()
+                                && criterion.betterThan(kthBestValue, value);
+                    }
+                };
+            }
+
+            @Override
+            public boolean shouldAbandon(BarSeries series, TradingRecord tradingRecord, AnalysisCriterion criterion,
+                    Num kthBestValue) {
+                return forRun(series, criterion).shouldAbandon(series, tradingRecord, criterion, kthBestValue);
+            }
+        };
+    }
+
+    /**
+     * Abandons a strategy once the drawdown of its closed positions exceeds a
+     * limit, whatever the criterion ranking the sweep.
+     *
+     * <p>
+     * The drawdown is measured on the equity compounded over the gross returns of
+     * the closed positions, kept up to date as each position closes. Without
+     * trading costs, this equity is sampled from the mark-to-market equity curve,
+     * so its drawdown is at most the maximum drawdown of the whole run.
+     *
+     * @param maxDrawdown the largest drawdown allowed, as a fraction (e.g. 0.25 for
+     *                    25%)
+     * @return the pruner
+     */
+    static SweepPruner maxDrawdown(Num maxDrawdown) {
+        Objects.requireNonNull(maxDrawdown, "maxDrawdown");
+        if (maxDrawdown.isNaN() || maxDrawdown.isNegative()) {
+            throw new IllegalArgumentException("maxDrawdown must be >= 0");
+        }
+        return new SweepPruner() {
+
+            @Override
+            public SweepPruner forRun(BarSeries series, AnalysisCriterion criterion) {
+                return new SweepPruner() {
+
+                    private int closedPositions;
+                    private Num equity;
+                    private Num peak;
+                    private boolean breached;
+
+                    @Override
+                    public boolean shouldAbandon(BarSeries series, TradingRecord tradingRecord,
+                            AnalysisCriterion criterion, Num kthBestValue) {
+                        List<Position> positions = tradingRecord.getPositions();
+                        Num one = series.numFactory().one();
+                        if (equity == null || positions.size() < closedPositions) {
+                            equity = one;
+                            peak = one;
+                            breached = false;
+                            closedPositions = 0;
+                        }
+                        for (; closedPositions < positions.size() && !breached; closedPositions++) {
+                            equity = equity.multipliedBy(positions.get(closedPositions).getGrossReturn());
+                            if (equity.isGreaterThan(peak)) {
+                                peak = equity;
+                            } else if (one.minus(equity.dividedBy(peak)).isGreaterThan(maxDrawdown)) {
+                                breached = true;
+                            }
+                        }
+                        return breached;
+                    }
+                };
+            }
+
+            @Override
+            public boolean shouldAbandon(BarSeries series, TradingRecord tradingRecord, AnalysisCriterion criterion,
+                    Num kthBestValue) {
+                return forRun(series, criterion).shouldAbandon(series, tradingRecord, criterion, kthBestValue);
+            }
+        };
+    }
+
+    /**
+     * @param other another pruner
+     * @return a pruner abandoning the strategies abandoned by this pruner or by the
+     *         other one
+     */
+    default SweepPruner or(SweepPruner other) {
+        Objects.requireNonNull(other, "other");
+        return new SweepPruner() {
+
+            @Override
+            public SweepPruner forRun(BarSeries series, AnalysisCriterion criterion) {
+                return SweepPruner.this.forRun(series, criterion).or(other.forRun(series, criterion));
+            }
+
+            @Override
+            public boolean shouldAbandon(BarSeries series, TradingRecord tradingRecord, AnalysisCriterion criterion,
+                    Num kthBestValue) {
+                return SweepPruner.this.shouldAbandon(series, tradingRecord, criterion, kthBestValue)
+                        || other.shouldAbandon(series, tradingRecord, criterion, kthBestValue);
+            }
+        };
+    }
+
+    private static boolean isMonotone(BarSeries series, AnalysisCriterion criterion) {
+        Class<?> type = criterion.getClass();
+        boolean additive = type == NumberOfPositionsCriterion.class || type == NumberOfLosingPositionsCriterion.class
+                || type == NumberOfBreakEvenPositionsCriterion.class || type == NumberOfBarsCriterion.class;
+        return additive && criterion.betterThan(series.numFactory().zero(), series.numFactory().one());
+    }
+}
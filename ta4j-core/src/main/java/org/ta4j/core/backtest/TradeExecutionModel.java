@@ -45,6 +45,24 @@ public interface TradeExecutionModel {
         // Default no-op for immediate execution models.
     }
 
+    /**
+     * Tells whether {@link #onBar(int, TradingRecord, BarSeries)} does nothing for
+     * this model.
+     *
+     * <p>
+     * {@link BarSeriesManager} runs with a {@link SignalMatrix} then skip the bars
+     * without a strategy signal instead of calling {@code onBar} on each of them.
+     * Implementations that override {@code onBar} must return {@code false}.
+     * </p>
+     *
+     * @return {@code true} if {@code onBar} can be skipped; {@code false} by
+     *         default
+     * @since 0.22.5
+     */
+    default boolean ignoresOnBar() {
+        return false;
+    }
+
     /**
      * Finalizes model state when a {@link BarSeriesManager} run ends.
      *
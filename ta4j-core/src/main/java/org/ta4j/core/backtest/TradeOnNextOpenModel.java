@@ -28,4 +28,9 @@ public class TradeOnNextOpenModel implements TradeExecutionModel {
         }
     }
 
+    /** @return {@code true}, since trades are only placed from signals */
+    @Override
+    public boolean ignoresOnBar() {
+        return true;
+    }
 }
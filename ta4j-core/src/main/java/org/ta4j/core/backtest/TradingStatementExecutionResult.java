@@ -4,6 +4,7 @@
 package org.ta4j.core.backtest;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
@@ -17,6 +18,7 @@ import org.ta4j.core.AnalysisCriterion;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.analysis.WeightedValue;
+import org.ta4j.core.criteria.CriterionSuite;
 import org.ta4j.core.num.DoubleNumFactory;
 import org.ta4j.core.num.NaN;
 import org.ta4j.core.num.Num;
@@ -133,12 +135,14 @@ public interface TradingStatementExecutionResult<R> {
 
         int statementCount = statements.size();
         Num[][] rawValuesByCriterion = new Num[criterionCount][statementCount];
+        // Criteria of one statement are evaluated together in a single pass
+        CriterionSuite suite = new CriterionSuite(Arrays.asList(criteria));
         for (int statementIndex = 0; statementIndex < statementCount; statementIndex++) {
             TradingRecord tradingRecord = statements.get(statementIndex).getTradingRecord();
+            List<Num> values = tradingRecord == null ? null : suite.calculate(barSeries(), tradingRecord);
             for (int criterionIndex = 0; criterionIndex < criterionCount; criterionIndex++) {
-                AnalysisCriterion criterion = criteria[criterionIndex];
-                rawValuesByCriterion[criterionIndex][statementIndex] = tradingRecord == null ? NaN.NaN
-                        : criterion.calculate(barSeries(), tradingRecord);
+                rawValuesByCriterion[criterionIndex][statementIndex] = values == null ? NaN.NaN
+                        : values.get(criterionIndex);
             }
         }
 
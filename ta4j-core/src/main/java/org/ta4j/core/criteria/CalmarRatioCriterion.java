@@ -8,6 +8,7 @@ import org.ta4j.core.BaseTradingRecord;
 import org.ta4j.core.Position;
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.analysis.CashFlow;
+import org.ta4j.core.analysis.EquityCurveCache;
 import org.ta4j.core.analysis.EquityCurveMode;
 import org.ta4j.core.analysis.OpenPositionHandling;
 import org.ta4j.core.criteria.drawdown.MaximumDrawdownCriterion;
@@ -189,7 +190,8 @@ public class CalmarRatioCriterion extends AbstractEquityCurveSettingsCriterion {
         if (years.isZero()) {
             return zero;
         }
-        CashFlow cashFlow = new CashFlow(series, tradingRecord, endIndex, equityCurveMode, openPositionHandling);
+        CashFlow cashFlow = EquityCurveCache.cashFlow(series, tradingRecord, endIndex, equityCurveMode,
+                openPositionHandling);
         Num startValue = cashFlow.getValue(beginIndex);
         if (startValue.isNaN() || startValue.isZero()) {
             return NaN.NaN;
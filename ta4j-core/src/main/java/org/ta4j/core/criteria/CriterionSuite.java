@@ -0,0 +1,259 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.criteria;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Position;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.EquityCurveCache;
+import org.ta4j.core.criteria.pnl.GrossAverageLossCriterion;
+import org.ta4j.core.criteria.pnl.GrossAverageProfitCriterion;
+import org.ta4j.core.criteria.pnl.GrossLossCriterion;
+import org.ta4j.core.criteria.pnl.GrossProfitCriterion;
+import org.ta4j.core.criteria.pnl.GrossProfitLossCriterion;
+import org.ta4j.core.criteria.pnl.GrossProfitLossPercentageCriterion;
+import org.ta4j.core.criteria.pnl.MaxPositionNetLossCriterion;
+import org.ta4j.core.criteria.pnl.MaxPositionNetProfitCriterion;
+import org.ta4j.core.criteria.pnl.NetAverageLossCriterion;
+import org.ta4j.core.criteria.pnl.NetAverageProfitCriterion;
+import org.ta4j.core.criteria.pnl.NetLossCriterion;
+import org.ta4j.core.criteria.pnl.NetProfitCriterion;
+import org.ta4j.core.criteria.pnl.NetProfitLossCriterion;
+import org.ta4j.core.criteria.pnl.NetProfitLossPercentageCriterion;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+/**
+ * Evaluates a list of {@link AnalysisCriterion criteria} against a trading
+ * record at once.
+ *
+ * <p>
+ * Report generators and strategy rankings compute several criteria for each
+ * trading record; calling
+ * {@link AnalysisCriterion#calculate(BarSeries, TradingRecord)} on each of them
+ * walks the positions (and builds the equity curves) once per criterion. A
+ * suite instead:
+ * <ul>
+ * <li>computes the position based criteria (net and gross profit/loss and their
+ * percentage, average and extreme variants, and the position counts) from
+ * accumulators filled in a single pass over the closed positions, and</li>
+ * <li>calculates the remaining criteria within an {@link EquityCurveCache}
+ * scope, so criteria derived from the same cash flow, returns or cumulative PnL
+ * share the curve.</li>
+ * </ul>
+ *
+ * <p>
+ * The values are the ones the criteria themselves return. Only instances of the
+ * built-in criterion classes are fused; subclasses, which may override how a
+ * position is valued, are always delegated to.
+ *
+ * <pre>{@code
+ * var suite = new CriterionSuite(List.of(new NetProfitCriterion(), new NetLossCriterion(),
+ *         new NumberOfWinningPositionsCriterion(), new SharpeRatioCriterion()));
+ * List<Num> values = suite.calculate(series, tradingRecord);
+ * }</pre>
+ *
+ * <p>
+ * A suite is immutable and can be shared between threads as long as its
+ * criteria can.
+ *
+ * @since 0.22.5
+ */
+public final class CriterionSuite {
+
+    /** Criterion value computed from the position accumulator. */
+    @FunctionalInterface
+    private interface Fused {
+        Num value(AnalysisCriterion criterion, PositionAccumulator accumulator, NumFactory numFactory);
+    }
+
+    private static final Map<Class<?>, Fused> NET_FUSED = Map.ofEntries(
+            Map.entry(NetProfitLossCriterion.class, (c, a, f) -> a.netProfitLoss),
+            Map.entry(NetProfitCriterion.class, (c, a, f) -> a.netProfit),
+            Map.entry(NetLossCriterion.class, (c, a, f) -> a.netLoss),
+            Map.entry(NetAverageProfitCriterion.class, (c, a, f) -> average(a.netProfit, a.winning, f)),
+            Map.entry(NetAverageLossCriterion.class, (c, a, f) -> average(a.netLoss, a.losing, f)),
+            Map.entry(NetProfitLossPercentageCriterion.class,
+                    (c, a, f) -> percentage(c, a.netProfitLoss, a.entryValue, f)),
+            Map.entry(MaxPositionNetProfitCriterion.class,
+                    (c, a, f) -> a.maxNetProfit == null ? f.zero() : a.maxNetProfit),
+            Map.entry(MaxPositionNetLossCriterion.class, (c, a, f) -> a.maxNetLoss == null ? f.zero() : a.maxNetLoss),
+            Map.entry(NumberOfPositionsCriterion.class, (c, a, f) -> f.numOf(a.positions)),
+            Map.entry(NumberOfWinningPositionsCriterion.class, (c, a, f) -> f.numOf(a.winning)),
+            Map.entry(NumberOfLosingPositionsCriterion.class, (c, a, f) -> f.numOf(a.losing)),
+            Map.entry(NumberOfBreakEvenPositionsCriterion.class, (c, a, f) -> f.numOf(a.breakEven)));
+
+    private static final Map<Class<?>, Fused> GROSS_FUSED = Map.of(GrossProfitLossCriterion.class,
+            (c, a, f) -> a.grossProfitLoss, GrossProfitCriterion.class, (c, a, f) -> a.grossProfit,
+            GrossLossCriterion.class, (c, a, f) -> a.grossLoss, GrossAverageProfitCriterion.class,
+            (c, a, f) -> average(a.grossProfit, a.winning, f), GrossAverageLossCriterion.class,
+            (c, a, f) -> average(a.grossLoss, a.losing, f), GrossProfitLossPercentageCriterion.class,
+            (c, a, f) -> percentage(c, a.grossProfitLoss, a.entryValue, f));
+
+    private final List<AnalysisCriterion> criteria;
+    private final Fused[] fused;
+    private final boolean anyFused;
+    private final boolean anyDelegated;
+    private final boolean grossNeeded;
+
+    /**
+     * Constructor.
+     *
+     * @param criteria the criteria to evaluate, not null and without null elements
+     */
+    public CriterionSuite(List<? extends AnalysisCriterion> criteria) {
+        this.criteria = List.copyOf(Objects.requireNonNull(criteria, "criteria"));
+        this.fused = new Fused[this.criteria.size()];
+        boolean gross = false;
+        for (int i = 0; i < fused.length; i++) {
+            Class<?> type = this.criteria.get(i).getClass();
+            fused[i] = NET_FUSED.get(type);
+            if (fused[i] == null) {
+                fused[i] = GROSS_FUSED.get(type);
+                gross |= fused[i] != null;
+            }
+        }
+        int fusedCount = 0;
+        for (Fused f : fused) {
+            fusedCount += f == null ? 0 : 1;
+        }
+        this.anyFused = fusedCount > 0;
+        this.anyDelegated = fusedCount < fused.length;
+        this.grossNeeded = gross;
+    }
+
+    /**
+     * @return the criteria of this suite, in evaluation order
+     */
+    public List<AnalysisCriterion> getCriteria() {
+        return criteria;
+    }
+
+    /**
+     * @param index the index of a criterion in {@link #getCriteria()}
+     * @return {@code true} if the criterion is computed from the single pass over
+     *         the positions, {@code false} if it is delegated to
+     *         {@link AnalysisCriterion#calculate(BarSeries, TradingRecord)}
+     */
+    public boolean isFused(int index) {
+        return fused[index] != null;
+    }
+
+    /**
+     * Calculates all criteria for the trading record.
+     *
+     * @param series        the bar series, not null
+     * @param tradingRecord the trading record, not null
+     * @return the criterion values, in the order of {@link #getCriteria()}
+     */
+    public List<Num> calculate(BarSeries series, TradingRecord tradingRecord) {
+        Num[] values = new Num[criteria.size()];
+        if (anyFused) {
+            NumFactory numFactory = series.numFactory();
+            PositionAccumulator accumulator = new PositionAccumulator(tradingRecord, numFactory.zero(), grossNeeded);
+            for (int i = 0; i < values.length; i++) {
+                if (fused[i] != null) {
+                    values[i] = fused[i].value(criteria.get(i), accumulator, numFactory);
+                }
+            }
+        }
+        if (anyDelegated) {
+            try (EquityCurveCache ignored = EquityCurveCache.open()) {
+                for (int i = 0; i < values.length; i++) {
+                    if (fused[i] == null) {
+                        values[i] = criteria.get(i).calculate(series, tradingRecord);
+                    }
+                }
+            }
+        }
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    /** Mirrors {@code AbstractAveragePnlCriterion}. */
+    private static Num average(Num pnl, long count, NumFactory numFactory) {
+        if (count == 0 || pnl.isZero()) {
+            return numFactory.zero();
+        }
+        return pnl.dividedBy(numFactory.numOf(count));
+    }
+
+    /** Mirrors {@code AbstractProfitLossPercentageCriterion}. */
+    private static Num percentage(AnalysisCriterion criterion, Num totalProfit, Num totalEntryValue,
+            NumFactory numFactory) {
+        var representation = ((AbstractAnalysisCriterion) criterion).getReturnRepresentation()
+                .orElse(ReturnRepresentation.DECIMAL);
+        if (totalEntryValue.isZero()) {
+            return representation == ReturnRepresentation.MULTIPLICATIVE ? numFactory.one() : numFactory.zero();
+        }
+        var totalReturn = totalProfit.dividedBy(totalEntryValue).plus(numFactory.one());
+        return representation.toRepresentationFromTotalReturn(totalReturn);
+    }
+
+    /**
+     * Accumulators over the positions of a trading record, filled in one pass. Sums
+     * are added in position order so they equal the criteria's own reductions.
+     */
+    private static final class PositionAccumulator {
+
+        private Num netProfitLoss;
+        private Num netProfit;
+        private Num netLoss;
+        private Num grossProfitLoss;
+        private Num grossProfit;
+        private Num grossLoss;
+        private Num entryValue;
+        private Num maxNetProfit;
+        private Num maxNetLoss;
+        private final long positions;
+        private long winning;
+        private long losing;
+        private long breakEven;
+
+        private PositionAccumulator(TradingRecord tradingRecord, Num zero, boolean gross) {
+            netProfitLoss = netProfit = netLoss = zero;
+            grossProfitLoss = grossProfit = grossLoss = zero;
+            entryValue = zero;
+            positions = tradingRecord.getPositionCount();
+            for (Position position : tradingRecord.getPositions()) {
+                if (!position.isClosed()) {
+                    continue;
+                }
+                Num net = position.getProfit();
+                netProfitLoss = netProfitLoss.plus(net);
+                entryValue = entryValue.plus(position.getEntry().getValue());
+                if (net.isPositive()) {
+                    winning++;
+                    netProfit = netProfit.plus(net);
+                    if (maxNetProfit == null || net.isGreaterThan(maxNetProfit)) {
+                        maxNetProfit = net;
+                    }
+                } else if (net.isNegative()) {
+                    losing++;
+                    netLoss = netLoss.plus(net);
+                    if (maxNetLoss == null || net.isLessThan(maxNetLoss)) {
+                        maxNetLoss = net;
+                    }
+                } else if (net.isZero()) {
+                    breakEven++;
+                }
+                if (gross) {
+                    Num grossPnL = position.getGrossProfit();
+                    grossProfitLoss = grossProfitLoss.plus(grossPnL);
+                    if (grossPnL.isPositive()) {
+                        grossProfit = grossProfit.plus(grossPnL);
+                    } else if (grossPnL.isNegative()) {
+                        grossLoss = grossLoss.plus(grossPnL);
+                    }
+                }
+            }
+        }
+    }
+}
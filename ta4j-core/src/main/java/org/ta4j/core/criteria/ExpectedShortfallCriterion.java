@@ -10,6 +10,9 @@ import java.util.Optional;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Position;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.EquityCurveCache;
+import org.ta4j.core.analysis.EquityCurveMode;
+import org.ta4j.core.analysis.OpenPositionHandling;
 import org.ta4j.core.analysis.Returns;
 import org.ta4j.core.criteria.ReturnRepresentation;
 import org.ta4j.core.criteria.ReturnRepresentationPolicy;
@@ -69,7 +72,8 @@ public class ExpectedShortfallCriterion extends AbstractAnalysisCriterion {
 
     @Override
     public Num calculate(BarSeries series, TradingRecord tradingRecord) {
-        Returns returns = new Returns(series, tradingRecord, ReturnRepresentation.LOG);
+        Returns returns = EquityCurveCache.returns(series, tradingRecord, tradingRecord.getEndIndex(series),
+                ReturnRepresentation.LOG, EquityCurveMode.MARK_TO_MARKET, OpenPositionHandling.MARK_TO_MARKET);
         return calculateES(returns, confidence, returnRepresentation);
     }
 
@@ -8,6 +8,7 @@ import org.ta4j.core.BarSeries;
 import org.ta4j.core.BaseTradingRecord;
 import org.ta4j.core.Position;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.EquityCurveCache;
 import org.ta4j.core.analysis.EquityCurveMode;
 import org.ta4j.core.analysis.OpenPositionHandling;
 import org.ta4j.core.analysis.Returns;
@@ -205,8 +206,8 @@ public class OmegaRatioCriterion extends AbstractEquityCurveSettingsCriterion {
             return zero;
         }
 
-        Returns returns = new Returns(series, tradingRecord, ReturnRepresentation.DECIMAL, equityCurveMode,
-                openPositionHandling);
+        Returns returns = EquityCurveCache.returns(series, tradingRecord, endIndex, ReturnRepresentation.DECIMAL,
+                equityCurveMode, openPositionHandling);
         Num thresholdNum = numFactory.numOf(threshold);
         Num upsideExcess = zero;
         Num downsideShortfall = zero;
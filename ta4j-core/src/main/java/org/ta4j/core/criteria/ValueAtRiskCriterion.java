@@ -6,6 +6,9 @@ package org.ta4j.core.criteria;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Position;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.EquityCurveCache;
+import org.ta4j.core.analysis.EquityCurveMode;
+import org.ta4j.core.analysis.OpenPositionHandling;
 import org.ta4j.core.analysis.Returns;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.num.NumFactory;
@@ -63,7 +66,8 @@ public class ValueAtRiskCriterion extends AbstractAnalysisCriterion {
 
     @Override
     public Num calculate(BarSeries series, TradingRecord tradingRecord) {
-        Returns returns = new Returns(series, tradingRecord, ReturnRepresentation.LOG);
+        Returns returns = EquityCurveCache.returns(series, tradingRecord, tradingRecord.getEndIndex(series),
+                ReturnRepresentation.LOG, EquityCurveMode.MARK_TO_MARKET, OpenPositionHandling.MARK_TO_MARKET);
         return calculateVaR(returns, confidence, returnRepresentation);
     }
 
@@ -7,6 +7,7 @@ import org.ta4j.core.BarSeries;
 import org.ta4j.core.Position;
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.analysis.CashFlow;
+import org.ta4j.core.analysis.EquityCurveCache;
 import org.ta4j.core.analysis.EquityCurveMode;
 import org.ta4j.core.analysis.OpenPositionHandling;
 import org.ta4j.core.criteria.AbstractEquityCurveSettingsCriterion;
@@ -86,7 +87,8 @@ public class MaximumDrawdownBarLengthCriterion extends AbstractEquityCurveSettin
      */
     @Override
     public Num calculate(BarSeries series, TradingRecord tradingRecord) {
-        CashFlow cashFlow = new CashFlow(series, tradingRecord, equityCurveMode, openPositionHandling);
+        CashFlow cashFlow = EquityCurveCache.cashFlow(series, tradingRecord, tradingRecord.getEndIndex(series),
+                equityCurveMode, openPositionHandling);
         return Drawdown.length(series, tradingRecord, cashFlow);
     }
 
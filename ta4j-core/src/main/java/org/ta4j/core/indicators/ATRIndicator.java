@@ -4,6 +4,7 @@
 package org.ta4j.core.indicators;
 
 import org.ta4j.core.BarSeries;
+import org.ta4j.core.DoubleIndicator;
 import org.ta4j.core.indicators.averages.MMAIndicator;
 import org.ta4j.core.indicators.helpers.TRIndicator;
 import org.ta4j.core.num.Num;
@@ -13,7 +14,7 @@ import static org.ta4j.core.num.NaN.NaN;
 /**
  * Average true range indicator.
  */
-public class ATRIndicator extends AbstractIndicator<Num> {
+public class ATRIndicator extends AbstractIndicator<Num> implements DoubleIndicator {
 
     private final TRIndicator trIndicator;
     private final transient MMAIndicator averageTrueRangeIndicator;
@@ -50,6 +51,17 @@ public class ATRIndicator extends AbstractIndicator<Num> {
         return averageTrueRangeIndicator.getValue(index);
     }
 
+    /**
+     * @since 0.22.5
+     */
+    @Override
+    public double getDouble(int index) {
+        if (index < getCountOfUnstableBars()) {
+            return Double.NaN;
+        }
+        return averageTrueRangeIndicator.getDouble(index);
+    }
+
     @Override
     public int getCountOfUnstableBars() {
         return trIndicator.getCountOfUnstableBars() + getBarCount();
@@ -57,6 +57,16 @@ public abstract class AbstractRecentSwingIndicator extends CachedIndicator<Num>
         return swingPoints.getSwingPointIndexes(index);
     }
 
+    @Override
+    public final List<Integer> getSwingPointIndexesBetween(int afterIndex, int index) {
+        return swingPoints.getSwingPointIndexes(afterIndex, index);
+    }
+
+    @Override
+    public final long getSwingPointRevision(int index) {
+        return swingPoints.getRevision(index);
+    }
+
     @Override
     public final List<Integer> getSwingPointIndexes() {
         final BarSeries series = getBarSeries();
@@ -123,6 +133,8 @@ public abstract class AbstractRecentSwingIndicator extends CachedIndicator<Num>
         private final BarSeries series;
         private final List<Integer> swingPointIndexes = new ArrayList<>();
         private int lastScannedIndex = Integer.MIN_VALUE;
+        /** Incremented each time recorded swing points are removed */
+        private long revision;
 
         private SwingPointTracker(IntFunction<Integer> swingIndexDetector, BarSeries series) {
             this.swingIndexDetector = Objects.requireNonNull(swingIndexDetector, "swingIndexDetector cannot be null");
@@ -154,6 +166,24 @@ public abstract class AbstractRecentSwingIndicator extends CachedIndicator<Num>
             return Collections.unmodifiableList(filtered);
         }
 
+        private List<Integer> getSwingPointIndexes(int afterIndex, int index) {
+            ensureScanned(index);
+            int first = swingPointIndexes.size();
+            while (first > 0 && swingPointIndexes.get(first - 1) > afterIndex) {
+                first--;
+            }
+            final List<Integer> found = new ArrayList<>();
+            for (int i = first; i < swingPointIndexes.size() && swingPointIndexes.get(i) <= index; i++) {
+                found.add(swingPointIndexes.get(i));
+            }
+            return Collections.unmodifiableList(found);
+        }
+
+        private long getRevision(int index) {
+            ensureScanned(index);
+            return revision;
+        }
+
         private void ensureScanned(int index) {
             final int beginIndex = series.getBeginIndex();
             final int endIndex = series.getEndIndex();
@@ -172,8 +202,9 @@ public abstract class AbstractRecentSwingIndicator extends CachedIndicator<Num>
                     lastScannedIndex + 1); currentIndex <= targetIndex; currentIndex++) {
                 final int swingIndex = swingIndexDetector.apply(currentIndex);
                 if (swingIndex < 0) {
-                    if (purgeOnNegativeDetection()) {
+                    if (purgeOnNegativeDetection() && !swingPointIndexes.isEmpty()) {
                         swingPointIndexes.clear();
+                        revision++;
                     }
                     continue;
                 }
@@ -184,6 +215,7 @@ public abstract class AbstractRecentSwingIndicator extends CachedIndicator<Num>
                 while (!swingPointIndexes.isEmpty()
                         && swingPointIndexes.get(swingPointIndexes.size() - 1) > swingIndex) {
                     swingPointIndexes.remove(swingPointIndexes.size() - 1);
+                    revision++;
                 }
                 if (swingPointIndexes.isEmpty() || swingIndex > swingPointIndexes.get(swingPointIndexes.size() - 1)) {
                     swingPointIndexes.add(swingIndex);
@@ -202,6 +234,7 @@ public abstract class AbstractRecentSwingIndicator extends CachedIndicator<Num>
             }
             if (firstRetained > 0) {
                 swingPointIndexes.subList(0, firstRetained).clear();
+                revision++;
             }
         }
     }
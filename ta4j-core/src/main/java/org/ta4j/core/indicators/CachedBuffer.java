@@ -3,9 +3,16 @@
  */
 package org.ta4j.core.indicators;
 
+import java.util.Arrays;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.IntConsumer;
 import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.ObjIntConsumer;
+
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
 
 /**
  * Ring-buffer backed cache for indicator values with O(1) eviction and
@@ -24,9 +31,16 @@ import java.util.function.IntFunction;
  * indicators to safely call getValue() from within calculate() without
  * deadlocking.
  *
+ * <p>
+ * In thread-confined mode (see
+ * {@link org.ta4j.core.BarSeries#isThreadConfined()}), no lock is taken and the
+ * write stamp is not maintained: hits and misses are plain array reads and
+ * writes. The buffer must then only be accessed by one thread at a time.
+ *
  * <h2>Memory Usage</h2>
  * <p>
- * Each {@code CachedBuffer} allocates an {@code Object[]} array:
+ * Each {@code CachedBuffer} allocates a ring of slots on the first stored
+ * value:
  * <ul>
  * <li><strong>Bounded series</strong> (maximumBarCount set): Array size equals
  * {@code maximumBarCount}.</li>
@@ -40,6 +54,21 @@ import java.util.function.IntFunction;
  * bound memory consumption, especially for live trading scenarios where only
  * recent bars are relevant.
  *
+ * <h2>Primitive Storage</h2>
+ * <p>
+ * When created with {@code primitiveNumStorage}, {@link DoubleNum} results are
+ * stored as raw {@code double} values next to bitsets of computed slots (plus
+ * {@link NaN#NaN} and {@code null} markers) instead of an {@code Object[]} of
+ * references, roughly halving memory per cached value and avoiding pointer
+ * chasing on scans. The primitive slots are created by the first stored
+ * {@code DoubleNum}. {@code Num} instances are only materialized by
+ * {@link #get(int)} and {@link #getOrCompute(int, IntFunction)}, so repeated
+ * reads return equal but not identical instances;
+ * {@link #getDouble(int, IntToDoubleFunction)} reads the primitive value
+ * directly, and {@link #putDouble(int, double)} stores one without creating a
+ * {@code Num}. The first stored value of any other type permanently switches
+ * the buffer to object storage.
+ *
  * <h2>Null Value Handling</h2>
  * <p>
  * This cache correctly distinguishes between "not computed" and "computed as
@@ -72,8 +101,23 @@ class CachedBuffer<T> {
      */
     private static final Object NULL_VALUE = new Object();
 
+    /**
+     * Marker passed through the slot bookkeeping for a value written by
+     * {@link #putDouble(int, double)}; it is never stored.
+     */
+    private static final Object PRIMITIVE_VALUE = new Object();
+
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock(false);
 
+    /**
+     * Whether the buffer is only accessed by one thread, in which case no lock is
+     * taken and the write stamp is not maintained.
+     */
+    private final boolean threadConfined;
+
+    /** Nesting depth of write sections in thread-confined mode. */
+    private int confinedWriteDepth;
+
     /**
      * Stamp used for optimistic reads.
      *
@@ -99,9 +143,19 @@ class CachedBuffer<T> {
     /**
      * The ring buffer storing cached values. Uses {@link #NOT_COMPUTED} to
      * represent "not computed", allowing null values to be cached correctly.
+     * {@code null} while {@link #slots} is in use or the storage is undecided.
      */
     private Object[] buffer;
 
+    /**
+     * The primitive ring buffer storing {@link DoubleNum} values, or {@code null}
+     * when object storage is used or the storage is undecided.
+     */
+    private PrimitiveSlots slots;
+
+    /** Whether {@link DoubleNum} values may be stored in {@link #slots}. */
+    private final boolean primitiveNumStorage;
+
     /** Current allocated capacity of the buffer. */
     private int capacity;
 
@@ -124,10 +178,46 @@ class CachedBuffer<T> {
      *                        {@code Integer.MAX_VALUE} for unbounded
      */
     CachedBuffer(int maximumBarCount) {
+        this(maximumBarCount, false);
+    }
+
+    /**
+     * Creates a new cached buffer.
+     *
+     * @param maximumBarCount     the maximum bar count from the series, or
+     *                            {@code Integer.MAX_VALUE} for unbounded
+     * @param primitiveNumStorage whether {@link DoubleNum} values may be stored as
+     *                            primitive {@code double} values; the storage is
+     *                            then chosen on the first stored value
+     *
+     * @since 0.22.5
+     */
+    CachedBuffer(int maximumBarCount, boolean primitiveNumStorage) {
+        this(maximumBarCount, primitiveNumStorage, false);
+    }
+
+    /**
+     * Creates a new cached buffer.
+     *
+     * @param maximumBarCount     the maximum bar count from the series, or
+     *                            {@code Integer.MAX_VALUE} for unbounded
+     * @param primitiveNumStorage whether {@link DoubleNum} values may be stored as
+     *                            primitive {@code double} values
+     * @param threadConfined      whether the buffer is only accessed by one thread
+     *                            (see
+     *                            {@link org.ta4j.core.BarSeries#isThreadConfined()})
+     *
+     * @since 0.22.5
+     */
+    CachedBuffer(int maximumBarCount, boolean primitiveNumStorage, boolean threadConfined) {
+        this.threadConfined = threadConfined;
         this.bounded = maximumBarCount != Integer.MAX_VALUE;
         this.maximumCapacity = bounded ? maximumBarCount : MAX_CAPACITY;
         this.capacity = bounded ? maximumBarCount : DEFAULT_UNBOUNDED_CAPACITY;
-        this.buffer = new Object[capacity];
+        this.primitiveNumStorage = primitiveNumStorage;
+        if (!primitiveNumStorage) {
+            this.buffer = new Object[capacity];
+        }
     }
 
     /**
@@ -142,6 +232,9 @@ class CachedBuffer<T> {
     }
 
     T getOrCompute(int index, IntFunction<T> calculator, IntConsumer onComputedIndex) {
+        if (threadConfined) {
+            return getOrComputeConfined(index, calculator, onComputedIndex);
+        }
         // Optimistic fast-path (lock-free) for cache hits.
         Object cached = readAtOptimistic(index);
         if (cached != NOT_COMPUTED) {
@@ -154,11 +247,11 @@ class CachedBuffer<T> {
         }
 
         // Fast-path: read lock for cache hits
-        lock.readLock().lock();
+        lockRead();
         try {
             cached = readAtUnlocked(index);
         } finally {
-            lock.readLock().unlock();
+            unlockRead();
         }
         if (cached != NOT_COMPUTED) {
             if (cached == NULL_VALUE) {
@@ -170,8 +263,7 @@ class CachedBuffer<T> {
         }
 
         // Miss: compute under write lock (reentrant for recursive indicators)
-        lock.writeLock().lock();
-        onWriteLockAcquired();
+        lockWrite();
         try {
             cached = readAtUnlocked(index);
             if (cached == NOT_COMPUTED) {
@@ -189,9 +281,37 @@ class CachedBuffer<T> {
             T result = (T) cached;
             return result;
         } finally {
-            onBeforeWriteLockReleased();
-            lock.writeLock().unlock();
+            unlockWrite();
+        }
+    }
+
+    /**
+     * Thread-confined variant of
+     * {@link #getOrCompute(int, IntFunction, IntConsumer)}: plain reads and writes,
+     * without locks or stamp validation.
+     */
+    private T getOrComputeConfined(int index, IntFunction<T> calculator, IntConsumer onComputedIndex) {
+        Object cached = readAtUnlocked(index);
+        if (cached == NOT_COMPUTED) {
+            T result;
+            confinedWriteDepth++;
+            try {
+                result = calculator.apply(index);
+                store(index, result);
+            } finally {
+                confinedWriteDepth--;
+            }
+            if (onComputedIndex != null) {
+                onComputedIndex.accept(index);
+            }
+            return result;
+        }
+        if (cached == NULL_VALUE) {
+            return null;
         }
+        @SuppressWarnings("unchecked")
+        T result = (T) cached;
+        return result;
     }
 
     /**
@@ -208,12 +328,12 @@ class CachedBuffer<T> {
      * @see #isCached(int)
      */
     T get(int index) {
-        lock.readLock().lock();
+        lockRead();
         Object cached;
         try {
             cached = readAtUnlocked(index);
         } finally {
-            lock.readLock().unlock();
+            unlockRead();
         }
         if (cached == NOT_COMPUTED) {
             return null;
@@ -240,12 +360,141 @@ class CachedBuffer<T> {
      * @see #get(int)
      */
     boolean isCached(int index) {
-        lock.readLock().lock();
+        lockRead();
         try {
             Object cached = readAtUnlocked(index);
             return cached != NOT_COMPUTED;
         } finally {
-            lock.readLock().unlock();
+            unlockRead();
+        }
+    }
+
+    /**
+     * Gets a cached value as a primitive {@code double} without materializing a
+     * {@code Num}.
+     *
+     * <p>
+     * Only values held in primitive storage are read directly ({@link NaN#NaN} and
+     * {@code null} read as {@link Double#NaN}); any other case, including a cache
+     * miss, is delegated to {@code onMiss}.
+     *
+     * @param index  the series index
+     * @param onMiss function returning the value if it is not available as a
+     *               primitive
+     * @return the primitive value
+     *
+     * @since 0.22.5
+     */
+    double getDouble(int index, IntToDoubleFunction onMiss) {
+        long stamp1 = writeStamp;
+        if (index >= 0 && (stamp1 & 1L) == 0L) {
+            PrimitiveSlots localSlots = slots;
+            int localFirstCachedIndex = firstCachedIndex;
+            int localHighestResultIndex = highestResultIndex;
+            if (localSlots != null && localFirstCachedIndex >= 0 && index >= localFirstCachedIndex
+                    && index <= localHighestResultIndex) {
+                int slot = index % localSlots.capacity();
+                if (localSlots.isComputed(slot)) {
+                    double value = localSlots.values[slot];
+                    if (writeStamp == stamp1) {
+                        return value;
+                    }
+                }
+            }
+        }
+        return onMiss.applyAsDouble(index);
+    }
+
+    /**
+     * Gets a cached value as a primitive {@code double}, computing it if
+     * necessary.
+     *
+     * <p>
+     * Hits are read as in {@link #getDouble(int, IntToDoubleFunction)}. Misses are
+     * computed and stored under the write lock, like
+     * {@link #getOrCompute(int, IntFunction, IntConsumer)}, so that calculators
+     * keeping state between indices are never run concurrently.
+     *
+     * @param index           the series index
+     * @param calculator      function to compute the value if not cached
+     * @param onComputedIndex called with {@code index} once a computed value has
+     *                        been stored (may be {@code null})
+     * @return the cached or computed value
+     *
+     * @since 0.22.5
+     */
+    double getOrComputeDouble(int index, IntToDoubleFunction calculator, IntConsumer onComputedIndex) {
+        return getDouble(index, missing -> computeAndStoreDouble(missing, calculator, onComputedIndex));
+    }
+
+    private double computeAndStoreDouble(int index, IntToDoubleFunction calculator, IntConsumer onComputedIndex) {
+        lockWrite();
+        try {
+            Object cached = readAtUnlocked(index);
+            if (cached != NOT_COMPUTED) {
+                return cached instanceof Num num ? num.doubleValue() : Double.NaN;
+            }
+            double value = calculator.applyAsDouble(index);
+            storeDouble(index, value);
+            if (onComputedIndex != null) {
+                onComputedIndex.accept(index);
+            }
+            return value;
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    /**
+     * Computes a primitive value under the write lock without caching it.
+     *
+     * @param index      the series index
+     * @param calculator function to compute the value
+     * @return the computed value
+     *
+     * @since 0.22.5
+     */
+    double computeDouble(int index, IntToDoubleFunction calculator) {
+        lockWrite();
+        try {
+            return calculator.applyAsDouble(index);
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    /**
+     * Stores a primitive value without creating a {@code Num}.
+     *
+     * <p>
+     * {@link Double#NaN} is stored as {@link NaN#NaN}. If the buffer already uses
+     * object storage, the value is stored as a {@link DoubleNum}.
+     *
+     * @param index the series index
+     * @param value the value to store
+     *
+     * @since 0.22.5
+     */
+    void putDouble(int index, double value) {
+        lockWrite();
+        try {
+            storeDouble(index, value);
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    /**
+     * @return {@code true} if values are currently held in primitive storage
+     *
+     * @since 0.22.5
+     */
+    boolean usesPrimitiveStorage() {
+        lockRead();
+        try {
+            return slots != null;
+        } finally {
+            unlockRead();
         }
     }
 
@@ -256,13 +505,11 @@ class CachedBuffer<T> {
      * @param value the value to store
      */
     void put(int index, T value) {
-        lock.writeLock().lock();
-        onWriteLockAcquired();
+        lockWrite();
         try {
             store(index, value);
         } finally {
-            onBeforeWriteLockReleased();
-            lock.writeLock().unlock();
+            unlockWrite();
         }
     }
 
@@ -280,8 +527,7 @@ class CachedBuffer<T> {
      * @param calculator  function to compute values
      */
     void prefillUntil(int startIndex, int targetIndex, IntFunction<T> calculator) {
-        lock.writeLock().lock();
-        onWriteLockAcquired();
+        lockWrite();
         try {
             int fillStart = Math.max(startIndex, highestResultIndex + 1);
             for (int i = fillStart; i < targetIndex; i++) {
@@ -289,8 +535,37 @@ class CachedBuffer<T> {
                 store(i, value);
             }
         } finally {
-            onBeforeWriteLockReleased();
-            lock.writeLock().unlock();
+            unlockWrite();
+        }
+    }
+
+    /**
+     * Computes and stores the values of an index range in one forward pass under a
+     * single write lock.
+     *
+     * <p>
+     * Leading indices that are already cached are skipped; {@code calculator} is
+     * then asked for all values from the first missing index to {@code to}.
+     *
+     * @param from       the first index of the range
+     * @param to         the last index of the range (inclusive)
+     * @param calculator computes the values of a range and passes each of them with
+     *                   its index to the given consumer
+     *
+     * @since 0.22.5
+     */
+    void fillRange(int from, int to, RangeCalculator<T> calculator) {
+        lockWrite();
+        try {
+            int start = Math.max(0, from);
+            while (start <= to && readAtUnlocked(start) != NOT_COMPUTED) {
+                start++;
+            }
+            if (start <= to) {
+                calculator.calculate(start, to, (value, index) -> store(index, value));
+            }
+        } finally {
+            unlockWrite();
         }
     }
 
@@ -298,13 +573,11 @@ class CachedBuffer<T> {
      * Clears all cached values.
      */
     void clear() {
-        lock.writeLock().lock();
-        onWriteLockAcquired();
+        lockWrite();
         try {
             clearInternal();
         } finally {
-            onBeforeWriteLockReleased();
-            lock.writeLock().unlock();
+            unlockWrite();
         }
     }
 
@@ -314,8 +587,7 @@ class CachedBuffer<T> {
      * @param index the first index to invalidate; if negative, clears all
      */
     void invalidateFrom(int index) {
-        lock.writeLock().lock();
-        onWriteLockAcquired();
+        lockWrite();
         try {
             if (firstCachedIndex < 0 || index > highestResultIndex) {
                 return;
@@ -327,13 +599,11 @@ class CachedBuffer<T> {
 
             // Clear slots from index to highestResultIndex
             for (int i = index; i <= highestResultIndex; i++) {
-                int slot = indexToSlot(i);
-                buffer[slot] = NOT_COMPUTED;
+                clearSlot(indexToSlot(i));
             }
             highestResultIndex = index - 1;
         } finally {
-            onBeforeWriteLockReleased();
-            lock.writeLock().unlock();
+            unlockWrite();
         }
     }
 
@@ -341,11 +611,11 @@ class CachedBuffer<T> {
      * @return the highest cached series index, or -1 if empty
      */
     int getHighestResultIndex() {
-        lock.readLock().lock();
+        lockRead();
         try {
             return highestResultIndex;
         } finally {
-            lock.readLock().unlock();
+            unlockRead();
         }
     }
 
@@ -353,16 +623,56 @@ class CachedBuffer<T> {
      * @return the first cached series index, or -1 if empty
      */
     int getFirstCachedIndex() {
-        lock.readLock().lock();
+        lockRead();
         try {
             return firstCachedIndex;
         } finally {
-            lock.readLock().unlock();
+            unlockRead();
         }
     }
 
     boolean isWriteLockedByCurrentThread() {
-        return lock.isWriteLockedByCurrentThread();
+        return threadConfined ? confinedWriteDepth > 0 : lock.isWriteLockedByCurrentThread();
+    }
+
+    /**
+     * @return {@code true} if the buffer is only accessed by one thread and takes
+     *         no locks
+     *
+     * @since 0.22.5
+     */
+    boolean isThreadConfined() {
+        return threadConfined;
+    }
+
+    private void lockRead() {
+        if (!threadConfined) {
+            lock.readLock().lock();
+        }
+    }
+
+    private void unlockRead() {
+        if (!threadConfined) {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void lockWrite() {
+        if (threadConfined) {
+            confinedWriteDepth++;
+            return;
+        }
+        lock.writeLock().lock();
+        onWriteLockAcquired();
+    }
+
+    private void unlockWrite() {
+        if (threadConfined) {
+            confinedWriteDepth--;
+            return;
+        }
+        onBeforeWriteLockReleased();
+        lock.writeLock().unlock();
     }
 
     long getWriteStamp() {
@@ -408,9 +718,17 @@ class CachedBuffer<T> {
         // how growBuffer() copies values). Using capacity could cause
         // ArrayIndexOutOfBoundsException if capacity was already updated but we're
         // reading from the old (smaller) buffer.
-        Object[] localBuffer = buffer;
-        int slot = index % localBuffer.length;
-        Object value = localBuffer[slot];
+        Object value;
+        PrimitiveSlots localSlots = slots;
+        if (localSlots != null) {
+            value = localSlots.get(index % localSlots.capacity());
+        } else {
+            Object[] localBuffer = buffer;
+            if (localBuffer == null) {
+                return NOT_COMPUTED;
+            }
+            value = localBuffer[index % localBuffer.length];
+        }
         if (value == null || value == NOT_COMPUTED) {
             return NOT_COMPUTED;
         }
@@ -435,11 +753,11 @@ class CachedBuffer<T> {
      *         computed)
      */
     boolean isInRange(int index) {
-        lock.readLock().lock();
+        lockRead();
         try {
             return isInRangeUnlocked(index);
         } finally {
-            lock.readLock().unlock();
+            unlockRead();
         }
     }
 
@@ -470,8 +788,7 @@ class CachedBuffer<T> {
         if (!isInRangeUnlocked(index)) {
             return NOT_COMPUTED;
         }
-        int slot = indexToSlot(index);
-        Object value = buffer[slot];
+        Object value = readSlot(indexToSlot(index));
         if (value == null || value == NOT_COMPUTED) {
             return NOT_COMPUTED;
         }
@@ -481,13 +798,38 @@ class CachedBuffer<T> {
     private void store(int index, T value) {
         // Wrap null values in NULL_VALUE sentinel to distinguish from "not computed"
         Object valueToStore = (value == null) ? NULL_VALUE : value;
+        prepareStorageFor(valueToStore);
+        storeAt(index, valueToStore);
+    }
+
+    private void storeDouble(int index, double value) {
+        if (Double.isNaN(value)) {
+            prepareStorageFor(NaN.NaN);
+            storeAt(index, NaN.NaN);
+            return;
+        }
+        if (slots == null && (buffer != null || !primitiveNumStorage)) {
+            storeAt(index, DoubleNum.valueOf(value));
+            return;
+        }
+        if (slots == null) {
+            slots = new PrimitiveSlots(capacity);
+        }
+        storeAt(index, PRIMITIVE_VALUE);
+        slots.setDouble(indexToSlot(index), value);
+    }
+
+    /**
+     * Places {@code valueToStore} at {@code index}, evicting, growing or rebuilding
+     * the ring as needed. The storage must already be prepared for the value.
+     */
+    private void storeAt(int index, Object valueToStore) {
         if (firstCachedIndex < 0) {
             // First value being cached
             firstCachedIndex = index;
             highestResultIndex = index;
             ensureCapacity(1);
-            int slot = indexToSlot(index);
-            buffer[slot] = valueToStore;
+            writeSlot(indexToSlot(index), valueToStore);
             return;
         }
 
@@ -504,16 +846,14 @@ class CachedBuffer<T> {
                 if (evictCount >= existingCount) {
                     // Evicting all existing entries due to large gap - clear and start fresh
                     for (int i = firstCachedIndex; i <= highestResultIndex; i++) {
-                        int slot = indexToSlot(i);
-                        buffer[slot] = NOT_COMPUTED;
+                        clearSlot(indexToSlot(i));
                     }
                     // Set firstCachedIndex to the new index since all old entries are evicted
                     firstCachedIndex = index;
                 } else {
                     // Partial eviction - clear evicted slots and advance firstCachedIndex
                     for (int i = 0; i < evictCount; i++) {
-                        int slot = indexToSlot(firstCachedIndex + i);
-                        buffer[slot] = NOT_COMPUTED;
+                        clearSlot(indexToSlot(firstCachedIndex + i));
                     }
                     firstCachedIndex += evictCount;
                 }
@@ -523,13 +863,11 @@ class CachedBuffer<T> {
             }
 
             highestResultIndex = index;
-            int slot = indexToSlot(index);
-            buffer[slot] = valueToStore;
+            writeSlot(indexToSlot(index), valueToStore);
 
         } else if (index >= firstCachedIndex) {
             // Within existing range; just update
-            int slot = indexToSlot(index);
-            buffer[slot] = valueToStore;
+            writeSlot(indexToSlot(index), valueToStore);
 
         } else {
             // Index is before firstCachedIndex; need to expand backward.
@@ -551,8 +889,7 @@ class CachedBuffer<T> {
 
             rebuildBufferForRange(index, highestResultIndex);
             firstCachedIndex = index;
-            int slot = indexToSlot(index);
-            buffer[slot] = valueToStore;
+            writeSlot(indexToSlot(index), valueToStore);
         }
     }
 
@@ -564,6 +901,22 @@ class CachedBuffer<T> {
 
     private void growBuffer(int requiredSize) {
         int newCapacity = Math.min(Math.max(capacity * 2, requiredSize), maximumCapacity);
+        if (slots != null) {
+            PrimitiveSlots newSlots = new PrimitiveSlots(newCapacity);
+            if (firstCachedIndex >= 0) {
+                for (int i = firstCachedIndex; i <= highestResultIndex; i++) {
+                    slots.copyTo(indexToSlot(i), newSlots, i % newCapacity);
+                }
+            }
+            slots = newSlots;
+            capacity = newCapacity;
+            return;
+        }
+        if (buffer == null) {
+            // Storage not decided yet; nothing to copy
+            capacity = newCapacity;
+            return;
+        }
         Object[] newBuffer = new Object[newCapacity];
 
         // Copy existing values to new buffer using absolute slot mapping
@@ -593,6 +946,18 @@ class CachedBuffer<T> {
      * expanding backward in a bounded buffer to avoid stale slot mappings.
      */
     private void rebuildBufferForRange(int newFirstIndex, int newHighestIndex) {
+        if (slots != null) {
+            // Slot mapping is stable for a fixed capacity; clear slots outside the range
+            for (int i = firstCachedIndex; i <= highestResultIndex; i++) {
+                if (i < newFirstIndex || i > newHighestIndex) {
+                    slots.clear(indexToSlot(i));
+                }
+            }
+            return;
+        }
+        if (buffer == null) {
+            return;
+        }
         Object[] newBuffer = new Object[capacity];
         if (firstCachedIndex >= 0) {
             int copyFrom = Math.max(newFirstIndex, firstCachedIndex);
@@ -607,10 +972,191 @@ class CachedBuffer<T> {
     }
 
     private void clearInternal() {
-        for (int i = 0; i < capacity; i++) {
-            buffer[i] = NOT_COMPUTED;
+        if (slots != null) {
+            slots.clearAll();
+        } else if (buffer != null) {
+            for (int i = 0; i < capacity; i++) {
+                buffer[i] = NOT_COMPUTED;
+            }
         }
         firstCachedIndex = -1;
         highestResultIndex = -1;
     }
+
+    /**
+     * Chooses the storage on the first stored value, or switches from primitive to
+     * object storage when {@code value} cannot be stored as a primitive.
+     */
+    private void prepareStorageFor(Object value) {
+        if (buffer != null) {
+            return;
+        }
+        if (slots == null) {
+            if (primitiveNumStorage && PrimitiveSlots.canStore(value)) {
+                slots = new PrimitiveSlots(capacity);
+            } else {
+                buffer = new Object[capacity];
+            }
+            return;
+        }
+        if (!PrimitiveSlots.canStore(value)) {
+            Object[] newBuffer = new Object[capacity];
+            if (firstCachedIndex >= 0) {
+                for (int i = firstCachedIndex; i <= highestResultIndex; i++) {
+                    int slot = indexToSlot(i);
+                    newBuffer[slot] = slots.get(slot);
+                }
+            }
+            // Publish the object buffer before dropping the slots so that optimistic
+            // readers always observe one of the two storages
+            buffer = newBuffer;
+            slots = null;
+        }
+    }
+
+    private Object readSlot(int slot) {
+        PrimitiveSlots localSlots = slots;
+        if (localSlots != null) {
+            return localSlots.get(slot);
+        }
+        return buffer == null ? NOT_COMPUTED : buffer[slot];
+    }
+
+    private void writeSlot(int slot, Object value) {
+        if (slots != null) {
+            slots.set(slot, value);
+        } else {
+            buffer[slot] = value;
+        }
+    }
+
+    private void clearSlot(int slot) {
+        if (slots != null) {
+            slots.clear(slot);
+        } else if (buffer != null) {
+            buffer[slot] = NOT_COMPUTED;
+        }
+    }
+
+    /**
+     * Computes the values of an index range for
+     * {@link #fillRange(int, int, RangeCalculator)}.
+     *
+     * @param <T> the type of the values
+     */
+    @FunctionalInterface
+    interface RangeCalculator<T> {
+
+        /**
+         * @param from    the first index to compute
+         * @param to      the last index to compute (inclusive)
+         * @param results receives each computed value with its index
+         */
+        void calculate(int from, int to, ObjIntConsumer<T> results);
+    }
+
+    /**
+     * Primitive ring slots for {@link DoubleNum} values.
+     *
+     * <p>
+     * {@link NaN#NaN} and cached {@code null} values are stored as
+     * {@link Double#NaN} and flagged in dedicated bitsets, so that they can be told
+     * apart from a {@link DoubleNum} wrapping {@link Double#NaN}.
+     */
+    private static final class PrimitiveSlots {
+
+        private final double[] values;
+        private final long[] computed;
+        private final long[] nanValues;
+        private final long[] nullValues;
+
+        private PrimitiveSlots(int capacity) {
+            int words = (capacity + 63) >>> 6;
+            this.values = new double[capacity];
+            this.computed = new long[words];
+            this.nanValues = new long[words];
+            this.nullValues = new long[words];
+        }
+
+        private static boolean canStore(Object value) {
+            return value == NULL_VALUE || value == NaN.NaN || value == PRIMITIVE_VALUE
+                    || (value != null && value.getClass() == DoubleNum.class);
+        }
+
+        private int capacity() {
+            return values.length;
+        }
+
+        private boolean isComputed(int slot) {
+            return isSet(computed, slot);
+        }
+
+        private Object get(int slot) {
+            if (!isSet(computed, slot)) {
+                return NOT_COMPUTED;
+            }
+            if (isSet(nullValues, slot)) {
+                return NULL_VALUE;
+            }
+            if (isSet(nanValues, slot)) {
+                return NaN.NaN;
+            }
+            return DoubleNum.valueOf(values[slot]);
+        }
+
+        private void set(int slot, Object value) {
+            long bit = 1L << slot;
+            int word = slot >>> 6;
+            computed[word] |= bit;
+            if (value == NULL_VALUE) {
+                values[slot] = Double.NaN;
+                nullValues[word] |= bit;
+                nanValues[word] &= ~bit;
+            } else if (value == NaN.NaN) {
+                values[slot] = Double.NaN;
+                nanValues[word] |= bit;
+                nullValues[word] &= ~bit;
+            } else if (value == PRIMITIVE_VALUE) {
+                // The value is written by setDouble
+                nanValues[word] &= ~bit;
+                nullValues[word] &= ~bit;
+            } else {
+                values[slot] = ((DoubleNum) value).doubleValue();
+                nanValues[word] &= ~bit;
+                nullValues[word] &= ~bit;
+            }
+        }
+
+        private void setDouble(int slot, double value) {
+            values[slot] = value;
+        }
+
+        private void clear(int slot) {
+            computed[slot >>> 6] &= ~(1L << slot);
+        }
+
+        private void clearAll() {
+            Arrays.fill(computed, 0L);
+        }
+
+        private void copyTo(int slot, PrimitiveSlots target, int targetSlot) {
+            if (!isSet(computed, slot)) {
+                return;
+            }
+            long bit = 1L << targetSlot;
+            int word = targetSlot >>> 6;
+            target.values[targetSlot] = values[slot];
+            target.computed[word] |= bit;
+            if (isSet(nanValues, slot)) {
+                target.nanValues[word] |= bit;
+            }
+            if (isSet(nullValues, slot)) {
+                target.nullValues[word] |= bit;
+            }
+        }
+
+        private static boolean isSet(long[] bits, int slot) {
+            return (bits[slot >>> 6] & (1L << slot)) != 0L;
+        }
+    }
 }
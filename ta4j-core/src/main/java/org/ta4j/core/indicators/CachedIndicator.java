@@ -6,9 +6,12 @@ package org.ta4j.core.indicators;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.function.IntConsumer;
 import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.ObjIntConsumer;
 
 import org.ta4j.core.Bar;
 import org.ta4j.core.BarSeries;
+import org.ta4j.core.DoubleIndicator;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.num.Num;
 
@@ -41,6 +44,13 @@ import org.ta4j.core.num.Num;
  * {@code synchronized} methods for external locking purposes. Code that relied
  * on synchronizing on indicator instances for atomicity guarantees must be
  * updated to use explicit external synchronization.
+ *
+ * <p>
+ * Indicators created on a thread-confined series (see
+ * {@link BarSeries#isThreadConfined()}) skip all locking: cache hits and misses
+ * are plain array accesses, and the last-bar and first-bar caches are updated
+ * without synchronization. Such indicators must only be used by one thread at a
+ * time.
  */
 public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
 
@@ -54,8 +64,12 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
     /** The ring-buffer backed cache. */
     private final CachedBuffer<T> cache;
 
+    /** Whether this indicator is only used by one thread and takes no locks. */
+    private final boolean threadConfined;
+
     private final IntFunction<T> calculator = this::calculate;
     private final IntConsumer computedIndexRecorder = this::updateHighestResultIndex;
+    private final IntToDoubleFunction valueAsDouble = index -> toDouble(getValue(index));
 
     private static final AtomicIntegerFieldUpdater<CachedIndicator> HIGHEST_RESULT_INDEX_UPDATER = AtomicIntegerFieldUpdater
             .newUpdater(CachedIndicator.class, "highestResultIndex");
@@ -85,6 +99,10 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
     private volatile boolean firstBarHasCachedResult;
     private volatile T firstBarCachedResult;
 
+    // Last-bar caching state of getCachedDouble
+    private volatile LastBarDouble lastBarDouble;
+    private volatile long lastBarDoubleInvalidationCount;
+
     private static boolean equalsNum(Num left, Num right) {
         return left == right || (left != null && left.equals(right));
     }
@@ -97,7 +115,8 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
     protected CachedIndicator(BarSeries series) {
         super(series);
         int limit = series.getMaximumBarCount();
-        this.cache = new CachedBuffer<>(limit);
+        this.threadConfined = series.isThreadConfined();
+        this.cache = new CachedBuffer<>(limit, DoubleIndicator.supportsNativeDoubles(series), threadConfined);
     }
 
     /**
@@ -157,6 +176,64 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
         return result;
     }
 
+    /**
+     * Computes and caches the values of the index range {@code [from, to]} in one
+     * forward pass.
+     *
+     * <p>
+     * Values are computed by {@link #calculateRange(int, int, ObjIntConsumer)}
+     * under a single cache write section instead of one {@link #getValue(int)} call
+     * (and lock acquisition) per index, so that later reads of the range are cache
+     * hits. This is typically used to warm an indicator graph before iterating
+     * rules over it. The range is clamped to the bars still available in the
+     * series; already cached leading values are not recomputed, and the last bar
+     * goes through the regular mutation-aware last-bar cache.
+     *
+     * @param from the first index of the range
+     * @param to   the last index of the range (inclusive)
+     *
+     * @since 0.22.5
+     */
+    public void computeRange(int from, int to) {
+        BarSeries series = getBarSeries();
+        if (series == null || series.isEmpty()) {
+            return;
+        }
+        int start = Math.max(from, Math.max(series.getBeginIndex(), series.getRemovedBarsCount()));
+        int endIndex = series.getEndIndex();
+        int last = Math.min(to, endIndex - 1);
+        if (start <= last) {
+            cache.fillRange(start, last, this::calculateRange);
+            updateHighestResultIndex(cache.getHighestResultIndex());
+        }
+        if (to >= endIndex && start <= endIndex) {
+            getValue(endIndex);
+        }
+    }
+
+    /**
+     * Computes the values of the index range {@code [from, to]} for
+     * {@link #computeRange(int, int)}, in ascending index order.
+     *
+     * <p>
+     * The default implementation calls {@link #calculate(int)} for each index.
+     * Indicators whose value derives from their previous value (such as moving
+     * averages) may override this method to carry their state through a tight loop
+     * instead of reading it back from the cache for every index. Overrides must
+     * produce the same values as {@link #calculate(int)}.
+     *
+     * @param from    the first index to compute
+     * @param to      the last index to compute (inclusive)
+     * @param results receives each computed value with its index
+     *
+     * @since 0.22.5
+     */
+    protected void calculateRange(int from, int to, ObjIntConsumer<T> results) {
+        for (int i = from; i <= to; i++) {
+            results.accept(calculate(i), i);
+        }
+    }
+
     /**
      * Gets the cached value or computes and caches it.
      *
@@ -167,11 +244,119 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
         return cache.getOrCompute(index, calculator, computedIndexRecorder);
     }
 
+    /**
+     * Returns the value at {@code index} as a primitive {@code double}.
+     *
+     * <p>
+     * On a {@code DoubleNum} series, cached {@code Num} results are held in
+     * primitive storage, so this method reads them without materializing a
+     * {@code Num}. Otherwise it is equivalent to
+     * {@code getValue(index).doubleValue()}.
+     *
+     * @param index the bar index
+     * @return the value as a primitive {@code double}, or {@link Double#NaN} if the
+     *         value is not a {@code Num}, {@code null} or
+     *         {@link org.ta4j.core.num.NaN#NaN NaN}
+     *
+     * @since 0.22.5
+     */
+    public double getValueAsDouble(int index) {
+        BarSeries series = getBarSeries();
+        if (series == null || index < series.getRemovedBarsCount() || index >= series.getEndIndex()) {
+            return toDouble(getValue(index));
+        }
+        return cache.getDouble(index, valueAsDouble);
+    }
+
+    /**
+     * Returns the primitive value at {@code index} for subclasses implementing
+     * {@link DoubleIndicator}.
+     *
+     * <p>
+     * If the series supports native doubles (see
+     * {@link DoubleIndicator#supportsNativeDoubles(BarSeries)}), the value is
+     * computed by {@code calculator} and stored as a primitive in the same cache as
+     * the {@link #getValue(int)} results, so either path reuses values computed by
+     * the other. Misses are computed under the cache write lock, so
+     * {@code calculator} may keep state between indices like
+     * {@link #calculate(int)} does. The last bar is cached separately and
+     * recomputed when it is mutated. On any other series, the value is derived
+     * from {@link #getValue(int)}.
+     *
+     * @param index      the bar index
+     * @param calculator the primitive counterpart of {@link #calculate(int)}
+     * @return the value as a primitive {@code double}
+     *
+     * @since 0.22.5
+     */
+    protected final double getCachedDouble(int index, IntToDoubleFunction calculator) {
+        BarSeries series = getBarSeries();
+        if (!DoubleIndicator.supportsNativeDoubles(series) || index < series.getRemovedBarsCount()) {
+            return toDouble(getValue(index));
+        }
+        if (index >= series.getEndIndex()) {
+            return getLastBarDouble(index, series, calculator);
+        }
+        return cache.getOrComputeDouble(index, missing -> computeDouble(missing, calculator),
+                computedIndexRecorder);
+    }
+
+    /**
+     * Primitive counterpart of {@link #getLastBarValue(int, BarSeries)}: the value
+     * is computed under the cache write lock and reused until the last bar is
+     * replaced or mutated.
+     */
+    private double getLastBarDouble(int index, BarSeries series, IntToDoubleFunction calculator) {
+        if (index != series.getEndIndex()) {
+            return cache.computeDouble(index, calculator);
+        }
+        Bar bar = series.getLastBar();
+        long tradeCount = bar.getTrades();
+        Num closePrice = bar.getClosePrice();
+        LastBarDouble cached = lastBarDouble;
+        if (cached != null && cached.matches(index, bar, tradeCount, closePrice)) {
+            return cached.value();
+        }
+        long invalidationCount = lastBarDoubleInvalidationCount;
+        double value = cache.computeDouble(index, calculator);
+        Bar barAfter = series.getLastBar();
+        if (invalidationCount == lastBarDoubleInvalidationCount && barAfter == bar
+                && barAfter.getTrades() == tradeCount && equalsNum(barAfter.getClosePrice(), closePrice)) {
+            lastBarDouble = new LastBarDouble(index, bar, tradeCount, closePrice, value);
+        }
+        return value;
+    }
+
+    private double computeDouble(int index, IntToDoubleFunction calculator) {
+        if (this instanceof RecursiveCachedIndicator) {
+            // Fill long gaps iteratively to avoid deep recursion
+            int start = Math.max(getBarSeries().getRemovedBarsCount(), cache.getHighestResultIndex() + 1);
+            if (index - start > RecursiveCachedIndicator.RECURSION_THRESHOLD) {
+                for (int i = start; i < index; i++) {
+                    if (!cache.isCached(i)) {
+                        cache.putDouble(i, calculator.applyAsDouble(i));
+                    }
+                }
+            }
+        }
+        return calculator.applyAsDouble(index);
+    }
+
+    private static double toDouble(Object value) {
+        return value instanceof Num num ? num.doubleValue() : Double.NaN;
+    }
+
     /**
      * Updates {@link #highestResultIndex} to at least {@code index} without
      * regressing under contention.
      */
     protected final void updateHighestResultIndex(int index) {
+        if (threadConfined) {
+            if (index > highestResultIndex) {
+                highestResultIndex = index;
+            }
+            return;
+        }
         int current;
         do {
             current = highestResultIndex;
@@ -225,6 +410,13 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
             return computed;
         }
 
+        if (threadConfined) {
+            firstBarCachedRemovedBarsCount = removedBarsCount;
+            firstBarCachedResult = computed;
+            firstBarHasCachedResult = true;
+            return computed;
+        }
+
         synchronized (firstBarLock) {
             if (firstBarHasCachedResult && firstBarCachedRemovedBarsCount == removedBarsCount) {
                 return firstBarCachedResult;
@@ -253,6 +445,9 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
      * @return the indicator value
      */
     private T getLastBarValue(int index, BarSeries series) {
+        if (threadConfined) {
+            return getLastBarValueConfined(index, series);
+        }
         Bar snapshotBar;
         long snapshotTradeCount;
         Num snapshotClosePrice;
@@ -402,6 +597,35 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
         }
     }
 
+    /**
+     * Thread-confined variant of {@link #getLastBarValue(int, BarSeries)}: the bar
+     * cannot change while it is computed, so no snapshot validation or locking is
+     * needed.
+     */
+    private T getLastBarValueConfined(int index, BarSeries series) {
+        Bar bar = series.getLastBar();
+        long tradeCount = bar.getTrades();
+        Num closePrice = bar.getClosePrice();
+        if (index == lastBarCachedIndex && bar == lastBarRef && tradeCount == lastBarTradeCount
+                && equalsNum(closePrice, lastBarClosePrice)) {
+            return lastBarCachedResult;
+        }
+        // Recursive calls while the main cache is being written bypass caching (see
+        // getLastBarValue)
+        boolean cacheable = !cache.isWriteLockedByCurrentThread();
+        long invalidationCount = lastBarCacheInvalidationCount;
+        T computed = calculate(index);
+        if (cacheable && invalidationCount == lastBarCacheInvalidationCount) {
+            lastBarRef = bar;
+            lastBarTradeCount = tradeCount;
+            lastBarClosePrice = closePrice;
+            lastBarCachedResult = computed;
+            lastBarCachedIndex = index;
+            updateHighestResultIndex(index);
+        }
+        return computed;
+    }
+
     /**
      * Clears all cached values for this indicator.
      * <p>
@@ -436,6 +660,12 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
                 lastBarIndex = -1;
             }
         }
+        // An in-flight primitive last-bar computation may predate the invalidation
+        lastBarDoubleInvalidationCount++;
+        LastBarDouble cachedDouble = lastBarDouble;
+        if (cachedDouble != null && cachedDouble.index() >= index) {
+            lastBarDouble = null;
+        }
 
         if (index <= 0) {
             clearFirstBarCache();
@@ -460,6 +690,8 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
     }
 
     private void clearLastBarCacheLocked() {
+        lastBarDoubleInvalidationCount++;
+        lastBarDouble = null;
         lastBarCacheInvalidationCount++;
         lastBarRef = null;
         lastBarTradeCount = 0;
@@ -486,4 +718,13 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
     CachedBuffer<T> getCache() {
         return cache;
     }
+
+    /** Primitive value of the last bar, with the bar state it was computed on. */
+    private record LastBarDouble(int index, Bar bar, long tradeCount, Num closePrice, double value) {
+
+        boolean matches(int index, Bar bar, long tradeCount, Num closePrice) {
+            return index == this.index && bar == this.bar && tradeCount == this.tradeCount
+                    && equalsNum(closePrice, this.closePrice);
+        }
+    }
 }
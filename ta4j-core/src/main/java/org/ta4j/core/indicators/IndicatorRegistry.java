@@ -0,0 +1,270 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.indicators;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.num.Num;
+
+/**
+ * Interns indicators so that structurally identical indicators share a single
+ * (cached) instance.
+ *
+ * <p>
+ * Parameter sweeps typically rebuild the same sub-indicators for every
+ * strategy: a thousand strategies using {@code SMAIndicator(close, 20)} would
+ * otherwise hold a thousand caches computing the same values.
+ * {@link #intern(Indicator)} returns the first registered indicator that is
+ * equivalent to the given one, so every equivalent indicator is computed and
+ * cached once:
+ *
+ * <pre>{@code
+ * var registry = new IndicatorRegistry();
+ * var close = registry.intern(new ClosePriceIndicator(series));
+ * var sma = registry.intern(new SMAIndicator(close, 20)); // shared across strategies
+ * }</pre>
+ *
+ * <p>
+ * Two indicators are equivalent when they have the same class, are attached to
+ * the same {@link BarSeries} instance and have equivalent parameters. The
+ * parameters are the non-transient fields declared above the
+ * {@link CachedIndicator} boundary, i.e. the parameter model also used by
+ * {@link org.ta4j.core.serialization.IndicatorSerialization#describe(Indicator)}.
+ * Indicator fields are compared through their own interned instance, so
+ * indicators built on different but equivalent inputs are still shared.
+ * Numbers, {@link Num} values, strings, enums, booleans, temporal values and
+ * arrays or lists of them are compared by value ({@link Num} and
+ * {@link BigDecimal} values by their exact decimal value); any other field
+ * value is compared by identity, so indicators parameterized with distinct
+ * objects (for example lambdas) are never merged.
+ *
+ * <p>
+ * Only the interned indicators and their indicator parameters are shared.
+ * Sub-indicators that an indicator builds in its constructor and keeps in
+ * transient fields (such as the running total of {@code SMAIndicator} or the
+ * EMAs of {@code MACDIndicator}) take part in the equivalence, since they may
+ * carry parameters kept in no other field, but each owner keeps the instances
+ * it built: they may also be referenced by helper objects of the owner, and
+ * final fields are not rewritten. Sub-indicators held only in local variables,
+ * lambdas, lists or arrays are not compared at all.
+ *
+ * <p>
+ * The registry keeps strong references to the interned indicators until
+ * {@link #clear()} is called. It is thread-safe.
+ *
+ * @since 0.22.5
+ */
+public final class IndicatorRegistry {
+
+    /** Fields forming the parameter model of each indicator class. */
+    private static final ClassValue<List<Field>> PARAMETER_FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            return collectFields(type, false);
+        }
+    };
+
+    /**
+     * Transient indicator fields holding sub-indicators of each indicator class.
+     */
+    private static final ClassValue<List<Field>> SUB_INDICATOR_FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            return collectFields(type, true);
+        }
+    };
+
+    private final Map<Key, Indicator<?>> indicators = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the registered indicator equivalent to {@code indicator}, registering
+     * {@code indicator} (and its indicator parameters) if none is registered yet.
+     *
+     * @param indicator the indicator to intern
+     * @param <I>       the indicator type
+     * @return the shared equivalent indicator, of the same class as
+     *         {@code indicator}
+     */
+    public <I extends Indicator<?>> I intern(I indicator) {
+        Objects.requireNonNull(indicator, "indicator must not be null");
+        return intern(indicator, Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    /**
+     * @return the number of distinct registered indicators
+     */
+    public int size() {
+        return indicators.size();
+    }
+
+    /**
+     * Forgets all registered indicators.
+     */
+    public void clear() {
+        indicators.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <I extends Indicator<?>> I intern(I indicator, Set<Indicator<?>> inProgress) {
+        if (!inProgress.add(indicator)) {
+            // Cyclic indicator graph: fall back to the instance itself
+            return indicator;
+        }
+        try {
+            List<Object> parameters = parameters(indicator, inProgress);
+            // Sub-indicators may carry parameters that are not kept in other fields
+            List<Object> subIndicators = subIndicators(indicator, inProgress);
+            parameters.addAll(subIndicators);
+            Key key = new Key(indicator.getClass(), new Identity(indicator.getBarSeries()), parameters);
+            Indicator<?> registered = indicators.get(key);
+            if (registered == null) {
+                registered = indicators.putIfAbsent(key, indicator);
+            }
+            return registered == null ? indicator : (I) registered;
+        } finally {
+            inProgress.remove(indicator);
+        }
+    }
+
+    private List<Object> parameters(Indicator<?> indicator, Set<Indicator<?>> inProgress) {
+        List<Field> fields = PARAMETER_FIELDS.get(indicator.getClass());
+        List<Object> parameters = new ArrayList<>(fields.size());
+        for (Field field : fields) {
+            try {
+                Object value = field.get(indicator);
+                parameters.add(value == indicator ? Self.INSTANCE : parameter(value, inProgress));
+            } catch (IllegalAccessException e) {
+                // Cannot compare this parameter: keep the indicator unique
+                parameters.add(new Identity(indicator));
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * @return the interned sub-indicators of {@code indicator}, in the order of
+     *         {@link #SUB_INDICATOR_FIELDS}
+     */
+    private List<Object> subIndicators(Indicator<?> indicator, Set<Indicator<?>> inProgress) {
+        List<Field> fields = SUB_INDICATOR_FIELDS.get(indicator.getClass());
+        List<Object> subIndicators = new ArrayList<>(fields.size());
+        for (Field field : fields) {
+            try {
+                Object value = field.get(indicator);
+                subIndicators.add(value == indicator ? Self.INSTANCE : parameter(value, inProgress));
+            } catch (IllegalAccessException e) {
+                // Cannot compare this sub-indicator: keep the indicator unique
+                subIndicators.add(new Identity(new Object()));
+            }
+        }
+        return subIndicators;
+    }
+
+    private Object parameter(Object value, Set<Indicator<?>> inProgress) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Indicator<?> child) {
+            return new Identity(intern(child, inProgress));
+        }
+        if (value instanceof Num num) {
+            // Num equality may be tolerant (DoubleNum), its hash code is not
+            BigDecimal decimal = num.bigDecimalValue();
+            return new NumValue(num.getClass(),
+                    decimal == null ? Double.valueOf(num.doubleValue()) : decimal.stripTrailingZeros());
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.stripTrailingZeros();
+        }
+        if (isValue(value)) {
+            return value;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> elements = new ArrayList<>(list.size());
+            for (Object element : list) {
+                elements.add(parameter(element, inProgress));
+            }
+            return elements;
+        }
+        if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            List<Object> elements = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                elements.add(parameter(Array.get(value, i), inProgress));
+            }
+            return elements;
+        }
+        return new Identity(value);
+    }
+
+    private static boolean isValue(Object value) {
+        return value instanceof Number || value instanceof Num || value instanceof String || value instanceof Enum<?>
+                || value instanceof Boolean || value instanceof Character || value instanceof Temporal
+                || value instanceof Duration || value instanceof Class<?>;
+    }
+
+    private static List<Field> collectFields(Class<?> indicatorType, boolean subIndicators) {
+        List<Field> fields = new ArrayList<>();
+        Class<?> type = indicatorType;
+        while (type != null && type != Object.class && type != AbstractIndicator.class && type != CachedIndicator.class
+                && type != RecursiveCachedIndicator.class) {
+            for (Field field : type.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                if (subIndicators
+                        ? !Modifier.isTransient(modifiers) || !Indicator.class.isAssignableFrom(field.getType())
+                        : Modifier.isTransient(modifiers)) {
+                    continue;
+                }
+                field.setAccessible(true);
+                fields.add(field);
+            }
+            type = type.getSuperclass();
+        }
+        return List.copyOf(fields);
+    }
+
+    private record Key(Class<?> type, Identity series, List<Object> parameters) {
+    }
+
+    /** Exact value of a {@link Num} parameter. */
+    private record NumValue(Class<?> type, Object value) {
+    }
+
+    /** Compares the wrapped object by identity. */
+    private record Identity(Object value) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Identity other && other.value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(value);
+        }
+    }
+
+    /** Placeholder for a field referencing the indicator itself. */
+    private enum Self {
+        INSTANCE
+    }
+}
@@ -3,6 +3,7 @@
  */
 package org.ta4j.core.indicators;
 
+import org.ta4j.core.DoubleIndicator;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.averages.MMAIndicator;
 import org.ta4j.core.indicators.helpers.GainIndicator;
@@ -17,7 +18,7 @@ import static org.ta4j.core.num.NaN.NaN;
  * <p>
  * Computed using the original Welles Wilder formula.
  */
-public class RSIIndicator extends CachedIndicator<Num> {
+public class RSIIndicator extends CachedIndicator<Num> implements DoubleIndicator {
 
     private final Indicator<Num> indicator;
     private final transient MMAIndicator averageGainIndicator;
@@ -60,6 +61,34 @@ public class RSIIndicator extends CachedIndicator<Num> {
         return numFactory.hundred().minus(numFactory.hundred().dividedBy(numFactory.one().plus(relativeStrength)));
     }
 
+    /**
+     * @since 0.22.5
+     */
+    @Override
+    public double getDouble(int index) {
+        return getCachedDouble(index, this::calculateDouble);
+    }
+
+    private double calculateDouble(int index) {
+        if (index < getCountOfUnstableBars()) {
+            return Double.NaN;
+        }
+        double averageGain = averageGainIndicator.getDouble(index);
+        double averageLoss = averageLossIndicator.getDouble(index);
+        if (Double.isNaN(averageGain) || Double.isNaN(averageLoss)) {
+            return Double.NaN;
+        }
+        if (averageLoss == 0) {
+            return averageGain == 0 ? 0 : 100;
+        }
+        double relativeStrength = averageGain / averageLoss;
+        double denominator = 1 + relativeStrength;
+        if (denominator == 0) {
+            return Double.NaN;
+        }
+        return 100 - 100 / denominator;
+    }
+
     @Override
     public int getCountOfUnstableBars() {
         return unstableBars;
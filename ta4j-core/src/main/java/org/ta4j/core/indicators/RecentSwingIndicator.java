@@ -54,6 +54,45 @@ public interface RecentSwingIndicator extends Indicator<Num> {
      */
     List<Integer> getSwingPointIndexesUpTo(int index);
 
+    /**
+     * Returns the confirmed swing point indexes discoverable with the data
+     * available up to {@code index} that are greater than {@code afterIndex}.
+     *
+     * <p>
+     * Together with {@link #getSwingPointRevision(int)}, this lets callers follow
+     * the swing points incrementally instead of copying the whole list at each
+     * index.
+     *
+     * @param afterIndex the exclusive lower bound of the swing point indexes
+     * @param index      the maximum index to evaluate (inclusive)
+     * @return immutable list of swing point indexes in chronological order
+     * @since 0.22.5
+     */
+    default List<Integer> getSwingPointIndexesBetween(int afterIndex, int index) {
+        List<Integer> indexes = getSwingPointIndexesUpTo(index);
+        int first = indexes.size();
+        while (first > 0 && indexes.get(first - 1) > afterIndex) {
+            first--;
+        }
+        return indexes.subList(first, indexes.size());
+    }
+
+    /**
+     * Returns a counter that changes each time swing points reported earlier are
+     * removed (invalidated or purged from the series window), after evaluating the
+     * data available up to {@code index}. While it does not change, the swing
+     * points are only appended to.
+     *
+     * @param index the current evaluation index
+     * @return the revision of the swing points, or {@code -1} if the implementation
+     *         does not track it, in which case callers must assume that the swing
+     *         points may change at any time
+     * @since 0.22.5
+     */
+    default long getSwingPointRevision(int index) {
+        return -1;
+    }
+
     /**
      * Returns all confirmed swing point indexes discoverable with the current bar
      * series data.
@@ -38,7 +38,7 @@ public abstract class RecursiveCachedIndicator<T> extends CachedIndicator<T> {
      * This threshold determines when to switch from recursive to iterative
      * prefilling to avoid stack overflow.
      */
-    private static final int RECURSION_THRESHOLD = 100;
+    static final int RECURSION_THRESHOLD = 100;
 
     /**
      * Guards against recursively re-entering prefill for the same indicator.
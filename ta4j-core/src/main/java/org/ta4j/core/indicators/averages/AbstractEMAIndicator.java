@@ -3,6 +3,9 @@
  */
 package org.ta4j.core.indicators.averages;
 
+import java.util.function.ObjIntConsumer;
+
+import org.ta4j.core.DoubleIndicator;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.RecursiveCachedIndicator;
 import org.ta4j.core.num.Num;
@@ -18,11 +21,12 @@ import static org.ta4j.core.num.NaN.NaN;
  * immediately. If a previous value is NaN, the indicator resets to the current
  * value to allow graceful recovery.
  */
-public abstract class AbstractEMAIndicator extends RecursiveCachedIndicator<Num> {
+public abstract class AbstractEMAIndicator extends RecursiveCachedIndicator<Num> implements DoubleIndicator {
 
     private final Indicator<Num> indicator;
     private final int barCount;
     private final Num multiplier;
+    private final transient double doubleMultiplier;
 
     /**
      * Constructor.
@@ -36,6 +40,7 @@ public abstract class AbstractEMAIndicator extends RecursiveCachedIndicator<Num>
         this.indicator = indicator;
         this.barCount = barCount;
         this.multiplier = getBarSeries().numFactory().numOf(multiplier);
+        this.doubleMultiplier = this.multiplier.doubleValue();
     }
 
     @Override
@@ -66,6 +71,59 @@ public abstract class AbstractEMAIndicator extends RecursiveCachedIndicator<Num>
         return prevValue.plus(current.minus(prevValue).multipliedBy(multiplier));
     }
 
+    /**
+     * Carries the previous value through the loop instead of reading it back from
+     * the cache for every index.
+     *
+     * @since 0.22.5
+     */
+    @Override
+    protected void calculateRange(int from, int to, ObjIntConsumer<Num> results) {
+        int firstStableIndex = getBarSeries().getBeginIndex() + getCountOfUnstableBars();
+        Num prevValue = from > firstStableIndex ? getValue(from - 1) : NaN;
+        for (int i = from; i <= to; i++) {
+            Num value;
+            if (i < firstStableIndex) {
+                value = NaN;
+            } else {
+                Num current = indicator.getValue(i);
+                if (Num.isNaNOrNull(current)) {
+                    value = NaN;
+                } else if (Num.isNaNOrNull(prevValue)) {
+                    value = current;
+                } else {
+                    value = prevValue.plus(current.minus(prevValue).multipliedBy(multiplier));
+                }
+            }
+            results.accept(value, i);
+            prevValue = value;
+        }
+    }
+
+    /**
+     * @since 0.22.5
+     */
+    @Override
+    public double getDouble(int index) {
+        return getCachedDouble(index, this::calculateDouble);
+    }
+
+    private double calculateDouble(int index) {
+        int beginIndex = getBarSeries().getBeginIndex();
+        if (index < beginIndex + getCountOfUnstableBars()) {
+            return Double.NaN;
+        }
+        double current = DoubleIndicator.valueOf(indicator, index);
+        if (Double.isNaN(current)) {
+            return Double.NaN;
+        }
+        double prevValue = getDouble(index - 1);
+        if (Double.isNaN(prevValue)) {
+            return current;
+        }
+        return prevValue + (current - prevValue) * doubleMultiplier;
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + " barCount: " + barCount;
@@ -57,6 +57,23 @@ public class DMAIndicator extends SMAIndicator {
         return super.calculate(displacedIndex);
     }
 
+    @Override
+    protected double calculateDouble(int index) {
+        if (index < getCountOfUnstableBars()) {
+            return Double.NaN;
+        }
+
+        int displacedIndex = index - displacement;
+        if (displacedIndex < 0) {
+            return super.calculateDouble(0);
+        }
+        if (displacedIndex >= getBarSeries().getEndIndex()) {
+            return super.calculateDouble(getBarSeries().getEndIndex() - 1);
+        }
+
+        return super.calculateDouble(displacedIndex);
+    }
+
     @Override
     public int getCountOfUnstableBars() {
         return unstableBars;
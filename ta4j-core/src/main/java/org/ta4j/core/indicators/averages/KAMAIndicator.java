@@ -3,6 +3,8 @@
  */
 package org.ta4j.core.indicators.averages;
 
+import java.util.function.ObjIntConsumer;
+
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.RecursiveCachedIndicator;
 import org.ta4j.core.num.Num;
@@ -59,10 +61,35 @@ public class KAMAIndicator extends RecursiveCachedIndicator<Num> {
 
     @Override
     protected Num calculate(int index) {
-        Num currentPrice = price.getValue(index);
         if (index < barCountEffectiveRatio) {
-            return currentPrice;
+            return price.getValue(index);
+        }
+        return calculate(index, getValue(index - 1));
+    }
+
+    /**
+     * Carries the prior KAMA through the loop instead of reading it back from the
+     * cache for every index.
+     *
+     * @since 0.22.5
+     */
+    @Override
+    protected void calculateRange(int from, int to, ObjIntConsumer<Num> results) {
+        Num priorKAMA = from >= barCountEffectiveRatio ? getValue(from - 1) : null;
+        for (int i = from; i <= to; i++) {
+            Num value;
+            if (i < barCountEffectiveRatio) {
+                value = price.getValue(i);
+            } else {
+                value = calculate(i, priorKAMA);
+            }
+            results.accept(value, i);
+            priorKAMA = value;
         }
+    }
+
+    private Num calculate(int index, Num priorKAMA) {
+        Num currentPrice = price.getValue(index);
         /*
          * Efficiency Ratio (ER) ER = Change/Volatility Change = ABS(Close - Close (10
          * periods ago)) Volatility = Sum10(ABS(Close - Prior Close)) Volatility is the
@@ -84,7 +111,6 @@ public class KAMAIndicator extends RecursiveCachedIndicator<Num> {
         /*
          * KAMA Current KAMA = Prior KAMA + SC x (Price - Prior KAMA)
          */
-        Num priorKAMA = getValue(index - 1);
         return priorKAMA.plus(sc.multipliedBy(currentPrice.minus(priorKAMA)));
     }
 
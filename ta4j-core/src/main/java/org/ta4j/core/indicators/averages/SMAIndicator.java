@@ -3,6 +3,7 @@
  */
 package org.ta4j.core.indicators.averages;
 
+import org.ta4j.core.DoubleIndicator;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
 import org.ta4j.core.indicators.helpers.RunningTotalIndicator;
@@ -14,7 +15,7 @@ import org.ta4j.core.num.Num;
  * @see <a href=
  *      "https://www.investopedia.com/terms/s/sma.asp">https://www.investopedia.com/terms/s/sma.asp</a>
  */
-public class SMAIndicator extends CachedIndicator<Num> {
+public class SMAIndicator extends CachedIndicator<Num> implements DoubleIndicator {
 
     private final int barCount;
     private final Indicator<Num> indicator;
@@ -44,6 +45,27 @@ public class SMAIndicator extends CachedIndicator<Num> {
         return this.previousSum.getValue(index);
     }
 
+    /**
+     * @since 0.22.5
+     */
+    @Override
+    public double getDouble(int index) {
+        return getCachedDouble(index, this::calculateDouble);
+    }
+
+    /**
+     * Primitive counterpart of {@link #calculate(int)}.
+     *
+     * @param index the bar index
+     * @return the simple moving average at {@code index}
+     *
+     * @since 0.22.5
+     */
+    protected double calculateDouble(int index) {
+        final int realBarCount = Math.min(barCount, index + 1);
+        return previousSum.getDouble(index) / realBarCount;
+    }
+
     /** @return {@link #barCount} */
     @Override
     public int getCountOfUnstableBars() {
@@ -5,10 +5,15 @@ package org.ta4j.core.indicators.elliott;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import org.ta4j.core.indicators.elliott.confidence.ConfidenceModel;
 import org.ta4j.core.indicators.elliott.confidence.ConfidenceProfiles;
@@ -42,6 +47,9 @@ public final class ElliottScenarioGenerator {
     /** Maximum number of scenarios to retain after pruning. */
     public static final int DEFAULT_MAX_SCENARIOS = 5;
 
+    /** Number of interpretations and confidence breakdowns memoized. */
+    private static final int CACHE_SIZE = 512;
+
     private final NumFactory numFactory;
     private final ElliottFibonacciValidator fibValidator;
     private final ConfidenceModel confidenceModel;
@@ -50,6 +58,10 @@ public final class ElliottScenarioGenerator {
     private final Num minConfidenceNum;
     private final int maxScenarios;
     private final AtomicInteger scenarioCounter = new AtomicInteger(0);
+    /** Validated interpretations, by type and swings ({@code null} if invalid) */
+    private final Map<InterpretationKey, Optional<Interpretation>> interpretations = lruCache();
+    /** Confidence breakdowns, by type, swings and channel */
+    private final Map<ScoreKey, Optional<ElliottConfidenceBreakdown>> scores = lruCache();
 
     /**
      * Creates a generator with default settings.
@@ -125,8 +137,7 @@ public final class ElliottScenarioGenerator {
             return ElliottScenarioSet.empty(barIndex);
         }
 
-        final List<ElliottScenario> candidates = new ArrayList<>();
-        final Set<String> seenSignatures = new HashSet<>();
+        final Generation generation = new Generation(degree, channel);
 
         // Try different starting points
         for (int startIndex = 0; startIndex < swings.size() && startIndex < 3; startIndex++) {
@@ -137,202 +148,79 @@ public final class ElliottScenarioGenerator {
 
             // Try impulse interpretation
             if (patternSet.allows(ScenarioType.IMPULSE)) {
-                generateImpulseScenarios(segment, degree, channel, startIndex, candidates, seenSignatures);
+                generateImpulseScenarios(segment, startIndex, generation);
             }
 
             // Try corrective interpretation
             if (patternSet.allows(ScenarioType.CORRECTIVE_ZIGZAG) || patternSet.allows(ScenarioType.CORRECTIVE_FLAT)
                     || patternSet.allows(ScenarioType.CORRECTIVE_TRIANGLE)
                     || patternSet.allows(ScenarioType.CORRECTIVE_COMPLEX)) {
-                generateCorrectiveScenarios(segment, degree, channel, startIndex, candidates, seenSignatures);
+                generateCorrectiveScenarios(segment, startIndex, generation);
             }
         }
 
         // Prune and rank scenarios
-        final List<ElliottScenario> pruned = prune(candidates);
+        final List<ElliottScenario> pruned = prune(generation.candidates);
 
         return ElliottScenarioSet.of(pruned, barIndex);
     }
 
-    private void generateImpulseScenarios(final List<ElliottSwing> swings, final ElliottDegree degree,
-            final ElliottChannel channel, final int startIndex, final List<ElliottScenario> candidates,
-            final Set<String> seenSignatures) {
-        if (swings.isEmpty()) {
-            return;
-        }
-
+    private void generateImpulseScenarios(final List<ElliottSwing> swings, final int startIndex,
+            final Generation generation) {
         // Try to identify impulse waves 1-5
         for (int waveCount = 1; waveCount <= Math.min(5, swings.size()); waveCount++) {
-            final List<ElliottSwing> impulseSwings = swings.subList(0, waveCount);
-            final ElliottPhase phase = determineImpulsePhase(impulseSwings);
-
-            if (phase == ElliottPhase.NONE) {
-                continue;
-            }
-
-            if (!validateImpulseStructure(impulseSwings, phase)) {
-                continue;
-            }
-
-            final String signature = createSignature(ScenarioType.IMPULSE, phase, startIndex);
-            if (seenSignatures.contains(signature)) {
-                continue;
-            }
-            seenSignatures.add(signature);
-
-            final ElliottConfidenceBreakdown breakdown = confidenceModel.score(impulseSwings, phase, channel,
-                    ScenarioType.IMPULSE);
-            final ElliottConfidence confidence = breakdown.confidence();
-
-            if (confidence.overall().isLessThan(minConfidenceNum)) {
-                continue;
-            }
-
-            final Num invalidation = calculateImpulseInvalidation(impulseSwings, phase);
-            final List<Num> targets = calculateImpulseTargets(impulseSwings, phase);
-            final Num primaryTarget = targets.isEmpty() ? numFactory.zero() : targets.get(0);
-
-            final ElliottScenario scenario = ElliottScenario.builder()
-                    .id(generateId("impulse"))
-                    .currentPhase(phase)
-                    .swings(impulseSwings)
-                    .confidence(confidence)
-                    .degree(degree)
-                    .invalidationPrice(invalidation)
-                    .primaryTarget(primaryTarget)
-                    .fibonacciTargets(targets)
-                    .type(ScenarioType.IMPULSE)
-                    .startIndex(startIndex)
-                    .build();
-
-            candidates.add(scenario);
+            generation.consider(ScenarioType.IMPULSE, "impulse", swings.subList(0, waveCount), startIndex);
         }
     }
 
-    private void generateCorrectiveScenarios(final List<ElliottSwing> swings, final ElliottDegree degree,
-            final ElliottChannel channel, final int startIndex, final List<ElliottScenario> candidates,
-            final Set<String> seenSignatures) {
-        if (swings.isEmpty()) {
-            return;
-        }
-
+    private void generateCorrectiveScenarios(final List<ElliottSwing> swings, final int startIndex,
+            final Generation generation) {
         // Try zigzag (A-B-C with C exceeding A)
-        if (patternSet.allows(ScenarioType.CORRECTIVE_ZIGZAG) && swings.size() >= 1) {
-            generateZigzagScenario(swings, degree, channel, startIndex, candidates, seenSignatures);
+        if (patternSet.allows(ScenarioType.CORRECTIVE_ZIGZAG)) {
+            for (int waveCount = 1; waveCount <= Math.min(3, swings.size()); waveCount++) {
+                generation.consider(ScenarioType.CORRECTIVE_ZIGZAG, "zigzag", swings.subList(0, waveCount), startIndex);
+            }
         }
 
         // Try flat (A-B-C with B retracing most of A)
-        if (patternSet.allows(ScenarioType.CORRECTIVE_FLAT) && swings.size() >= 2) {
-            generateFlatScenario(swings, degree, channel, startIndex, candidates, seenSignatures);
-        }
-    }
-
-    private void generateZigzagScenario(final List<ElliottSwing> swings, final ElliottDegree degree,
-            final ElliottChannel channel, final int startIndex, final List<ElliottScenario> candidates,
-            final Set<String> seenSignatures) {
-
-        for (int waveCount = 1; waveCount <= Math.min(3, swings.size()); waveCount++) {
-            final List<ElliottSwing> corrSwings = swings.subList(0, waveCount);
-            final ElliottPhase phase = determineCorrectivePhase(corrSwings);
-
-            if (phase == ElliottPhase.NONE) {
-                continue;
-            }
-
-            final String signature = createSignature(ScenarioType.CORRECTIVE_ZIGZAG, phase, startIndex);
-            if (seenSignatures.contains(signature)) {
-                continue;
-            }
-            seenSignatures.add(signature);
-
-            final ElliottConfidenceBreakdown breakdown = confidenceModel.score(corrSwings, phase, channel,
-                    ScenarioType.CORRECTIVE_ZIGZAG);
-            final ElliottConfidence confidence = breakdown.confidence();
-
-            if (confidence.overall().isLessThan(minConfidenceNum)) {
-                continue;
+        if (patternSet.allows(ScenarioType.CORRECTIVE_FLAT)) {
+            for (int waveCount = 2; waveCount <= Math.min(3, swings.size()); waveCount++) {
+                generation.consider(ScenarioType.CORRECTIVE_FLAT, "flat", swings.subList(0, waveCount), startIndex);
             }
-
-            final Num invalidation = calculateCorrectiveInvalidation(corrSwings, phase);
-            final List<Num> targets = calculateCorrectiveTargets(corrSwings, phase);
-            final Num primaryTarget = targets.isEmpty() ? numFactory.zero() : targets.get(0);
-
-            final ElliottScenario scenario = ElliottScenario.builder()
-                    .id(generateId("zigzag"))
-                    .currentPhase(phase)
-                    .swings(corrSwings)
-                    .confidence(confidence)
-                    .degree(degree)
-                    .invalidationPrice(invalidation)
-                    .primaryTarget(primaryTarget)
-                    .fibonacciTargets(targets)
-                    .type(ScenarioType.CORRECTIVE_ZIGZAG)
-                    .startIndex(startIndex)
-                    .build();
-
-            candidates.add(scenario);
         }
     }
 
-    private void generateFlatScenario(final List<ElliottSwing> swings, final ElliottDegree degree,
-            final ElliottChannel channel, final int startIndex, final List<ElliottScenario> candidates,
-            final Set<String> seenSignatures) {
-
-        // Flat requires wave B to retrace at least 78.6% of wave A
-        if (swings.size() < 2) {
-            return;
+    /**
+     * Validates an interpretation of a swing sequence and computes its
+     * channel-independent properties.
+     *
+     * @param type   scenario type
+     * @param swings swings of the interpretation
+     * @return the interpretation, or {@code null} if the swings do not form a valid
+     *         structure of the type
+     */
+    private Interpretation interpret(final ScenarioType type, final List<ElliottSwing> swings) {
+        if (type == ScenarioType.IMPULSE) {
+            final ElliottPhase phase = determineImpulsePhase(swings);
+            if (phase == ElliottPhase.NONE || !validateImpulseStructure(swings, phase)) {
+                return null;
+            }
+            final List<Num> targets = calculateImpulseTargets(swings, phase);
+            return new Interpretation(phase, calculateImpulseInvalidation(swings, phase), targets);
         }
 
-        final ElliottSwing waveA = swings.get(0);
-        final ElliottSwing waveB = swings.get(1);
-
         // Flat patterns require wave B to retrace at least 78.6% of wave A.
         // The validator handles zero-amplitude checks internally.
-        if (!fibValidator.isWaveBFlatRetracementValid(waveA, waveB)) {
-            return;
+        if (type == ScenarioType.CORRECTIVE_FLAT
+                && (swings.size() < 2 || !fibValidator.isWaveBFlatRetracementValid(swings.get(0), swings.get(1)))) {
+            return null;
         }
-
-        for (int waveCount = 2; waveCount <= Math.min(3, swings.size()); waveCount++) {
-            final List<ElliottSwing> corrSwings = swings.subList(0, waveCount);
-            final ElliottPhase phase = determineCorrectivePhase(corrSwings);
-
-            if (phase == ElliottPhase.NONE) {
-                continue;
-            }
-
-            final String signature = createSignature(ScenarioType.CORRECTIVE_FLAT, phase, startIndex);
-            if (seenSignatures.contains(signature)) {
-                continue;
-            }
-            seenSignatures.add(signature);
-
-            final ElliottConfidenceBreakdown breakdown = confidenceModel.score(corrSwings, phase, channel,
-                    ScenarioType.CORRECTIVE_FLAT);
-            final ElliottConfidence confidence = breakdown.confidence();
-
-            if (confidence.overall().isLessThan(minConfidenceNum)) {
-                continue;
-            }
-
-            final Num invalidation = calculateCorrectiveInvalidation(corrSwings, phase);
-            final List<Num> targets = calculateCorrectiveTargets(corrSwings, phase);
-            final Num primaryTarget = targets.isEmpty() ? numFactory.zero() : targets.get(0);
-
-            final ElliottScenario scenario = ElliottScenario.builder()
-                    .id(generateId("flat"))
-                    .currentPhase(phase)
-                    .swings(corrSwings)
-                    .confidence(confidence)
-                    .degree(degree)
-                    .invalidationPrice(invalidation)
-                    .primaryTarget(primaryTarget)
-                    .fibonacciTargets(targets)
-                    .type(ScenarioType.CORRECTIVE_FLAT)
-                    .startIndex(startIndex)
-                    .build();
-
-            candidates.add(scenario);
+        final ElliottPhase phase = determineCorrectivePhase(swings);
+        if (phase == ElliottPhase.NONE) {
+            return null;
         }
+        final List<Num> targets = calculateCorrectiveTargets(swings, phase);
+        return new Interpretation(phase, calculateCorrectiveInvalidation(swings, phase), targets);
     }
 
     private ElliottPhase determineImpulsePhase(final List<ElliottSwing> swings) {
@@ -516,6 +404,139 @@ public final class ElliottScenarioGenerator {
         return targets;
     }
 
+    /**
+     * Looks up a memoized value, computing and storing it if absent.
+     */
+    private static <K, V> V memoized(final Map<K, Optional<V>> cache, final K key, final Function<K, V> compute) {
+        synchronized (cache) {
+            final Optional<V> cached = cache.get(key);
+            if (cached != null) {
+                return cached.orElse(null);
+            }
+        }
+        final V value = compute.apply(key);
+        synchronized (cache) {
+            cache.put(key, Optional.ofNullable(value));
+        }
+        return value;
+    }
+
+    private static <K, V> Map<K, V> lruCache() {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+    }
+
+    /**
+     * Channel-independent properties of a valid interpretation.
+     *
+     * @param phase        current phase
+     * @param invalidation invalidation price
+     * @param targets      Fibonacci targets
+     */
+    private record Interpretation(ElliottPhase phase, Num invalidation, List<Num> targets) {
+    }
+
+    private record InterpretationKey(ScenarioType type, List<ElliottSwing> swings) {
+    }
+
+    private record ScoreKey(ScenarioType type, List<ElliottSwing> swings, ElliottChannel channel) {
+    }
+
+    /**
+     * The candidates of one {@link #generate} call, along with the lowest
+     * confidence a new candidate needs to make it into the retained scenarios.
+     */
+    private final class Generation {
+
+        private final ElliottDegree degree;
+        private final ElliottChannel channel;
+        private final List<ElliottScenario> candidates = new ArrayList<>();
+        private final Set<String> seenSignatures = new HashSet<>();
+        /** The confidences of the best candidates so far, lowest first */
+        private final PriorityQueue<Num> best = new PriorityQueue<>();
+
+        private Generation(final ElliottDegree degree, final ElliottChannel channel) {
+            this.degree = degree;
+            this.channel = channel;
+        }
+
+        private void consider(final ScenarioType type, final String idPrefix, final List<ElliottSwing> subList,
+                final int startIndex) {
+            final List<ElliottSwing> swings = List.copyOf(subList);
+            final Interpretation interpretation = memoized(interpretations, new InterpretationKey(type, swings),
+                    key -> interpret(key.type(), key.swings()));
+            if (interpretation == null) {
+                return;
+            }
+
+            final String signature = createSignature(type, interpretation.phase(), startIndex);
+            if (!seenSignatures.add(signature)) {
+                return;
+            }
+
+            final ElliottConfidenceBreakdown breakdown = score(type, swings, interpretation.phase());
+            if (breakdown == null) {
+                return;
+            }
+            final ElliottConfidence confidence = breakdown.confidence();
+            if (confidence.overall().isLessThan(minConfidenceNum)) {
+                return;
+            }
+
+            final Num primaryTarget = interpretation.targets().isEmpty() ? numFactory.zero()
+                    : interpretation.targets().get(0);
+            candidates.add(ElliottScenario.builder()
+                    .id(generateId(idPrefix))
+                    .currentPhase(interpretation.phase())
+                    .swings(swings)
+                    .confidence(confidence)
+                    .degree(degree)
+                    .invalidationPrice(interpretation.invalidation())
+                    .primaryTarget(primaryTarget)
+                    .fibonacciTargets(interpretation.targets())
+                    .type(type)
+                    .startIndex(startIndex)
+                    .build());
+            if (!confidence.overall().isNaN() && maxScenarios > 0) {
+                best.add(confidence.overall());
+                if (best.size() > maxScenarios) {
+                    best.poll();
+                }
+            }
+        }
+
+        /**
+         * @return the confidence breakdown, or {@code null} if the candidate cannot
+         *         make it into the retained scenarios
+         */
+        private ElliottConfidenceBreakdown score(final ScenarioType type, final List<ElliottSwing> swings,
+                final ElliottPhase phase) {
+            final ScoreKey key = new ScoreKey(type, swings, channel);
+            synchronized (scores) {
+                final Optional<ElliottConfidenceBreakdown> cached = scores.get(key);
+                if (cached != null) {
+                    return cached.orElse(null);
+                }
+            }
+            // Candidates scoring below the current top N are dropped by prune(...)
+            final Num floor = best.size() == maxScenarios ? best.peek() : minConfidenceNum;
+            final Optional<ElliottConfidenceBreakdown> breakdown = confidenceModel.score(swings, phase, channel, type,
+                    floor);
+            if (breakdown.isEmpty()) {
+                // Only known to be below this floor: not worth caching
+                return null;
+            }
+            synchronized (scores) {
+                scores.put(key, breakdown);
+            }
+            return breakdown.get();
+        }
+    }
+
     private List<ElliottScenario> prune(final List<ElliottScenario> candidates) {
         return candidates.stream()
                 .filter(s -> s.confidenceScore().isGreaterThanOrEqual(minConfidenceNum))
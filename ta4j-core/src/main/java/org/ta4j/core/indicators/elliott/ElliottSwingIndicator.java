@@ -3,9 +3,12 @@
  */
 package org.ta4j.core.indicators.elliott;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
 
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Indicator;
@@ -47,6 +50,14 @@ import org.ta4j.core.num.Num;
  * when using the swings in live or latency-sensitive workflows.
  *
  * <p>
+ * The swing lists of all indexes share their storage: each list is a view of
+ * the swings confirmed so far, and evaluating the next index only merges the
+ * swing points confirmed since the previous one. Evaluating every index of a
+ * series therefore takes linear time and memory in its length, as long as the
+ * swing detectors report their revisions (see
+ * {@link RecentSwingIndicator#getSwingPointRevision(int)}).
+ *
+ * <p>
  * Use this indicator as the canonical swing source for Elliott Wave analysis.
  * It powers {@link ElliottWaveFacade}, {@link ElliottPhaseIndicator}, and
  * {@link ElliottScenarioIndicator}.
@@ -58,6 +69,9 @@ public class ElliottSwingIndicator extends CachedIndicator<List<ElliottSwing>> {
     private final RecentSwingIndicator swingHighIndicator;
     private final RecentSwingIndicator swingLowIndicator;
     private final ElliottDegree degree;
+    private final Object historyLock = new Object();
+    /** The swing history of the last index evaluated, guarded by historyLock */
+    private SwingHistory history;
 
     /**
      * Builds a new indicator with identical lookback/forward lengths using
@@ -228,18 +242,20 @@ public class ElliottSwingIndicator extends CachedIndicator<List<ElliottSwing>> {
             return List.of();
         }
 
-        final List<Pivot> pivots = pivots(index);
-        if (pivots.size() < 2) {
-            return List.of();
-        }
-
-        final List<ElliottSwing> swings = new ArrayList<>(pivots.size() - 1);
-        for (int i = 1; i < pivots.size(); i++) {
-            final Pivot previous = pivots.get(i - 1);
-            final Pivot current = pivots.get(i);
-            swings.add(new ElliottSwing(previous.index, current.index, previous.price, current.price, degree));
+        synchronized (historyLock) {
+            final long highRevision = swingHighIndicator.getSwingPointRevision(index);
+            final long lowRevision = swingLowIndicator.getSwingPointRevision(index);
+            if (history != null && history.canAdvance(index, highRevision, lowRevision) && history.advance(index)) {
+                return history.swings();
+            }
+            final SwingHistory rebuilt = new SwingHistory(highRevision, lowRevision);
+            rebuilt.advance(index);
+            if (history == null || index >= history.scannedIndex) {
+                // Only move forward, so that random access does not discard the history
+                history = rebuilt;
+            }
+            return rebuilt.swings();
         }
-        return List.copyOf(swings);
     }
 
     /**
@@ -251,15 +267,9 @@ public class ElliottSwingIndicator extends CachedIndicator<List<ElliottSwing>> {
      * @since 0.22.0
      */
     public List<Integer> getPivotIndexes(final int index) {
-        final List<Pivot> pivots = pivots(index);
-        if (pivots.isEmpty()) {
-            return List.of();
-        }
-        final List<Integer> indexes = new ArrayList<>(pivots.size());
-        for (Pivot pivot : pivots) {
-            indexes.add(pivot.index);
-        }
-        return List.copyOf(indexes);
+        final SwingHistory pivots = new SwingHistory(-1, -1);
+        pivots.advance(index);
+        return pivots.pivotIndexes();
     }
 
     /**
@@ -286,85 +296,6 @@ public class ElliottSwingIndicator extends CachedIndicator<List<ElliottSwing>> {
         return degree;
     }
 
-    private List<Pivot> pivots(final int index) {
-        final List<Integer> highs = swingHighIndicator.getSwingPointIndexesUpTo(index);
-        final List<Integer> lows = swingLowIndicator.getSwingPointIndexesUpTo(index);
-        if (highs.isEmpty() && lows.isEmpty()) {
-            return List.of();
-        }
-
-        final List<Pivot> pivots = new ArrayList<>(highs.size() + lows.size());
-        int highPointer = 0;
-        int lowPointer = 0;
-
-        while (highPointer < highs.size() || lowPointer < lows.size()) {
-            final int highIndex = highPointer < highs.size() ? highs.get(highPointer) : Integer.MAX_VALUE;
-            final int lowIndex = lowPointer < lows.size() ? lows.get(lowPointer) : Integer.MAX_VALUE;
-
-            if (highIndex == lowIndex) {
-                final Num highPrice = swingHighIndicator.getPriceIndicator().getValue(highIndex);
-                final Num lowPrice = swingLowIndicator.getPriceIndicator().getValue(lowIndex);
-
-                final PivotType chosen;
-                if (pivots.isEmpty()) {
-                    if (Num.isNaNOrNull(highPrice)) {
-                        chosen = PivotType.LOW;
-                    } else if (Num.isNaNOrNull(lowPrice)) {
-                        chosen = PivotType.HIGH;
-                    } else {
-                        chosen = !highPrice.isLessThan(lowPrice) ? PivotType.HIGH : PivotType.LOW;
-                    }
-                } else {
-                    chosen = pivots.get(pivots.size() - 1).type.opposite();
-                }
-
-                if (chosen == PivotType.HIGH) {
-                    absorbPivot(pivots, new Pivot(highIndex, highPrice, PivotType.HIGH));
-                } else {
-                    absorbPivot(pivots, new Pivot(lowIndex, lowPrice, PivotType.LOW));
-                }
-                highPointer++;
-                lowPointer++;
-                continue;
-            }
-
-            if (highIndex < lowIndex) {
-                absorbPivot(pivots, new Pivot(highIndex, swingHighIndicator.getPriceIndicator().getValue(highIndex),
-                        PivotType.HIGH));
-                highPointer++;
-            } else {
-                absorbPivot(pivots,
-                        new Pivot(lowIndex, swingLowIndicator.getPriceIndicator().getValue(lowIndex), PivotType.LOW));
-                lowPointer++;
-            }
-        }
-
-        if (pivots.isEmpty()) {
-            return List.of();
-        }
-        return List.copyOf(pivots);
-    }
-
-    private void absorbPivot(final List<Pivot> pivots, final Pivot pivot) {
-        if (pivot == null || Num.isNaNOrNull(pivot.price)) {
-            return;
-        }
-        if (pivots.isEmpty()) {
-            pivots.add(pivot);
-            return;
-        }
-        final Pivot last = pivots.get(pivots.size() - 1);
-        if (last.type == pivot.type) {
-            if (pivot.type == PivotType.HIGH && !pivot.price.isLessThan(last.price)) {
-                pivots.set(pivots.size() - 1, pivot);
-            } else if (pivot.type == PivotType.LOW && !pivot.price.isGreaterThan(last.price)) {
-                pivots.set(pivots.size() - 1, pivot);
-            }
-            return;
-        }
-        pivots.add(pivot);
-    }
-
     private static RecentSwingIndicator fractalHigh(final BarSeries series, final int lookbackLength,
             final int lookforwardLength, final int allowedEqualBars) {
         Objects.requireNonNull(series, "series");
@@ -411,4 +342,194 @@ public class ElliottSwingIndicator extends CachedIndicator<List<ElliottSwing>> {
 
     private record Pivot(int index, Num price, PivotType type) {
     }
+
+    /**
+     * The alternating pivots merged so far, with their swings stored in an
+     * append-only array shared by the swing lists of all indexes.
+     *
+     * <p>
+     * Only the last pivot can still be replaced by a more extreme one, so only the
+     * last swing (the tail) may change: the swings before it are appended to the
+     * shared array once their end pivot is followed by an opposite one, and never
+     * modified afterwards. The swing list of an index is then a view over the first
+     * swings of the array plus its own tail, and a new index only merges the swing
+     * points confirmed since the previous one.
+     */
+    private final class SwingHistory {
+
+        private final long highRevision;
+        private final long lowRevision;
+        /** The last index merged, or {@code -1} */
+        private int scannedIndex = -1;
+        /** The last swing high and swing low indexes merged, or {@code -1} */
+        private int lastHighIndex = -1;
+        private int lastLowIndex = -1;
+        private ElliottSwing[] swings = new ElliottSwing[16];
+        /** The number of swings that can no longer change */
+        private int swingCount;
+        private Pivot previous;
+        private Pivot last;
+        private ElliottSwing tail;
+
+        private SwingHistory(final long highRevision, final long lowRevision) {
+            this.highRevision = highRevision;
+            this.lowRevision = lowRevision;
+        }
+
+        /**
+         * @return whether the swing points are known to have only been appended since
+         *         the last merge
+         */
+        private boolean canAdvance(final int index, final long highRevision, final long lowRevision) {
+            return highRevision >= 0 && lowRevision >= 0 && highRevision == this.highRevision
+                    && lowRevision == this.lowRevision && index >= scannedIndex;
+        }
+
+        /**
+         * Merges the swing points confirmed up to the index.
+         *
+         * @return false (leaving the history untouched) if a new swing point precedes
+         *         one already merged
+         */
+        private boolean advance(final int index) {
+            final List<Integer> highs = swingHighIndicator.getSwingPointIndexesBetween(lastHighIndex, index);
+            final List<Integer> lows = swingLowIndicator.getSwingPointIndexesBetween(lastLowIndex, index);
+            final int lastMerged = Math.max(lastHighIndex, lastLowIndex);
+            if ((!highs.isEmpty() && highs.get(0) <= lastMerged) || (!lows.isEmpty() && lows.get(0) <= lastMerged)) {
+                return false;
+            }
+
+            int highPointer = 0;
+            int lowPointer = 0;
+            while (highPointer < highs.size() || lowPointer < lows.size()) {
+                final int highIndex = highPointer < highs.size() ? highs.get(highPointer) : Integer.MAX_VALUE;
+                final int lowIndex = lowPointer < lows.size() ? lows.get(lowPointer) : Integer.MAX_VALUE;
+
+                if (highIndex == lowIndex) {
+                    final Num highPrice = swingHighIndicator.getPriceIndicator().getValue(highIndex);
+                    final Num lowPrice = swingLowIndicator.getPriceIndicator().getValue(lowIndex);
+
+                    final PivotType chosen;
+                    if (last == null) {
+                        if (Num.isNaNOrNull(highPrice)) {
+                            chosen = PivotType.LOW;
+                        } else if (Num.isNaNOrNull(lowPrice)) {
+                            chosen = PivotType.HIGH;
+                        } else {
+                            chosen = !highPrice.isLessThan(lowPrice) ? PivotType.HIGH : PivotType.LOW;
+                        }
+                    } else {
+                        chosen = last.type.opposite();
+                    }
+
+                    if (chosen == PivotType.HIGH) {
+                        absorb(new Pivot(highIndex, highPrice, PivotType.HIGH));
+                    } else {
+                        absorb(new Pivot(lowIndex, lowPrice, PivotType.LOW));
+                    }
+                    highPointer++;
+                    lowPointer++;
+                    continue;
+                }
+
+                if (highIndex < lowIndex) {
+                    absorb(new Pivot(highIndex, swingHighIndicator.getPriceIndicator().getValue(highIndex),
+                            PivotType.HIGH));
+                    highPointer++;
+                } else {
+                    absorb(new Pivot(lowIndex, swingLowIndicator.getPriceIndicator().getValue(lowIndex),
+                            PivotType.LOW));
+                    lowPointer++;
+                }
+            }
+
+            if (!highs.isEmpty()) {
+                lastHighIndex = highs.get(highs.size() - 1);
+            }
+            if (!lows.isEmpty()) {
+                lastLowIndex = lows.get(lows.size() - 1);
+            }
+            scannedIndex = Math.max(scannedIndex, index);
+            return true;
+        }
+
+        private void absorb(final Pivot pivot) {
+            if (Num.isNaNOrNull(pivot.price)) {
+                return;
+            }
+            if (last != null && last.type == pivot.type) {
+                if (pivot.type == PivotType.HIGH && !pivot.price.isLessThan(last.price)) {
+                    replaceLast(pivot);
+                } else if (pivot.type == PivotType.LOW && !pivot.price.isGreaterThan(last.price)) {
+                    replaceLast(pivot);
+                }
+                return;
+            }
+            if (tail != null) {
+                if (swingCount == swings.length) {
+                    swings = Arrays.copyOf(swings, swingCount * 2);
+                }
+                swings[swingCount++] = tail;
+            }
+            previous = last;
+            replaceLast(pivot);
+        }
+
+        private void replaceLast(final Pivot pivot) {
+            last = pivot;
+            tail = previous == null ? null
+                    : new ElliottSwing(previous.index, pivot.index, previous.price, pivot.price, degree);
+        }
+
+        /**
+         * @return the swings merged so far, as an immutable view sharing the swing
+         *         array
+         */
+        private List<ElliottSwing> swings() {
+            return tail == null ? List.of() : new SwingList(swings, swingCount, tail);
+        }
+
+        private List<Integer> pivotIndexes() {
+            if (last == null) {
+                return List.of();
+            }
+            final List<Integer> indexes = new ArrayList<>(swingCount + 2);
+            for (int i = 0; i < swingCount; i++) {
+                indexes.add(swings[i].fromIndex());
+            }
+            if (previous != null) {
+                indexes.add(previous.index);
+            }
+            indexes.add(last.index);
+            return List.copyOf(indexes);
+        }
+    }
+
+    /**
+     * Immutable swing list made of the first swings of a shared array, which are
+     * never modified once written, followed by a tail swing.
+     */
+    private static final class SwingList extends AbstractList<ElliottSwing> implements RandomAccess {
+
+        private final ElliottSwing[] swings;
+        private final int swingCount;
+        private final ElliottSwing tail;
+
+        private SwingList(final ElliottSwing[] swings, final int swingCount, final ElliottSwing tail) {
+            this.swings = swings;
+            this.swingCount = swingCount;
+            this.tail = tail;
+        }
+
+        @Override
+        public ElliottSwing get(final int index) {
+            Objects.checkIndex(index, swingCount + 1);
+            return index < swingCount ? swings[index] : tail;
+        }
+
+        @Override
+        public int size() {
+            return swingCount + 1;
+        }
+    }
 }
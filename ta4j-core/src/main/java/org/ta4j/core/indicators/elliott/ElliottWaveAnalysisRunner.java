@@ -10,9 +10,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 import org.ta4j.core.BarSeries;
@@ -30,6 +32,7 @@ import org.ta4j.core.indicators.elliott.swing.SwingFilter;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.utils.ParallelTasks;
 
 /**
  * Runs Elliott Wave one-shot analysis, optionally validating scenarios across
@@ -60,6 +63,11 @@ import org.ta4j.core.num.NumFactory;
  * {@code BarSeriesUtils.aggregateBars(...)}) before analysis.</li>
  * </ul>
  *
+ * <p>
+ * The degrees are independent until their scenarios are re-ranked, so they can
+ * be analyzed concurrently (see {@link Builder#executor(Executor)}), as can the
+ * symbols of a universe (see {@link #analyzeAll(Map)}).
+ *
  * @since 0.22.4
  */
 public final class ElliottWaveAnalysisRunner {
@@ -82,6 +90,7 @@ public final class ElliottWaveAnalysisRunner {
     private final SeriesSelector<ElliottDegree> seriesSelector;
     private final AnalysisRunner<ElliottDegree, ElliottAnalysisResult> analysisRunner;
     private final double baseConfidenceWeight;
+    private final Executor executor;
 
     // Built-in single-degree analysis pipeline configuration (used by default
     // runner only).
@@ -113,6 +122,7 @@ public final class ElliottWaveAnalysisRunner {
         this.baseConfidenceWeight = supportingDegrees == 0 ? 1.0 : builder.baseConfidenceWeight;
 
         this.analysisRunner = builder.analysisRunner == null ? this::runDefaultAnalysis : builder.analysisRunner;
+        this.executor = builder.executor;
     }
 
     /**
@@ -144,35 +154,22 @@ public final class ElliottWaveAnalysisRunner {
             throw new IllegalArgumentException("series cannot be empty");
         }
 
-        final List<String> notes = new ArrayList<>();
         final List<ElliottDegree> degrees = degreesToAnalyze(baseDegree, higherDegrees, lowerDegrees);
-        final List<ElliottWaveAnalysisResult.DegreeAnalysis> degreeAnalyses = new ArrayList<>(degrees.size());
+        final List<DegreeOutcome> outcomes = ParallelTasks.map(degrees.size(), executor,
+                i -> analyzeDegree(series, degrees.get(i)));
 
+        // Merge in degree order, whatever the order the degrees completed in
+        final List<String> notes = new ArrayList<>();
+        final List<ElliottWaveAnalysisResult.DegreeAnalysis> degreeAnalyses = new ArrayList<>(degrees.size());
         ElliottAnalysisResult baseResult = null;
-
-        for (final ElliottDegree degree : degrees) {
-            BarSeries selected = seriesSelector.select(series, degree);
-            if (selected == null || selected.isEmpty()) {
-                notes.add("Skipped " + degree + " analysis: selected series was empty");
-                continue;
-            }
-
-            Duration barDuration = selected.getFirstBar().getTimePeriod();
-            int barCount = selected.getBarCount();
-            double historyFitScore = safeHistoryFitScore(degree, barDuration, barCount, notes);
-
-            ElliottAnalysisResult result = analysisRunner.analyze(selected, degree);
-            if (result == null) {
-                notes.add("Skipped " + degree + " analysis: runner returned null result");
+        for (final DegreeOutcome outcome : outcomes) {
+            notes.addAll(outcome.notes());
+            if (outcome.snapshot() == null) {
                 continue;
             }
-
-            ElliottWaveAnalysisResult.DegreeAnalysis snapshot = new ElliottWaveAnalysisResult.DegreeAnalysis(degree,
-                    result.index(), barCount, barDuration, historyFitScore, result);
-            degreeAnalyses.add(snapshot);
-
-            if (degree == baseDegree) {
-                baseResult = result;
+            degreeAnalyses.add(outcome.snapshot());
+            if (outcome.snapshot().degree() == baseDegree) {
+                baseResult = outcome.snapshot().analysis();
             }
         }
 
@@ -186,6 +183,67 @@ public final class ElliottWaveAnalysisRunner {
         return new ElliottWaveAnalysisResult(baseDegree, degreeAnalyses, ranked, notes);
     }
 
+    /**
+     * Runs analysis on each series of a universe of symbols.
+     *
+     * <p>
+     * With an {@link Builder#executor(Executor) executor}, the symbols and their
+     * degrees are analyzed concurrently on it. Each result is identical to the one
+     * {@link #analyze(BarSeries)} returns for the symbol's series.
+     *
+     * @param universe the series to analyze, by symbol
+     * @return the analysis results, by symbol, in the iteration order of the
+     *         universe
+     * @throws IllegalArgumentException if a series is empty
+     * @throws IllegalStateException    if the base degree analysis of a series is
+     *                                  not available
+     * @since 0.22.5
+     */
+    public Map<String, ElliottWaveAnalysisResult> analyzeAll(final Map<String, BarSeries> universe) {
+        Objects.requireNonNull(universe, "universe");
+        final List<String> symbols = new ArrayList<>(universe.keySet());
+        final List<BarSeries> seriesList = new ArrayList<>(symbols.size());
+        for (final String symbol : symbols) {
+            seriesList.add(Objects.requireNonNull(universe.get(symbol), symbol));
+        }
+        final List<ElliottWaveAnalysisResult> results = ParallelTasks.map(symbols.size(), executor,
+                i -> analyze(seriesList.get(i)));
+        final Map<String, ElliottWaveAnalysisResult> bySymbol = new LinkedHashMap<>();
+        for (int i = 0; i < symbols.size(); i++) {
+            bySymbol.put(symbols.get(i), results.get(i));
+        }
+        return Collections.unmodifiableMap(bySymbol);
+    }
+
+    /**
+     * Selects the series of a degree and analyzes it.
+     *
+     * @param series root series
+     * @param degree degree to analyze
+     * @return the degree snapshot (or {@code null} if skipped) and its notes
+     */
+    private DegreeOutcome analyzeDegree(final BarSeries series, final ElliottDegree degree) {
+        final List<String> notes = new ArrayList<>();
+        BarSeries selected = seriesSelector.select(series, degree);
+        if (selected == null || selected.isEmpty()) {
+            notes.add("Skipped " + degree + " analysis: selected series was empty");
+            return new DegreeOutcome(null, notes);
+        }
+
+        Duration barDuration = selected.getFirstBar().getTimePeriod();
+        int barCount = selected.getBarCount();
+        double historyFitScore = safeHistoryFitScore(degree, barDuration, barCount, notes);
+
+        ElliottAnalysisResult result = analysisRunner.analyze(selected, degree);
+        if (result == null) {
+            notes.add("Skipped " + degree + " analysis: runner returned null result");
+            return new DegreeOutcome(null, notes);
+        }
+
+        return new DegreeOutcome(new ElliottWaveAnalysisResult.DegreeAnalysis(degree, result.index(), barCount,
+                barDuration, historyFitScore, result), notes);
+    }
+
     /**
      * Runs the built-in single-degree pipeline with default noise filtering and
      * swing compression parameters scaled to the requested degree.
@@ -808,6 +866,15 @@ public final class ElliottWaveAnalysisRunner {
         HIGHER, LOWER
     }
 
+    /**
+     * Analysis of one degree, with the notes it produced.
+     *
+     * @param snapshot degree snapshot, or {@code null} if the degree was skipped
+     * @param notes    diagnostics collected while analyzing the degree
+     */
+    private record DegreeOutcome(ElliottWaveAnalysisResult.DegreeAnalysis snapshot, List<String> notes) {
+    }
+
     private record Match(String supportingScenarioId, double supportingConfidence, double compatibility,
             double weightedCompatibility) {
     }
@@ -825,6 +892,7 @@ public final class ElliottWaveAnalysisRunner {
         private SeriesSelector<ElliottDegree> seriesSelector;
         private AnalysisRunner<ElliottDegree, ElliottAnalysisResult> analysisRunner;
         private double baseConfidenceWeight = DEFAULT_BASE_CONFIDENCE_WEIGHT;
+        private Executor executor;
 
         private SwingDetector swingDetector;
         private SwingFilter swingFilter;
@@ -920,6 +988,27 @@ public final class ElliottWaveAnalysisRunner {
             return this;
         }
 
+        /**
+         * Analyzes the degrees (and, with {@link #analyzeAll(Map)}, the symbols)
+         * concurrently on an executor.
+         *
+         * <p>
+         * The calling thread takes part in the work, so the executor may be shared with
+         * other analyses without deadlocking. The series are only read, and results are
+         * merged in degree order, so they do not depend on the executor. A custom
+         * {@link #analysisRunner(AnalysisRunner) analysis runner}, series selector or
+         * confidence model must then be safe to call from several threads.
+         *
+         * @param executor executor to run the analyses on, or {@code null} to run them
+         *                 on the calling thread (default)
+         * @return builder
+         * @since 0.22.5
+         */
+        public Builder executor(final Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
         /**
          * Configures the swing detector used by the built-in analysis pipeline.
          *
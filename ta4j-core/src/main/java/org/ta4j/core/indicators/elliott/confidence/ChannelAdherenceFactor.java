@@ -49,4 +49,9 @@ public final class ChannelAdherenceFactor implements ConfidenceFactor {
         diagnostics.put("withinChannelRatio", score.doubleValue());
         return ConfidenceFactorResult.of(name(), category(), score, diagnostics, "Channel adherence");
     }
+
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
 }
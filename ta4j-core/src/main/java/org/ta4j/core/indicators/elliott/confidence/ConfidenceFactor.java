@@ -4,6 +4,7 @@
 package org.ta4j.core.indicators.elliott.confidence;
 
 import org.ta4j.core.analysis.NamedScoreFunction;
+import org.ta4j.core.num.Num;
 
 /**
  * Confidence factor for Elliott wave scoring.
@@ -38,4 +39,21 @@ public interface ConfidenceFactor extends NamedScoreFunction<ElliottConfidenceCo
      * @since 0.22.2
      */
     ConfidenceFactorResult score(ElliottConfidenceContext context);
+
+    /**
+     * Tells whether every score of this factor lies within {@code [0.0, 1.0]}.
+     *
+     * <p>
+     * {@link ConfidenceProfile#score(ElliottConfidenceContext, Num)} relies on it
+     * to stop scoring a scenario early, and only does so when all the factors of
+     * the profile are bounded. Factors that may score outside this range must keep
+     * the default.
+     *
+     * @return whether the scores of this factor are bounded to {@code [0.0, 1.0]};
+     *         {@code false} by default
+     * @since 0.22.5
+     */
+    default boolean isBounded() {
+        return false;
+    }
 }
@@ -4,11 +4,13 @@
 package org.ta4j.core.indicators.elliott.confidence;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.ta4j.core.indicators.elliott.ElliottChannel;
 import org.ta4j.core.indicators.elliott.ElliottPhase;
 import org.ta4j.core.indicators.elliott.ElliottSwing;
 import org.ta4j.core.indicators.elliott.ScenarioType;
+import org.ta4j.core.num.Num;
 
 /**
  * Selects a confidence profile for scoring Elliott scenarios.
@@ -34,4 +36,27 @@ public interface ConfidenceModel {
      */
     ElliottConfidenceBreakdown score(List<ElliottSwing> swings, ElliottPhase phase, ElliottChannel channel,
             ScenarioType scenarioType);
+
+    /**
+     * Scores a scenario, unless its overall score is certain to be below a floor.
+     *
+     * <p>
+     * Scenario generators pass the lowest score that can still be retained, so that
+     * models able to bound their score early can skip hopeless scenarios. The
+     * default implementation always scores the scenario.
+     *
+     * @param swings       swing sequence
+     * @param phase        current phase
+     * @param channel      Elliott channel (nullable)
+     * @param scenarioType scenario type classification
+     * @param floor        overall score below which the breakdown is not needed
+     *                     (nullable)
+     * @return confidence breakdown, or empty if the overall score is below the
+     *         floor
+     * @since 0.22.5
+     */
+    default Optional<ElliottConfidenceBreakdown> score(List<ElliottSwing> swings, ElliottPhase phase,
+            ElliottChannel channel, ScenarioType scenarioType, Num floor) {
+        return Optional.of(score(swings, phase, channel, scenarioType));
+    }
 }
@@ -8,6 +8,7 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 import org.ta4j.core.analysis.WeightedValue;
 import org.ta4j.core.indicators.elliott.ElliottConfidence;
@@ -40,10 +41,33 @@ public record ConfidenceProfile(List<WeightedFactor> factors) {
      * @since 0.22.2
      */
     public ElliottConfidenceBreakdown score(final ElliottConfidenceContext context) {
+        return score(context, null).orElseThrow();
+    }
+
+    /**
+     * Scores the factors for the given context, unless the overall score is certain
+     * to be below a floor.
+     *
+     * <p>
+     * When every factor is {@linkplain ConfidenceFactor#isBounded() bounded}, the
+     * overall score is bounded after each factor by assuming a score of
+     * {@code 1.0} for the factors left. Scoring stops as soon as this bound is
+     * below the floor, which saves the remaining factors for scenarios that cannot
+     * be retained anyway. Otherwise all factors are scored, as by
+     * {@link #score(ElliottConfidenceContext)}.
+     *
+     * @param context confidence context
+     * @param floor   overall score below which the breakdown is not needed, or
+     *                {@code null} to always score all factors
+     * @return aggregated confidence breakdown, or empty if the overall score is
+     *         known to be below the floor
+     * @since 0.22.5
+     */
+    public Optional<ElliottConfidenceBreakdown> score(final ElliottConfidenceContext context, final Num floor) {
         Objects.requireNonNull(context, "context");
         if (factors.isEmpty()) {
             ElliottConfidence confidence = ElliottConfidence.zero(context.numFactory());
-            return new ElliottConfidenceBreakdown(confidence, List.of());
+            return Optional.of(new ElliottConfidenceBreakdown(confidence, List.of()));
         }
 
         final List<ConfidenceFactorResult> results = new ArrayList<>(factors.size());
@@ -51,6 +75,18 @@ public record ConfidenceProfile(List<WeightedFactor> factors) {
         Num weightedSum = numFactory.zero();
         Num weightSum = numFactory.zero();
 
+        final List<WeightedValue<ConfidenceFactor>> weightedFactors = new ArrayList<>(factors.size());
+        Num remainingWeight = numFactory.zero();
+        boolean allBounded = true;
+        for (final WeightedFactor factor : factors) {
+            WeightedValue<ConfidenceFactor> weightedFactor = factor.asWeightedValue(numFactory);
+            weightedFactors.add(weightedFactor);
+            remainingWeight = remainingWeight.plus(weightedFactor.weight());
+            allBounded &= factor.factor().isBounded();
+        }
+        final Num totalWeight = remainingWeight;
+        final boolean bounded = allBounded && floor != null && !floor.isNaN() && totalWeight.isPositive();
+
         final Map<ConfidenceFactorCategory, CategoryTotals> categoryTotals = new EnumMap<>(
                 ConfidenceFactorCategory.class);
 
@@ -58,8 +94,7 @@ public record ConfidenceProfile(List<WeightedFactor> factors) {
         Num topContribution = null;
 
         // Accumulates weighted factor contributions to overall score
-        for (final WeightedFactor factor : factors) {
-            WeightedValue<ConfidenceFactor> weightedFactor = factor.asWeightedValue(numFactory);
+        for (final WeightedValue<ConfidenceFactor> weightedFactor : weightedFactors) {
             ConfidenceFactorResult rawResult = weightedFactor.value().score(context);
             Num weight = weightedFactor.weight();
             ConfidenceFactorResult weightedResult = rawResult.withWeight(weight);
@@ -76,6 +111,11 @@ public record ConfidenceProfile(List<WeightedFactor> factors) {
 
             categoryTotals.computeIfAbsent(weightedResult.category(), unused -> new CategoryTotals(numFactory))
                     .add(weightedResult.score(), weight);
+
+            remainingWeight = remainingWeight.minus(weight);
+            if (bounded && weightedSum.plus(remainingWeight).dividedBy(totalWeight).isLessThan(floor)) {
+                return Optional.empty();
+            }
         }
 
         Num overallNum = weightSum.isPositive() ? weightedSum.dividedBy(weightSum) : numFactory.zero();
@@ -93,7 +133,7 @@ public record ConfidenceProfile(List<WeightedFactor> factors) {
         ElliottConfidence confidence = new ElliottConfidence(overallNum, fibScore, timeScore, altScore, channelScore,
                 compScore, reason);
 
-        return new ElliottConfidenceBreakdown(confidence, results);
+        return Optional.of(new ElliottConfidenceBreakdown(confidence, results));
     }
 
     private Num scoreFor(final Map<ConfidenceFactorCategory, CategoryTotals> totals,
@@ -90,4 +90,9 @@ public final class FibonacciRelationshipFactor implements ConfidenceFactor {
         Num average = count > 0 ? total.dividedBy(context.numFactory().numOf(count)) : context.numFactory().zero();
         return ConfidenceFactorResult.of(name(), category(), average, diagnostics, "Fibonacci proximity");
     }
+
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
 }
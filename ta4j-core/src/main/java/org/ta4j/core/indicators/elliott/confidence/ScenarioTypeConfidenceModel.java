@@ -7,12 +7,14 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 import org.ta4j.core.indicators.elliott.ElliottChannel;
 import org.ta4j.core.indicators.elliott.ElliottFibonacciValidator;
 import org.ta4j.core.indicators.elliott.ElliottPhase;
 import org.ta4j.core.indicators.elliott.ElliottSwing;
 import org.ta4j.core.indicators.elliott.ScenarioType;
+import org.ta4j.core.num.Num;
 import org.ta4j.core.num.NumFactory;
 
 /**
@@ -44,13 +46,19 @@ public final class ScenarioTypeConfidenceModel implements ConfidenceModel {
     @Override
     public ElliottConfidenceBreakdown score(final List<ElliottSwing> swings, final ElliottPhase phase,
             final ElliottChannel channel, final ScenarioType scenarioType) {
+        return score(swings, phase, channel, scenarioType, null).orElseThrow();
+    }
+
+    @Override
+    public Optional<ElliottConfidenceBreakdown> score(final List<ElliottSwing> swings, final ElliottPhase phase,
+            final ElliottChannel channel, final ScenarioType scenarioType, final Num floor) {
         ScenarioType resolvedType = scenarioType == null ? ScenarioType.UNKNOWN : scenarioType;
         ConfidenceProfile profile = profileOverrides.getOrDefault(resolvedType, defaultProfile);
         List<ElliottSwing> safeSwings = swings == null ? List.of() : swings;
         ElliottPhase safePhase = phase == null ? ElliottPhase.NONE : phase;
         ElliottConfidenceContext context = new ElliottConfidenceContext(safeSwings, safePhase, channel, validator,
                 numFactory);
-        return profile.score(context);
+        return profile.score(context, floor);
     }
 
     /**
@@ -61,4 +61,9 @@ public final class StructureCompletenessFactor implements ConfidenceFactor {
         }
         return 0;
     }
+
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
 }
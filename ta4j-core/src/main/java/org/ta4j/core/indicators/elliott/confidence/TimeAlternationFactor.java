@@ -55,4 +55,9 @@ public final class TimeAlternationFactor implements ConfidenceFactor {
         diagnostics.put("timeDifference", diagnosticsData.timeDifference());
         return ConfidenceFactorResult.of(name(), category(), score, diagnostics, "Wave alternation");
     }
+
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
 }
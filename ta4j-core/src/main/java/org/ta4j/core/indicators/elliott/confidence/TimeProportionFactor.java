@@ -66,4 +66,9 @@ public final class TimeProportionFactor implements ConfidenceFactor {
 
         return ConfidenceFactorResult.of(name(), category(), score, diagnostics, "Time proportions");
     }
+
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
 }
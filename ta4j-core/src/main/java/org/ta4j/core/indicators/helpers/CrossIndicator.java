@@ -3,6 +3,7 @@
  */
 package org.ta4j.core.indicators.helpers;
 
+import org.ta4j.core.DoubleIndicator;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
 import org.ta4j.core.num.Num;
@@ -21,6 +22,9 @@ public class CrossIndicator extends CachedIndicator<Boolean> {
     /** Lower indicator */
     private final Indicator<Num> low;
 
+    /** Whether the crossing can be evaluated on primitive {@code double} values */
+    private final transient boolean nativeDoubles;
+
     /**
      * Constructor.
      *
@@ -32,11 +36,15 @@ public class CrossIndicator extends CachedIndicator<Boolean> {
         super(up);
         this.up = up;
         this.low = low;
+        this.nativeDoubles = DoubleIndicator.supportsNativeDoubles(up.getBarSeries());
     }
 
     @Override
     protected Boolean calculate(int index) {
         int unstableBoundary = Math.max(up.getCountOfUnstableBars(), low.getCountOfUnstableBars());
+        if (nativeDoubles) {
+            return calculateDouble(index, unstableBoundary);
+        }
 
         int i = index;
         if (i <= unstableBoundary || up.getValue(i).isGreaterThanOrEqual(low.getValue(i))) {
@@ -50,6 +58,23 @@ public class CrossIndicator extends CachedIndicator<Boolean> {
         return up.getValue(i).isGreaterThan(low.getValue(i));
     }
 
+    private boolean calculateDouble(int index, int unstableBoundary) {
+        int i = index;
+        if (i <= unstableBoundary || DoubleIndicator.valueOf(up, i) >= DoubleIndicator.valueOf(low, i)) {
+            return false;
+        }
+
+        double upValue;
+        double lowValue;
+        do {
+            i--;
+            upValue = DoubleIndicator.valueOf(up, i);
+            lowValue = DoubleIndicator.valueOf(low, i);
+        } while (i > unstableBoundary && DoubleIndicator.isEqual(upValue, lowValue));
+
+        return upValue > lowValue;
+    }
+
     @Override
     public int getCountOfUnstableBars() {
         int unstableBoundary = Math.max(up.getCountOfUnstableBars(), low.getCountOfUnstableBars());
@@ -12,11 +12,18 @@ import org.ta4j.core.num.Num;
  *
  * <p>
  * Returns the highest indicator value from the bar series within the bar count.
+ * {@code NaN} values are skipped.
+ *
+ * <p>
+ * Values are maintained incrementally with a monotonic deque, so sequential
+ * evaluation costs amortized O(1) per bar regardless of the bar count; random
+ * access rescans the window once and then continues incrementally.
  */
 public class HighestValueIndicator extends CachedIndicator<Num> {
 
     private final Indicator<Num> indicator;
     private final int barCount;
+    private final transient SlidingWindowExtremum window;
 
     /**
      * Constructor.
@@ -28,21 +35,12 @@ public class HighestValueIndicator extends CachedIndicator<Num> {
         super(indicator);
         this.indicator = indicator;
         this.barCount = barCount;
+        this.window = new SlidingWindowExtremum(indicator, barCount, true);
     }
 
     @Override
     public Num calculate(int index) {
-        if (indicator.getValue(index).isNaN() && barCount != 1) {
-            return new HighestValueIndicator(indicator, barCount - 1).getValue(index - 1);
-        }
-        int end = Math.max(0, index - barCount + 1);
-        Num highest = indicator.getValue(index);
-        for (int i = index - 1; i >= end; i--) {
-            if (highest.isLessThan(indicator.getValue(i))) {
-                highest = indicator.getValue(i);
-            }
-        }
-        return highest;
+        return window.calculate(index);
     }
 
     /** @return {@link #barCount} */
@@ -3,6 +3,7 @@
  */
 package org.ta4j.core.indicators.helpers;
 
+import org.ta4j.core.DoubleIndicator;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
 import org.ta4j.core.num.Num;
@@ -15,7 +16,7 @@ import org.ta4j.core.num.Num;
  * if the indicator value of the current bar is less than the indicator value of
  * the previous bar (otherwise, {@code Num.zero()} is returned).
  */
-public class LossIndicator extends CachedIndicator<Num> {
+public class LossIndicator extends CachedIndicator<Num> implements DoubleIndicator {
 
     private final Indicator<Num> indicator;
 
@@ -45,4 +46,24 @@ public class LossIndicator extends CachedIndicator<Num> {
     public int getCountOfUnstableBars() {
         return indicator.getCountOfUnstableBars() + 1;
     }
+
+    /**
+     * Primitive counterpart of {@link #getValue(int)}, computed from the
+     * {@code double} values of the input.
+     *
+     * @since 0.22.5
+     */
+    @Override
+    public double getDouble(int index) {
+        return getCachedDouble(index, this::calculateDouble);
+    }
+
+    private double calculateDouble(int index) {
+        if (index == 0) {
+            return 0;
+        }
+        double actualValue = DoubleIndicator.valueOf(indicator, index);
+        double previousValue = DoubleIndicator.valueOf(indicator, index - 1);
+        return actualValue < previousValue ? previousValue - actualValue : 0;
+    }
 }
@@ -4,6 +4,8 @@
 package org.ta4j.core.indicators.helpers;
 
 import org.ta4j.core.BarSeries;
+import org.ta4j.core.DoubleBarSeries;
+import org.ta4j.core.DoubleIndicator;
 import org.ta4j.core.indicators.AbstractIndicator;
 import org.ta4j.core.num.Num;
 
@@ -13,7 +15,7 @@ import org.ta4j.core.num.Num;
  * <p>
  * Returns the low price of a bar.
  */
-public class LowPriceIndicator extends AbstractIndicator<Num> {
+public class LowPriceIndicator extends AbstractIndicator<Num> implements DoubleIndicator {
 
     /**
      * Constructor.
@@ -29,6 +31,22 @@ public class LowPriceIndicator extends AbstractIndicator<Num> {
         return getBarSeries().getBar(index).getLowPrice();
     }
 
+    /**
+     * Reads the low price primitive directly when backed by a
+     * {@link DoubleBarSeries}.
+     *
+     * @since 0.22.5
+     */
+    @Override
+    public double getDouble(int index) {
+        BarSeries series = getBarSeries();
+        if (series instanceof DoubleBarSeries doubleSeries) {
+            return doubleSeries.getLowPriceAsDouble(index);
+        }
+        Num value = series.getBar(index).getLowPrice();
+        return value == null ? Double.NaN : value.doubleValue();
+    }
+
     /** @return {@code 0} */
     @Override
     public int getCountOfUnstableBars() {
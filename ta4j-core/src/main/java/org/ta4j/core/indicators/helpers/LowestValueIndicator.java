@@ -12,11 +12,18 @@ import org.ta4j.core.num.Num;
  *
  * <p>
  * Returns the lowest indicator value from the bar series within the bar count.
+ * {@code NaN} values are skipped.
+ *
+ * <p>
+ * Values are maintained incrementally with a monotonic deque, so sequential
+ * evaluation costs amortized O(1) per bar regardless of the bar count; random
+ * access rescans the window once and then continues incrementally.
  */
 public class LowestValueIndicator extends CachedIndicator<Num> {
 
     private final Indicator<Num> indicator;
     private final int barCount;
+    private final transient SlidingWindowExtremum window;
 
     /**
      * Constructor.
@@ -28,24 +35,12 @@ public class LowestValueIndicator extends CachedIndicator<Num> {
         super(indicator);
         this.indicator = indicator;
         this.barCount = barCount;
+        this.window = new SlidingWindowExtremum(indicator, barCount, false);
     }
 
     @Override
     public Num calculate(int index) {
-        if (indicator.getValue(index).isNaN() && barCount != 1) {
-            return new LowestValueIndicator(indicator, barCount - 1).getValue(index - 1);
-        }
-
-        // TODO optimize algorithm, compare previous minimum with current value without
-        // looping
-        int end = Math.max(0, index - barCount + 1);
-        Num lowest = indicator.getValue(index);
-        for (int i = index - 1; i >= end; i--) {
-            if (lowest.isGreaterThan(indicator.getValue(i))) {
-                lowest = indicator.getValue(i);
-            }
-        }
-        return lowest;
+        return window.calculate(index);
     }
 
     /** @return {@link #barCount} */
@@ -5,6 +5,7 @@ package org.ta4j.core.indicators.helpers;
 
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.indicators.statistics.RollingOrderStatistics;
 import org.ta4j.core.num.Num;
 
 import static org.ta4j.core.num.NaN.NaN;
@@ -26,6 +27,10 @@ import static org.ta4j.core.num.NaN.NaN;
  * NaN values in the window are ignored when calculating the percentile rank.
  *
  * <p>
+ * The window is maintained in a {@link RollingOrderStatistics}, so sequential
+ * evaluation costs O(log period) per bar instead of a scan of the window.
+ *
+ * <p>
  * <strong>Percentage Representation:</strong> This indicator uses percentage
  * scale representation (0-100). The calculation converts a ratio (0-1) to a
  * percentage (0-100) by multiplying by 100. For example, a ratio of 0.8 becomes
@@ -49,6 +54,7 @@ public class PercentRankIndicator extends CachedIndicator<Num> {
 
     private final Indicator<Num> indicator;
     private final int period;
+    private final transient RollingOrderStatistics statistics;
 
     /**
      * Constructor.
@@ -65,6 +71,7 @@ public class PercentRankIndicator extends CachedIndicator<Num> {
         }
         this.indicator = indicator;
         this.period = period;
+        this.statistics = new RollingOrderStatistics(indicator);
     }
 
     @Override
@@ -82,17 +89,11 @@ public class PercentRankIndicator extends CachedIndicator<Num> {
         // values
         int adjustedBeginIndex = beginIndex + indicator.getCountOfUnstableBars();
         int startIndex = Math.max(adjustedBeginIndex, index - period);
-        int valid = 0;
-        int lessThanCount = 0;
-        for (int i = startIndex; i < index; i++) {
-            Num candidate = indicator.getValue(i);
-            if (Num.isNaNOrNull(candidate)) {
-                continue;
-            }
-            valid++;
-            if (candidate.isLessThan(current)) {
-                lessThanCount++;
-            }
+        int valid;
+        int lessThanCount;
+        synchronized (statistics) {
+            valid = statistics.slideTo(startIndex, index - 1);
+            lessThanCount = statistics.countLessThan(current);
         }
         if (valid == 0) {
             return NaN;
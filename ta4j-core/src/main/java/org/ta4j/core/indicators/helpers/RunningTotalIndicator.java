@@ -3,6 +3,9 @@
  */
 package org.ta4j.core.indicators.helpers;
 
+import java.util.function.ObjIntConsumer;
+
+import org.ta4j.core.DoubleIndicator;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
 import org.ta4j.core.num.Num;
@@ -13,7 +16,7 @@ import org.ta4j.core.num.Num;
  * @see <a href=
  *      "https://en.wikipedia.org/wiki/Running_total">https://en.wikipedia.org/wiki/Running_total</a>
  */
-public class RunningTotalIndicator extends CachedIndicator<Num> {
+public class RunningTotalIndicator extends CachedIndicator<Num> implements DoubleIndicator {
     private final Indicator<Num> indicator;
     private final int barCount;
     private transient Num previousSum;
@@ -21,6 +24,10 @@ public class RunningTotalIndicator extends CachedIndicator<Num> {
     // serial access detection
     private transient int previousIndex = -1;
 
+    // primitive counterparts of the partial-sum state
+    private transient double previousDoubleSum;
+    private transient int previousDoubleIndex = -1;
+
     public RunningTotalIndicator(Indicator<Num> indicator, int barCount) {
         super(indicator);
         this.indicator = indicator;
@@ -39,6 +46,19 @@ public class RunningTotalIndicator extends CachedIndicator<Num> {
         return slowPath(index);
     }
 
+    /**
+     * Rolls the partial sum forward through the loop.
+     *
+     * @since 0.22.5
+     */
+    @Override
+    protected void calculateRange(int from, int to, ObjIntConsumer<Num> results) {
+        results.accept(calculate(from), from);
+        for (int i = from + 1; i <= to; i++) {
+            results.accept(fastPath(i), i);
+        }
+    }
+
     private Num fastPath(final int index) {
         var newSum = partialSum(index);
         updatePartialSum(index, newSum);
@@ -70,6 +90,32 @@ public class RunningTotalIndicator extends CachedIndicator<Num> {
         return sum;
     }
 
+    /**
+     * @since 0.22.5
+     */
+    @Override
+    public double getDouble(int index) {
+        return getCachedDouble(index, this::calculateDouble);
+    }
+
+    private double calculateDouble(int index) {
+        double sum;
+        if (previousDoubleIndex != -1 && previousDoubleIndex == index - 1) {
+            sum = previousDoubleSum + DoubleIndicator.valueOf(indicator, index);
+            if (index >= barCount) {
+                sum = sum - DoubleIndicator.valueOf(indicator, index - barCount);
+            }
+        } else {
+            sum = 0;
+            for (int i = Math.max(0, index - barCount + 1); i <= index; i++) {
+                sum = sum + DoubleIndicator.valueOf(indicator, i);
+            }
+        }
+        previousDoubleIndex = index;
+        previousDoubleSum = sum;
+        return sum;
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + " barCount: " + barCount;
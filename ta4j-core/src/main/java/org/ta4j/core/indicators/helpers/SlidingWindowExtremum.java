@@ -0,0 +1,176 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.indicators.helpers;
+
+import static org.ta4j.core.num.NaN.NaN;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.num.Num;
+
+/**
+ * Incremental sliding-window maximum/minimum shared by
+ * {@link HighestValueIndicator} and {@link LowestValueIndicator}.
+ *
+ * <p>
+ * Keeps a monotonic deque of series indices over the window preceding the last
+ * evaluated index, so that sequential evaluation costs amortized O(1) per bar
+ * instead of a full rescan of {@code barCount} values. The current bar is never
+ * pushed into the deque until the next bar is evaluated, so repeated
+ * evaluations of a mutating last bar stay O(1) as well. Random access (and gaps
+ * longer than the window) rebuilds the deque from the window start.
+ *
+ * <p>
+ * Results match the original rescan: {@link org.ta4j.core.num.NaN#NaN NaN}
+ * values are skipped, the result is {@code NaN} only if the whole window is
+ * {@code NaN}, and ties resolve to the most recent value. Windows reaching into
+ * bars removed by {@link BarSeries#getMaximumBarCount()} are rescanned, since
+ * their values are remapped to the first available bar.
+ *
+ * @since 0.22.5
+ */
+final class SlidingWindowExtremum {
+
+    private final Indicator<Num> indicator;
+    private final int barCount;
+    private final boolean highest;
+
+    private final Object lock = new Object();
+
+    /** Initial deque capacity; the deque grows up to the window length. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Ring storage of the deque. */
+    private int[] indices;
+    private Num[] values;
+    private int head;
+    private int size;
+
+    /** The highest index pushed into the deque, or -1 if none. */
+    private int pushedIndex = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param indicator the indicator
+     * @param barCount  the window length (including the current bar)
+     * @param highest   {@code true} to track the maximum, {@code false} for the
+     *                  minimum
+     */
+    SlidingWindowExtremum(Indicator<Num> indicator, int barCount, boolean highest) {
+        this.indicator = indicator;
+        this.barCount = barCount;
+        this.highest = highest;
+        int capacity = Math.max(1, Math.min(barCount, INITIAL_CAPACITY));
+        this.indices = new int[capacity];
+        this.values = new Num[capacity];
+    }
+
+    /**
+     * @param index the bar index
+     * @return the extremum of the {@code barCount} values ending at {@code index}
+     */
+    Num calculate(int index) {
+        int windowStart = index - barCount + 1;
+        BarSeries series = indicator.getBarSeries();
+        int removedBarsCount = series == null ? 0 : series.getRemovedBarsCount();
+        if (barCount < 1 || (removedBarsCount > 0 && windowStart < removedBarsCount)) {
+            return rescan(index);
+        }
+
+        int firstIndex = Math.max(0, windowStart);
+        synchronized (lock) {
+            int previousIndex = index - 1;
+            if (previousIndex < pushedIndex || previousIndex - pushedIndex > barCount) {
+                // Random access: rebuild from the window start
+                size = 0;
+                pushedIndex = firstIndex - 1;
+            }
+            for (int i = pushedIndex + 1; i <= previousIndex; i++) {
+                evictBefore(firstIndex);
+                push(i, indicator.getValue(i));
+            }
+            pushedIndex = Math.max(pushedIndex, previousIndex);
+            evictBefore(firstIndex);
+
+            Num current = indicator.getValue(index);
+            if (current.isNaN()) {
+                return size == 0 ? NaN : values[head];
+            }
+            if (size > 0 && dominates(values[head], current)) {
+                return values[head];
+            }
+            return current;
+        }
+    }
+
+    private void evictBefore(int firstIndex) {
+        while (size > 0 && indices[head] < firstIndex) {
+            values[head] = null;
+            head = (head + 1) % indices.length;
+            size--;
+        }
+    }
+
+    private void push(int index, Num value) {
+        if (value.isNaN()) {
+            return;
+        }
+        while (size > 0) {
+            int tail = (head + size - 1) % indices.length;
+            if (dominates(values[tail], value)) {
+                break;
+            }
+            values[tail] = null;
+            size--;
+        }
+        if (size == indices.length) {
+            grow();
+        }
+        int slot = (head + size) % indices.length;
+        indices[slot] = index;
+        values[slot] = value;
+        size++;
+    }
+
+    private void grow() {
+        int capacity = indices.length;
+        int newCapacity = (int) Math.min((long) capacity * 2, Math.max(1, barCount));
+        int[] newIndices = new int[newCapacity];
+        Num[] newValues = new Num[newCapacity];
+        for (int i = 0; i < size; i++) {
+            int slot = (head + i) % capacity;
+            newIndices[i] = indices[slot];
+            newValues[i] = values[slot];
+        }
+        indices = newIndices;
+        values = newValues;
+        head = 0;
+    }
+
+    /**
+     * @return {@code true} if {@code candidate} is strictly more extreme than
+     *         {@code reference}
+     */
+    private boolean dominates(Num candidate, Num reference) {
+        return highest ? reference.isLessThan(candidate) : reference.isGreaterThan(candidate);
+    }
+
+    /** Plain rescan of the window, used when the deque cannot be relied on. */
+    private Num rescan(int index) {
+        int end = Math.max(0, index - barCount + 1);
+        int last = index;
+        Num extremum = indicator.getValue(last);
+        while (extremum.isNaN() && last > end) {
+            extremum = indicator.getValue(--last);
+        }
+        for (int i = last - 1; i >= end; i--) {
+            Num value = indicator.getValue(i);
+            if (dominates(value, extremum)) {
+                extremum = value;
+            }
+        }
+        return extremum;
+    }
+}
@@ -4,6 +4,7 @@
 package org.ta4j.core.indicators.helpers;
 
 import org.ta4j.core.BarSeries;
+import org.ta4j.core.DoubleIndicator;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
 import org.ta4j.core.indicators.IndicatorUtils;
@@ -18,7 +19,7 @@ import static org.ta4j.core.num.NaN.NaN;
  * TrueRange = MAX(high - low, high - previousClose, previousClose - low)
  * </pre>
  */
-public class TRIndicator extends CachedIndicator<Num> {
+public class TRIndicator extends CachedIndicator<Num> implements DoubleIndicator {
 
     private final Indicator<Num> highPriceIndicator;
     private final Indicator<Num> lowPriceIndicator;
@@ -87,4 +88,39 @@ public class TRIndicator extends CachedIndicator<Num> {
         int previousCloseUnstable = closeUnstable == 0 ? 0 : closeUnstable + 1;
         return Math.max(highUnstable, Math.max(lowUnstable, previousCloseUnstable));
     }
+
+    /**
+     * Primitive counterpart of {@link #getValue(int)}, computed from the
+     * {@code double} values of the price inputs.
+     *
+     * @since 0.22.5
+     */
+    @Override
+    public double getDouble(int index) {
+        return getCachedDouble(index, this::calculateDouble);
+    }
+
+    private double calculateDouble(int index) {
+        if (index < getCountOfUnstableBars()) {
+            return Double.NaN;
+        }
+
+        double high = DoubleIndicator.valueOf(highPriceIndicator, index);
+        double low = DoubleIndicator.valueOf(lowPriceIndicator, index);
+        if (Double.isNaN(high) || Double.isNaN(low)) {
+            return Double.NaN;
+        }
+        double hl = Math.abs(high - low);
+        if (index <= getBarSeries().getBeginIndex()) {
+            return hl;
+        }
+
+        double previousClose = DoubleIndicator.valueOf(closePriceIndicator, index - 1);
+        if (Double.isNaN(previousClose)) {
+            return Double.NaN;
+        }
+        double hc = Math.abs(high - previousClose);
+        double cl = Math.abs(previousClose - low);
+        return Math.max(Math.max(hl, hc), cl);
+    }
 }
@@ -10,6 +10,10 @@ import org.ta4j.core.num.Num;
 
 /**
  * Covariance indicator.
+ *
+ * <p>
+ * Values are updated in O(1) per bar on sequential access; windows containing
+ * {@code NaN} values are computed directly.
  */
 public class CovarianceIndicator extends CachedIndicator<Num> {
 
@@ -18,6 +22,7 @@ public class CovarianceIndicator extends CachedIndicator<Num> {
     private final int barCount;
     private final SMAIndicator sma1;
     private final SMAIndicator sma2;
+    private final transient RollingMoments moments;
 
     /**
      * Constructor.
@@ -33,12 +38,17 @@ public class CovarianceIndicator extends CachedIndicator<Num> {
         this.barCount = barCount;
         this.sma1 = new SMAIndicator(indicator1, barCount);
         this.sma2 = new SMAIndicator(indicator2, barCount);
+        this.moments = new RollingMoments(indicator1, indicator2, barCount);
     }
 
     @Override
     protected Num calculate(int index) {
         final int startIndex = Math.max(0, index - barCount + 1);
         final int numberOfObservations = index - startIndex + 1;
+        Num coMoment = moments.coMoment(index);
+        if (coMoment != null) {
+            return coMoment.dividedBy(getBarSeries().numFactory().numOf(numberOfObservations));
+        }
         Num covariance = getBarSeries().numFactory().zero();
         Num average1 = sma1.getValue(index);
         Num average2 = sma2.getValue(index);
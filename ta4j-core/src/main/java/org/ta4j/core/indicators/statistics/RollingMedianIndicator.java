@@ -0,0 +1,67 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.indicators.statistics;
+
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.num.Num;
+
+/**
+ * Rolling median indicator.
+ *
+ * <p>
+ * Returns the median of the last {@code barCount} values of an indicator
+ * (including the current one); for an even number of values, the mean of the
+ * two middle values. {@code NaN} values in the window are ignored; the result
+ * is {@code NaN} only if the whole window is {@code NaN}.
+ *
+ * <p>
+ * The window is maintained in a {@link RollingOrderStatistics}, so sequential
+ * evaluation costs O(log barCount) per bar instead of sorting the window.
+ *
+ * @see RollingQuantileIndicator
+ * @since 0.22.5
+ */
+public class RollingMedianIndicator extends CachedIndicator<Num> {
+
+    private final Indicator<Num> indicator;
+    private final int barCount;
+    private final transient RollingOrderStatistics statistics;
+
+    /**
+     * Constructor.
+     *
+     * @param indicator the indicator
+     * @param barCount  the time frame
+     * @throws IllegalArgumentException if {@code barCount} is lower than 1
+     */
+    public RollingMedianIndicator(Indicator<Num> indicator, int barCount) {
+        super(indicator);
+        if (barCount < 1) {
+            throw new IllegalArgumentException("barCount must be at least 1");
+        }
+        this.indicator = indicator;
+        this.barCount = barCount;
+        this.statistics = new RollingOrderStatistics(indicator);
+    }
+
+    @Override
+    protected Num calculate(int index) {
+        int startIndex = Math.max(getBarSeries().getBeginIndex(), index - barCount + 1);
+        synchronized (statistics) {
+            statistics.slideTo(startIndex, index);
+            return statistics.quantile(0.5);
+        }
+    }
+
+    @Override
+    public int getCountOfUnstableBars() {
+        return indicator.getCountOfUnstableBars() + barCount - 1;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " barCount: " + barCount;
+    }
+}
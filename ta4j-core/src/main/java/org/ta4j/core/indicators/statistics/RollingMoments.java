@@ -0,0 +1,393 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.indicators.statistics;
+
+import java.util.Arrays;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.DoubleIndicator;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+/**
+ * Rolling second-moment engine over a window of {@code barCount} values.
+ *
+ * <p>
+ * Maintains the co-moment {@code sum((x - mean(x)) * (y - mean(y)))} of one
+ * indicator with itself (variance) or of two indicators (covariance), updated
+ * in O(1) per bar on sequential access instead of rescanning the window:
+ * <ul>
+ * <li>On series supporting native doubles (see
+ * {@link DoubleIndicator#supportsNativeDoubles(BarSeries)}), a sliding Welford
+ * update is applied on {@code double} values.</li>
+ * <li>On other series, running sums are maintained with {@link Num} arithmetic,
+ * shifted by a value of the window to avoid cancellation, which is exact for
+ * {@link org.ta4j.core.num.DecimalNum} inputs up to the configured precision (a
+ * constant window yields exactly zero).</li>
+ * </ul>
+ *
+ * <p>
+ * The state covers the committed values preceding the evaluated index; the
+ * current value is merged on the fly, so repeated evaluations of a mutating
+ * last bar stay O(1). Evicted values are read back from an internal ring, so
+ * the update never depends on recomputing older indicator values. Both modes
+ * are periodically recomputed from the ring to bound rounding drift. Random
+ * access rebuilds the state from the window start.
+ *
+ * <p>
+ * The engine does not serve windows containing {@code NaN} (or non-finite)
+ * values, nor windows reaching into bars removed by
+ * {@link BarSeries#getMaximumBarCount()}; callers fall back to a direct
+ * computation in these cases.
+ *
+ * @since 0.22.5
+ */
+final class RollingMoments {
+
+    private final Indicator<Num> first;
+    private final Indicator<Num> second;
+    private final int barCount;
+    private final boolean nativeDoubles;
+    private final int resyncInterval;
+
+    private final Object lock = new Object();
+
+    /** Committed values of the window preceding the evaluated index. */
+    private final double[] doubleRing;
+    private final double[] secondDoubleRing;
+    private final Num[] numRing;
+    private final Num[] secondNumRing;
+    private int ringHead;
+    private int ringSize;
+
+    /** The highest committed index, or -1 if none. */
+    private int committedIndex = -1;
+    private int invalidCount;
+    private int updatesSinceResync;
+
+    // Double mode: Welford state over valid committed values
+    private int count;
+    private double meanFirst;
+    private double meanSecond;
+    private double coMoment;
+
+    // Num mode: running sums of values shifted by a reference point (near the
+    // window's values) to avoid cancellation with limited precision
+    private Num shiftFirst;
+    private Num shiftSecond;
+    private Num sumFirst;
+    private Num sumSecond;
+    private Num sumProducts;
+
+    /**
+     * Constructor.
+     *
+     * @param first    the first indicator
+     * @param second   the second indicator, or {@code null} for the variance of
+     *                 {@code first}
+     * @param barCount the window length (including the evaluated bar)
+     */
+    RollingMoments(Indicator<Num> first, Indicator<Num> second, int barCount) {
+        this.first = first;
+        this.second = second;
+        this.barCount = Math.max(1, barCount);
+        this.nativeDoubles = DoubleIndicator.supportsNativeDoubles(first.getBarSeries());
+        this.resyncInterval = Math.max(this.barCount, 1024);
+        int capacity = Math.max(1, this.barCount - 1);
+        this.doubleRing = nativeDoubles ? new double[capacity] : null;
+        this.secondDoubleRing = nativeDoubles && second != null ? new double[capacity] : null;
+        this.numRing = nativeDoubles ? null : new Num[capacity];
+        this.secondNumRing = !nativeDoubles && second != null ? new Num[capacity] : null;
+        resetSums();
+    }
+
+    /**
+     * Returns the co-moment of the window ending at {@code index} on series
+     * supporting native doubles.
+     *
+     * @param index the bar index
+     * @return the co-moment, or {@link Double#NaN} if the window cannot be served
+     *         and the caller has to compute it directly
+     */
+    double coMomentDouble(int index) {
+        if (!nativeDoubles || !servable(index)) {
+            return Double.NaN;
+        }
+        synchronized (lock) {
+            advanceTo(index);
+            double x = DoubleIndicator.valueOf(first, index);
+            double y = second == null ? x : DoubleIndicator.valueOf(second, index);
+            if (invalidCount > 0 || !Double.isFinite(x) || !Double.isFinite(y)) {
+                return Double.NaN;
+            }
+            // Welford add of the current value, without committing it
+            int n = count + 1;
+            double deltaFirst = x - meanFirst;
+            double newMeanSecond = meanSecond + (y - meanSecond) / n;
+            double result = coMoment + deltaFirst * (y - newMeanSecond);
+            // a variance cannot be negative; clamp rounding noise on constant windows
+            return second == null && result < 0 ? 0 : result;
+        }
+    }
+
+    /**
+     * Returns the co-moment of the window ending at {@code index} using {@link Num}
+     * arithmetic.
+     *
+     * @param index the bar index
+     * @return the co-moment, or {@code null} if the window cannot be served and the
+     *         caller has to compute it directly
+     */
+    Num coMoment(int index) {
+        if (nativeDoubles) {
+            double value = coMomentDouble(index);
+            return Double.isNaN(value) ? null : first.getBarSeries().numFactory().numOf(value);
+        }
+        if (!servable(index)) {
+            return null;
+        }
+        synchronized (lock) {
+            advanceTo(index);
+            Num x = first.getValue(index);
+            Num y = second == null ? x : second.getValue(index);
+            if (invalidCount > 0 || x.isNaN() || y.isNaN()) {
+                return null;
+            }
+            if (shiftFirst == null) {
+                shiftFirst = x;
+                shiftSecond = y;
+            }
+            Num dx = x.minus(shiftFirst);
+            Num dy = y.minus(shiftSecond);
+            Num n = first.getBarSeries().numFactory().numOf(ringSize + 1);
+            Num totalFirst = sumFirst.plus(dx);
+            Num totalSecond = sumSecond.plus(dy);
+            Num result = sumProducts.plus(dx.multipliedBy(dy)).minus(totalFirst.multipliedBy(totalSecond).dividedBy(n));
+            if (second == null && result.isNegative()) {
+                return first.getBarSeries().numFactory().zero();
+            }
+            return result;
+        }
+    }
+
+    private boolean servable(int index) {
+        BarSeries series = first.getBarSeries();
+        if (series == null || index < 0) {
+            return false;
+        }
+        int removedBarsCount = series.getRemovedBarsCount();
+        return removedBarsCount == 0 || index - barCount + 1 >= removedBarsCount;
+    }
+
+    /**
+     * Commits values up to {@code index - 1} and evicts values before the window.
+     */
+    private void advanceTo(int index) {
+        int firstIndex = Math.max(0, index - barCount + 1);
+        int previousIndex = index - 1;
+        if (previousIndex < committedIndex || previousIndex - committedIndex > barCount) {
+            // Random access: rebuild from the window start
+            clear();
+            committedIndex = firstIndex - 1;
+        }
+        for (int i = committedIndex + 1; i <= previousIndex; i++) {
+            evictBefore(Math.max(0, i - barCount + 2));
+            commit(i);
+        }
+        committedIndex = Math.max(committedIndex, previousIndex);
+        evictBefore(firstIndex);
+        if (updatesSinceResync >= resyncInterval) {
+            resync();
+        }
+    }
+
+    /** Index of the oldest committed value. */
+    private int oldestIndex() {
+        return committedIndex - ringSize + 1;
+    }
+
+    private void evictBefore(int firstIndex) {
+        while (ringSize > 0 && oldestIndex() < firstIndex) {
+            if (nativeDoubles) {
+                double x = doubleRing[ringHead];
+                double y = secondDoubleRing == null ? x : secondDoubleRing[ringHead];
+                if (Double.isFinite(x) && Double.isFinite(y)) {
+                    removeDouble(x, y);
+                } else {
+                    invalidCount--;
+                }
+            } else {
+                Num x = numRing[ringHead];
+                Num y = secondNumRing == null ? x : secondNumRing[ringHead];
+                numRing[ringHead] = null;
+                if (secondNumRing != null) {
+                    secondNumRing[ringHead] = null;
+                }
+                if (!x.isNaN() && !y.isNaN()) {
+                    Num dx = x.minus(shiftFirst);
+                    Num dy = y.minus(shiftSecond);
+                    sumFirst = sumFirst.minus(dx);
+                    sumSecond = sumSecond.minus(dy);
+                    sumProducts = sumProducts.minus(dx.multipliedBy(dy));
+                } else {
+                    invalidCount--;
+                }
+            }
+            ringHead = (ringHead + 1) % ringCapacity();
+            ringSize--;
+            updatesSinceResync++;
+        }
+    }
+
+    private void commit(int index) {
+        // Called with committedIndex == index - 1 so that oldestIndex() stays valid
+        int slot = (ringHead + ringSize) % ringCapacity();
+        if (nativeDoubles) {
+            double x = DoubleIndicator.valueOf(first, index);
+            double y = second == null ? x : DoubleIndicator.valueOf(second, index);
+            doubleRing[slot] = x;
+            if (secondDoubleRing != null) {
+                secondDoubleRing[slot] = y;
+            }
+            if (Double.isFinite(x) && Double.isFinite(y)) {
+                addDouble(x, y);
+            } else {
+                invalidCount++;
+            }
+        } else {
+            Num x = first.getValue(index);
+            Num y = second == null ? x : second.getValue(index);
+            numRing[slot] = x;
+            if (secondNumRing != null) {
+                secondNumRing[slot] = y;
+            }
+            if (!x.isNaN() && !y.isNaN()) {
+                addNum(x, y);
+            } else {
+                invalidCount++;
+            }
+        }
+        ringSize++;
+        committedIndex = index;
+        updatesSinceResync++;
+    }
+
+    private void addNum(Num x, Num y) {
+        if (shiftFirst == null) {
+            shiftFirst = x;
+            shiftSecond = y;
+        }
+        Num dx = x.minus(shiftFirst);
+        Num dy = y.minus(shiftSecond);
+        sumFirst = sumFirst.plus(dx);
+        sumSecond = sumSecond.plus(dy);
+        sumProducts = sumProducts.plus(dx.multipliedBy(dy));
+    }
+
+    private void addDouble(double x, double y) {
+        count++;
+        double deltaFirst = x - meanFirst;
+        meanFirst += deltaFirst / count;
+        meanSecond += (y - meanSecond) / count;
+        coMoment += deltaFirst * (y - meanSecond);
+    }
+
+    private void removeDouble(double x, double y) {
+        if (count <= 1) {
+            count = 0;
+            meanFirst = 0;
+            meanSecond = 0;
+            coMoment = 0;
+            return;
+        }
+        double deltaFirst = x - meanFirst;
+        count--;
+        meanFirst -= deltaFirst / count;
+        meanSecond -= (y - meanSecond) / count;
+        coMoment -= deltaFirst * (y - meanSecond);
+    }
+
+    /** Recomputes the state from the ring to discard accumulated rounding. */
+    private void resync() {
+        updatesSinceResync = 0;
+        int capacity = ringCapacity();
+        if (nativeDoubles) {
+            count = 0;
+            meanFirst = 0;
+            meanSecond = 0;
+            coMoment = 0;
+            double totalFirst = 0;
+            double totalSecond = 0;
+            for (int i = 0; i < ringSize; i++) {
+                int slot = (ringHead + i) % capacity;
+                double x = doubleRing[slot];
+                double y = secondDoubleRing == null ? x : secondDoubleRing[slot];
+                if (Double.isFinite(x) && Double.isFinite(y)) {
+                    count++;
+                    totalFirst += x;
+                    totalSecond += y;
+                }
+            }
+            if (count == 0) {
+                return;
+            }
+            meanFirst = totalFirst / count;
+            meanSecond = totalSecond / count;
+            for (int i = 0; i < ringSize; i++) {
+                int slot = (ringHead + i) % capacity;
+                double x = doubleRing[slot];
+                double y = secondDoubleRing == null ? x : secondDoubleRing[slot];
+                if (Double.isFinite(x) && Double.isFinite(y)) {
+                    coMoment += (x - meanFirst) * (y - meanSecond);
+                }
+            }
+        } else {
+            // also re-centers the shift on the current window
+            resetSums();
+            for (int i = 0; i < ringSize; i++) {
+                int slot = (ringHead + i) % capacity;
+                Num x = numRing[slot];
+                Num y = secondNumRing == null ? x : secondNumRing[slot];
+                if (!x.isNaN() && !y.isNaN()) {
+                    addNum(x, y);
+                }
+            }
+        }
+    }
+
+    private void clear() {
+        if (numRing != null) {
+            Arrays.fill(numRing, null);
+        }
+        if (secondNumRing != null) {
+            Arrays.fill(secondNumRing, null);
+        }
+        ringHead = 0;
+        ringSize = 0;
+        invalidCount = 0;
+        updatesSinceResync = 0;
+        count = 0;
+        meanFirst = 0;
+        meanSecond = 0;
+        coMoment = 0;
+        resetSums();
+    }
+
+    private void resetSums() {
+        if (nativeDoubles) {
+            return;
+        }
+        NumFactory numFactory = first.getBarSeries().numFactory();
+        shiftFirst = null;
+        shiftSecond = null;
+        sumFirst = numFactory.zero();
+        sumSecond = numFactory.zero();
+        sumProducts = numFactory.zero();
+    }
+
+    private int ringCapacity() {
+        return nativeDoubles ? doubleRing.length : numRing.length;
+    }
+}
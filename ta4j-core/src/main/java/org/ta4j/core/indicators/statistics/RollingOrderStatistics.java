@@ -0,0 +1,309 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.indicators.statistics;
+
+import static org.ta4j.core.num.NaN.NaN;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.num.Num;
+
+/**
+ * Rolling order statistics over a sliding window of indicator values.
+ *
+ * <p>
+ * Keeps the values of a window {@code [firstIndex, lastIndex]} in a
+ * size-augmented treap (a randomized balanced search tree), so that inserting,
+ * removing, ranking ({@link #countLessThan(Num)}) and selecting
+ * ({@link #select(int)}) values cost O(log k) for a window of {@code k} values
+ * instead of a full scan (or sort) of the window on every bar.
+ *
+ * <p>
+ * Sliding the window forward ({@link #slideTo(int, int)}) only inserts the
+ * entering values and removes the leaving ones; evicted values are read back
+ * from an internal queue, so the update never depends on recomputing older
+ * indicator values. Moving the window backwards, or jumping further than its
+ * length, rebuilds it. If the window ends on the last bar of the series, that
+ * value is re-read on the next slide, so a mutating last bar stays consistent.
+ * Windows reaching into bars removed by {@link BarSeries#getMaximumBarCount()}
+ * are rebuilt on every slide, since their values are remapped to the first
+ * available bar.
+ *
+ * <p>
+ * {@code NaN} (and {@code null}) values are kept in the window but excluded
+ * from the statistics. Values comparing equal (see {@link Num#compareTo(Num)})
+ * are counted as one entry with a multiplicity.
+ *
+ * <p>
+ * Instances are not thread-safe: callers must synchronize on the instance
+ * around a slide and the queries depending on it.
+ *
+ * @since 0.22.5
+ */
+public final class RollingOrderStatistics {
+
+    private final Indicator<Num> indicator;
+
+    /** Values of the window, oldest first ({@code NaN} for invalid values). */
+    private final ArrayDeque<Num> window = new ArrayDeque<>();
+    private int firstIndex;
+    private int lastIndex = -1;
+    private boolean rebuildOnNextSlide;
+    /** Whether the last value was read while it was the last bar of the series. */
+    private boolean liveLast;
+
+    private final SplittableRandom random = new SplittableRandom(0x9E3779B97F4A7C15L);
+    private Node root;
+
+    /**
+     * Constructor.
+     *
+     * @param indicator the indicator providing the values
+     */
+    public RollingOrderStatistics(Indicator<Num> indicator) {
+        this.indicator = Objects.requireNonNull(indicator, "indicator must not be null");
+    }
+
+    /**
+     * Moves the window to {@code [firstIndex, lastIndex]}.
+     *
+     * @param firstIndex the first index of the window (inclusive)
+     * @param lastIndex  the last index of the window (inclusive); the window is
+     *                   empty if lower than {@code firstIndex}
+     * @return the number of valid (non-{@code NaN}) values in the window
+     */
+    public int slideTo(int firstIndex, int lastIndex) {
+        if (lastIndex < firstIndex) {
+            clear();
+            return 0;
+        }
+        BarSeries series = indicator.getBarSeries();
+        int removedBarsCount = series == null ? 0 : series.getRemovedBarsCount();
+        boolean remapped = removedBarsCount > 0 && firstIndex < removedBarsCount;
+        if (remapped || rebuildOnNextSlide || this.lastIndex < 0 || firstIndex < this.firstIndex
+                || lastIndex < this.lastIndex || firstIndex > this.lastIndex) {
+            clear();
+            this.firstIndex = firstIndex;
+            this.lastIndex = firstIndex - 1;
+        } else if (liveLast) {
+            // The last bar may have changed since it was added
+            Num refreshed = valueAt(this.lastIndex);
+            Num previous = window.pollLast();
+            remove(previous);
+            window.addLast(refreshed);
+            insert(refreshed);
+        }
+        rebuildOnNextSlide = remapped;
+
+        while (this.firstIndex < firstIndex) {
+            remove(window.pollFirst());
+            this.firstIndex++;
+        }
+        while (this.lastIndex < lastIndex) {
+            Num value = valueAt(++this.lastIndex);
+            window.addLast(value);
+            insert(value);
+        }
+        liveLast = series != null && this.lastIndex >= series.getEndIndex();
+        return size();
+    }
+
+    /**
+     * @return the number of valid (non-{@code NaN}) values in the window
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * @param value the value to rank
+     * @return the number of valid values in the window strictly lower than
+     *         {@code value}
+     */
+    public int countLessThan(Num value) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            int comparison = value.compareTo(node.value);
+            if (comparison <= 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + node.count;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param rank the zero-based rank, between {@code 0} and {@code size() - 1}
+     * @return the valid value of the window with the given rank in ascending order
+     * @throws IndexOutOfBoundsException if the rank is out of range
+     */
+    public Num select(int rank) {
+        if (rank < 0 || rank >= size()) {
+            throw new IndexOutOfBoundsException("rank " + rank + " out of range for size " + size());
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (rank < leftSize) {
+                node = node.left;
+            } else if (rank < leftSize + node.count) {
+                return node.value;
+            } else {
+                rank -= leftSize + node.count;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the quantile of the valid values of the window, linearly interpolated
+     * between the closest ranks (the default method of most statistics packages).
+     *
+     * @param quantile the quantile, between {@code 0} and {@code 1}
+     * @return the quantile, or {@code NaN} if the window has no valid value
+     */
+    public Num quantile(double quantile) {
+        int size = size();
+        if (size == 0) {
+            return NaN;
+        }
+        double position = (size - 1) * quantile;
+        int lower = (int) Math.floor(position);
+        double fraction = position - lower;
+        Num lowerValue = select(lower);
+        if (fraction == 0 || lower + 1 >= size) {
+            return lowerValue;
+        }
+        Num upperValue = select(lower + 1);
+        return lowerValue.plus(upperValue.minus(lowerValue).multipliedBy(lowerValue.getNumFactory().numOf(fraction)));
+    }
+
+    private Num valueAt(int index) {
+        Num value = indicator.getValue(index);
+        return value == null ? NaN : value;
+    }
+
+    private void clear() {
+        window.clear();
+        root = null;
+        lastIndex = -1;
+        liveLast = false;
+    }
+
+    private void insert(Num value) {
+        if (!value.isNaN()) {
+            root = insert(root, value);
+        }
+    }
+
+    private void remove(Num value) {
+        if (value != null && !value.isNaN()) {
+            root = remove(root, value);
+        }
+    }
+
+    private Node insert(Node node, Num value) {
+        if (node == null) {
+            return new Node(value, random.nextInt());
+        }
+        int comparison = value.compareTo(node.value);
+        if (comparison == 0) {
+            node.count++;
+        } else if (comparison < 0) {
+            node.left = insert(node.left, value);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, value);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node remove(Node node, Num value) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = value.compareTo(node.value);
+        if (comparison < 0) {
+            node.left = remove(node.left, value);
+        } else if (comparison > 0) {
+            node.right = remove(node.right, value);
+        } else if (node.count > 1) {
+            node.count--;
+        } else {
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    /** Merges two treaps whose keys are ordered ({@code left < right}). */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        return pivot;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+
+        private final Num value;
+        private final int priority;
+        private int count = 1;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(Num value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+
+        private void update() {
+            size = count + RollingOrderStatistics.size(left) + RollingOrderStatistics.size(right);
+        }
+    }
+}
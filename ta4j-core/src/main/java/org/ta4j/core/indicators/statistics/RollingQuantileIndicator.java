@@ -0,0 +1,76 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.indicators.statistics;
+
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.num.Num;
+
+/**
+ * Rolling quantile indicator.
+ *
+ * <p>
+ * Returns the quantile of the last {@code barCount} values of an indicator
+ * (including the current one), linearly interpolated between the closest ranks:
+ * for {@code n} values sorted ascending, the quantile {@code q} is read at
+ * position {@code (n - 1) * q}. {@code NaN} values in the window are ignored;
+ * the result is {@code NaN} only if the whole window is {@code NaN}.
+ *
+ * <p>
+ * The window is maintained in a {@link RollingOrderStatistics}, so sequential
+ * evaluation costs O(log barCount) per bar instead of sorting the window.
+ *
+ * @see RollingMedianIndicator
+ * @since 0.22.5
+ */
+public class RollingQuantileIndicator extends CachedIndicator<Num> {
+
+    private final Indicator<Num> indicator;
+    private final int barCount;
+    private final double quantile;
+    private final transient RollingOrderStatistics statistics;
+
+    /**
+     * Constructor.
+     *
+     * @param indicator the indicator
+     * @param barCount  the time frame
+     * @param quantile  the quantile, between {@code 0} and {@code 1} (for example
+     *                  {@code 0.9} for the 90th percentile)
+     * @throws IllegalArgumentException if {@code barCount} is lower than 1 or
+     *                                  {@code quantile} is outside {@code [0, 1]}
+     */
+    public RollingQuantileIndicator(Indicator<Num> indicator, int barCount, double quantile) {
+        super(indicator);
+        if (barCount < 1) {
+            throw new IllegalArgumentException("barCount must be at least 1");
+        }
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("quantile must be between 0 and 1");
+        }
+        this.indicator = indicator;
+        this.barCount = barCount;
+        this.quantile = quantile;
+        this.statistics = new RollingOrderStatistics(indicator);
+    }
+
+    @Override
+    protected Num calculate(int index) {
+        int startIndex = Math.max(getBarSeries().getBeginIndex(), index - barCount + 1);
+        synchronized (statistics) {
+            statistics.slideTo(startIndex, index);
+            return statistics.quantile(quantile);
+        }
+    }
+
+    @Override
+    public int getCountOfUnstableBars() {
+        return indicator.getCountOfUnstableBars() + barCount - 1;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " barCount: " + barCount + " quantile: " + quantile;
+    }
+}
@@ -5,6 +5,7 @@ package org.ta4j.core.indicators.statistics;
 
 import java.util.Objects;
 
+import org.ta4j.core.DoubleIndicator;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
 import org.ta4j.core.num.Num;
@@ -16,7 +17,7 @@ import org.ta4j.core.num.Num;
  *      "http://stockcharts.com/school/doku.php?id=chart_school:technical_indicators:standard_deviation_volatility">
  *      http://stockcharts.com/school/doku.php?id=chart_school:technical_indicators:standard_deviation_volatility</a>
  */
-public class StandardDeviationIndicator extends CachedIndicator<Num> {
+public class StandardDeviationIndicator extends CachedIndicator<Num> implements DoubleIndicator {
 
     private final VarianceIndicator variance;
 
@@ -74,6 +75,18 @@ public class StandardDeviationIndicator extends CachedIndicator<Num> {
         return variance.getValue(index).sqrt();
     }
 
+    /**
+     * @since 0.22.5
+     */
+    @Override
+    public double getDouble(int index) {
+        return getCachedDouble(index, this::calculateDouble);
+    }
+
+    private double calculateDouble(int index) {
+        return Math.sqrt(variance.getDouble(index));
+    }
+
     @Override
     public int getCountOfUnstableBars() {
         return variance.getCountOfUnstableBars();
@@ -5,6 +5,7 @@ package org.ta4j.core.indicators.statistics;
 
 import java.util.Objects;
 
+import org.ta4j.core.DoubleIndicator;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
 import org.ta4j.core.indicators.averages.SMAIndicator;
@@ -18,13 +19,20 @@ import org.ta4j.core.num.Num;
  * {@code n - 1}) for rolling windows. Use {@link #ofPopulation(Indicator, int)}
  * (or the {@link SampleType} constructor) when population variance is required.
  * </p>
+ *
+ * <p>
+ * Values are updated in O(1) per bar on sequential access (sliding Welford
+ * update on {@code DoubleNum} series, exact running sums otherwise); windows
+ * containing {@code NaN} values are computed directly.
+ * </p>
  */
-public class VarianceIndicator extends CachedIndicator<Num> {
+public class VarianceIndicator extends CachedIndicator<Num> implements DoubleIndicator {
 
     private final Indicator<Num> indicator;
     private final int barCount;
     private final SMAIndicator sma;
     private final SampleType sampleType;
+    private final transient RollingMoments moments;
 
     /**
      * Constructor using {@link SampleType#SAMPLE}.
@@ -51,6 +59,7 @@ public class VarianceIndicator extends CachedIndicator<Num> {
         this.barCount = Math.max(barCount, 1);
         this.sampleType = Objects.requireNonNull(sampleType, "sampleType must not be null");
         this.sma = new SMAIndicator(indicator, this.barCount);
+        this.moments = new RollingMoments(indicator, null, this.barCount);
     }
 
     /**
@@ -82,17 +91,48 @@ public class VarianceIndicator extends CachedIndicator<Num> {
         final int startIndex = Math.max(0, index - barCount + 1);
         final int numberOfObservations = index - startIndex + 1;
         final var numFactory = getBarSeries().numFactory();
+        final int divisor = sampleType.isSample() ? numberOfObservations - 1 : numberOfObservations;
+        if (divisor <= 0) {
+            return numFactory.zero();
+        }
+        Num sumOfSquares = moments.coMoment(index);
+        if (sumOfSquares != null) {
+            return sumOfSquares.dividedBy(numFactory.numOf(divisor));
+        }
         Num variance = numFactory.zero();
         Num average = sma.getValue(index);
         for (int i = startIndex; i <= index; i++) {
             Num pow = indicator.getValue(i).minus(average).pow(2);
             variance = variance.plus(pow);
         }
+        return variance.dividedBy(numFactory.numOf(divisor));
+    }
+
+    /**
+     * @since 0.22.5
+     */
+    @Override
+    public double getDouble(int index) {
+        return getCachedDouble(index, this::calculateDouble);
+    }
+
+    private double calculateDouble(int index) {
+        final int startIndex = Math.max(0, index - barCount + 1);
+        final int numberOfObservations = index - startIndex + 1;
         final int divisor = sampleType.isSample() ? numberOfObservations - 1 : numberOfObservations;
         if (divisor <= 0) {
-            return numFactory.zero();
+            return 0;
         }
-        return variance.dividedBy(numFactory.numOf(divisor));
+        double sumOfSquares = moments.coMomentDouble(index);
+        if (!Double.isNaN(sumOfSquares)) {
+            return sumOfSquares / divisor;
+        }
+        double variance = 0;
+        double average = sma.getDouble(index);
+        for (int i = startIndex; i <= index; i++) {
+            variance = variance + Math.pow(DoubleIndicator.valueOf(indicator, i) - average, 2);
+        }
+        return variance / divisor;
     }
 
     @Override
@@ -5,7 +5,9 @@ package org.ta4j.core.indicators.supportresistance;
 
 import static org.ta4j.core.indicators.IndicatorUtils.isInvalid;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static org.ta4j.core.num.NaN.NaN;
@@ -30,19 +32,45 @@ import org.ta4j.core.num.NumFactory;
  * "https://www.investopedia.com/terms/v/volume-profile.asp">Investopedia:
  * Volume Profile</a> for an overview of the trading concept.
  *
+ * <p>
+ * By default, the estimate is exact: each query evaluates the kernel against
+ * every sample of the look-back window. With a positive {@code binSize}, the
+ * samples are snapped to a fixed price grid (multiples of {@code binSize})
+ * whose density is maintained incrementally as the window slides: adding or
+ * removing a bar only updates the bins within reach of the kernel (truncated at
+ * {@value #KERNEL_CUTOFF} bandwidths), a density query interpolates between two
+ * bins and a mode query scans the bins holding a sample. Only the blocks of
+ * bins within reach of the window are kept, whatever the price range. This
+ * suits callers querying the full profile on every bar, at the cost of a
+ * resolution of {@code binSize}; the bandwidth may span at most
+ * {@value #MAX_BANDWIDTH_IN_BINS} bins.
+ *
  * @since 0.22.3
  */
 public class VolumeProfileKDEIndicator extends CachedIndicator<Num> {
 
     private static final String PI = "3.1415926535897932384626433832795028841971";
 
+    /** Number of bandwidths beyond which the binned kernel is truncated. */
+    private static final int KERNEL_CUTOFF = 6;
+
+    /** Maximum ratio of the bandwidth to the bin size of the price grid. */
+    private static final int MAX_BANDWIDTH_IN_BINS = 1000;
+
+    /** Bins of the price grid are stored in blocks of {@code 1 << BLOCK_BITS}. */
+    private static final int BLOCK_BITS = 6;
+    private static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+
     private final Indicator<Num> priceIndicator;
     private final Indicator<Num> volumeIndicator;
     private final int lookbackLength;
     private final Num bandwidth;
+    private final Num binSize;
     private transient Num gaussianBandwidth;
     private transient Num gaussianCoefficient;
     private transient Num gaussianNegativeHalf;
+    private final transient Object gridLock = new Object();
+    private transient DensityGrid grid;
 
     /**
      * Constructor using {@link ClosePriceIndicator}, {@link VolumeIndicator} with
@@ -68,6 +96,26 @@ public class VolumeProfileKDEIndicator extends CachedIndicator<Num> {
      */
     public VolumeProfileKDEIndicator(Indicator<Num> priceIndicator, Indicator<Num> volumeIndicator, int lookbackLength,
             Num bandwidth) {
+        this(priceIndicator, volumeIndicator, lookbackLength, bandwidth, zeroFor(priceIndicator));
+    }
+
+    /**
+     * Constructor using custom price and volume indicators and an optional price
+     * grid.
+     *
+     * @param priceIndicator  the price samples used for the KDE
+     * @param volumeIndicator the volume weights associated with each price
+     * @param lookbackLength  number of bars to consider (non-positive for the full
+     *                        history)
+     * @param bandwidth       kernel bandwidth (non-negative)
+     * @param binSize         spacing of the price grid, or zero for the exact
+     *                        estimate (non-negative); a positive bin size must be
+     *                        at least the bandwidth divided by
+     *                        {@value #MAX_BANDWIDTH_IN_BINS}
+     * @since 0.22.5
+     */
+    public VolumeProfileKDEIndicator(Indicator<Num> priceIndicator, Indicator<Num> volumeIndicator, int lookbackLength,
+            Num bandwidth, Num binSize) {
         super(priceIndicator);
         this.priceIndicator = Objects.requireNonNull(priceIndicator, "priceIndicator must not be null");
         this.volumeIndicator = Objects.requireNonNull(volumeIndicator, "volumeIndicator must not be null");
@@ -81,6 +129,15 @@ public class VolumeProfileKDEIndicator extends CachedIndicator<Num> {
         if (isInvalid(bandwidth) || bandwidth.isLessThan(series.numFactory().zero())) {
             throw new IllegalArgumentException("bandwidth must be greater than or equal to zero");
         }
+        this.binSize = Objects.requireNonNull(binSize, "binSize must not be null");
+        if (isInvalid(binSize) || binSize.isLessThan(series.numFactory().zero())) {
+            throw new IllegalArgumentException("binSize must be greater than or equal to zero");
+        }
+        if (!binSize.isZero()
+                && bandwidth.doubleValue() / binSize.doubleValue() > MAX_BANDWIDTH_IN_BINS) {
+            throw new IllegalArgumentException(
+                    "bandwidth must not exceed " + MAX_BANDWIDTH_IN_BINS + " times binSize");
+        }
         this.gaussianBandwidth = NaN;
         this.gaussianCoefficient = NaN;
         this.gaussianNegativeHalf = NaN;
@@ -99,6 +156,9 @@ public class VolumeProfileKDEIndicator extends CachedIndicator<Num> {
         if (isInvalid(price)) {
             return NaN;
         }
+        if (usesGrid()) {
+            return gridDensity(index, price);
+        }
         List<Sample> samples = collectSamples(index);
         if (samples.isEmpty()) {
             return NaN;
@@ -121,6 +181,9 @@ public class VolumeProfileKDEIndicator extends CachedIndicator<Num> {
         if (isInvalid(price)) {
             return NaN;
         }
+        if (usesGrid()) {
+            return gridDensity(index, price);
+        }
         List<Sample> samples = collectSamples(index);
         if (samples.isEmpty()) {
             return NaN;
@@ -134,7 +197,8 @@ public class VolumeProfileKDEIndicator extends CachedIndicator<Num> {
      *
      * <p>
      * Ties prefer the lower price to reflect how traders often anchor to the lower
-     * bound of a high-volume node when mapping potential support zones.
+     * bound of a high-volume node when mapping potential support zones. With a
+     * price grid, the mode is the center of the densest bin holding volume.
      *
      * @param index the bar index
      * @return the modal price or {@code NaN} when no samples are available
@@ -144,6 +208,12 @@ public class VolumeProfileKDEIndicator extends CachedIndicator<Num> {
         if (index < getBarSeries().getBeginIndex() + getCountOfUnstableBars()) {
             return NaN;
         }
+        if (usesGrid()) {
+            synchronized (gridLock) {
+                DensityGrid advanced = advanceGrid(index);
+                return advanced == null ? NaN : advanced.modePrice();
+            }
+        }
         List<Sample> samples = collectSamples(index);
         if (samples.isEmpty()) {
             return NaN;
@@ -237,6 +307,245 @@ public class VolumeProfileKDEIndicator extends CachedIndicator<Num> {
         return density;
     }
 
+    /**
+     * Implements grid density.
+     */
+    private Num gridDensity(int index, Num price) {
+        synchronized (gridLock) {
+            DensityGrid advanced = advanceGrid(index);
+            return advanced == null ? NaN : advanced.densityAt(price);
+        }
+    }
+
+    /**
+     * Moves the grid window to end at {@code index}, rebuilding it when it cannot
+     * slide there.
+     *
+     * @return the grid, or {@code null} if the window holds no sample
+     */
+    private DensityGrid advanceGrid(int index) {
+        BarSeries series = getBarSeries();
+        if (series == null || index < series.getBeginIndex()) {
+            return null;
+        }
+        int startIndex = computeStartIndex(index, series);
+        if (grid == null || !grid.canAdvance(startIndex, index, series.getBeginIndex())) {
+            grid = new DensityGrid(startIndex);
+        }
+        grid.advance(startIndex, index);
+        return grid.sampleCount == 0 ? null : grid;
+    }
+
+    /**
+     * Volume-at-price histogram over a fixed price grid, along with its kernel
+     * density.
+     *
+     * <p>
+     * Bin {@code k} is centered on {@code k * binSize}, so that bins never move as
+     * the window slides. Bins are stored in primitive blocks of
+     * {@value #BLOCK_SIZE} consecutive bins, and only the blocks within reach of a
+     * sample of the window are kept, in a sparse map, so the grid stays as small as
+     * the window whatever the price range. The density of each bin is kept up to
+     * date as samples enter and leave the window.
+     */
+    private final class DensityGrid {
+
+        private final double step;
+        /** Kernel value by distance in bins, up to {@link #radius} */
+        private final double[] kernel;
+        private final int radius;
+        /** The blocks within reach of a sample of the window, by block number */
+        private final Map<Long, Block> blocks = new HashMap<>();
+        private int sampleCount;
+        /** The sample of the last bar of the window, whose weight is 0 if none */
+        private long lastBin;
+        private double lastWeight;
+        /** Bars in the window: [windowStart, windowEnd] */
+        private int windowStart;
+        private int windowEnd;
+
+        private DensityGrid(int windowStart) {
+            this.step = binSize.doubleValue();
+            this.windowStart = windowStart;
+            this.windowEnd = windowStart - 1;
+            if (usesGaussianKernel()) {
+                double h = bandwidth.doubleValue();
+                // Bounded by the bandwidth to bin size ratio checked on construction
+                this.radius = (int) Math.ceil(KERNEL_CUTOFF * h / step);
+                this.kernel = new double[radius + 1];
+                double coefficient = 1.0 / (h * Math.sqrt(2.0 * Math.PI));
+                for (int d = 0; d <= radius; d++) {
+                    double z = d * step / h;
+                    kernel[d] = coefficient * Math.exp(-0.5 * z * z);
+                }
+            } else {
+                this.radius = 0;
+                this.kernel = new double[] { 1.0 };
+            }
+        }
+
+        private boolean canAdvance(int startIndex, int index, int beginIndex) {
+            return startIndex >= windowStart && index >= windowEnd && windowStart >= beginIndex;
+        }
+
+        private void advance(int startIndex, int index) {
+            if (windowEnd >= windowStart) {
+                // The last bar may have been updated since it was added
+                if (lastWeight > 0.0) {
+                    remove(lastBin, lastWeight);
+                }
+                addBar(windowEnd);
+            }
+            for (int i = windowEnd + 1; i <= index; i++) {
+                if (i >= startIndex) {
+                    addBar(i);
+                }
+            }
+            for (int i = windowStart; i < startIndex && i <= windowEnd; i++) {
+                removeBar(i);
+            }
+            windowStart = startIndex;
+            windowEnd = index;
+        }
+
+        private void addBar(int index) {
+            Num price = priceIndicator.getValue(index);
+            Num volume = volumeIndicator.getValue(index);
+            lastWeight = 0.0;
+            if (isInvalid(price) || isInvalid(volume) || volume.isZero()) {
+                return;
+            }
+            lastBin = Math.round(price.doubleValue() / step);
+            lastWeight = Math.abs(volume.doubleValue());
+            add(lastBin, lastWeight);
+        }
+
+        private void removeBar(int index) {
+            Num price = priceIndicator.getValue(index);
+            Num volume = volumeIndicator.getValue(index);
+            if (isInvalid(price) || isInvalid(volume) || volume.isZero()) {
+                return;
+            }
+            remove(Math.round(price.doubleValue() / step), Math.abs(volume.doubleValue()));
+        }
+
+        /**
+         * Adds a sample to a bin, creating the blocks within its reach.
+         */
+        private void add(long bin, double weight) {
+            long first = bin - radius;
+            long last = bin + radius;
+            for (long number = first >> BLOCK_BITS; number <= last >> BLOCK_BITS; number++) {
+                Block block = blocks.computeIfAbsent(number, unused -> new Block());
+                long blockStart = number << BLOCK_BITS;
+                int from = (int) (Math.max(first, blockStart) - blockStart);
+                int to = (int) (Math.min(last, blockStart + BLOCK_SIZE - 1) - blockStart);
+                for (int slot = from; slot <= to; slot++) {
+                    block.reach[slot]++;
+                    block.density[slot] += weight * kernel[(int) Math.abs(blockStart + slot - bin)];
+                }
+                block.reachCount += to - from + 1;
+            }
+            Block center = blocks.get(bin >> BLOCK_BITS);
+            if (center.count[slotOf(bin)]++ == 0) {
+                center.liveCount++;
+            }
+            sampleCount++;
+        }
+
+        /**
+         * Removes a sample from a bin, resetting the bins no sample reaches anymore
+         * along with their rounding residue, and dropping the blocks left empty.
+         */
+        private void remove(long bin, double weight) {
+            Block center = blocks.get(bin >> BLOCK_BITS);
+            if (--center.count[slotOf(bin)] == 0) {
+                center.liveCount--;
+            }
+            long first = bin - radius;
+            long last = bin + radius;
+            for (long number = first >> BLOCK_BITS; number <= last >> BLOCK_BITS; number++) {
+                Block block = blocks.get(number);
+                long blockStart = number << BLOCK_BITS;
+                int from = (int) (Math.max(first, blockStart) - blockStart);
+                int to = (int) (Math.min(last, blockStart + BLOCK_SIZE - 1) - blockStart);
+                for (int slot = from; slot <= to; slot++) {
+                    if (--block.reach[slot] == 0) {
+                        block.density[slot] = 0.0;
+                    } else {
+                        block.density[slot] -= weight * kernel[(int) Math.abs(blockStart + slot - bin)];
+                    }
+                }
+                block.reachCount -= to - from + 1;
+                if (block.reachCount == 0) {
+                    blocks.remove(number);
+                }
+            }
+            sampleCount--;
+        }
+
+        private Num densityAt(Num price) {
+            NumFactory factory = getBarSeries().numFactory();
+            double position = price.doubleValue() / step;
+            if (radius == 0) {
+                return factory.numOf(densityOf(Math.round(position)));
+            }
+            long lower = (long) Math.floor(position);
+            double fraction = position - lower;
+            return factory.numOf(densityOf(lower) * (1.0 - fraction) + densityOf(lower + 1) * fraction);
+        }
+
+        private double densityOf(long bin) {
+            Block block = blocks.get(bin >> BLOCK_BITS);
+            return block == null ? 0.0 : block.density[slotOf(bin)];
+        }
+
+        private Num modePrice() {
+            long bestBin = 0;
+            double bestDensity = 0.0;
+            boolean found = false;
+            for (Map.Entry<Long, Block> entry : blocks.entrySet()) {
+                Block block = entry.getValue();
+                if (block.liveCount == 0) {
+                    continue;
+                }
+                long blockStart = entry.getKey() << BLOCK_BITS;
+                for (int slot = 0; slot < BLOCK_SIZE; slot++) {
+                    if (block.count[slot] == 0) {
+                        continue;
+                    }
+                    long candidateBin = blockStart + slot;
+                    double candidate = block.density[slot];
+                    if (!found || candidate > bestDensity || (candidate == bestDensity && candidateBin < bestBin)) {
+                        found = true;
+                        bestDensity = candidate;
+                        bestBin = candidateBin;
+                    }
+                }
+            }
+            return found ? binSize.multipliedBy(getBarSeries().numFactory().numOf(bestBin)) : NaN;
+        }
+    }
+
+    private static int slotOf(long bin) {
+        return (int) (bin & (BLOCK_SIZE - 1));
+    }
+
+    /**
+     * A block of {@value #BLOCK_SIZE} consecutive bins of the price grid.
+     */
+    private static final class Block {
+        /** Number of samples whose kernel reaches each bin */
+        private final int[] reach = new int[BLOCK_SIZE];
+        /** Number of samples in each bin */
+        private final int[] count = new int[BLOCK_SIZE];
+        private final double[] density = new double[BLOCK_SIZE];
+        /** Sum of {@link #reach}, zero once no sample reaches the block */
+        private int reachCount;
+        /** Number of bins holding a sample */
+        private int liveCount;
+    }
+
     private static final class Sample {
         private final Num price;
         private final Num weight;
@@ -250,6 +559,23 @@ public class VolumeProfileKDEIndicator extends CachedIndicator<Num> {
         }
     }
 
+    /**
+     * Implements uses grid.
+     */
+    private boolean usesGrid() {
+        return !binSize.isZero();
+    }
+
+    /**
+     * Implements zero for.
+     */
+    private static Num zeroFor(Indicator<Num> priceIndicator) {
+        if (priceIndicator == null || priceIndicator.getBarSeries() == null) {
+            return null;
+        }
+        return priceIndicator.getBarSeries().numFactory().zero();
+    }
+
     /**
      * Implements uses gaussian kernel.
      */
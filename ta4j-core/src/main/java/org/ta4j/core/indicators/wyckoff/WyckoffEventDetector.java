@@ -9,6 +9,7 @@ import java.util.EnumSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
 
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
@@ -69,6 +70,24 @@ public final class WyckoffEventDetector {
      */
     public EnumSet<WyckoffEvent> detect(int index, WyckoffStructureTracker.StructureSnapshot structure,
             WyckoffVolumeProfile.VolumeSnapshot volume, WyckoffPhase previousPhase) {
+        return detect(index, structure, volume, previousPhase, this::isNewExtremeLow, this::isNewExtremeHigh);
+    }
+
+    /**
+     * Detects Wyckoff events for {@code index}, asking the caller whether the bar
+     * makes a new extreme.
+     *
+     * @param index            evaluation index
+     * @param structure        structure snapshot for the index
+     * @param volume           volume snapshot for the index
+     * @param previousPhase    previously inferred phase (or {@code null})
+     * @param isNewExtremeLow  whether the low of a bar is the lowest so far
+     * @param isNewExtremeHigh whether the high of a bar is the highest so far
+     * @return set of events observed at the index
+     */
+    EnumSet<WyckoffEvent> detect(int index, WyckoffStructureTracker.StructureSnapshot structure,
+            WyckoffVolumeProfile.VolumeSnapshot volume, WyckoffPhase previousPhase, IntPredicate isNewExtremeLow,
+            IntPredicate isNewExtremeHigh) {
         final EnumSet<WyckoffEvent> events = EnumSet.noneOf(WyckoffEvent.class);
         if (structure == null || volume == null) {
             return events;
@@ -81,10 +100,10 @@ public final class WyckoffEventDetector {
         final WyckoffCycleType priorCycle = previousPhase != null ? previousPhase.cycleType()
                 : WyckoffCycleType.UNKNOWN;
         if (!hasRange && volume.climax()) {
-            if (isNewExtremeLow(index)) {
+            if (isNewExtremeLow.test(index)) {
                 events.add(WyckoffEvent.SELLING_CLIMAX);
             }
-            if (isNewExtremeHigh(index)) {
+            if (isNewExtremeHigh.test(index)) {
                 events.add(WyckoffEvent.BUYING_CLIMAX);
             }
         }
@@ -0,0 +1,400 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.indicators.wyckoff;
+
+import static org.ta4j.core.indicators.IndicatorUtils.isInvalid;
+import static org.ta4j.core.num.NaN.NaN;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.num.Num;
+
+/**
+ * Push-based Wyckoff state machine consuming the bars of a series one at a
+ * time.
+ *
+ * <p>
+ * Each bar is processed once, in constant (amortized) work: the trading range
+ * is derived from the range at the previous bar and the latest confirmed swing
+ * points, the relative volume from running window sums, the extremes used to
+ * spot climaxes from running minimums and maximums, and the phase from the
+ * phase at the previous bar and the events of the bar. This makes the engine
+ * suitable for live feeds: add the new bars to the series, then call
+ * {@link #update()} to get the events and the phase of the latest bar.
+ *
+ * <p>
+ * As with cached indicators, the last bar of the series may still change (see
+ * {@link BarSeries#addTrade(Number, Number)} and
+ * {@link BarSeries#addPrice(Number)}): its step is processed again once it
+ * does. Steps of the bars removed from a series with a maximum bar count are
+ * dropped.
+ *
+ * <p>
+ * {@link WyckoffPhaseIndicator} is a view over an engine, which it exposes
+ * through {@link WyckoffPhaseIndicator#getEngine()}.
+ *
+ * @since 0.22.5
+ */
+public final class WyckoffPhaseEngine {
+
+    private final BarSeries series;
+    private final int unstableBars;
+    private final WyckoffStructureTracker structureTracker;
+    private final WyckoffVolumeProfile volumeProfile;
+    private final WyckoffEventDetector eventDetector;
+
+    /** The steps of the bars processed so far, from {@link #firstIndex} */
+    private final List<Step> steps = new ArrayList<>();
+    private int firstIndex = -1;
+    /** The index of the first bar processed, which starts the unstable period */
+    private int startIndex = -1;
+    /** The state of the last bar processed when its step was computed */
+    private BarState lastBarState;
+
+    /**
+     * Creates an engine with default configuration.
+     *
+     * @param series underlying bar series
+     * @since 0.22.5
+     */
+    public WyckoffPhaseEngine(BarSeries series) {
+        this(Objects.requireNonNull(series, "series"), 3, 3, 1, 5, 20, series.numFactory().numOf(0.02),
+                series.numFactory().numOf(0.05), series.numFactory().numOf(1.6), series.numFactory().numOf(0.7));
+    }
+
+    /**
+     * Creates an engine with full configuration.
+     *
+     * @param series                underlying bar series
+     * @param precedingSwingBars    bars preceding a swing point
+     * @param followingSwingBars    bars following a swing point
+     * @param allowedEqualSwingBars number of equal bars allowed in swing detection
+     * @param volumeShortWindow     short volume SMA window
+     * @param volumeLongWindow      long volume SMA window
+     * @param breakoutTolerance     breakout tolerance applied to range bounds
+     * @param retestTolerance       retest tolerance applied to range bounds
+     * @param climaxThreshold       ratio above which volume is a climax
+     * @param dryUpThreshold        ratio below which volume is drying up
+     * @since 0.22.5
+     */
+    public WyckoffPhaseEngine(BarSeries series, int precedingSwingBars, int followingSwingBars,
+            int allowedEqualSwingBars, int volumeShortWindow, int volumeLongWindow, Num breakoutTolerance,
+            Num retestTolerance, Num climaxThreshold, Num dryUpThreshold) {
+        this.series = Objects.requireNonNull(series, "series");
+        requireAtLeast("precedingSwingBars", precedingSwingBars, 1);
+        requireAtLeast("followingSwingBars", followingSwingBars, 0);
+        requireAtLeast("allowedEqualSwingBars", allowedEqualSwingBars, 0);
+        requireAtLeast("volumeShortWindow", volumeShortWindow, 1);
+        if (volumeLongWindow < volumeShortWindow) {
+            throw new IllegalArgumentException("volumeLongWindow must be greater than or equal to volumeShortWindow");
+        }
+        requireNonNegativeFinite("breakoutTolerance", breakoutTolerance);
+        requireNonNegativeFinite("retestTolerance", retestTolerance);
+        requireNonNegativeFinite("climaxThreshold", climaxThreshold);
+        requireNonNegativeFinite("dryUpThreshold", dryUpThreshold);
+
+        this.unstableBars = Math.max(precedingSwingBars + followingSwingBars, Math.max(0, volumeLongWindow - 1));
+        this.structureTracker = new WyckoffStructureTracker(series, precedingSwingBars, followingSwingBars,
+                allowedEqualSwingBars, breakoutTolerance);
+        this.volumeProfile = new WyckoffVolumeProfile(series, volumeShortWindow, volumeLongWindow, climaxThreshold,
+                dryUpThreshold);
+        this.eventDetector = new WyckoffEventDetector(series, retestTolerance);
+    }
+
+    /**
+     * Processes the bars added to the series since the last call.
+     *
+     * @return the step of the last bar of the series, or {@code null} if the series
+     *         is empty
+     * @since 0.22.5
+     */
+    public synchronized Step update() {
+        return series.isEmpty() ? null : step(series.getEndIndex());
+    }
+
+    /**
+     * Returns the step at {@code index}, processing the bars up to it first if
+     * needed.
+     *
+     * @param index bar index
+     * @return the step at {@code index}, or {@code null} if the series has no bar
+     *         at {@code index}
+     * @since 0.22.5
+     */
+    public synchronized Step step(int index) {
+        if (series.isEmpty() || index > series.getEndIndex() || index < series.getBeginIndex()) {
+            return null;
+        }
+        evictRemovedBars();
+        if (!steps.isEmpty()) {
+            int lastProcessed = firstIndex + steps.size() - 1;
+            if (!lastBarState.matches(lastProcessed, series.getBar(lastProcessed))) {
+                // The last bar processed has changed since: process it again right away,
+                // so that lastBarState keeps describing the last step
+                steps.removeLast();
+                steps.add(process(lastProcessed));
+                lastBarState = BarState.of(lastProcessed, series.getBar(lastProcessed));
+            }
+        }
+        if (firstIndex < 0) {
+            firstIndex = series.getBeginIndex();
+            if (startIndex < 0) {
+                startIndex = firstIndex;
+            }
+        }
+        int lastIndex = firstIndex + steps.size() - 1;
+        if (index > lastIndex) {
+            for (int next = lastIndex + 1; next <= index; next++) {
+                steps.add(process(next));
+            }
+            lastBarState = BarState.of(index, series.getBar(index));
+        }
+        return steps.get(index - firstIndex);
+    }
+
+    /**
+     * Returns the number of unstable bars, whose phase is always
+     * {@link WyckoffPhase#UNKNOWN}.
+     *
+     * @return the number of unstable bars
+     * @since 0.22.5
+     */
+    public int getCountOfUnstableBars() {
+        return unstableBars;
+    }
+
+    /**
+     * @return the number of steps kept in memory
+     */
+    synchronized int retainedSteps() {
+        return steps.size();
+    }
+
+    /**
+     * Drops the steps of the bars removed from the series, keeping the last step
+     * processed as the predecessor of the next one. Steps are dropped in batches,
+     * once at least half of them are stale, to keep the work per bar constant.
+     */
+    private void evictRemovedBars() {
+        if (firstIndex < 0) {
+            return;
+        }
+        int stale = series.getBeginIndex() - firstIndex;
+        if (stale > steps.size()) {
+            // Bars were removed before being processed: start over
+            steps.clear();
+            firstIndex = -1;
+        } else if (stale > 0 && stale * 2 >= steps.size()) {
+            int dropped = Math.min(stale, steps.size() - 1);
+            steps.subList(0, dropped).clear();
+            firstIndex += dropped;
+        }
+    }
+
+    /**
+     * Computes the step at {@code index} from the step at the previous bar.
+     */
+    private Step process(int index) {
+        final Step previousStep = steps.isEmpty() ? null : steps.getLast();
+        final WyckoffStructureTracker.StructureSnapshot structure = structureTracker.computeSnapshot(index,
+                previousStep == null ? WyckoffStructureTracker.StructureSnapshot.empty() : previousStep.structure());
+
+        // The extremes of the bars before this one
+        final Bar bar = series.getBar(index);
+        final Num previousLowestLow = previousStep == null ? NaN : previousStep.lowestLow();
+        final Num previousHighestHigh = previousStep == null ? NaN : previousStep.highestHigh();
+        final boolean newLow = isNewExtreme(bar.getLowPrice(), previousLowestLow, true);
+        final boolean newHigh = isNewExtreme(bar.getHighPrice(), previousHighestHigh, false);
+        final Num lowestLow = newLow ? bar.getLowPrice() : previousLowestLow;
+        final Num highestHigh = newHigh ? bar.getHighPrice() : previousHighestHigh;
+
+        if (index < startIndex + unstableBars) {
+            return new Step(index, WyckoffPhase.UNKNOWN,
+                    Collections.unmodifiableSet(EnumSet.noneOf(WyckoffEvent.class)), structure,
+                    WyckoffVolumeProfile.VolumeSnapshot.empty(), -1, lowestLow, highestHigh);
+        }
+        final WyckoffVolumeProfile.VolumeSnapshot volume = volumeProfile.snapshot(index);
+        final WyckoffPhase previous = previousStep == null ? WyckoffPhase.UNKNOWN : previousStep.phase();
+        final WyckoffPhase previousDecayed = previous.withConfidence(Math.max(0.0, previous.confidence() * 0.95));
+        final EnumSet<WyckoffEvent> events = eventDetector.detect(index, structure, volume, previous, i -> newLow,
+                i -> newHigh);
+        final WyckoffPhase next = transition(previousDecayed, events);
+
+        final int previousTransitionIndex = previousStep == null ? -1 : previousStep.lastTransitionIndex();
+        final int transitionIndex = hasPhaseChanged(previous, next) ? index : previousTransitionIndex;
+        return new Step(index, events.isEmpty() ? next : next.withLatestEventIndex(index),
+                Collections.unmodifiableSet(events), structure, volume, transitionIndex, lowestLow, highestHigh);
+    }
+
+    /**
+     * Returns whether a price beyond the running extreme.
+     */
+    private static boolean isNewExtreme(Num price, Num extreme, boolean low) {
+        if (isInvalid(price)) {
+            return false;
+        }
+        if (isInvalid(extreme)) {
+            return true;
+        }
+        return low ? price.isLessThan(extreme) : price.isGreaterThan(extreme);
+    }
+
+    /**
+     * Returns whether it has phase changed.
+     */
+    private static boolean hasPhaseChanged(WyckoffPhase previous, WyckoffPhase next) {
+        return previous.cycleType() != next.cycleType() || previous.phaseType() != next.phaseType();
+    }
+
+    /**
+     * Implements transition.
+     */
+    private static WyckoffPhase transition(WyckoffPhase previous, EnumSet<WyckoffEvent> events) {
+        WyckoffCycleType cycle = previous.cycleType();
+        WyckoffPhaseType phase = previous.phaseType();
+        double confidence = previous.confidence();
+        boolean transitionedToDistributionPhaseC = false;
+
+        if (events.contains(WyckoffEvent.SELLING_CLIMAX)) {
+            cycle = WyckoffCycleType.ACCUMULATION;
+            phase = WyckoffPhaseType.PHASE_A;
+            confidence = Math.max(confidence, 0.4);
+        }
+        if (events.contains(WyckoffEvent.AUTOMATIC_RALLY) || events.contains(WyckoffEvent.SECONDARY_TEST)) {
+            if (cycle == WyckoffCycleType.ACCUMULATION && phase.ordinal() <= WyckoffPhaseType.PHASE_B.ordinal()) {
+                phase = WyckoffPhaseType.PHASE_B;
+                confidence = Math.max(confidence, 0.55);
+            }
+        }
+        if (events.contains(WyckoffEvent.SPRING) || events.contains(WyckoffEvent.LAST_POINT_OF_SUPPORT)) {
+            if (cycle == WyckoffCycleType.ACCUMULATION && phase.ordinal() <= WyckoffPhaseType.PHASE_C.ordinal()) {
+                phase = WyckoffPhaseType.PHASE_C;
+                confidence = Math.max(confidence, 0.7);
+            }
+        }
+        if (events.contains(WyckoffEvent.SIGN_OF_STRENGTH)) {
+            if (cycle == WyckoffCycleType.ACCUMULATION && phase.ordinal() <= WyckoffPhaseType.PHASE_D.ordinal()) {
+                phase = WyckoffPhaseType.PHASE_D;
+                confidence = Math.max(confidence, 0.85);
+            }
+        }
+        if (events.contains(WyckoffEvent.RANGE_BREAKOUT)) {
+            if (cycle == WyckoffCycleType.ACCUMULATION && phase.ordinal() <= WyckoffPhaseType.PHASE_E.ordinal()) {
+                phase = WyckoffPhaseType.PHASE_E;
+                confidence = Math.max(confidence, 0.95);
+            }
+        }
+        if (events.contains(WyckoffEvent.BUYING_CLIMAX)) {
+            cycle = WyckoffCycleType.DISTRIBUTION;
+            phase = WyckoffPhaseType.PHASE_A;
+            confidence = Math.max(confidence, 0.4);
+        }
+        if (events.contains(WyckoffEvent.UPTHRUST) || events.contains(WyckoffEvent.SECONDARY_TEST)) {
+            if (cycle == WyckoffCycleType.DISTRIBUTION && phase.ordinal() <= WyckoffPhaseType.PHASE_B.ordinal()) {
+                phase = WyckoffPhaseType.PHASE_B;
+                confidence = Math.max(confidence, 0.55);
+            }
+        }
+        if (events.contains(WyckoffEvent.UPTHRUST_AFTER_DISTRIBUTION)
+                || events.contains(WyckoffEvent.LAST_POINT_OF_SUPPLY)) {
+            if (cycle == WyckoffCycleType.DISTRIBUTION && phase.ordinal() <= WyckoffPhaseType.PHASE_C.ordinal()) {
+                transitionedToDistributionPhaseC = phase.ordinal() < WyckoffPhaseType.PHASE_C.ordinal();
+                phase = WyckoffPhaseType.PHASE_C;
+                confidence = Math.max(confidence, 0.7);
+            }
+        }
+        if (events.contains(WyckoffEvent.RANGE_BREAKDOWN)) {
+            if (cycle == WyckoffCycleType.DISTRIBUTION && phase.ordinal() <= WyckoffPhaseType.PHASE_E.ordinal()) {
+                phase = WyckoffPhaseType.PHASE_E;
+                confidence = Math.max(confidence, 0.95);
+            }
+        }
+        if (events.contains(WyckoffEvent.LAST_POINT_OF_SUPPLY) && cycle == WyckoffCycleType.DISTRIBUTION
+                && !transitionedToDistributionPhaseC && phase.ordinal() <= WyckoffPhaseType.PHASE_D.ordinal()) {
+            phase = WyckoffPhaseType.PHASE_D;
+            confidence = Math.max(confidence, 0.85);
+        }
+        if (confidence < 0.15) {
+            cycle = WyckoffCycleType.UNKNOWN;
+            phase = WyckoffPhaseType.PHASE_A;
+        }
+        return new WyckoffPhase(cycle, phase, Math.min(confidence, 1.0), previous.latestEventIndex());
+    }
+
+    /**
+     * Validates and returns at least.
+     */
+    private static int requireAtLeast(String parameterName, int value, int minimum) {
+        if (value < minimum) {
+            throw new IllegalArgumentException(parameterName + " must be greater than or equal to " + minimum);
+        }
+        return value;
+    }
+
+    /**
+     * Validates and returns non negative finite.
+     */
+    private static Num requireNonNegativeFinite(String parameterName, Num value) {
+        Num safeValue = Objects.requireNonNull(value, parameterName);
+        if (Num.isNaNOrNull(safeValue) || safeValue.isNegative()) {
+            throw new IllegalArgumentException(parameterName + " must be finite and >= 0");
+        }
+        return safeValue;
+    }
+
+    /**
+     * The outcome of one bar.
+     *
+     * @param index               bar index
+     * @param phase               inferred phase
+     * @param events              events observed on the bar
+     * @param structure           trading-range structure
+     * @param volume              relative volume (empty during the unstable bars)
+     * @param lastTransitionIndex index of the last phase transition up to the bar,
+     *                            or {@code -1} if none
+     * @param lowestLow           lowest low price processed up to the bar
+     * @param highestHigh         highest high price processed up to the bar
+     * @since 0.22.5
+     */
+    public record Step(int index, WyckoffPhase phase, Set<WyckoffEvent> events,
+            WyckoffStructureTracker.StructureSnapshot structure, WyckoffVolumeProfile.VolumeSnapshot volume,
+            int lastTransitionIndex, Num lowestLow, Num highestHigh) {
+
+        /**
+         * @return whether the cycle or the phase changed on this bar
+         */
+        public boolean isPhaseTransition() {
+            return lastTransitionIndex == index;
+        }
+    }
+
+    /**
+     * The index, end time, prices, volume and trade count of a bar, to tell when
+     * the last bar processed has changed in place. Bars are compared by value, as
+     * some series hand out a new view of a bar on each access.
+     */
+    private record BarState(int index, Instant endTime, Num openPrice, Num highPrice, Num lowPrice, Num closePrice,
+            Num volume, long trades) {
+
+        private static BarState of(int index, Bar bar) {
+            return new BarState(index, bar.getEndTime(), bar.getOpenPrice(), bar.getHighPrice(), bar.getLowPrice(),
+                    bar.getClosePrice(), bar.getVolume(), bar.getTrades());
+        }
+
+        private boolean matches(int otherIndex, Bar other) {
+            return index == otherIndex && Objects.equals(endTime, other.getEndTime())
+                    && Objects.equals(openPrice, other.getOpenPrice())
+                    && Objects.equals(highPrice, other.getHighPrice()) && Objects.equals(lowPrice, other.getLowPrice())
+                    && Objects.equals(closePrice, other.getClosePrice()) && Objects.equals(volume, other.getVolume())
+                    && trades == other.getTrades();
+        }
+    }
+}
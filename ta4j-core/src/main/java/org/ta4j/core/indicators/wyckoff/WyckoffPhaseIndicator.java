@@ -3,10 +3,8 @@
  */
 package org.ta4j.core.indicators.wyckoff;
 
-import java.util.EnumSet;
-import java.util.Map;
+import static org.ta4j.core.num.NaN.NaN;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.indicators.CachedIndicator;
@@ -23,6 +21,10 @@ import org.ta4j.core.num.NumFactory;
  * This indicator is the underlying building block used by the facade and
  * remains available for advanced customization.
  *
+ * <p>
+ * The phases are computed by a {@link WyckoffPhaseEngine}, which processes each
+ * bar once, in order; this indicator is a view over its steps.
+ *
  * @since 0.22.3
  */
 public final class WyckoffPhaseIndicator extends CachedIndicator<WyckoffPhase> {
@@ -37,12 +39,7 @@ public final class WyckoffPhaseIndicator extends CachedIndicator<WyckoffPhase> {
     private final Num climaxThreshold;
     private final Num dryUpThreshold;
 
-    private final transient WyckoffStructureTracker structureTracker;
-    private final transient WyckoffVolumeProfile volumeProfile;
-    private final transient WyckoffEventDetector eventDetector;
-
-    private final transient Map<Integer, WyckoffStructureTracker.StructureSnapshot> structureSnapshots;
-    private final transient Map<Integer, Integer> lastTransitionIndices;
+    private final transient WyckoffPhaseEngine engine;
 
     /**
      * Creates a Wyckoff phase indicator with default configuration.
@@ -74,35 +71,19 @@ public final class WyckoffPhaseIndicator extends CachedIndicator<WyckoffPhase> {
             int allowedEqualSwingBars, int volumeShortWindow, int volumeLongWindow, Num breakoutTolerance,
             Num retestTolerance, Num climaxThreshold, Num dryUpThreshold) {
         super(Objects.requireNonNull(series, "series"));
-        int safePrecedingSwingBars = requireAtLeast("precedingSwingBars", precedingSwingBars, 1);
-        int safeFollowingSwingBars = requireAtLeast("followingSwingBars", followingSwingBars, 0);
-        int safeAllowedEqualSwingBars = requireAtLeast("allowedEqualSwingBars", allowedEqualSwingBars, 0);
-        int safeVolumeShortWindow = requireAtLeast("volumeShortWindow", volumeShortWindow, 1);
-        if (volumeLongWindow < safeVolumeShortWindow) {
-            throw new IllegalArgumentException("volumeLongWindow must be greater than or equal to volumeShortWindow");
-        }
-        int safeVolumeLongWindow = volumeLongWindow;
-        Num safeBreakoutTolerance = requireNonNegativeFinite("breakoutTolerance", breakoutTolerance);
-        Num safeRetestTolerance = requireNonNegativeFinite("retestTolerance", retestTolerance);
-        Num safeClimaxThreshold = requireNonNegativeFinite("climaxThreshold", climaxThreshold);
-        Num safeDryUpThreshold = requireNonNegativeFinite("dryUpThreshold", dryUpThreshold);
-
-        this.precedingSwingBars = safePrecedingSwingBars;
-        this.followingSwingBars = safeFollowingSwingBars;
-        this.allowedEqualSwingBars = safeAllowedEqualSwingBars;
-        this.volumeShortWindow = safeVolumeShortWindow;
-        this.volumeLongWindow = safeVolumeLongWindow;
-        this.breakoutTolerance = safeBreakoutTolerance;
-        this.retestTolerance = safeRetestTolerance;
-        this.climaxThreshold = safeClimaxThreshold;
-        this.dryUpThreshold = safeDryUpThreshold;
-        this.structureTracker = new WyckoffStructureTracker(series, safePrecedingSwingBars, safeFollowingSwingBars,
-                safeAllowedEqualSwingBars, this.breakoutTolerance);
-        this.volumeProfile = new WyckoffVolumeProfile(series, safeVolumeShortWindow, safeVolumeLongWindow,
-                this.climaxThreshold, this.dryUpThreshold);
-        this.eventDetector = new WyckoffEventDetector(series, this.retestTolerance);
-        this.structureSnapshots = new ConcurrentHashMap<>();
-        this.lastTransitionIndices = new ConcurrentHashMap<>();
+        this.precedingSwingBars = precedingSwingBars;
+        this.followingSwingBars = followingSwingBars;
+        this.allowedEqualSwingBars = allowedEqualSwingBars;
+        this.volumeShortWindow = volumeShortWindow;
+        this.volumeLongWindow = volumeLongWindow;
+        this.breakoutTolerance = breakoutTolerance;
+        this.retestTolerance = retestTolerance;
+        this.climaxThreshold = climaxThreshold;
+        this.dryUpThreshold = dryUpThreshold;
+        // Validates the configuration
+        this.engine = new WyckoffPhaseEngine(series, precedingSwingBars, followingSwingBars, allowedEqualSwingBars,
+                volumeShortWindow, volumeLongWindow, breakoutTolerance, retestTolerance, climaxThreshold,
+                dryUpThreshold);
     }
 
     /**
@@ -121,115 +102,27 @@ public final class WyckoffPhaseIndicator extends CachedIndicator<WyckoffPhase> {
      */
     @Override
     protected WyckoffPhase calculate(int index) {
-        if (index < getBarSeries().getBeginIndex() + getCountOfUnstableBars()) {
-            return WyckoffPhase.UNKNOWN;
-        }
-        final WyckoffStructureTracker.StructureSnapshot structure = structureTracker.snapshot(index);
-        final WyckoffVolumeProfile.VolumeSnapshot volume = volumeProfile.snapshot(index);
-        structureSnapshots.put(index, structure);
-
-        final WyckoffPhase previous = index > getBarSeries().getBeginIndex() ? getValue(index - 1)
-                : WyckoffPhase.UNKNOWN;
-        final WyckoffPhase previousDecayed = previous.withConfidence(Math.max(0.0, previous.confidence() * 0.95));
-        final EnumSet<WyckoffEvent> events = eventDetector.detect(index, structure, volume, previous);
-        final WyckoffPhase next = transition(previousDecayed, events);
-
-        final int previousTransitionIndex = index > getBarSeries().getBeginIndex()
-                ? getLastPhaseTransitionIndex(index - 1)
-                : -1;
-        final int currentTransitionIndex = hasPhaseChanged(previous, next) ? index : previousTransitionIndex;
-        lastTransitionIndices.put(index, currentTransitionIndex);
-        return events.isEmpty() ? next : next.withLatestEventIndex(index);
+        final WyckoffPhaseEngine.Step step = engine.step(index);
+        return step == null ? WyckoffPhase.UNKNOWN : step.phase();
     }
 
     /**
-     * Returns whether it has phase changed.
-     */
-    private boolean hasPhaseChanged(WyckoffPhase previous, WyckoffPhase next) {
-        return previous.cycleType() != next.cycleType() || previous.phaseType() != next.phaseType();
-    }
-
-    /**
-     * Implements transition.
+     * Returns the number of unstable bars required before values become reliable.
      */
-    private WyckoffPhase transition(WyckoffPhase previous, EnumSet<WyckoffEvent> events) {
-        WyckoffCycleType cycle = previous.cycleType();
-        WyckoffPhaseType phase = previous.phaseType();
-        double confidence = previous.confidence();
-        boolean transitionedToDistributionPhaseC = false;
-
-        if (events.contains(WyckoffEvent.SELLING_CLIMAX)) {
-            cycle = WyckoffCycleType.ACCUMULATION;
-            phase = WyckoffPhaseType.PHASE_A;
-            confidence = Math.max(confidence, 0.4);
-        }
-        if (events.contains(WyckoffEvent.AUTOMATIC_RALLY) || events.contains(WyckoffEvent.SECONDARY_TEST)) {
-            if (cycle == WyckoffCycleType.ACCUMULATION && phase.ordinal() <= WyckoffPhaseType.PHASE_B.ordinal()) {
-                phase = WyckoffPhaseType.PHASE_B;
-                confidence = Math.max(confidence, 0.55);
-            }
-        }
-        if (events.contains(WyckoffEvent.SPRING) || events.contains(WyckoffEvent.LAST_POINT_OF_SUPPORT)) {
-            if (cycle == WyckoffCycleType.ACCUMULATION && phase.ordinal() <= WyckoffPhaseType.PHASE_C.ordinal()) {
-                phase = WyckoffPhaseType.PHASE_C;
-                confidence = Math.max(confidence, 0.7);
-            }
-        }
-        if (events.contains(WyckoffEvent.SIGN_OF_STRENGTH)) {
-            if (cycle == WyckoffCycleType.ACCUMULATION && phase.ordinal() <= WyckoffPhaseType.PHASE_D.ordinal()) {
-                phase = WyckoffPhaseType.PHASE_D;
-                confidence = Math.max(confidence, 0.85);
-            }
-        }
-        if (events.contains(WyckoffEvent.RANGE_BREAKOUT)) {
-            if (cycle == WyckoffCycleType.ACCUMULATION && phase.ordinal() <= WyckoffPhaseType.PHASE_E.ordinal()) {
-                phase = WyckoffPhaseType.PHASE_E;
-                confidence = Math.max(confidence, 0.95);
-            }
-        }
-        if (events.contains(WyckoffEvent.BUYING_CLIMAX)) {
-            cycle = WyckoffCycleType.DISTRIBUTION;
-            phase = WyckoffPhaseType.PHASE_A;
-            confidence = Math.max(confidence, 0.4);
-        }
-        if (events.contains(WyckoffEvent.UPTHRUST) || events.contains(WyckoffEvent.SECONDARY_TEST)) {
-            if (cycle == WyckoffCycleType.DISTRIBUTION && phase.ordinal() <= WyckoffPhaseType.PHASE_B.ordinal()) {
-                phase = WyckoffPhaseType.PHASE_B;
-                confidence = Math.max(confidence, 0.55);
-            }
-        }
-        if (events.contains(WyckoffEvent.UPTHRUST_AFTER_DISTRIBUTION)
-                || events.contains(WyckoffEvent.LAST_POINT_OF_SUPPLY)) {
-            if (cycle == WyckoffCycleType.DISTRIBUTION && phase.ordinal() <= WyckoffPhaseType.PHASE_C.ordinal()) {
-                transitionedToDistributionPhaseC = phase.ordinal() < WyckoffPhaseType.PHASE_C.ordinal();
-                phase = WyckoffPhaseType.PHASE_C;
-                confidence = Math.max(confidence, 0.7);
-            }
-        }
-        if (events.contains(WyckoffEvent.RANGE_BREAKDOWN)) {
-            if (cycle == WyckoffCycleType.DISTRIBUTION && phase.ordinal() <= WyckoffPhaseType.PHASE_E.ordinal()) {
-                phase = WyckoffPhaseType.PHASE_E;
-                confidence = Math.max(confidence, 0.95);
-            }
-        }
-        if (events.contains(WyckoffEvent.LAST_POINT_OF_SUPPLY) && cycle == WyckoffCycleType.DISTRIBUTION
-                && !transitionedToDistributionPhaseC && phase.ordinal() <= WyckoffPhaseType.PHASE_D.ordinal()) {
-            phase = WyckoffPhaseType.PHASE_D;
-            confidence = Math.max(confidence, 0.85);
-        }
-        if (confidence < 0.15) {
-            cycle = WyckoffCycleType.UNKNOWN;
-            phase = WyckoffPhaseType.PHASE_A;
-        }
-        return new WyckoffPhase(cycle, phase, Math.min(confidence, 1.0), previous.latestEventIndex());
+    @Override
+    public int getCountOfUnstableBars() {
+        return engine.getCountOfUnstableBars();
     }
 
     /**
-     * Returns the number of unstable bars required before values become reliable.
+     * Returns the engine computing the phases, for push-based consumption of new
+     * bars.
+     *
+     * @return the Wyckoff phase engine
+     * @since 0.22.5
      */
-    @Override
-    public int getCountOfUnstableBars() {
-        return computeUnstableBars(precedingSwingBars, followingSwingBars, volumeLongWindow);
+    public WyckoffPhaseEngine getEngine() {
+        return engine;
     }
 
     /**
@@ -240,7 +133,8 @@ public final class WyckoffPhaseIndicator extends CachedIndicator<WyckoffPhase> {
      * @since 0.22.3
      */
     public Num getTradingRangeHigh(int index) {
-        return ensureStructureSnapshot(index).rangeHigh();
+        final WyckoffPhaseEngine.Step step = engine.step(index);
+        return step == null ? NaN : step.structure().rangeHigh();
     }
 
     /**
@@ -251,7 +145,8 @@ public final class WyckoffPhaseIndicator extends CachedIndicator<WyckoffPhase> {
      * @since 0.22.3
      */
     public Num getTradingRangeLow(int index) {
-        return ensureStructureSnapshot(index).rangeLow();
+        final WyckoffPhaseEngine.Step step = engine.step(index);
+        return step == null ? NaN : step.structure().rangeLow();
     }
 
     /**
@@ -263,58 +158,8 @@ public final class WyckoffPhaseIndicator extends CachedIndicator<WyckoffPhase> {
      * @since 0.22.3
      */
     public int getLastPhaseTransitionIndex(int index) {
-        final Integer transition = lastTransitionIndices.get(index);
-        if (transition != null) {
-            return transition;
-        }
-        int begin = getBarSeries().getBeginIndex();
-        for (int i = index - 1; i >= begin; i--) {
-            Integer priorTransition = lastTransitionIndices.get(i);
-            if (priorTransition != null) {
-                return priorTransition;
-            }
-        }
-        return -1;
-    }
-
-    /**
-     * Ensures structure snapshot.
-     */
-    private WyckoffStructureTracker.StructureSnapshot ensureStructureSnapshot(int index) {
-        WyckoffStructureTracker.StructureSnapshot snapshot = structureSnapshots.get(index);
-        if (snapshot == null) {
-            snapshot = structureTracker.snapshot(index);
-            structureSnapshots.put(index, snapshot);
-        }
-        return snapshot;
-    }
-
-    /**
-     * Validates and returns at least.
-     */
-    private static int requireAtLeast(String parameterName, int value, int minimum) {
-        if (value < minimum) {
-            throw new IllegalArgumentException(parameterName + " must be greater than or equal to " + minimum);
-        }
-        return value;
-    }
-
-    /**
-     * Validates and returns non negative finite.
-     */
-    private static Num requireNonNegativeFinite(String parameterName, Num value) {
-        Num safeValue = Objects.requireNonNull(value, parameterName);
-        if (Num.isNaNOrNull(safeValue) || safeValue.isNegative()) {
-            throw new IllegalArgumentException(parameterName + " must be finite and >= 0");
-        }
-        return safeValue;
-    }
-
-    /**
-     * Computes unstable bars.
-     */
-    private static int computeUnstableBars(int precedingSwingBars, int followingSwingBars, int volumeLongWindow) {
-        return Math.max(precedingSwingBars + followingSwingBars, Math.max(0, volumeLongWindow - 1));
+        final WyckoffPhaseEngine.Step step = engine.step(index);
+        return step == null ? -1 : step.lastTransitionIndex();
     }
 
     /**
@@ -102,9 +102,15 @@ public final class WyckoffStructureTracker {
     }
 
     /**
-     * Computes snapshot.
+     * Computes the snapshot at {@code index} from the snapshot of the previous bar,
+     * in constant time.
+     *
+     * @param index    the bar index, within the series
+     * @param previous the snapshot at {@code index - 1}, or an empty snapshot for
+     *                 the first bar
+     * @return the snapshot at {@code index}
      */
-    private StructureSnapshot computeSnapshot(int index, StructureSnapshot previous) {
+    StructureSnapshot computeSnapshot(int index, StructureSnapshot previous) {
         final Num close = closePriceIndicator.getValue(index);
         if (isInvalid(close)) {
             return StructureSnapshot.empty();
@@ -161,7 +167,7 @@ public final class WyckoffStructureTracker {
         /**
          * Implements empty.
          */
-        private static StructureSnapshot empty() {
+        static StructureSnapshot empty() {
             return new StructureSnapshot(NaN, NaN, -1, -1, NaN, false, false, false);
         }
     }
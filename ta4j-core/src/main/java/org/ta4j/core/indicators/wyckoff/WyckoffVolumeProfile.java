@@ -95,7 +95,7 @@ public final class WyckoffVolumeProfile {
         /**
          * Implements empty.
          */
-        private static VolumeSnapshot empty() {
+        static VolumeSnapshot empty() {
             return new VolumeSnapshot(NaN, NaN, false, false);
         }
     }
@@ -18,6 +18,8 @@
  * one-shot analysis that returns a
  * {@link org.ta4j.core.indicators.wyckoff.WyckoffCycleAnalysisResult} snapshot,
  * optionally across multiple degrees/configurations.</li>
+ * <li>{@link org.ta4j.core.indicators.wyckoff.WyckoffPhaseEngine}: push-based
+ * processing of live bars, one at a time.</li>
  * </ul>
  *
  * @see <a href=
@@ -71,6 +71,18 @@ public class DoubleNum implements Num {
         return valueOf(val.toString());
     }
 
+    /**
+     * Returns a {@code Num} version of the given {@code double}.
+     *
+     * @param val the number
+     * @return the {@code Num}
+     *
+     * @since 0.22.5
+     */
+    public static DoubleNum valueOf(final double val) {
+        return new DoubleNum(val);
+    }
+
     /**
      * Returns a {@code Num} version of the given {@code int}.
      *
@@ -3,9 +3,13 @@
  */
 package org.ta4j.core.reports;
 
+import java.util.List;
+
+import org.ta4j.core.AnalysisCriterion;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Strategy;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.criteria.CriterionSuite;
 import org.ta4j.core.criteria.pnl.NetLossCriterion;
 import org.ta4j.core.criteria.pnl.NetProfitCriterion;
 import org.ta4j.core.criteria.pnl.NetProfitLossCriterion;
@@ -20,10 +24,23 @@ public class PerformanceReportGenerator implements ReportGenerator<BasePerforman
 
     @Override
     public BasePerformanceReport generate(Strategy strategy, TradingRecord tradingRecord, BarSeries series) {
-        final Num pnl = new NetProfitLossCriterion().calculate(series, tradingRecord);
-        final Num pnlPercentage = new NetProfitLossPercentageCriterion().calculate(series, tradingRecord);
-        final Num netProfit = new NetProfitCriterion().calculate(series, tradingRecord);
-        final Num netLoss = new NetLossCriterion().calculate(series, tradingRecord);
-        return new BasePerformanceReport(pnl, pnlPercentage, netProfit, netLoss);
+        return report(new CriterionSuite(criteria()).calculate(series, tradingRecord));
+    }
+
+    /**
+     * @return the criteria of the report, in the order expected by
+     *         {@link #report(List)}
+     */
+    static List<AnalysisCriterion> criteria() {
+        return List.of(new NetProfitLossCriterion(), new NetProfitLossPercentageCriterion(), new NetProfitCriterion(),
+                new NetLossCriterion());
+    }
+
+    /**
+     * @param values the values of {@link #criteria()}
+     * @return the report
+     */
+    static BasePerformanceReport report(List<Num> values) {
+        return new BasePerformanceReport(values.get(0), values.get(1), values.get(2), values.get(3));
     }
 }
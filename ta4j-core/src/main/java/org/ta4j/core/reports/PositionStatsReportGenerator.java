@@ -3,9 +3,13 @@
  */
 package org.ta4j.core.reports;
 
+import java.util.List;
+
+import org.ta4j.core.AnalysisCriterion;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Strategy;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.criteria.CriterionSuite;
 import org.ta4j.core.criteria.NumberOfBreakEvenPositionsCriterion;
 import org.ta4j.core.criteria.NumberOfLosingPositionsCriterion;
 import org.ta4j.core.criteria.NumberOfWinningPositionsCriterion;
@@ -19,9 +23,23 @@ public class PositionStatsReportGenerator implements ReportGenerator<PositionSta
 
     @Override
     public PositionStatsReport generate(Strategy strategy, TradingRecord tradingRecord, BarSeries series) {
-        final Num winningPositions = new NumberOfWinningPositionsCriterion().calculate(series, tradingRecord);
-        final Num losingPositions = new NumberOfLosingPositionsCriterion().calculate(series, tradingRecord);
-        final Num breakEvenPositions = new NumberOfBreakEvenPositionsCriterion().calculate(series, tradingRecord);
-        return new PositionStatsReport(winningPositions, losingPositions, breakEvenPositions);
+        return report(new CriterionSuite(criteria()).calculate(series, tradingRecord));
+    }
+
+    /**
+     * @return the criteria of the report, in the order expected by
+     *         {@link #report(List)}
+     */
+    static List<AnalysisCriterion> criteria() {
+        return List.of(new NumberOfWinningPositionsCriterion(), new NumberOfLosingPositionsCriterion(),
+                new NumberOfBreakEvenPositionsCriterion());
+    }
+
+    /**
+     * @param values the values of {@link #criteria()}
+     * @return the report
+     */
+    static PositionStatsReport report(List<Num> values) {
+        return new PositionStatsReport(values.get(0), values.get(1), values.get(2));
     }
 }
@@ -3,9 +3,15 @@
  */
 package org.ta4j.core.reports;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.ta4j.core.AnalysisCriterion;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Strategy;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.criteria.CriterionSuite;
+import org.ta4j.core.num.Num;
 
 /**
  * Generates a {@link BaseTradingStatement} based on the provided trading record
@@ -33,6 +39,17 @@ public record TradingStatementGenerator(PerformanceReportGenerator performanceRe
 
     @Override
     public TradingStatement generate(Strategy strategy, TradingRecord tradingRecord, BarSeries series) {
+        if (performanceReportGenerator.getClass() == PerformanceReportGenerator.class
+                && positionStatsReportGenerator.getClass() == PositionStatsReportGenerator.class) {
+            // Default generators: compute both reports in a single pass over the positions
+            List<AnalysisCriterion> criteria = new ArrayList<>(PerformanceReportGenerator.criteria());
+            int performanceCount = criteria.size();
+            criteria.addAll(PositionStatsReportGenerator.criteria());
+            List<Num> values = new CriterionSuite(criteria).calculate(series, tradingRecord);
+            return new BaseTradingStatement(strategy, tradingRecord,
+                    PositionStatsReportGenerator.report(values.subList(performanceCount, values.size())),
+                    PerformanceReportGenerator.report(values.subList(0, performanceCount)));
+        }
         final BasePerformanceReport performanceReport = performanceReportGenerator.generate(strategy, tradingRecord,
                 series);
         final PositionStatsReport positionStatsReport = positionStatsReportGenerator.generate(strategy, tradingRecord,
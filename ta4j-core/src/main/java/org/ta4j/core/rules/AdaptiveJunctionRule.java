@@ -0,0 +1,112 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.rules;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.ta4j.core.Rule;
+import org.ta4j.core.TradingRecord;
+
+/**
+ * An AND or OR combination of cacheable rules that evaluates its operands in
+ * the order that short-circuits the cheapest.
+ *
+ * <p>
+ * The operands cannot depend on the trading record nor keep state (see
+ * {@link CachedRule#isCacheable(Rule)}), so the order does not change the
+ * result. One evaluation in {@value #SAMPLE_PERIOD} is timed; every
+ * {@value #REORDER_PERIOD} evaluations, the operands are sorted by their mean
+ * cost divided by the rate at which they decide the result (false for AND, true
+ * for OR), which is the optimal order for independent operands; operands that
+ * never decide go last, cheapest first. Operands never reached while sampling
+ * are tried first, so that they get measured.
+ *
+ * <p>
+ * Statistics are updated without synchronization: concurrent evaluations may
+ * lose samples, which only delays reordering.
+ */
+final class AdaptiveJunctionRule extends AbstractRule {
+
+    static final int SAMPLE_PERIOD = 16;
+    static final int REORDER_PERIOD = 1024;
+
+    private final boolean conjunction;
+    private final Rule[] operands;
+    private final long[] nanos;
+    private final long[] samples;
+    private final long[] decisions;
+    private volatile int[] order;
+    private int evaluations;
+
+    /**
+     * @param conjunction true for AND, false for OR
+     * @param operands    the cacheable operands, in their initial order
+     */
+    AdaptiveJunctionRule(boolean conjunction, List<Rule> operands) {
+        this.conjunction = conjunction;
+        this.operands = operands.toArray(Rule[]::new);
+        this.nanos = new long[this.operands.length];
+        this.samples = new long[this.operands.length];
+        this.decisions = new long[this.operands.length];
+        this.order = IntStream.range(0, this.operands.length).toArray();
+        setName(createCompositeName(conjunction ? "AndRule" : "OrRule", this.operands));
+    }
+
+    @Override
+    public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+        int evaluation = ++evaluations;
+        boolean sampled = evaluation % SAMPLE_PERIOD == 0;
+        // AND is decided by the first false operand, OR by the first true one
+        boolean satisfied = conjunction;
+        for (int operand : order) {
+            boolean value;
+            if (sampled) {
+                long start = System.nanoTime();
+                value = operands[operand].isSatisfied(index, tradingRecord);
+                nanos[operand] += System.nanoTime() - start;
+                samples[operand]++;
+                if (value != conjunction) {
+                    decisions[operand]++;
+                }
+            } else {
+                value = operands[operand].isSatisfied(index, tradingRecord);
+            }
+            if (value != conjunction) {
+                satisfied = value;
+                break;
+            }
+        }
+        if (evaluation % REORDER_PERIOD == 0) {
+            reorder();
+        }
+        traceIsSatisfied(index, satisfied);
+        return satisfied;
+    }
+
+    private synchronized void reorder() {
+        double[] costPerDecision = new double[operands.length];
+        double[] cost = new double[operands.length];
+        for (int i = 0; i < operands.length; i++) {
+            if (samples[i] == 0) {
+                continue;
+            }
+            costPerDecision[i] = decisions[i] == 0 ? Double.POSITIVE_INFINITY : nanos[i] / (double) decisions[i];
+            cost[i] = nanos[i] / (double) samples[i];
+        }
+        Integer[] sorted = Arrays.stream(order).boxed().toArray(Integer[]::new);
+        Arrays.sort(sorted, Comparator.<Integer>comparingDouble(operand -> costPerDecision[operand])
+                .thenComparingDouble(operand -> cost[operand]));
+        order = Arrays.stream(sorted).mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @return the operands, in their current evaluation order
+     */
+    List<Rule> getOperands() {
+        return Arrays.stream(order).mapToObj(operand -> operands[operand]).toList();
+    }
+}
@@ -85,4 +85,12 @@ public class AndWithThresholdRule extends AbstractRule {
     public Rule getRule2() {
         return rule2;
     }
+
+    /**
+     * @return the number of bars within which both rules must be satisfied
+     * @since 0.22.5
+     */
+    public int getThreshold() {
+        return threshold;
+    }
 }
@@ -0,0 +1,227 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.rules;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Rule;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.rules.helper.ChainLink;
+
+/**
+ * Memoizes the results of a rule that does not depend on the trading record.
+ *
+ * <p>
+ * Each index is evaluated once: the result is kept as two bits (evaluated,
+ * satisfied) per bar. As in {@link org.ta4j.core.indicators.CachedIndicator
+ * CachedIndicator}, the last bar of the series may still change: its result is
+ * kept only while the last bar is the same instance with the same close price
+ * and trade count, and is recomputed otherwise. Results of bars removed by the
+ * maximum bar count and of indexes past the end of the series are not cached.
+ *
+ * <p>
+ * Only rules for which {@link #isCacheable(Rule)} holds can be cached. See
+ * {@link RuleResultCache} to memoize whole rule trees, sharing the cache of
+ * sub-rules used by several trees.
+ *
+ * <p>
+ * This class is thread-safe; concurrent evaluations of the same index may both
+ * compute the result.
+ *
+ * @since 0.22.5
+ */
+public class CachedRule extends AbstractRule {
+
+    /** Rules whose result depends only on the bar index. */
+    private static final Set<Class<? extends Rule>> INDEX_ONLY_RULES = Set.of(BooleanIndicatorRule.class,
+            BooleanRule.class, CrossedDownIndicatorRule.class, CrossedUpIndicatorRule.class, DayOfWeekRule.class,
+            FixedRule.class, HourOfDayRule.class, InPipeRule.class, InSlopeRule.class, IsEqualRule.class,
+            IsFallingRule.class, IsHighestRule.class, IsLowestRule.class, IsRisingRule.class, MinuteOfHourRule.class,
+            MomentumStateRule.class, OverIndicatorRule.class, OverOrEqualIndicatorRule.class, TimeRangeRule.class,
+            UnderIndicatorRule.class, UnderOrEqualIndicatorRule.class);
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /** Bars per word: two bits each. */
+    private static final int BARS_PER_WORD_SHIFT = 5;
+    private static final long EVALUATED = 1L;
+    private static final long SATISFIED = 2L;
+
+    private final BarSeries series;
+    private final Rule rule;
+
+    /** Two bits per bar index; replaced when growing. */
+    private volatile long[] words = new long[0];
+
+    /** The result of the last bar, with the bar state it was computed for. */
+    private volatile LastBarResult lastBarResult;
+
+    private record LastBarResult(int index, Bar bar, long trades, Num closePrice, boolean satisfied) {
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param series the bar series the rule is evaluated on
+     * @param rule   the rule to cache
+     * @throws IllegalArgumentException if the rule may depend on the trading record
+     *                                  or keep state between calls
+     */
+    public CachedRule(BarSeries series, Rule rule) {
+        this.series = Objects.requireNonNull(series, "series");
+        this.rule = Objects.requireNonNull(rule, "rule");
+        if (!isCacheable(rule)) {
+            throw new IllegalArgumentException("Rule may depend on the trading record: " + rule);
+        }
+    }
+
+    /**
+     * Tells whether a rule can be cached, i.e. whether its result depends only on
+     * the bar index. This holds for the indicator, time and fixed rules of ta4j and
+     * for AND, OR, XOR, NOT, threshold, chain and vote combinations of such rules.
+     * Rules reading the trading record (stops, {@link WaitForRule}...) or keeping
+     * state between calls ({@link JustOnceRule}) cannot be cached. Subclasses are
+     * not trusted, as they may override {@link #isSatisfied(int, TradingRecord)}.
+     *
+     * @param rule the rule
+     * @return true if the rule does not depend on the trading record
+     */
+    public static boolean isCacheable(Rule rule) {
+        Class<?> type = rule.getClass();
+        if (INDEX_ONLY_RULES.contains(type) || type == CachedRule.class) {
+            return true;
+        }
+        if (type == AndRule.class) {
+            AndRule and = (AndRule) rule;
+            return isCacheable(and.getRule1()) && isCacheable(and.getRule2());
+        }
+        if (type == OrRule.class) {
+            OrRule or = (OrRule) rule;
+            return isCacheable(or.getRule1()) && isCacheable(or.getRule2());
+        }
+        if (type == XorRule.class) {
+            XorRule xor = (XorRule) rule;
+            return isCacheable(xor.getRule1()) && isCacheable(xor.getRule2());
+        }
+        if (type == NotRule.class) {
+            return isCacheable(((NotRule) rule).getRuleToNegate());
+        }
+        if (type == AndWithThresholdRule.class) {
+            AndWithThresholdRule and = (AndWithThresholdRule) rule;
+            return isCacheable(and.getRule1()) && isCacheable(and.getRule2());
+        }
+        if (type == OrWithThresholdRule.class) {
+            OrWithThresholdRule or = (OrWithThresholdRule) rule;
+            return isCacheable(or.getRule1()) && isCacheable(or.getRule2());
+        }
+        if (type == ChainRule.class) {
+            ChainRule chain = (ChainRule) rule;
+            if (!isCacheable(chain.getInitialRule())) {
+                return false;
+            }
+            for (ChainLink link : chain.getChainLinks()) {
+                if (!isCacheable(link.getRule())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (type == AdaptiveJunctionRule.class) {
+            for (Rule operand : ((AdaptiveJunctionRule) rule).getOperands()) {
+                if (!isCacheable(operand)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (type == VoteRule.class) {
+            for (Rule vote : ((VoteRule) rule).getRules()) {
+                if (!isCacheable(vote)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+        int endIndex = series.getEndIndex();
+        if (index == endIndex) {
+            return isLastBarSatisfied(index, tradingRecord);
+        }
+        if (index > endIndex || index < series.getRemovedBarsCount()) {
+            return rule.isSatisfied(index, tradingRecord);
+        }
+        int word = index >>> BARS_PER_WORD_SHIFT;
+        int shift = (index & ((1 << BARS_PER_WORD_SHIFT) - 1)) << 1;
+        long[] current = words;
+        if (word < current.length) {
+            long bits = (long) WORDS.getAcquire(current, word) >>> shift;
+            if ((bits & EVALUATED) != 0) {
+                return (bits & SATISFIED) != 0;
+            }
+        }
+        boolean satisfied = rule.isSatisfied(index, tradingRecord);
+        store(word, (satisfied ? EVALUATED | SATISFIED : EVALUATED) << shift);
+        traceIsSatisfied(index, satisfied);
+        return satisfied;
+    }
+
+    private boolean isLastBarSatisfied(int index, TradingRecord tradingRecord) {
+        Bar bar = series.getLastBar();
+        long trades = bar.getTrades();
+        Num closePrice = bar.getClosePrice();
+        LastBarResult cached = lastBarResult;
+        if (cached != null && cached.index() == index && cached.bar() == bar && cached.trades() == trades
+                && Objects.equals(cached.closePrice(), closePrice)) {
+            return cached.satisfied();
+        }
+        boolean satisfied = rule.isSatisfied(index, tradingRecord);
+        lastBarResult = new LastBarResult(index, bar, trades, closePrice, satisfied);
+        traceIsSatisfied(index, satisfied);
+        return satisfied;
+    }
+
+    private void store(int word, long mask) {
+        long[] current = words;
+        if (word >= current.length) {
+            current = grow(word);
+        }
+        long previous;
+        do {
+            previous = (long) WORDS.getVolatile(current, word);
+        } while (!WORDS.compareAndSet(current, word, previous, previous | mask));
+        // A store racing with grow() may be lost: the index is then computed again
+    }
+
+    private synchronized long[] grow(int word) {
+        long[] current = words;
+        if (word >= current.length) {
+            current = Arrays.copyOf(current, Math.max(word + 1, current.length * 2));
+            words = current;
+        }
+        return current;
+    }
+
+    /**
+     * @return the cached rule
+     */
+    public Rule getRule() {
+        return rule;
+    }
+
+    @Override
+    protected String createDefaultName() {
+        return rule.getName();
+    }
+}
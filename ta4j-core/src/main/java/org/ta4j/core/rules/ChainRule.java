@@ -4,7 +4,9 @@
 package org.ta4j.core.rules;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
 
 import org.ta4j.core.Rule;
 import org.ta4j.core.TradingRecord;
@@ -72,4 +74,20 @@ public class ChainRule extends AbstractRule {
         traceIsSatisfied(index, true);
         return true;
     }
+
+    /**
+     * @return the rule that has to be satisfied first
+     * @since 0.22.5
+     */
+    public Rule getInitialRule() {
+        return initialRule;
+    }
+
+    /**
+     * @return the chain links, in evaluation order
+     * @since 0.22.5
+     */
+    public List<ChainLink> getChainLinks() {
+        return Collections.unmodifiableList(rulesInChain);
+    }
 }
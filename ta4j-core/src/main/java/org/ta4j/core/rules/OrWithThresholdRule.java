@@ -83,4 +83,12 @@ public class OrWithThresholdRule extends AbstractRule {
     public Rule getRule2() {
         return rule2;
     }
+
+    /**
+     * @return the number of bars within which at least one rule must be satisfied
+     * @since 0.22.5
+     */
+    public int getThreshold() {
+        return threshold;
+    }
 }
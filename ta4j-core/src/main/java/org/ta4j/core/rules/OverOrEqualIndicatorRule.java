@@ -3,6 +3,7 @@
  */
 package org.ta4j.core.rules;
 
+import org.ta4j.core.DoubleIndicator;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.indicators.helpers.ConstantIndicator;
@@ -29,6 +30,9 @@ public class OverOrEqualIndicatorRule extends AbstractRule {
     /** The second indicator. */
     private final Indicator<Num> second;
 
+    /** Whether the indicators are compared on primitive doubles. */
+    private final transient boolean nativeDoubles;
+
     /**
      * Constructor.
      *
@@ -58,12 +62,15 @@ public class OverOrEqualIndicatorRule extends AbstractRule {
     public OverOrEqualIndicatorRule(Indicator<Num> first, Indicator<Num> second) {
         this.first = first;
         this.second = second;
+        this.nativeDoubles = first != null && DoubleIndicator.supportsNativeDoubles(first.getBarSeries());
     }
 
     /** This rule does not use the {@code tradingRecord}. */
     @Override
     public boolean isSatisfied(int index, TradingRecord tradingRecord) {
-        final boolean satisfied = first.getValue(index).isGreaterThanOrEqual(second.getValue(index));
+        final boolean satisfied = nativeDoubles
+                ? DoubleIndicator.valueOf(first, index) >= DoubleIndicator.valueOf(second, index)
+                : first.getValue(index).isGreaterThanOrEqual(second.getValue(index));
         traceIsSatisfied(index, satisfied);
         return satisfied;
     }
@@ -0,0 +1,210 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.rules;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.rules.helper.ChainLink;
+
+/**
+ * Memoizes the rule trees of many strategies over one bar series.
+ *
+ * <p>
+ * {@link #memoize(Rule)} returns an equivalent rule in which every cacheable
+ * sub-rule (see {@link CachedRule#isCacheable(Rule)}) is wrapped in a
+ * {@link CachedRule}, interned by identity: a sub-rule instance shared by the
+ * trees of several strategies is evaluated once per bar for all of them. Nested
+ * cacheable AND and OR rules are flattened into one combination whose operands
+ * are reordered by their measured cost and selectivity, so that the cheapest
+ * deciding operands are evaluated first.
+ *
+ * <p>
+ * Rules that read the trading record or keep state (stops, {@link WaitForRule},
+ * {@link JustOnceRule}, custom rules...) are kept as they are, and AND, OR, XOR
+ * and NOT combinations involving them keep their operand order, as their
+ * short-circuit evaluation is observable. Only their cacheable operands are
+ * memoized.
+ *
+ * <pre>{@code
+ * var cache = new RuleResultCache(series);
+ * List<Strategy> memoized = strategies.stream().map(cache::memoize).toList();
+ * }</pre>
+ *
+ * @since 0.22.5
+ */
+public final class RuleResultCache {
+
+    private final BarSeries series;
+    private final Map<Rule, CachedRule> cachedRules = new IdentityHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param series the bar series the rules are evaluated on
+     */
+    public RuleResultCache(BarSeries series) {
+        this.series = Objects.requireNonNull(series, "series");
+    }
+
+    /**
+     * @return the bar series the rules are evaluated on
+     */
+    public BarSeries getBarSeries() {
+        return series;
+    }
+
+    /**
+     * @return the number of distinct cached rules
+     */
+    public synchronized int size() {
+        return cachedRules.size();
+    }
+
+    /**
+     * Returns a copy of a {@link BaseStrategy} using memoized rules. Other strategy
+     * implementations may evaluate their rules in their own way and are returned
+     * unchanged.
+     *
+     * @param strategy the strategy
+     * @return the memoized strategy
+     */
+    public Strategy memoize(Strategy strategy) {
+        if (strategy.getClass() != BaseStrategy.class) {
+            return strategy;
+        }
+        return new BaseStrategy(strategy.getName(), memoize(strategy.getEntryRule()), memoize(strategy.getExitRule()),
+                strategy.getUnstableBars(), strategy.getStartingType());
+    }
+
+    /**
+     * Returns a rule equivalent to the given one, with its cacheable sub-rules
+     * memoized.
+     *
+     * @param rule the rule
+     * @return the memoized rule, or the rule itself if nothing can be cached
+     */
+    public synchronized Rule memoize(Rule rule) {
+        Objects.requireNonNull(rule, "rule");
+        if (CachedRule.isCacheable(rule)) {
+            return cached(rule);
+        }
+        // Keep the evaluation order around stateful operands
+        Class<?> type = rule.getClass();
+        Rule memoized = rule;
+        if (type == AndRule.class) {
+            AndRule and = (AndRule) rule;
+            Rule rule1 = memoize(and.getRule1());
+            Rule rule2 = memoize(and.getRule2());
+            if (rule1 != and.getRule1() || rule2 != and.getRule2()) {
+                memoized = new AndRule(rule1, rule2);
+            }
+        } else if (type == OrRule.class) {
+            OrRule or = (OrRule) rule;
+            Rule rule1 = memoize(or.getRule1());
+            Rule rule2 = memoize(or.getRule2());
+            if (rule1 != or.getRule1() || rule2 != or.getRule2()) {
+                memoized = new OrRule(rule1, rule2);
+            }
+        } else if (type == XorRule.class) {
+            XorRule xor = (XorRule) rule;
+            Rule rule1 = memoize(xor.getRule1());
+            Rule rule2 = memoize(xor.getRule2());
+            if (rule1 != xor.getRule1() || rule2 != xor.getRule2()) {
+                memoized = new XorRule(rule1, rule2);
+            }
+        } else if (type == NotRule.class) {
+            Rule negated = memoize(((NotRule) rule).getRuleToNegate());
+            if (negated != ((NotRule) rule).getRuleToNegate()) {
+                memoized = new NotRule(negated);
+            }
+        }
+        return withName(rule, memoized);
+    }
+
+    private CachedRule cached(Rule rule) {
+        if (rule instanceof CachedRule cachedRule) {
+            return cachedRule;
+        }
+        CachedRule cached = cachedRules.get(rule);
+        if (cached == null) {
+            cached = withName(rule, new CachedRule(series, optimize(rule)));
+            cachedRules.put(rule, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * @param rule a cacheable rule
+     * @return an equivalent rule evaluating cached operands
+     */
+    private Rule optimize(Rule rule) {
+        Class<?> type = rule.getClass();
+        if (type == AndRule.class || type == OrRule.class) {
+            List<Rule> operands = new ArrayList<>();
+            flatten(rule, type, operands);
+            List<Rule> cachedOperands = new ArrayList<>(operands.size());
+            for (Rule operand : operands) {
+                cachedOperands.add(cached(operand));
+            }
+            return new AdaptiveJunctionRule(type == AndRule.class, cachedOperands);
+        }
+        if (type == XorRule.class) {
+            XorRule xor = (XorRule) rule;
+            return new XorRule(cached(xor.getRule1()), cached(xor.getRule2()));
+        }
+        if (type == NotRule.class) {
+            return new NotRule(cached(((NotRule) rule).getRuleToNegate()));
+        }
+        if (type == AndWithThresholdRule.class) {
+            AndWithThresholdRule and = (AndWithThresholdRule) rule;
+            return new AndWithThresholdRule(cached(and.getRule1()), cached(and.getRule2()), and.getThreshold());
+        }
+        if (type == OrWithThresholdRule.class) {
+            OrWithThresholdRule or = (OrWithThresholdRule) rule;
+            return new OrWithThresholdRule(cached(or.getRule1()), cached(or.getRule2()), or.getThreshold());
+        }
+        if (type == ChainRule.class) {
+            ChainRule chain = (ChainRule) rule;
+            ChainLink[] links = chain.getChainLinks()
+                    .stream()
+                    .map(link -> new ChainLink(cached(link.getRule()), link.getThreshold()))
+                    .toArray(ChainLink[]::new);
+            return new ChainRule(cached(chain.getInitialRule()), links);
+        }
+        if (type == VoteRule.class) {
+            VoteRule vote = (VoteRule) rule;
+            return new VoteRule(vote.getRequiredVotes(), vote.getRules().stream().<Rule>map(this::cached).toList());
+        }
+        return rule;
+    }
+
+    /** Collects the operands of nested AND (or OR) rules, left to right. */
+    private static void flatten(Rule rule, Class<?> junction, List<Rule> operands) {
+        if (rule.getClass() != junction) {
+            operands.add(rule);
+        } else if (junction == AndRule.class) {
+            flatten(((AndRule) rule).getRule1(), junction, operands);
+            flatten(((AndRule) rule).getRule2(), junction, operands);
+        } else {
+            flatten(((OrRule) rule).getRule1(), junction, operands);
+            flatten(((OrRule) rule).getRule2(), junction, operands);
+        }
+    }
+
+    /** Carries a custom name over to the memoized rule. */
+    private static <R extends Rule> R withName(Rule original, R memoized) {
+        if (memoized != original && original instanceof AbstractRule abstractRule && abstractRule.hasCustomName()) {
+            memoized.setName(original.getName());
+        }
+        return memoized;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+/**
+ * Runs indexed tasks on an {@link Executor}, with the calling thread taking
+ * part.
+ *
+ * <p>
+ * Workers (and the calling thread) claim the next unclaimed index until none is
+ * left, so the calling thread only ever waits for tasks already running. Nested
+ * use on the same bounded executor (candidates, then folds of each candidate)
+ * therefore cannot deadlock: when all pool threads are busy, the callers run
+ * the nested tasks themselves.
+ *
+ * @since 0.22.5
+ */
+public final class ParallelTasks {
+
+    private ParallelTasks() {
+    }
+
+    /**
+     * Computes the results of the tasks.
+     *
+     * @param count    the number of tasks
+     * @param executor the executor, or {@code null} to run the tasks on the calling
+     *                 thread
+     * @param task     the task computing the result of an index
+     * @param <T>      the result type
+     * @return the results, in index order
+     */
+    public static <T> List<T> map(int count, Executor executor, IntFunction<T> task) {
+        Objects.requireNonNull(task, "task");
+        if (executor == null || count <= 1) {
+            List<T> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                results.add(task.apply(i));
+            }
+            return results;
+        }
+
+        Object[] results = new Object[count];
+        AtomicInteger nextIndex = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(count);
+        Runnable worker = () -> {
+            int index;
+            while ((index = nextIndex.getAndIncrement()) < count) {
+                try {
+                    if (failure.get() == null) {
+                        results[index] = task.apply(index);
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    done.countDown();
+                }
+            }
+        };
+
+        int helpers = Math.min(count, parallelism(executor)) - 1;
+        for (int i = 0; i < helpers; i++) {
+            try {
+                executor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                // The remaining tasks run on the threads already working
+                break;
+            }
+        }
+        worker.run();
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for parallel tasks", e);
+        }
+
+        Throwable t = failure.get();
+        if (t instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (t instanceof Error error) {
+            throw error;
+        }
+        if (t != null) {
+            throw new IllegalStateException("Parallel task failed", t);
+        }
+        @SuppressWarnings("unchecked")
+        List<T> list = (List<T>) Arrays.asList(results);
+        return list;
+    }
+
+    private static int parallelism(Executor executor) {
+        if (executor instanceof ForkJoinPool pool) {
+            return pool.getParallelism() + 1;
+        }
+        if (executor instanceof ThreadPoolExecutor pool) {
+            return pool.getMaximumPoolSize() + 1;
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -12,11 +12,14 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.backtest.ProgressCompletion;
 import org.ta4j.core.num.Num;
+import org.ta4j.core.utils.ParallelTasks;
 
 /**
  * Generic walk-forward execution engine.
@@ -109,6 +112,35 @@ public final class WalkForwardEngine<C, P, O> {
      */
     public WalkForwardRunResult<P, O> run(BarSeries series, C context, WalkForwardConfig config, String candidateId,
             Map<String, String> manifestMetadata) {
+        return run(series, context, config, candidateId, manifestMetadata, null);
+    }
+
+    /**
+     * Executes walk-forward evaluation for one candidate context and manifest
+     * metadata, evaluating the folds in parallel.
+     *
+     * <p>
+     * The result is identical to a sequential run: fold outputs are merged in split
+     * order. Without an executor the leakage audit hook is invoked inline, before
+     * each label window is labeled; with an executor it is invoked on the calling
+     * thread once all folds have completed, in split order. The prediction
+     * provider, the outcome labeler and the progress callback are invoked
+     * concurrently and must be thread-safe. Each
+     * {@link WalkForwardRuntimeReport.FoldRuntime fold runtime} is the wall time of
+     * its fold, while the overall runtime is the wall time of the whole run.
+     *
+     * @param series           input series
+     * @param context          provider context
+     * @param config           run configuration
+     * @param candidateId      candidate id for manifesting
+     * @param manifestMetadata additional manifest metadata
+     * @param foldExecutor     executor evaluating the folds, or {@code null} to
+     *                         evaluate them on the calling thread
+     * @return run result bundle
+     * @since 0.22.5
+     */
+    public WalkForwardRunResult<P, O> run(BarSeries series, C context, WalkForwardConfig config, String candidateId,
+            Map<String, String> manifestMetadata, Executor foldExecutor) {
         Objects.requireNonNull(series, "series");
         Objects.requireNonNull(config, "config");
         Objects.requireNonNull(candidateId, "candidateId");
@@ -130,60 +162,29 @@ public final class WalkForwardEngine<C, P, O> {
         }
 
         List<WalkForwardRuntimeReport.FoldRuntime> foldRuntimes = new ArrayList<>();
-        int progressCount = 0;
+        AtomicInteger progressCount = new AtomicInteger();
         int maxPredictions = config.allTopKs().stream().max(Integer::compareTo).orElse(config.optimizationTopK());
 
-        for (WalkForwardSplit split : splits) {
-            long foldStart = System.nanoTime();
-            int foldSnapshots = 0;
-
-            for (int decisionIndex = split.testStart(); decisionIndex <= split.testEnd(); decisionIndex++) {
-                List<RankedPrediction<P>> rawPredictions = predictionProvider.predict(series, decisionIndex, context);
-                List<RankedPrediction<P>> predictions = normalizePredictions(rawPredictions, maxPredictions);
-
-                Map<String, String> metadata = Map.of("visibleStartIndex", String.valueOf(series.getBeginIndex()),
-                        "visibleEndIndex", String.valueOf(decisionIndex), "holdout", String.valueOf(split.holdout()));
-                PredictionSnapshot<P> snapshot = new PredictionSnapshot<>(split.foldId(), decisionIndex, predictions,
-                        metadata);
-                snapshots.add(snapshot);
-                foldSnapshots++;
-
-                for (int horizon : config.allHorizons()) {
-                    int labelStart = decisionIndex + 1;
-                    int labelEnd = decisionIndex + horizon;
-                    boolean withinFoldBounds = labelEnd <= split.testEnd() && labelEnd <= series.getEndIndex();
-                    String note = withinFoldBounds ? "label window bounded to test fold"
-                            : "skipped: label window exceeds fold bounds";
-
-                    WalkForwardRunResult.LeakageAudit audit = new WalkForwardRunResult.LeakageAudit(split.foldId(),
-                            decisionIndex, series.getBeginIndex(), decisionIndex, labelStart, labelEnd, horizon,
-                            withinFoldBounds, split.holdout(), note);
-                    leakageAudit.add(audit);
-                    leakageAuditHook.accept(audit);
+        boolean inlineAudit = foldExecutor == null;
+        List<FoldOutput<P, O>> foldOutputs = ParallelTasks.map(splits.size(), foldExecutor,
+                i -> runFold(series, context, config, splits.get(i), maxPredictions, progressCount, inlineAudit));
 
-                    if (!withinFoldBounds) {
-                        continue;
-                    }
-
-                    List<WalkForwardObservation<P, O>> globalRows = observationsByHorizon.get(horizon);
-                    List<WalkForwardObservation<P, O>> foldRows = foldObservationsByHorizon.get(horizon)
-                            .computeIfAbsent(split.foldId(), unused -> new ArrayList<>());
-
-                    for (RankedPrediction<P> prediction : predictions) {
-                        O outcome = outcomeLabeler.label(series, decisionIndex, horizon, prediction);
-                        WalkForwardObservation<P, O> row = new WalkForwardObservation<>(snapshot, prediction, outcome,
-                                horizon);
-                        globalRows.add(row);
-                        foldRows.add(row);
-                    }
+        for (FoldOutput<P, O> foldOutput : foldOutputs) {
+            snapshots.addAll(foldOutput.snapshots());
+            for (WalkForwardRunResult.LeakageAudit audit : foldOutput.leakageAudit()) {
+                leakageAudit.add(audit);
+                if (!inlineAudit) {
+                    leakageAuditHook.accept(audit);
                 }
-
-                progressCount++;
-                progressCallback.accept(progressCount);
             }
-
-            Duration foldRuntime = Duration.ofNanos(System.nanoTime() - foldStart);
-            foldRuntimes.add(new WalkForwardRuntimeReport.FoldRuntime(split.foldId(), foldRuntime, foldSnapshots));
+            for (Map.Entry<Integer, List<WalkForwardObservation<P, O>>> entry : foldOutput.observationsByHorizon()
+                    .entrySet()) {
+                observationsByHorizon.get(entry.getKey()).addAll(entry.getValue());
+                foldObservationsByHorizon.get(entry.getKey())
+                        .computeIfAbsent(foldOutput.foldId(), unused -> new ArrayList<>())
+                        .addAll(entry.getValue());
+            }
+            foldRuntimes.add(foldOutput.runtime());
         }
 
         Map<Integer, Map<String, Num>> globalMetricsByHorizon = computeGlobalMetrics(observationsByHorizon);
@@ -202,6 +203,67 @@ public final class WalkForwardEngine<C, P, O> {
                 runtimeReport, manifest);
     }
 
+    private FoldOutput<P, O> runFold(BarSeries series, C context, WalkForwardConfig config, WalkForwardSplit split,
+            int maxPredictions, AtomicInteger progressCount, boolean inlineAudit) {
+        long foldStart = System.nanoTime();
+        int foldSnapshots = 0;
+        List<PredictionSnapshot<P>> snapshots = new ArrayList<>();
+        List<WalkForwardRunResult.LeakageAudit> leakageAudit = new ArrayList<>();
+        Map<Integer, List<WalkForwardObservation<P, O>>> observationsByHorizon = new LinkedHashMap<>();
+
+        for (int decisionIndex = split.testStart(); decisionIndex <= split.testEnd(); decisionIndex++) {
+            List<RankedPrediction<P>> rawPredictions = predictionProvider.predict(series, decisionIndex, context);
+            List<RankedPrediction<P>> predictions = normalizePredictions(rawPredictions, maxPredictions);
+
+            Map<String, String> metadata = Map.of("visibleStartIndex", String.valueOf(series.getBeginIndex()),
+                    "visibleEndIndex", String.valueOf(decisionIndex), "holdout", String.valueOf(split.holdout()));
+            PredictionSnapshot<P> snapshot = new PredictionSnapshot<>(split.foldId(), decisionIndex, predictions,
+                    metadata);
+            snapshots.add(snapshot);
+            foldSnapshots++;
+
+            for (int horizon : config.allHorizons()) {
+                int labelStart = decisionIndex + 1;
+                int labelEnd = decisionIndex + horizon;
+                boolean withinFoldBounds = labelEnd <= split.testEnd() && labelEnd <= series.getEndIndex();
+                String note = withinFoldBounds ? "label window bounded to test fold"
+                        : "skipped: label window exceeds fold bounds";
+
+                WalkForwardRunResult.LeakageAudit audit = new WalkForwardRunResult.LeakageAudit(split.foldId(),
+                        decisionIndex, series.getBeginIndex(), decisionIndex, labelStart, labelEnd, horizon,
+                        withinFoldBounds, split.holdout(), note);
+                leakageAudit.add(audit);
+                if (inlineAudit) {
+                    leakageAuditHook.accept(audit);
+                }
+
+                if (!withinFoldBounds) {
+                    continue;
+                }
+
+                List<WalkForwardObservation<P, O>> rows = observationsByHorizon.computeIfAbsent(horizon,
+                        unused -> new ArrayList<>());
+                for (RankedPrediction<P> prediction : predictions) {
+                    O outcome = outcomeLabeler.label(series, decisionIndex, horizon, prediction);
+                    rows.add(new WalkForwardObservation<>(snapshot, prediction, outcome, horizon));
+                }
+            }
+
+            progressCallback.accept(progressCount.incrementAndGet());
+        }
+
+        Duration foldRuntime = Duration.ofNanos(System.nanoTime() - foldStart);
+        return new FoldOutput<>(split.foldId(), snapshots, leakageAudit, observationsByHorizon,
+                new WalkForwardRuntimeReport.FoldRuntime(split.foldId(), foldRuntime, foldSnapshots));
+    }
+
+    /** The outputs of one fold, merged in split order. */
+    private record FoldOutput<P, O>(String foldId, List<PredictionSnapshot<P>> snapshots,
+            List<WalkForwardRunResult.LeakageAudit> leakageAudit,
+            Map<Integer, List<WalkForwardObservation<P, O>>> observationsByHorizon,
+            WalkForwardRuntimeReport.FoldRuntime runtime) {
+    }
+
     private List<RankedPrediction<P>> normalizePredictions(List<RankedPrediction<P>> predictions, int maxPredictions) {
         if (predictions == null || predictions.isEmpty() || maxPredictions <= 0) {
             return List.of();
@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 import org.ta4j.core.BarSeries;
@@ -17,6 +18,7 @@ import org.ta4j.core.num.DoubleNumFactory;
 import org.ta4j.core.num.NaN;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.utils.ParallelTasks;
 
 /**
  * Generic candidate tuner built on top of {@link WalkForwardEngine}.
@@ -105,6 +107,31 @@ public final class WalkForwardTuner<C, P, O> {
      */
     public WalkForwardLeaderboard<C> tune(BarSeries series, List<WalkForwardCandidate<C>> candidates,
             WalkForwardConfig config) {
+        return tune(series, candidates, config, null);
+    }
+
+    /**
+     * Tunes and ranks candidates, evaluating the candidates of each batch and the
+     * folds of each candidate in parallel.
+     *
+     * <p>
+     * The leaderboard does not depend on thread scheduling: it is the one of a
+     * sequential run, candidates with equal scores being ranked in input order. The
+     * prediction provider, outcome labeler and hooks of the engine are invoked
+     * concurrently and must be thread-safe. The per-fold wall times are reported by
+     * the {@link WalkForwardRunResult#runtimeReport() runtime report} of each
+     * entry.
+     *
+     * @param series     input series
+     * @param candidates candidate list
+     * @param config     run configuration
+     * @param executor   executor evaluating candidates and folds, or {@code null}
+     *                   to evaluate them on the calling thread
+     * @return ranked leaderboard
+     * @since 0.22.5
+     */
+    public WalkForwardLeaderboard<C> tune(BarSeries series, List<WalkForwardCandidate<C>> candidates,
+            WalkForwardConfig config, Executor executor) {
         Objects.requireNonNull(series, "series");
         Objects.requireNonNull(candidates, "candidates");
         Objects.requireNonNull(config, "config");
@@ -113,30 +140,25 @@ public final class WalkForwardTuner<C, P, O> {
             return new WalkForwardLeaderboard<>(List.of(), 0, 0, config.primaryHorizonBars());
         }
 
-        Comparator<WalkForwardLeaderboard.Entry<C>> comparator = (left,
-                right) -> compareScores(left.objectiveScore().totalScore(), right.objectiveScore().totalScore());
-        Comparator<WalkForwardLeaderboard.Entry<C>> descending = comparator.reversed();
+        // Lower scores first, then later candidates first: the head is the entry to
+        // evict
+        Comparator<RankedEntry<C>> comparator = (left, right) -> {
+            int byScore = compareScores(left.entry().objectiveScore().totalScore(),
+                    right.entry().objectiveScore().totalScore());
+            return byScore != 0 ? byScore : Integer.compare(right.order(), left.order());
+        };
 
-        PriorityQueue<WalkForwardLeaderboard.Entry<C>> topEntries = new PriorityQueue<>(keepTopK + 1, comparator);
+        PriorityQueue<RankedEntry<C>> topEntries = new PriorityQueue<>(keepTopK + 1, comparator);
 
         int evaluated = 0;
         for (int batchStart = 0; batchStart < candidates.size(); batchStart += batchSize) {
             int batchEnd = Math.min(batchStart + batchSize, candidates.size());
-            for (int i = batchStart; i < batchEnd; i++) {
-                WalkForwardCandidate<C> candidate = candidates.get(i);
-                WalkForwardRunResult<P, O> runResult = engine.run(series, candidate.context(), config, candidate.id(),
-                        Map.of("batchIndex", String.valueOf(batchStart / batchSize)));
-
-                MetricBundle metricBundle = selectMetrics(runResult, config.primaryHorizonBars());
-                CalibrationSelection calibrationSelection = applyCalibrationIfEnabled(runResult,
-                        config.primaryHorizonBars(), metricBundle.globalMetrics, metricBundle.foldMetrics);
-
-                WalkForwardObjective.Score objectiveScore = objective.evaluate(metricBundle.globalMetrics,
-                        metricBundle.foldMetrics);
-
-                WalkForwardLeaderboard.Entry<C> entry = new WalkForwardLeaderboard.Entry<>(candidate, objectiveScore,
-                        metricBundle.globalMetrics, calibrationSelection, runResult);
-                topEntries.offer(entry);
+            int batchIndex = batchStart / batchSize;
+            int offset = batchStart;
+            List<WalkForwardLeaderboard.Entry<C>> batchEntries = ParallelTasks.map(batchEnd - batchStart, executor,
+                    i -> evaluate(series, candidates.get(offset + i), config, batchIndex, executor));
+            for (int i = 0; i < batchEntries.size(); i++) {
+                topEntries.offer(new RankedEntry<>(batchEntries.get(i), batchStart + i));
                 if (topEntries.size() > keepTopK) {
                     topEntries.poll();
                 }
@@ -144,11 +166,35 @@ public final class WalkForwardTuner<C, P, O> {
             }
         }
 
-        List<WalkForwardLeaderboard.Entry<C>> ranked = new ArrayList<>(topEntries);
-        ranked.sort(descending);
+        List<RankedEntry<C>> sorted = new ArrayList<>(topEntries);
+        sorted.sort(comparator.reversed());
+        List<WalkForwardLeaderboard.Entry<C>> ranked = new ArrayList<>(sorted.size());
+        for (RankedEntry<C> rankedEntry : sorted) {
+            ranked.add(rankedEntry.entry());
+        }
         return new WalkForwardLeaderboard<>(ranked, evaluated, ranked.size(), config.primaryHorizonBars());
     }
 
+    private WalkForwardLeaderboard.Entry<C> evaluate(BarSeries series, WalkForwardCandidate<C> candidate,
+            WalkForwardConfig config, int batchIndex, Executor foldExecutor) {
+        WalkForwardRunResult<P, O> runResult = engine.run(series, candidate.context(), config, candidate.id(),
+                Map.of("batchIndex", String.valueOf(batchIndex)), foldExecutor);
+
+        MetricBundle metricBundle = selectMetrics(runResult, config.primaryHorizonBars());
+        CalibrationSelection calibrationSelection = applyCalibrationIfEnabled(runResult, config.primaryHorizonBars(),
+                metricBundle.globalMetrics, metricBundle.foldMetrics);
+
+        WalkForwardObjective.Score objectiveScore = objective.evaluate(metricBundle.globalMetrics,
+                metricBundle.foldMetrics);
+
+        return new WalkForwardLeaderboard.Entry<>(candidate, objectiveScore, metricBundle.globalMetrics,
+                calibrationSelection, runResult);
+    }
+
+    /** A leaderboard entry and its position in the candidate list. */
+    private record RankedEntry<C>(WalkForwardLeaderboard.Entry<C> entry, int order) {
+    }
+
     private static int compareScores(Num left, Num right) {
         double leftValue = left == null ? Double.NaN : left.doubleValue();
         double rightValue = right == null ? Double.NaN : right.doubleValue();
@@ -4,6 +4,8 @@
 package org.ta4j.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.ta4j.core.TestUtils.assertNumEquals;
 
 import java.math.BigDecimal;
@@ -28,6 +30,26 @@ public class BaseBarSeriesBuilderTest extends AbstractIndicatorTest<BarSeries, N
         super(numFactory);
     }
 
+    @Test
+    public void testThreadConfined() {
+        assertFalse(new BaseBarSeriesBuilder().withNumFactory(numFactory).build().isThreadConfined());
+
+        final var series = new BaseBarSeriesBuilder().withNumFactory(numFactory).withThreadConfined(true).build();
+        assertTrue(series.isThreadConfined());
+        series.barBuilder().timePeriod(Duration.ofDays(1)).endTime(Instant.EPOCH).closePrice(1).add();
+        series.barBuilder()
+                .timePeriod(Duration.ofDays(1))
+                .endTime(Instant.EPOCH.plus(Duration.ofDays(1)))
+                .closePrice(2)
+                .add();
+        assertTrue(series.getSubSeries(0, 2).isThreadConfined());
+
+        // the builder is reset after each build
+        final var builder = new BaseBarSeriesBuilder().withThreadConfined(true);
+        builder.build();
+        assertFalse(builder.build().isThreadConfined());
+    }
+
     @Test
     public void testBuildBigDecimal() {
 
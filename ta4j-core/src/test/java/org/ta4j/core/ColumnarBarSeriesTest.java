@@ -0,0 +1,230 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.bars.TimeBarBuilder;
+import org.ta4j.core.indicators.averages.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.DoubleNumFactory;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.NumFactory;
+
+public class ColumnarBarSeriesTest {
+
+    private static final Instant BASE_TIME = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final NumFactory numFactory = DoubleNumFactory.getInstance();
+    private List<Bar> bars;
+
+    @Before
+    public void setUp() {
+        bars = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            bars.add(createBar(i));
+        }
+    }
+
+    private Bar createBar(int i) {
+        return new TimeBarBuilder(numFactory).timePeriod(Duration.ofMinutes(1))
+                .endTime(BASE_TIME.plus(Duration.ofMinutes(i + 1)))
+                .openPrice(i + 1)
+                .highPrice(i + 2)
+                .lowPrice(i)
+                .closePrice(i + 1.5)
+                .volume(i * 100)
+                .amount(i * 1000)
+                .trades(i * 10)
+                .build();
+    }
+
+    @Test
+    public void storesSameValuesAsBaseBarSeries() {
+        var columnar = new ColumnarBarSeriesBuilder().withBars(bars).build();
+        var base = new BaseBarSeriesBuilder().withBars(bars).build();
+
+        assertEquals(base.getBeginIndex(), columnar.getBeginIndex());
+        assertEquals(base.getEndIndex(), columnar.getEndIndex());
+        assertEquals(base.getBarCount(), columnar.getBarCount());
+        for (int i = 0; i < bars.size(); i++) {
+            Bar expected = base.getBar(i);
+            Bar actual = columnar.getBar(i);
+            assertEquals(expected.getBeginTime(), actual.getBeginTime());
+            assertEquals(expected.getEndTime(), actual.getEndTime());
+            assertEquals(expected.getTimePeriod(), actual.getTimePeriod());
+            assertNumEquals(expected.getOpenPrice(), actual.getOpenPrice());
+            assertNumEquals(expected.getHighPrice(), actual.getHighPrice());
+            assertNumEquals(expected.getLowPrice(), actual.getLowPrice());
+            assertNumEquals(expected.getClosePrice(), actual.getClosePrice());
+            assertNumEquals(expected.getVolume(), actual.getVolume());
+            assertNumEquals(expected.getAmount(), actual.getAmount());
+            assertEquals(expected.getTrades(), actual.getTrades());
+            assertEquals(expected.getClosePrice().doubleValue(), columnar.getClosePriceAsDouble(i), 0);
+        }
+        assertEquals(bars.size(), columnar.getBarData().size());
+        assertNumEquals(base.getLastBar().getClosePrice(), columnar.getBarData().getLast().getClosePrice());
+    }
+
+    @Test
+    public void derivesNumFactoryFromBars() {
+        var series = new ColumnarBarSeriesBuilder().withBars(bars).build();
+        assertSame(DoubleNumFactory.getInstance(), series.numFactory());
+        assertSame(DoubleNumFactory.getInstance(), new ColumnarBarSeriesBuilder().build().numFactory());
+    }
+
+    @Test
+    public void growsBeyondInitialCapacity() {
+        var series = new ColumnarBarSeriesBuilder().withInitialCapacity(2).build();
+        for (Bar bar : bars) {
+            series.addBar(bar);
+        }
+        assertEquals(10, series.getBarCount());
+        for (int i = 0; i < bars.size(); i++) {
+            assertNumEquals(bars.get(i).getClosePrice(), series.getBar(i).getClosePrice());
+        }
+    }
+
+    @Test
+    public void maximumBarCountUsesRingLayout() {
+        var series = new ColumnarBarSeriesBuilder().withMaxBarCount(3).build();
+        for (Bar bar : bars) {
+            series.addBar(bar);
+        }
+
+        assertEquals(3, series.getBarCount());
+        assertEquals(7, series.getRemovedBarsCount());
+        assertEquals(7, series.getBeginIndex());
+        assertEquals(9, series.getEndIndex());
+        for (int i = 7; i <= 9; i++) {
+            assertNumEquals(bars.get(i).getClosePrice(), series.getBar(i).getClosePrice());
+        }
+        // removed indices map to the first retained bar
+        assertNumEquals(bars.get(7).getClosePrice(), series.getBar(2).getClosePrice());
+        assertThrows(IndexOutOfBoundsException.class, () -> series.getBar(10));
+    }
+
+    @Test
+    public void setMaximumBarCountTrimsExistingBars() {
+        var series = new ColumnarBarSeriesBuilder().withBars(bars).build();
+        Bar evicted = series.getBar(0);
+
+        series.setMaximumBarCount(4);
+
+        assertEquals(4, series.getBarCount());
+        assertEquals(6, series.getBeginIndex());
+        assertNumEquals(bars.get(6).getClosePrice(), series.getFirstBar().getClosePrice());
+        assertThrows(IllegalStateException.class, evicted::getClosePrice);
+
+        series.addBar(createBar(10));
+        assertEquals(7, series.getBeginIndex());
+        assertNumEquals(numFactory.numOf(11.5), series.getLastBar().getClosePrice());
+    }
+
+    @Test
+    public void addBarRejectsOlderEndTime() {
+        var series = new ColumnarBarSeriesBuilder().withBars(bars).build();
+        assertThrows(IllegalArgumentException.class, () -> series.addBar(bars.getFirst()));
+    }
+
+    @Test
+    public void replaceChangesLastBarIdentity() {
+        var series = new ColumnarBarSeriesBuilder().withBars(bars).build();
+        Bar last = series.getLastBar();
+        assertSame(last, series.getLastBar());
+
+        var replacement = new TimeBarBuilder(numFactory).timePeriod(Duration.ofMinutes(1))
+                .endTime(bars.getLast().getEndTime())
+                .openPrice(1)
+                .highPrice(1)
+                .lowPrice(1)
+                .closePrice(42)
+                .volume(1)
+                .amount(1)
+                .trades(1)
+                .build();
+        series.addBar(replacement, true);
+
+        assertEquals(10, series.getBarCount());
+        assertNotSame(last, series.getLastBar());
+        assertNumEquals(42, series.getLastBar().getClosePrice());
+    }
+
+    @Test
+    public void addTradeAndPriceUpdateLastBarColumns() {
+        var series = new ColumnarBarSeriesBuilder().withBars(bars).build();
+        series.addTrade(2, 100);
+
+        Bar last = series.getLastBar();
+        assertNumEquals(100, last.getClosePrice());
+        assertNumEquals(100, last.getHighPrice());
+        assertNumEquals(900 + 2, last.getVolume());
+        assertNumEquals(9000 + 200, last.getAmount());
+        assertEquals(91, last.getTrades());
+
+        series.addPrice(1);
+        assertNumEquals(1, last.getClosePrice());
+        assertNumEquals(1, last.getLowPrice());
+    }
+
+    @Test
+    public void missingValuesAreReadAsNaN() {
+        var series = new ColumnarBarSeriesBuilder().build();
+        series.barBuilder().timePeriod(Duration.ofMinutes(1)).endTime(BASE_TIME).closePrice(1).add();
+
+        assertSame(NaN.NaN, series.getBar(0).getOpenPrice());
+        assertTrue(Double.isNaN(series.getHighPriceAsDouble(0)));
+
+        series.addPrice(3);
+        assertNumEquals(3, series.getBar(0).getOpenPrice());
+        assertNumEquals(3, series.getBar(0).getHighPrice());
+    }
+
+    @Test
+    public void subSeriesCopiesColumns() {
+        var series = new ColumnarBarSeriesBuilder().withBars(bars).build();
+        var subSeries = series.getSubSeries(2, 5);
+
+        assertEquals(3, subSeries.getBarCount());
+        assertEquals(0, subSeries.getBeginIndex());
+        assertEquals(2, subSeries.getEndIndex());
+        assertNumEquals(bars.get(2).getClosePrice(), subSeries.getBar(0).getClosePrice());
+        assertNumEquals(bars.get(4).getClosePrice(), subSeries.getBar(2).getClosePrice());
+
+        subSeries.addPrice(99);
+        assertNumEquals(bars.get(4).getClosePrice(), series.getBar(4).getClosePrice());
+
+        assertThrows(IllegalArgumentException.class, () -> series.getSubSeries(-1, 2));
+        assertThrows(IllegalArgumentException.class, () -> series.getSubSeries(3, 3));
+    }
+
+    @Test
+    public void indicatorsMatchBaseBarSeries() {
+        var columnar = new ColumnarBarSeriesBuilder().withBars(bars).build();
+        var base = new BaseBarSeriesBuilder().withBars(bars).build();
+        var columnarSma = new SMAIndicator(new ClosePriceIndicator(columnar), 3);
+        var baseSma = new SMAIndicator(new ClosePriceIndicator(base), 3);
+
+        for (int i = 0; i < bars.size(); i++) {
+            assertNumEquals(baseSma.getValue(i), columnarSma.getValue(i));
+        }
+
+        // last-bar caching must observe in-place mutations of the flyweight
+        columnar.addPrice(100);
+        base.addPrice(100);
+        assertNumEquals(baseSma.getValue(9), columnarSma.getValue(9));
+    }
+}
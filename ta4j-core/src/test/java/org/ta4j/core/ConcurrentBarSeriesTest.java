@@ -102,6 +102,7 @@ public class ConcurrentBarSeriesTest extends AbstractIndicatorTest<BarSeries, Nu
         assertEquals(0, series.getBeginIndex());
         assertEquals(4, series.getEndIndex());
         assertFalse(series.isEmpty());
+        assertFalse("concurrent series keep the thread-safe caching path", series.isThreadConfined());
     }
 
     @Test
@@ -0,0 +1,198 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.bars.TimeBarBuilder;
+import org.ta4j.core.indicators.ATRIndicator;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.averages.EMAIndicator;
+import org.ta4j.core.indicators.averages.MMAIndicator;
+import org.ta4j.core.indicators.averages.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.ConstantIndicator;
+import org.ta4j.core.indicators.helpers.HighPriceIndicator;
+import org.ta4j.core.indicators.helpers.LowPriceIndicator;
+import org.ta4j.core.indicators.helpers.OpenPriceIndicator;
+import org.ta4j.core.indicators.helpers.TRIndicator;
+import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
+import org.ta4j.core.indicators.statistics.VarianceIndicator;
+import org.ta4j.core.num.DoubleNumFactory;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.rules.CrossedUpIndicatorRule;
+import org.ta4j.core.rules.OverIndicatorRule;
+import org.ta4j.core.rules.UnderOrEqualIndicatorRule;
+
+public class DoubleIndicatorTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private static final Instant BASE_TIME = Instant.parse("2024-01-01T00:00:00Z");
+    private static final int BAR_COUNT = 400;
+
+    private List<Bar> bars;
+
+    public DoubleIndicatorTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        var random = new Random(42);
+        bars = new ArrayList<>();
+        double close = 100;
+        for (int i = 0; i < BAR_COUNT; i++) {
+            double open = close;
+            close = Math.max(1, close + random.nextGaussian());
+            bars.add(new TimeBarBuilder(numFactory).timePeriod(Duration.ofMinutes(1))
+                    .endTime(BASE_TIME.plus(Duration.ofMinutes(i + 1)))
+                    .openPrice(open)
+                    .highPrice(Math.max(open, close) + random.nextDouble())
+                    .lowPrice(Math.min(open, close) - random.nextDouble())
+                    .closePrice(close)
+                    .volume(random.nextInt(1000))
+                    .build());
+        }
+    }
+
+    private static List<Indicator<Num>> indicators(BarSeries series) {
+        var close = new ClosePriceIndicator(series);
+        return List.of(close, new OpenPriceIndicator(series), new HighPriceIndicator(series),
+                new LowPriceIndicator(series), new SMAIndicator(close, 14), new EMAIndicator(close, 14),
+                new MMAIndicator(close, 14), new RSIIndicator(close, 14), new TRIndicator(series),
+                new ATRIndicator(series, 14), new VarianceIndicator(close, 20),
+                new StandardDeviationIndicator(close, 20));
+    }
+
+    private static void assertDoublesMatchValues(BarSeries series, boolean reverse) {
+        for (Indicator<Num> indicator : indicators(series)) {
+            assertTrue(indicator instanceof DoubleIndicator);
+            for (int n = series.getBeginIndex(); n <= series.getEndIndex(); n++) {
+                int i = reverse ? series.getEndIndex() - n + series.getBeginIndex() : n;
+                assertDoubleEquals(indicator + " at " + i, indicator.getValue(i),
+                        ((DoubleIndicator) indicator).getDouble(i));
+            }
+        }
+    }
+
+    private static void assertDoubleEquals(String message, Num expected, double actual) {
+        if (expected.isNaN()) {
+            assertTrue(message, Double.isNaN(actual));
+        } else {
+            assertEquals(message, expected.doubleValue(), actual, 1e-9);
+        }
+    }
+
+    @Test
+    public void getDoubleMatchesGetValueOnBaseBarSeries() {
+        assertDoublesMatchValues(new BaseBarSeriesBuilder().withBars(bars).build(), false);
+    }
+
+    @Test
+    public void getDoubleMatchesGetValueOnColumnarBarSeries() {
+        assertDoublesMatchValues(new ColumnarBarSeriesBuilder().withNumFactory(numFactory).withBars(bars).build(),
+                false);
+    }
+
+    @Test
+    public void priceIndicatorsReadPrimitivesOfAnyDoubleBarSeries() {
+        // only the primitive accessors are available, reading bars would fail
+        var series = (DoubleBarSeries) Proxy.newProxyInstance(DoubleBarSeries.class.getClassLoader(),
+                new Class<?>[] { DoubleBarSeries.class }, (proxy, method, args) -> switch (method.getName()) {
+                case "getOpenPriceAsDouble" -> 1d + (int) args[0];
+                case "getHighPriceAsDouble" -> 2d + (int) args[0];
+                case "getLowPriceAsDouble" -> 3d + (int) args[0];
+                case "getClosePriceAsDouble" -> 4d + (int) args[0];
+                default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        assertEquals(11, new OpenPriceIndicator(series).getDouble(10), 0);
+        assertEquals(12, new HighPriceIndicator(series).getDouble(10), 0);
+        assertEquals(13, new LowPriceIndicator(series).getDouble(10), 0);
+        assertEquals(14, new ClosePriceIndicator(series).getDouble(10), 0);
+    }
+
+    @Test
+    public void getDoubleMatchesGetValueWhenFirstAccessIsLastBar() {
+        // deep recursive indicators (EMA, MMA, RSI, ATR) must not overflow the stack
+        assertDoublesMatchValues(new BaseBarSeriesBuilder().withBars(bars).build(), true);
+    }
+
+    @Test
+    public void getDoubleMatchesGetValueWithMaximumBarCount() {
+        var series = new BaseBarSeriesBuilder().withNumFactory(numFactory).withMaxBarCount(50).build();
+        for (Bar bar : bars) {
+            series.addBar(bar);
+        }
+        assertDoublesMatchValues(series, false);
+    }
+
+    @Test
+    public void getDoubleObservesLastBarMutations() {
+        var series = new BaseBarSeriesBuilder().withBars(bars).build();
+        var sma = new SMAIndicator(new ClosePriceIndicator(series), 5);
+        int endIndex = series.getEndIndex();
+        sma.getDouble(endIndex);
+
+        series.addPrice(1000);
+
+        assertDoubleEquals("last bar", sma.getValue(endIndex), sma.getDouble(endIndex));
+    }
+
+    @Test
+    public void rulesMatchNumComparison() {
+        var series = new BaseBarSeriesBuilder().withBars(bars).build();
+        var close = new ClosePriceIndicator(series);
+        var fast = new EMAIndicator(close, 5);
+        var slow = new SMAIndicator(close, 20);
+        var rules = List.of(new OverIndicatorRule(fast, slow), new UnderOrEqualIndicatorRule(fast, slow),
+                new CrossedUpIndicatorRule(fast, slow), new CrossedDownIndicatorRule(fast, slow));
+
+        int unstableBars = slow.getCountOfUnstableBars();
+        int crossings = 0;
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            Num fastValue = fast.getValue(i);
+            Num slowValue = slow.getValue(i);
+            assertEquals(fastValue.isGreaterThan(slowValue), rules.get(0).isSatisfied(i));
+            assertEquals(fastValue.isLessThanOrEqual(slowValue), rules.get(1).isSatisfied(i));
+            if (i > unstableBars + 1) {
+                boolean crossedUp = fastValue.isGreaterThan(slowValue)
+                        && fast.getValue(i - 1).isLessThan(slow.getValue(i - 1));
+                boolean crossedDown = fastValue.isLessThan(slowValue)
+                        && fast.getValue(i - 1).isGreaterThan(slow.getValue(i - 1));
+                assertEquals(crossedUp, rules.get(2).isSatisfied(i));
+                assertEquals(crossedDown, rules.get(3).isSatisfied(i));
+                if (crossedUp || crossedDown) {
+                    crossings++;
+                }
+            }
+        }
+        assertTrue(crossings > 0);
+    }
+
+    @Test
+    public void valueOfHandlesNaNAndNonDoubleIndicators() {
+        var series = new BaseBarSeriesBuilder().withBars(bars).build();
+        Indicator<Num> nan = new ConstantIndicator<>(series, NaN.NaN);
+        assertTrue(Double.isNaN(DoubleIndicator.valueOf(nan, 0)));
+        assertTrue(DoubleIndicator.isEqual(Double.NaN, Double.NaN));
+        assertFalse(DoubleIndicator.isEqual(1, Double.NaN));
+        assertEquals(numFactory instanceof DoubleNumFactory, DoubleIndicator.supportsNativeDoubles(series));
+        assertFalse(DoubleIndicator.supportsNativeDoubles(null));
+    }
+}
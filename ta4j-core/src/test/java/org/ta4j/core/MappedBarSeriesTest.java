@@ -0,0 +1,245 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ta4j.core.backtest.BarSeriesManager;
+import org.ta4j.core.indicators.averages.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.DecimalNumFactory;
+import org.ta4j.core.num.DoubleNumFactory;
+import org.ta4j.core.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.rules.CrossedUpIndicatorRule;
+
+public class MappedBarSeriesTest {
+
+    private static final Instant BASE_TIME = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private BarSeries base;
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        base = new BaseBarSeriesBuilder().withName("mapped").withNumFactory(DoubleNumFactory.getInstance()).build();
+        for (int i = 0; i < 50; i++) {
+            double price = 100 + 10 * Math.sin(i / 4.0);
+            base.barBuilder()
+                    .timePeriod(Duration.ofSeconds(1))
+                    .endTime(BASE_TIME.plusSeconds(i + 1).plusNanos(i))
+                    .openPrice(price - 0.5)
+                    .highPrice(price + 1)
+                    .lowPrice(price - 1)
+                    .closePrice(price)
+                    .volume(i * 10)
+                    .amount(i * 1000)
+                    .trades(i)
+                    .add();
+        }
+        file = folder.newFile("bars.bin").toPath();
+        assertEquals(50, MappedBarSeriesWriter.write(base, file));
+    }
+
+    private static void assertSameBars(BarSeries expected, int expectedIndex, BarSeries actual, int actualIndex) {
+        Bar expectedBar = expected.getBar(expectedIndex);
+        Bar actualBar = actual.getBar(actualIndex);
+        assertEquals(expectedBar.getBeginTime(), actualBar.getBeginTime());
+        assertEquals(expectedBar.getEndTime(), actualBar.getEndTime());
+        assertEquals(expectedBar.getTimePeriod(), actualBar.getTimePeriod());
+        assertNumEquals(expectedBar.getOpenPrice(), actualBar.getOpenPrice());
+        assertNumEquals(expectedBar.getHighPrice(), actualBar.getHighPrice());
+        assertNumEquals(expectedBar.getLowPrice(), actualBar.getLowPrice());
+        assertNumEquals(expectedBar.getClosePrice(), actualBar.getClosePrice());
+        assertNumEquals(expectedBar.getVolume(), actualBar.getVolume());
+        assertNumEquals(expectedBar.getAmount(), actualBar.getAmount());
+        assertEquals(expectedBar.getTrades(), actualBar.getTrades());
+    }
+
+    @Test
+    public void readsSameBarsAsWrittenSeries() throws IOException {
+        var mapped = MappedBarSeries.open(file);
+
+        assertEquals("mapped", mapped.getName());
+        assertEquals(base.getBeginIndex(), mapped.getBeginIndex());
+        assertEquals(base.getEndIndex(), mapped.getEndIndex());
+        assertEquals(base.getBarCount(), mapped.getBarCount());
+        assertEquals(50, mapped.getBarData().size());
+        for (int i = 0; i <= base.getEndIndex(); i++) {
+            assertSameBars(base, i, mapped, i);
+            assertEquals(base.getBar(i).getClosePrice().doubleValue(), mapped.getClosePriceAsDouble(i), 0);
+            assertEquals(MappedBarSeries.toEpochNanos(base.getBar(i).getEndTime()), mapped.getEndTimeEpochNanos(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> mapped.getBar(50));
+    }
+
+    @Test
+    public void readsAcrossMappedRegions() throws IOException {
+        var mapped = MappedBarSeries.open(file, DoubleNumFactory.getInstance(), 7);
+        for (int i = 0; i <= base.getEndIndex(); i++) {
+            assertSameBars(base, i, mapped, i);
+        }
+    }
+
+    @Test
+    public void lastBarViewIsStable() throws IOException {
+        var mapped = MappedBarSeries.open(file);
+        Bar last = mapped.getLastBar();
+        assertSame(last, mapped.getLastBar());
+        assertSame(last, mapped.getBar(mapped.getEndIndex()));
+        assertNotSame(mapped.getBar(0), mapped.getBar(0));
+    }
+
+    @Test
+    public void materializesValuesWithNumFactory() throws IOException {
+        var mapped = MappedBarSeries.open(file, DecimalNumFactory.getInstance());
+        assertTrue(mapped.numFactory().produces(mapped.getBar(3).getClosePrice()));
+        assertNumEquals(base.getBar(3).getClosePrice().doubleValue(), mapped.getBar(3).getClosePrice());
+    }
+
+    @Test
+    public void subSeriesIsZeroCopyView() throws IOException {
+        var mapped = MappedBarSeries.open(file, DoubleNumFactory.getInstance(), 7);
+        var subSeries = mapped.getSubSeries(10, 30);
+
+        assertEquals(20, subSeries.getBarCount());
+        assertEquals(0, subSeries.getBeginIndex());
+        assertEquals(19, subSeries.getEndIndex());
+        for (int i = 0; i < 20; i++) {
+            assertSameBars(base, i + 10, subSeries, i);
+        }
+
+        var nested = subSeries.getSubSeries(5, 100);
+        assertEquals(15, nested.getBarCount());
+        assertSameBars(base, 15, nested, 0);
+        assertSameBars(base, 29, nested, 14);
+
+        assertThrows(IllegalArgumentException.class, () -> mapped.getSubSeries(-1, 2));
+        assertThrows(IllegalArgumentException.class, () -> mapped.getSubSeries(3, 3));
+    }
+
+    @Test
+    public void maximumBarCountHidesOldestBars() throws IOException {
+        var mapped = MappedBarSeries.open(file);
+        mapped.setMaximumBarCount(10);
+
+        assertEquals(40, mapped.getRemovedBarsCount());
+        assertEquals(40, mapped.getBeginIndex());
+        assertEquals(49, mapped.getEndIndex());
+        assertEquals(10, mapped.getBarCount());
+        assertEquals(10, mapped.getBarData().size());
+        assertSameBars(base, 40, mapped, 40);
+        // removed bars map to the first retained bar, as in BaseBarSeries
+        assertSameBars(base, 40, mapped, 3);
+        assertSameBars(base, 40, mapped, 0);
+    }
+
+    @Test
+    public void isReadOnly() throws IOException {
+        var mapped = MappedBarSeries.open(file);
+        assertThrows(UnsupportedOperationException.class, () -> mapped.addBar(base.getBar(0)));
+        assertThrows(UnsupportedOperationException.class, () -> mapped.addPrice(1));
+        assertThrows(UnsupportedOperationException.class, () -> mapped.addTrade(1, 1));
+        assertThrows(UnsupportedOperationException.class,
+                () -> mapped.getLastBar().addPrice(mapped.numFactory().one()));
+    }
+
+    @Test
+    public void writesMissingValuesAsNaN() throws IOException {
+        var withGaps = new BaseBarSeriesBuilder().build();
+        withGaps.barBuilder().timePeriod(Duration.ofMinutes(1)).endTime(BASE_TIME).closePrice(5).add();
+        var gapFile = folder.newFile("gaps.bin").toPath();
+        MappedBarSeriesWriter.write(withGaps, gapFile);
+
+        var mapped = MappedBarSeries.open(gapFile);
+        assertNumEquals(5, mapped.getBar(0).getClosePrice());
+        assertTrue(mapped.getBar(0).getVolume().isNaN());
+        assertTrue(Double.isNaN(mapped.getOpenPriceAsDouble(0)));
+    }
+
+    @Test
+    public void emptySeriesRoundTrips() throws IOException {
+        var emptyFile = folder.newFile("empty.bin").toPath();
+        assertEquals(0, MappedBarSeriesWriter.write(new BaseBarSeriesBuilder().withName("empty").build(), emptyFile));
+        var mapped = MappedBarSeries.open(emptyFile);
+        assertTrue(mapped.isEmpty());
+        assertEquals(-1, mapped.getBeginIndex());
+        assertEquals(-1, mapped.getEndIndex());
+    }
+
+    @Test
+    public void rejectsInvalidFiles() throws IOException {
+        var invalid = folder.newFile("invalid.bin").toPath();
+        Files.write(invalid, new byte[64]);
+        assertThrows(IOException.class, () -> MappedBarSeries.open(invalid));
+
+        var truncated = folder.newFile("truncated.bin").toPath();
+        byte[] content = Files.readAllBytes(file);
+        Files.write(truncated, Arrays.copyOf(content, content.length - 1));
+        assertThrows(IOException.class, () -> MappedBarSeries.open(truncated));
+    }
+
+    @Test
+    public void serializationRemapsFile() throws Exception {
+        var subSeries = MappedBarSeries.open(file).getSubSeries(5, 20);
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(subSeries);
+        }
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            var copy = (MappedBarSeries) in.readObject();
+            assertEquals(15, copy.getBarCount());
+            assertSameBars(base, 5, copy, 0);
+            assertSameBars(base, 19, copy, 14);
+        }
+    }
+
+    @Test
+    public void indicatorsAndBacktestsMatchBaseBarSeries() throws IOException {
+        var mapped = MappedBarSeries.open(file);
+        var mappedSma = new SMAIndicator(new ClosePriceIndicator(mapped), 5);
+        var baseSma = new SMAIndicator(new ClosePriceIndicator(base), 5);
+        for (int i = 0; i <= base.getEndIndex(); i++) {
+            assertNumEquals(baseSma.getValue(i), mappedSma.getValue(i));
+            assertEquals(baseSma.getDouble(i), mappedSma.getDouble(i), 0);
+        }
+
+        var baseRecord = new BarSeriesManager(base).run(strategy(base));
+        var mappedRecord = new BarSeriesManager(mapped).run(strategy(mapped));
+        assertTrue(baseRecord.getPositionCount() > 0);
+        assertEquals(baseRecord.getPositionCount(), mappedRecord.getPositionCount());
+        for (int i = 0; i < baseRecord.getPositionCount(); i++) {
+            assertEquals(baseRecord.getPositions().get(i).getEntry().getIndex(),
+                    mappedRecord.getPositions().get(i).getEntry().getIndex());
+        }
+    }
+
+    private static Strategy strategy(BarSeries series) {
+        var close = new ClosePriceIndicator(series);
+        var sma = new SMAIndicator(close, 5);
+        return new BaseStrategy(new CrossedUpIndicatorRule(close, sma), new CrossedDownIndicatorRule(close, sma));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.criteria.CalmarRatioCriterion;
+import org.ta4j.core.criteria.ExpectedShortfallCriterion;
+import org.ta4j.core.criteria.OmegaRatioCriterion;
+import org.ta4j.core.criteria.ReturnRepresentation;
+import org.ta4j.core.criteria.SharpeRatioCriterion;
+import org.ta4j.core.criteria.SortinoRatioCriterion;
+import org.ta4j.core.criteria.ValueAtRiskCriterion;
+import org.ta4j.core.criteria.drawdown.MaximumAbsoluteDrawdownCriterion;
+import org.ta4j.core.criteria.drawdown.MaximumDrawdownBarLengthCriterion;
+import org.ta4j.core.criteria.drawdown.MaximumDrawdownCriterion;
+import org.ta4j.core.criteria.drawdown.ReturnOverMaxDrawdownCriterion;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+public class EquityCurveCacheTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    private BarSeries series;
+    private TradingRecord record;
+
+    public EquityCurveCacheTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        double[] data = new double[400];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + 10 * Math.sin(i / 9.0) + i * 0.02;
+        }
+        series = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(data).build();
+        record = new BaseTradingRecord();
+        for (int i = 0; i + 20 < data.length; i += 40) {
+            record.enter(i, series.getBar(i).getClosePrice(), numFactory.one());
+            record.exit(i + 20, series.getBar(i + 20).getClosePrice(), numFactory.one());
+        }
+        record.enter(390, series.getBar(390).getClosePrice(), numFactory.one());
+    }
+
+    @After
+    public void tearDown() {
+        assertFalse(EquityCurveCache.isOpen());
+    }
+
+    private CashFlow cashFlow(TradingRecord tradingRecord, EquityCurveMode mode) {
+        return EquityCurveCache.cashFlow(series, tradingRecord, tradingRecord.getEndIndex(series), mode,
+                OpenPositionHandling.MARK_TO_MARKET);
+    }
+
+    @Test
+    public void buildsNewCurvesWithoutOpenCache() {
+        assertNotSame(cashFlow(record, EquityCurveMode.MARK_TO_MARKET),
+                cashFlow(record, EquityCurveMode.MARK_TO_MARKET));
+    }
+
+    @Test
+    public void sharesCurvesWhileOpen() {
+        try (var cache = EquityCurveCache.open()) {
+            var cashFlow = cashFlow(record, EquityCurveMode.MARK_TO_MARKET);
+            assertSame(cashFlow, cashFlow(record, EquityCurveMode.MARK_TO_MARKET));
+            assertNotSame(cashFlow, cashFlow(record, EquityCurveMode.REALIZED));
+            assertNotSame(cashFlow, cashFlow(new BaseTradingRecord(), EquityCurveMode.MARK_TO_MARKET));
+
+            var logReturns = EquityCurveCache.returns(series, record, 399, ReturnRepresentation.LOG,
+                    EquityCurveMode.MARK_TO_MARKET, OpenPositionHandling.MARK_TO_MARKET);
+            assertSame(logReturns, EquityCurveCache.returns(series, record, 399, ReturnRepresentation.LOG,
+                    EquityCurveMode.MARK_TO_MARKET, OpenPositionHandling.MARK_TO_MARKET));
+            assertNotSame(logReturns, EquityCurveCache.returns(series, record, 399, ReturnRepresentation.DECIMAL,
+                    EquityCurveMode.MARK_TO_MARKET, OpenPositionHandling.MARK_TO_MARKET));
+            assertNotSame(logReturns, EquityCurveCache.returns(series, record, 399, ReturnRepresentation.LOG,
+                    EquityCurveMode.MARK_TO_MARKET, OpenPositionHandling.IGNORE));
+
+            var pnl = EquityCurveCache.cumulativePnL(series, record, 399, EquityCurveMode.MARK_TO_MARKET,
+                    OpenPositionHandling.MARK_TO_MARKET);
+            assertSame(pnl, EquityCurveCache.cumulativePnL(series, record, 399, EquityCurveMode.MARK_TO_MARKET,
+                    OpenPositionHandling.MARK_TO_MARKET));
+            assertEquals(7, cache.size());
+        }
+    }
+
+    @Test
+    public void criterionSuiteMatchesUncachedValues() {
+        List<AnalysisCriterion> criteria = List.of(new SharpeRatioCriterion(), new SortinoRatioCriterion(),
+                new CalmarRatioCriterion(), new OmegaRatioCriterion(), new ValueAtRiskCriterion(0.95),
+                new ExpectedShortfallCriterion(0.95), new MaximumDrawdownCriterion(),
+                new MaximumAbsoluteDrawdownCriterion(), new MaximumDrawdownBarLengthCriterion(),
+                new ReturnOverMaxDrawdownCriterion());
+        List<Num> expected = new ArrayList<>();
+        for (AnalysisCriterion criterion : criteria) {
+            expected.add(criterion.calculate(series, record));
+        }
+
+        try (var cache = EquityCurveCache.open()) {
+            for (int i = 0; i < criteria.size(); i++) {
+                assertEquals(expected.get(i), criteria.get(i).calculate(series, record));
+            }
+            assertTrue("curves are shared across criteria, size = " + cache.size(), cache.size() < criteria.size());
+        }
+    }
+
+    @Test
+    public void nestedCachesAreClosedInReverseOrder() {
+        try (var outer = EquityCurveCache.open()) {
+            var outerCashFlow = cashFlow(record, EquityCurveMode.MARK_TO_MARKET);
+            var inner = EquityCurveCache.open();
+            assertThrows(IllegalStateException.class, outer::close);
+            assertNotSame(outerCashFlow, cashFlow(record, EquityCurveMode.MARK_TO_MARKET));
+            inner.close();
+            inner.close();
+            assertSame(outerCashFlow, cashFlow(record, EquityCurveMode.MARK_TO_MARKET));
+        }
+        assertEquals(Integer.valueOf(3), EquityCurveCache.evaluate(() -> {
+            assertTrue(EquityCurveCache.isOpen());
+            return 3;
+        }));
+    }
+}
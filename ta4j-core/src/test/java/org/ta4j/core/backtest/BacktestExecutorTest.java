@@ -7,9 +7,16 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
@@ -25,12 +32,15 @@ import org.ta4j.core.analysis.cost.CostModel;
 import org.ta4j.core.analysis.cost.LinearTransactionCostModel;
 import org.ta4j.core.analysis.cost.ZeroCostModel;
 import org.ta4j.core.criteria.NumberOfBarsCriterion;
+import org.ta4j.core.criteria.NumberOfLosingPositionsCriterion;
+import org.ta4j.core.criteria.NumberOfPositionsCriterion;
 import org.ta4j.core.criteria.commissions.CommissionsCriterion;
 import org.ta4j.core.criteria.pnl.GrossReturnCriterion;
 import org.ta4j.core.indicators.AbstractIndicatorTest;
 import org.ta4j.core.mocks.MockBarSeriesBuilder;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.reports.TradingStatement;
 import org.ta4j.core.rules.FixedRule;
 import org.ta4j.core.num.NaN;
 import org.ta4j.core.walkforward.WalkForwardConfig;
@@ -419,6 +429,155 @@ public class BacktestExecutorTest extends AbstractIndicatorTest<BarSeries, Num>
         assertTrue(firstScore.isGreaterThanOrEqual(secondScore));
     }
 
+    private List<Strategy> sweepStrategies(int count) {
+        List<Strategy> strategies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int entry = i % 7;
+            strategies.add(new BaseStrategy(new FixedRule(entry, entry + 9), new FixedRule(entry + 2 + i % 5, 18)));
+        }
+        return strategies;
+    }
+
+    @Test
+    public void streamingExecutionMatchesBatchedExecution() throws Exception {
+        var series = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(10, 12, 11, 14, 13, 15, 17, 16, 15, 18, 20, 19, 22, 21, 20, 23, 25, 24, 26, 25)
+                .build();
+        List<Strategy> strategies = sweepStrategies(1200);
+        GrossReturnCriterion criterion = new GrossReturnCriterion();
+
+        BacktestExecutor batched = new BacktestExecutor(series);
+        List<Num> expected = new ArrayList<>();
+        for (var statement : batched.executeWithRuntimeReport(strategies, numOf(1)).tradingStatements()) {
+            expected.add(criterion.calculate(series, statement.getTradingRecord()));
+        }
+        List<TradingStatement> expectedTop = batched
+                .executeAndKeepTopK(strategies, numOf(1), Trade.TradeType.BUY, criterion, 15, null)
+                .tradingStatements();
+
+        ExecutorService callerExecutor = Executors.newFixedThreadPool(2);
+        try {
+            for (BacktestParallelism parallelism : List.of(BacktestParallelism.forkJoin(3),
+                    BacktestParallelism.virtualThreads(16), BacktestParallelism.using(callerExecutor, 5))) {
+                BacktestExecutor streaming = batched.withParallelism(parallelism);
+                assertSame(parallelism, streaming.getParallelism().orElseThrow());
+
+                AtomicInteger lastCompleted = new AtomicInteger();
+                BacktestExecutionResult result = streaming.executeWithRuntimeReport(strategies, numOf(1),
+                        Trade.TradeType.BUY, lastCompleted::set);
+                assertEquals(strategies.size(), result.tradingStatements().size());
+                assertEquals(strategies.size(), lastCompleted.get());
+                for (int i = 0; i < strategies.size(); i++) {
+                    TradingStatement statement = result.tradingStatements().get(i);
+                    assertSame(strategies.get(i), statement.getStrategy());
+                    assertEquals(expected.get(i), criterion.calculate(series, statement.getTradingRecord()));
+                }
+
+                List<TradingStatement> top = streaming
+                        .executeAndKeepTopK(strategies, numOf(1), Trade.TradeType.BUY, criterion, 15, null)
+                        .tradingStatements();
+                assertEquals(expectedTop.size(), top.size());
+                for (int i = 0; i < top.size(); i++) {
+                    assertSame(expectedTop.get(i).getStrategy(), top.get(i).getStrategy());
+                }
+            }
+            // caller-managed executors are left running
+            assertFalse(callerExecutor.isShutdown());
+            assertEquals(Integer.valueOf(1), callerExecutor.submit(() -> 1).get());
+        } finally {
+            callerExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void streamingExecutionBoundsInFlightStrategies() {
+        var series = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(10, 11, 12, 13, 14).build();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxObserved = new AtomicInteger();
+        List<Strategy> strategies = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            strategies.add(new BaseStrategy(new FixedRule(0, 2), new FixedRule(1, 3)) {
+                @Override
+                public boolean shouldEnter(int index, TradingRecord tradingRecord) {
+                    if (index == 0) {
+                        maxObserved.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    }
+                    return super.shouldEnter(index, tradingRecord);
+                }
+
+                @Override
+                public boolean shouldExit(int index, TradingRecord tradingRecord) {
+                    if (index == 3) {
+                        inFlight.decrementAndGet();
+                    }
+                    return super.shouldExit(index, tradingRecord);
+                }
+            });
+        }
+
+        BacktestExecutor executor = new BacktestExecutor(series)
+                .withParallelism(BacktestParallelism.forkJoin(4).withMaxInFlight(3));
+        assertEquals(strategies.size(),
+                executor.executeWithRuntimeReport(strategies, numOf(1)).tradingStatements().size());
+        assertTrue("max in flight = " + maxObserved.get(), maxObserved.get() <= 3);
+    }
+
+    @Test
+    public void streamingExecutionPropagatesStrategyFailure() {
+        var series = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(10, 11, 12, 13, 14).build();
+        List<Strategy> strategies = new ArrayList<>(sweepStrategies(3));
+        strategies.add(new BaseStrategy(new FixedRule(0), new FixedRule(1)) {
+            @Override
+            public boolean shouldEnter(int index, TradingRecord tradingRecord) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        BacktestExecutor executor = new BacktestExecutor(series).withParallelism(BacktestParallelism.forkJoin(2));
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> executor.executeWithRuntimeReport(strategies, numOf(1)));
+        assertEquals("boom", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> BacktestParallelism.forkJoin(0));
+        assertThrows(IllegalArgumentException.class, () -> BacktestParallelism.virtualThreads(0));
+    }
+
+    @Test
+    public void streamingExecutionWaitsForSubmittedStrategiesWhenRejected() {
+        var series = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(10, 11, 12, 13, 14).build();
+        AtomicInteger finished = new AtomicInteger();
+        List<Strategy> strategies = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            strategies.add(new BaseStrategy(new FixedRule(), new FixedRule()) {
+                @Override
+                public boolean shouldEnter(int index, TradingRecord tradingRecord) {
+                    if (index == 0) {
+                        try {
+                            Thread.sleep(200);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    } else if (index == series.getEndIndex()) {
+                        finished.incrementAndGet();
+                    }
+                    return super.shouldEnter(index, tradingRecord);
+                }
+            });
+        }
+
+        // Two workers and no queue: the third strategy is rejected while the first two
+        // run
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+        try {
+            BacktestExecutor executor = new BacktestExecutor(series)
+                    .withParallelism(BacktestParallelism.using(pool, 5));
+            assertThrows(RejectedExecutionException.class,
+                    () -> executor.executeWithRuntimeReport(strategies, numOf(1)));
+            assertEquals(2, finished.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     @Test
     public void executeWalkForwardRunsStrategyAcrossFolds() {
         BarSeries series = new MockBarSeriesBuilder().withNumFactory(numFactory)
@@ -494,4 +653,119 @@ public class BacktestExecutorTest extends AbstractIndicatorTest<BarSeries, Num>
         }
     }
 
+    @Test
+    public void pruningAbandonsStrategiesThatCannotBeatTheKthBest() {
+        var series = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(new double[40]).build();
+        List<Strategy> strategies = new ArrayList<>();
+        for (int count = 1; count <= 10; count++) {
+            // count positions: enter on even bars, exit on the following odd bar
+            int[] entries = new int[count];
+            int[] exits = new int[count];
+            for (int j = 0; j < count; j++) {
+                entries[j] = 2 * j;
+                exits[j] = 2 * j + 1;
+            }
+            strategies.add(new BaseStrategy("positions-" + count, new FixedRule(entries), new FixedRule(exits)));
+        }
+        AnalysisCriterion fewerPositions = new NumberOfPositionsCriterion();
+        AtomicInteger abandoned = new AtomicInteger();
+        SweepPruner monotone = SweepPruner.monotoneCriterion();
+        SweepPruner countingPruner = new SweepPruner() {
+
+            @Override
+            public SweepPruner forRun(BarSeries barSeries, AnalysisCriterion criterion) {
+                SweepPruner runPruner = monotone.forRun(barSeries, criterion);
+                return (runSeries, tradingRecord, runCriterion, kthBestValue) -> {
+                    boolean abandon = runPruner.shouldAbandon(runSeries, tradingRecord, runCriterion, kthBestValue);
+                    if (abandon) {
+                        abandoned.incrementAndGet();
+                    }
+                    return abandon;
+                };
+            }
+
+            @Override
+            public boolean shouldAbandon(BarSeries barSeries, TradingRecord tradingRecord, AnalysisCriterion criterion,
+                    Num kthBestValue) {
+                throw new AssertionError("the executor consults the pruner prepared for each run");
+            }
+        };
+        BacktestExecutor executor = new BacktestExecutor(series, new TradeOnCurrentCloseModel())
+                .withParallelism(BacktestParallelism.forkJoin(1).withMaxInFlight(1));
+
+        BacktestExecutionResult complete = executor.executeAndKeepTopK(strategies, numOf(1), Trade.TradeType.BUY,
+                fewerPositions, 3, null);
+        BacktestExecutionResult pruned = executor.withPruning(countingPruner)
+                .executeAndKeepTopK(strategies, numOf(1), Trade.TradeType.BUY, fewerPositions, 3, null);
+
+        assertEquals(List.of("positions-1", "positions-2", "positions-3"), names(complete));
+        assertEquals(names(complete), names(pruned));
+        assertEquals(7, abandoned.get());
+        assertEquals(3, pruned.tradingStatements().get(2).getTradingRecord().getPositionCount());
+    }
+
+    @Test
+    public void pruningAbandonsStrategiesBreachingMaxDrawdown() {
+        var series = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(100, 100, 50, 50, 100, 100, 120, 120)
+                .build();
+        Strategy crash = new BaseStrategy("crash", new FixedRule(1, 4), new FixedRule(2, 6));
+        Strategy rally = new BaseStrategy("rally", new FixedRule(3), new FixedRule(6));
+        BacktestExecutor executor = new BacktestExecutor(series, new TradeOnCurrentCloseModel())
+                .withPruning(SweepPruner.maxDrawdown(numOf(0.3)));
+
+        BacktestExecutionResult result = executor.executeAndKeepTopK(List.of(crash, rally), numOf(1),
+                Trade.TradeType.BUY, new GrossReturnCriterion(), 2, null);
+
+        assertEquals(List.of("rally"), names(result));
+        assertTrue(executor.getPruner().isPresent());
+        assertThrows(IllegalArgumentException.class, () -> SweepPruner.maxDrawdown(numOf(-0.1)));
+    }
+
+    @Test
+    public void runPrunersTrackClosedPositionsIncrementally() {
+        var series = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(100, 100, 50, 50, 100, 100, 120, 120)
+                .build();
+        AnalysisCriterion losingPositions = new NumberOfLosingPositionsCriterion();
+        SweepPruner monotone = SweepPruner.monotoneCriterion().forRun(series, losingPositions);
+        SweepPruner drawdown = SweepPruner.maxDrawdown(numOf(0.3)).forRun(series, losingPositions);
+        TradingRecord record = new BaseTradingRecord();
+
+        record.enter(0, numOf(100), numOf(1));
+        record.exit(1, numOf(90), numOf(1));
+        assertFalse(monotone.shouldAbandon(series, record, losingPositions, numOf(1)));
+        assertFalse(drawdown.shouldAbandon(series, record, losingPositions, null));
+
+        record.enter(2, numOf(50), numOf(1));
+        record.exit(3, numOf(30), numOf(1));
+        assertTrue(monotone.shouldAbandon(series, record, losingPositions, numOf(1)));
+        assertTrue(drawdown.shouldAbandon(series, record, losingPositions, null));
+
+        // a different record starts over
+        TradingRecord other = new BaseTradingRecord();
+        other.enter(4, numOf(100), numOf(1));
+        other.exit(6, numOf(120), numOf(1));
+        assertFalse(monotone.shouldAbandon(series, other, losingPositions, numOf(0)));
+        assertFalse(drawdown.shouldAbandon(series, other, losingPositions, null));
+    }
+
+    @Test
+    public void monotonePruningRejectsCriteriaThatCanImprove() {
+        var series = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(1, 2, 3).build();
+        SweepPruner monotone = SweepPruner.monotoneCriterion();
+        BacktestExecutor executor = new BacktestExecutor(series, new TradeOnCurrentCloseModel()).withPruning(monotone);
+        List<Strategy> strategies = List.of(new BaseStrategy("once", new FixedRule(0), new FixedRule(1)));
+
+        assertThrows(IllegalArgumentException.class, () -> executor.executeAndKeepTopK(strategies, numOf(1),
+                Trade.TradeType.BUY, new GrossReturnCriterion(), 1, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> monotone.forRun(series, new NumberOfPositionsCriterion(false)));
+        assertThrows(IllegalArgumentException.class,
+                () -> monotone.or(SweepPruner.maxDrawdown(numOf(0.3))).forRun(series, new GrossReturnCriterion()));
+    }
+
+    private static List<String> names(BacktestExecutionResult result) {
+        return result.tradingStatements().stream().map(statement -> statement.getStrategy().getName()).toList();
+    }
 }
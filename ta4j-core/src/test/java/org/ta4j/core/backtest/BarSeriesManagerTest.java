@@ -25,9 +25,14 @@ import org.ta4j.core.Trade;
 import org.ta4j.core.Trade.TradeType;
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.averages.EMAIndicator;
+import org.ta4j.core.indicators.averages.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.mocks.MockBarSeriesBuilder;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.rules.CrossedUpIndicatorRule;
 import org.ta4j.core.rules.FixedRule;
 import org.ta4j.core.analysis.cost.ZeroCostModel;
 import org.ta4j.core.walkforward.AnchoredExpandingWalkForwardSplitter;
@@ -68,6 +73,22 @@ public class BarSeriesManagerTest extends AbstractIndicatorTest<BarSeries, Num>
         strategy.setUnstableBars(2); // Strategy would need a real test class
     }
 
+    @Test
+    public void precomputeWarmsIndicatorsWithoutChangingTheRun() {
+        var close = new ClosePriceIndicator(seriesForRun);
+        var fast = new EMAIndicator(close, 2);
+        var slow = new SMAIndicator(close, 4);
+        Strategy crossStrategy = new BaseStrategy(new CrossedUpIndicatorRule(fast, slow),
+                new CrossedDownIndicatorRule(fast, slow));
+        TradingRecord expected = new BarSeriesManager(seriesForRun, new TradeOnCurrentCloseModel()).run(
+                new BaseStrategy(new CrossedUpIndicatorRule(new EMAIndicator(close, 2), new SMAIndicator(close, 4)),
+                        new CrossedDownIndicatorRule(new EMAIndicator(close, 2), new SMAIndicator(close, 4))));
+
+        TradingRecord actual = manager.precompute(fast, slow, close).run(crossStrategy);
+
+        assertEquals(expected.getPositions(), actual.getPositions());
+    }
+
     @Test
     public void runOnWholeSeries() {
         var series = new MockBarSeriesBuilder().withNumFactory(numFactory)
@@ -0,0 +1,280 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.backtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.cost.LinearTransactionCostModel;
+import org.ta4j.core.analysis.cost.ZeroCostModel;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.averages.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.rules.CrossedUpIndicatorRule;
+import org.ta4j.core.rules.FixedRule;
+
+public class PortfolioBacktesterTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    public PortfolioBacktesterTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    /** Builds daily bars opening at the previous close. */
+    private BarSeries series(Instant firstEndTime, double... closes) {
+        BarSeries series = new MockBarSeriesBuilder().withNumFactory(numFactory).build();
+        double previous = closes[0];
+        for (int i = 0; i < closes.length; i++) {
+            series.barBuilder()
+                    .timePeriod(Duration.ofDays(1))
+                    .endTime(firstEndTime.plus(Duration.ofDays(i)))
+                    .openPrice(previous)
+                    .highPrice(Math.max(previous, closes[i]) + 1)
+                    .lowPrice(Math.min(previous, closes[i]) - 1)
+                    .closePrice(closes[i])
+                    .volume(100)
+                    .add();
+            previous = closes[i];
+        }
+        return series;
+    }
+
+    private BarSeries wave(double phase) {
+        double[] closes = new double[80];
+        for (int i = 0; i < closes.length; i++) {
+            closes[i] = 100 + 10 * Math.sin(i / 2.0 + phase) + i / 10.0;
+        }
+        return series(START, closes);
+    }
+
+    private static Strategy crossover(BarSeries series) {
+        var closePrice = new ClosePriceIndicator(series);
+        var sma = new SMAIndicator(closePrice, 5);
+        return new BaseStrategy(new CrossedUpIndicatorRule(closePrice, sma),
+                new CrossedDownIndicatorRule(closePrice, sma));
+    }
+
+    private static Strategy enterAt(int... indexes) {
+        return new BaseStrategy(new FixedRule(indexes), new FixedRule());
+    }
+
+    @Test
+    public void matchesSingleSeriesRunsWhenCapitalIsAmple() {
+        BarSeries first = wave(0);
+        BarSeries second = wave(2);
+        Num amount = numOf(3);
+        var backtester = new PortfolioBacktester(numOf(1_000_000), PositionSizer.fixedAmount(amount));
+
+        PortfolioBacktestResult result = backtester.run(List.of(new PortfolioAsset("A", first, crossover(first)),
+                new PortfolioAsset("B", second, crossover(second))));
+
+        for (var asset : List.of(new PortfolioAsset("A", first, crossover(first)),
+                new PortfolioAsset("B", second, crossover(second)))) {
+            TradingRecord expected = new BarSeriesManager(asset.series()).run(asset.strategy(), Trade.TradeType.BUY,
+                    amount);
+            TradingRecord actual = result.getTradingRecord(asset.symbol());
+            assertTrue(expected.getPositionCount() > 2);
+            assertEquals(expected.getTrades(), actual.getTrades());
+        }
+        assertEquals(80, result.getTimestamps().size());
+    }
+
+    @Test
+    public void equityAddsCashAndPositionsAtLastClose() {
+        BarSeries series = series(START, 10, 10, 12, 15, 9);
+        var backtester = new PortfolioBacktester(numOf(1000), PositionSizer.fixedAmount(numOf(10)), new ZeroCostModel(),
+                new ZeroCostModel(), new TradeOnCurrentCloseModel());
+
+        PortfolioBacktestResult result = backtester
+                .run(List.of(new PortfolioAsset("A", series, new BaseStrategy(new FixedRule(1), new FixedRule(3)))));
+
+        assertEquals(List.of(numOf(1000), numOf(1000), numOf(1020), numOf(1050), numOf(1050)), result.getEquityCurve());
+        assertEquals(List.of(numOf(1000), numOf(900), numOf(900), numOf(1050), numOf(1050)), result.getCashCurve());
+        assertEquals(numOf(1050), result.getFinalEquity());
+        assertEquals(numOf(1.05), result.getTotalReturn());
+    }
+
+    @Test
+    public void skipsEntriesBeyondAvailableCapital() {
+        BarSeries first = series(START, 10, 10, 20);
+        BarSeries second = series(START, 10, 10, 10);
+        BarSeries third = series(START, 10, 10, 10);
+        var backtester = new PortfolioBacktester(numOf(1000), PositionSizer.fractionOfEquity(numOf(0.5)),
+                new ZeroCostModel(), new ZeroCostModel(), new TradeOnCurrentCloseModel());
+
+        PortfolioBacktestResult result = backtester.run(List.of(new PortfolioAsset("A", first, enterAt(0)),
+                new PortfolioAsset("B", second, enterAt(0)), new PortfolioAsset("C", third, enterAt(0))));
+
+        assertEquals(numOf(50), result.getTradingRecord("A").getCurrentPosition().getEntry().getAmount());
+        assertEquals(numOf(50), result.getTradingRecord("B").getCurrentPosition().getEntry().getAmount());
+        assertTrue(result.getTradingRecord("C").getTrades().isEmpty());
+        assertEquals(numOf(0), result.getCashCurve().getLast());
+        assertEquals(numOf(1500), result.getFinalEquity());
+    }
+
+    @Test
+    public void reservesCashForEntriesFilledOnTheNextBar() {
+        BarSeries first = series(START, 10, 10, 10);
+        BarSeries second = series(START, 10, 10, 10);
+        var backtester = new PortfolioBacktester(numOf(1000), PositionSizer.fixedValue(numOf(600)));
+
+        PortfolioBacktestResult result = backtester
+                .run(List.of(new PortfolioAsset("A", first, enterAt(0)), new PortfolioAsset("B", second, enterAt(0))));
+
+        Trade firstEntry = result.getTradingRecord("A").getCurrentPosition().getEntry();
+        Trade secondEntry = result.getTradingRecord("B").getCurrentPosition().getEntry();
+        assertEquals(1, firstEntry.getIndex());
+        assertEquals(numOf(60), firstEntry.getAmount());
+        assertEquals(numOf(40), secondEntry.getAmount());
+        assertEquals(List.of(numOf(1000), numOf(0), numOf(0)), result.getCashCurve());
+    }
+
+    @Test
+    public void entersWhenTheCashCapBindsAtNonRoundPrices() {
+        double[] closes = new double[60];
+        for (int i = 0; i < closes.length; i++) {
+            closes[i] = 7.3 + i * 0.37 + Math.sin(i) / 3;
+        }
+        int[] entries = new int[closes.length / 2];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = 2 * i;
+        }
+        BarSeries series = series(START, closes);
+        var backtester = new PortfolioBacktester(numOf(1000.37), PositionSizer.fractionOfEquity(numOf(1)),
+                new ZeroCostModel(), new ZeroCostModel(), new TradeOnCurrentCloseModel());
+
+        PortfolioBacktestResult result = backtester
+                .run(List.of(new PortfolioAsset("A", series, new BaseStrategy(new FixedRule(entries),
+                        new FixedRule(IntStream.of(entries).map(i -> i + 1).toArray())))));
+
+        // Every entry spends the whole cash, none is dropped by rounding
+        assertEquals(entries.length, result.getTradingRecord("A").getPositionCount());
+    }
+
+    @Test
+    public void resizesEntriesFilledAboveTheirSizingPrice() {
+        BarSeries gapUp = new MockBarSeriesBuilder().withNumFactory(numFactory).build();
+        gapUp.barBuilder()
+                .timePeriod(Duration.ofDays(1))
+                .endTime(START)
+                .openPrice(10)
+                .highPrice(11)
+                .lowPrice(9)
+                .closePrice(10)
+                .volume(100)
+                .add();
+        gapUp.barBuilder()
+                .timePeriod(Duration.ofDays(1))
+                .endTime(START.plus(Duration.ofDays(1)))
+                .openPrice(12.5)
+                .highPrice(13)
+                .lowPrice(12)
+                .closePrice(12.5)
+                .volume(100)
+                .add();
+        var backtester = new PortfolioBacktester(numOf(1000), PositionSizer.fractionOfEquity(numOf(1)));
+
+        PortfolioBacktestResult result = backtester.run(List.of(new PortfolioAsset("A", gapUp, enterAt(0))));
+
+        Trade entry = result.getTradingRecord("A").getCurrentPosition().getEntry();
+        assertEquals(1, entry.getIndex());
+        assertEquals(numOf(80), entry.getAmount());
+        assertEquals(List.of(numOf(1000), numOf(0)), result.getCashCurve());
+    }
+
+    @Test
+    public void releasesCapitalOnExitBeforeNewEntries() {
+        BarSeries first = series(START, 10, 10, 10, 10);
+        BarSeries second = series(START, 10, 10, 10, 10);
+        var backtester = new PortfolioBacktester(numOf(1000), PositionSizer.fractionOfEquity(numOf(1)),
+                new ZeroCostModel(), new ZeroCostModel(), new TradeOnCurrentCloseModel());
+
+        PortfolioBacktestResult result = backtester
+                .run(List.of(new PortfolioAsset("A", first, new BaseStrategy(new FixedRule(0), new FixedRule(2))),
+                        new PortfolioAsset("B", second, enterAt(1, 2))));
+
+        assertEquals(2, result.getTradingRecord("A").getTrades().size());
+        Trade secondEntry = result.getTradingRecord("B").getCurrentPosition().getEntry();
+        assertEquals(2, secondEntry.getIndex());
+        assertEquals(numOf(100), secondEntry.getAmount());
+    }
+
+    @Test
+    public void shortProceedsDoNotFundOtherSymbols() {
+        BarSeries shorted = series(START, 10, 10, 10);
+        BarSeries longed = series(START, 10, 10, 10);
+        var backtester = new PortfolioBacktester(numOf(1000), PositionSizer.fixedAmount(numOf(60)), new ZeroCostModel(),
+                new ZeroCostModel(), new TradeOnCurrentCloseModel());
+
+        Strategy shortSeller = new BaseStrategy(new FixedRule(0), new FixedRule(1), Trade.TradeType.SELL);
+
+        PortfolioBacktestResult result = backtester.run(
+                List.of(new PortfolioAsset("S", shorted, shortSeller), new PortfolioAsset("L", longed, enterAt(0, 1))));
+
+        // The short holds back its proceeds and its own value, leaving 1000 + 600 -
+        // 1200 available: too little for the long entry until the short is covered
+        Trade longEntry = result.getTradingRecord("L").getCurrentPosition().getEntry();
+        assertEquals(1, longEntry.getIndex());
+        assertEquals(numOf(60), longEntry.getAmount());
+        assertEquals(2, result.getTradingRecord("S").getTrades().size());
+        assertEquals(List.of(numOf(1600), numOf(400), numOf(400)), result.getCashCurve());
+        assertEquals(List.of(numOf(1000), numOf(1000), numOf(1000)), result.getEquityCurve());
+    }
+
+    @Test
+    public void paysTransactionCosts() {
+        BarSeries series = series(START, 10, 10, 20);
+        var backtester = new PortfolioBacktester(numOf(1000), PositionSizer.fixedAmount(numOf(10)),
+                new LinearTransactionCostModel(0.01), new ZeroCostModel(), new TradeOnCurrentCloseModel());
+
+        PortfolioBacktestResult result = backtester
+                .run(List.of(new PortfolioAsset("A", series, new BaseStrategy(new FixedRule(0), new FixedRule(2)))));
+
+        // 100 bought for a cost of 1, 200 sold for a cost of 2
+        assertEquals(List.of(numOf(899), numOf(899), numOf(1097)), result.getCashCurve());
+    }
+
+    @Test
+    public void mergesSeriesOnTheirEndTimes() {
+        BarSeries daily = series(START, 10, 11, 12, 13);
+        BarSeries late = series(START.plus(Duration.ofDays(2)), 20, 30);
+        var backtester = new PortfolioBacktester(numOf(1000), PositionSizer.fixedAmount(numOf(1)), new ZeroCostModel(),
+                new ZeroCostModel(), new TradeOnCurrentCloseModel());
+
+        PortfolioBacktestResult result = backtester
+                .run(List.of(new PortfolioAsset("A", daily, enterAt(0)), new PortfolioAsset("B", late, enterAt(0))));
+
+        assertEquals(List.of(START, START.plus(Duration.ofDays(1)), START.plus(Duration.ofDays(2)),
+                START.plus(Duration.ofDays(3))), result.getTimestamps());
+        assertEquals(List.of(numOf(1000), numOf(1001), numOf(1002), numOf(1013)), result.getEquityCurve());
+        assertEquals(0, result.getTradingRecord("B").getCurrentPosition().getEntry().getIndex());
+    }
+
+    @Test
+    public void rejectsDuplicateSymbols() {
+        BarSeries series = series(START, 10, 11);
+        var backtester = new PortfolioBacktester(numOf(1000), PositionSizer.fixedAmount(numOf(1)));
+        var asset = new PortfolioAsset("A", series, enterAt(0));
+
+        assertThrows(IllegalArgumentException.class, () -> backtester.run(List.of(asset, asset)));
+        assertThrows(IllegalArgumentException.class, () -> PositionSizer.fractionOfEquity(numOf(1.5)));
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.backtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.cost.ZeroCostModel;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.averages.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.reports.TradingStatement;
+import org.ta4j.core.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.rules.CrossedUpIndicatorRule;
+import org.ta4j.core.rules.FixedRule;
+import org.ta4j.core.rules.JustOnceRule;
+import org.ta4j.core.rules.OverIndicatorRule;
+import org.ta4j.core.rules.StopLossRule;
+import org.ta4j.core.rules.TrailingStopLossRule;
+import org.ta4j.core.rules.UnderIndicatorRule;
+
+public class SignalMatrixTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private BarSeries series;
+    private ClosePriceIndicator closePrice;
+
+    public SignalMatrixTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        series = new MockBarSeriesBuilder().withNumFactory(numFactory).build();
+        double previous = 100;
+        for (int i = 0; i < 120; i++) {
+            double close = 100 + 10 * Math.sin(i / 5.0) + 4 * Math.sin(i / 1.7) + i / 10.0;
+            series.barBuilder()
+                    .openPrice(previous)
+                    .highPrice(Math.max(previous, close) + 1)
+                    .lowPrice(Math.min(previous, close) - 1)
+                    .closePrice(close)
+                    .volume(100)
+                    .add();
+            previous = close;
+        }
+        closePrice = new ClosePriceIndicator(series);
+    }
+
+    /** A grid of SMA crossovers, some of them guarded by stateful stops. */
+    private List<Strategy> strategies() {
+        List<Strategy> strategies = new ArrayList<>();
+        for (int fast = 2; fast <= 6; fast++) {
+            for (int slow = 8; slow <= 14; slow += 3) {
+                var fastSma = new SMAIndicator(closePrice, fast);
+                var slowSma = new SMAIndicator(closePrice, slow);
+                Rule entry = new CrossedUpIndicatorRule(fastSma, slowSma);
+                Rule exit = new CrossedDownIndicatorRule(fastSma, slowSma);
+                strategies.add(new BaseStrategy("sma-" + fast + "-" + slow, entry, exit));
+                strategies.add(new BaseStrategy("filtered-" + fast + "-" + slow,
+                        entry.and(new OverIndicatorRule(closePrice, slowSma)),
+                        exit.or(new UnderIndicatorRule(closePrice, slowSma).negation().negation()), slow));
+                strategies.add(new BaseStrategy("stop-" + fast + "-" + slow, entry,
+                        exit.or(new StopLossRule(closePrice, 2)).or(new TrailingStopLossRule(closePrice, numOf(3)))));
+                strategies.add(new BaseStrategy("once-" + fast + "-" + slow, entry.and(new JustOnceRule()), exit));
+            }
+        }
+        return strategies;
+    }
+
+    private static void assertSameTrades(String name, TradingRecord expected, TradingRecord actual) {
+        List<Trade> expectedTrades = expected.getTrades();
+        List<Trade> actualTrades = actual.getTrades();
+        assertEquals(name, expectedTrades.size(), actualTrades.size());
+        for (int i = 0; i < expectedTrades.size(); i++) {
+            assertEquals(name, expectedTrades.get(i).getType(), actualTrades.get(i).getType());
+            assertEquals(name, expectedTrades.get(i).getIndex(), actualTrades.get(i).getIndex());
+            assertEquals(name, expectedTrades.get(i).getPricePerAsset(), actualTrades.get(i).getPricePerAsset());
+            assertEquals(name, expectedTrades.get(i).getAmount(), actualTrades.get(i).getAmount());
+        }
+        assertEquals(name, expected.isClosed(), actual.isClosed());
+    }
+
+    private void assertMatchesPerBarRun(TradeExecutionModel model) {
+        var manager = new BarSeriesManager(series, new ZeroCostModel(), new ZeroCostModel(), model);
+        var vectorized = manager.withSignalMatrix(new SignalMatrix(series));
+        // Stateful rules keep their state between runs: use fresh instances per side
+        List<Strategy> expectedStrategies = strategies();
+        List<Strategy> actualStrategies = strategies();
+        for (int i = 0; i < expectedStrategies.size(); i++) {
+            Strategy strategy = expectedStrategies.get(i);
+            assertSameTrades(strategy.getName(), manager.run(strategy, Trade.TradeType.BUY),
+                    vectorized.run(actualStrategies.get(i), Trade.TradeType.BUY));
+            assertSameTrades(strategy.getName(), manager.run(expectedStrategies.get(i), Trade.TradeType.SELL, 10, 90),
+                    vectorized.run(actualStrategies.get(i), Trade.TradeType.SELL, 10, 90));
+        }
+    }
+
+    @Test
+    public void matchesPerBarRunWithNextOpenModel() {
+        assertMatchesPerBarRun(new TradeOnNextOpenModel());
+    }
+
+    @Test
+    public void matchesPerBarRunWithCurrentCloseModel() {
+        assertMatchesPerBarRun(new TradeOnCurrentCloseModel());
+    }
+
+    @Test
+    public void matchesPerBarRunWithStatefulExecutionModel() {
+        assertMatchesPerBarRun(new StopLimitExecutionModel(numFactory.zero(), numFactory.zero(), numFactory.one(), 2));
+    }
+
+    @Test
+    public void skipsBarsWithoutSignalOnlyForModelsIgnoringOnBar() {
+        List<Integer> visited = new ArrayList<>();
+        List<Integer> skipped = new ArrayList<>();
+        var strategy = new BaseStrategy(new FixedRule(10, 30), new FixedRule(20, 40));
+        var matrix = new SignalMatrix(series);
+
+        new BarSeriesManager(series, new ZeroCostModel(), new ZeroCostModel(), new RecordingModel(visited, false))
+                .withSignalMatrix(matrix)
+                .run(strategy);
+        new BarSeriesManager(series, new ZeroCostModel(), new ZeroCostModel(), new RecordingModel(skipped, true))
+                .withSignalMatrix(matrix)
+                .run(strategy);
+
+        assertEquals(series.getBarCount(), visited.size());
+        assertTrue(skipped.isEmpty());
+    }
+
+    /** Trades on the current close and records the bars passed to onBar. */
+    private static final class RecordingModel extends TradeOnCurrentCloseModel {
+        private final List<Integer> indices;
+        private final boolean ignoresOnBar;
+
+        private RecordingModel(List<Integer> indices, boolean ignoresOnBar) {
+            this.indices = indices;
+            this.ignoresOnBar = ignoresOnBar;
+        }
+
+        @Override
+        public void onBar(int index, TradingRecord tradingRecord, BarSeries barSeries) {
+            indices.add(index);
+        }
+
+        @Override
+        public boolean ignoresOnBar() {
+            return ignoresOnBar;
+        }
+    }
+
+    @Test
+    public void classifiesRules() {
+        var sma = new SMAIndicator(closePrice, 3);
+        Rule crossUp = new CrossedUpIndicatorRule(closePrice, sma);
+        assertTrue(SignalMatrix.isRecordIndependent(crossUp));
+        assertTrue(SignalMatrix.isRecordIndependent(crossUp.and(new FixedRule(3)).negation().xor(crossUp)));
+        assertFalse(SignalMatrix.isRecordIndependent(new StopLossRule(closePrice, 2)));
+        assertFalse(SignalMatrix.isRecordIndependent(crossUp.or(new StopLossRule(closePrice, 2))));
+        assertFalse(SignalMatrix.isRecordIndependent(new JustOnceRule(crossUp)));
+        assertFalse(SignalMatrix.isRecordIndependent(new FixedRule(1) {
+            @Override
+            public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+                return tradingRecord != null && super.isSatisfied(index, tradingRecord);
+            }
+        }));
+    }
+
+    @Test
+    public void sharesSignalsOfCommonRules() {
+        var matrix = new SignalMatrix(series);
+        Rule first = new FixedRule(1, 4, 7);
+        Rule second = new FixedRule(4, 8);
+
+        BitSet expected = new BitSet();
+        expected.set(1);
+        expected.set(7);
+        expected.set(8);
+        assertEquals(expected, matrix.signals(first.xor(second)));
+        assertEquals(3, matrix.size());
+
+        BitSet negated = matrix.signals(first.negation());
+        assertEquals(series.getBarCount() - 3, negated.cardinality());
+        assertFalse(negated.get(4));
+        assertEquals(4, matrix.size());
+
+        assertThrows(IllegalArgumentException.class, () -> matrix.signals(new StopLossRule(closePrice, 2)));
+        assertThrows(IllegalArgumentException.class, () -> new BarSeriesManager(series).withSignalMatrix(
+                new SignalMatrix(new MockBarSeriesBuilder().withNumFactory(numFactory).withData(1, 2, 3).build())));
+    }
+
+    @Test
+    public void executorMatchesPerBarExecution() {
+        var executor = new BacktestExecutor(series);
+        List<TradingStatement> expected = executor.execute(strategies(), numOf(1));
+        List<TradingStatement> actual = executor.withSignalMatrix().execute(strategies(), numOf(1));
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSameTrades(expected.get(i).getStrategy().getName(), expected.get(i).getTradingRecord(),
+                    actual.get(i).getTradingRecord());
+        }
+    }
+}
@@ -21,10 +21,15 @@ import org.ta4j.core.Trade;
 import org.ta4j.core.analysis.cost.ZeroCostModel;
 import org.ta4j.core.criteria.NumberOfPositionsCriterion;
 import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.averages.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.mocks.MockBarSeriesBuilder;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.num.NumFactory;
 import org.ta4j.core.rules.BooleanRule;
+import org.ta4j.core.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.rules.CrossedUpIndicatorRule;
+import org.ta4j.core.rules.StopLossRule;
 import org.ta4j.core.walkforward.AnchoredExpandingWalkForwardSplitter;
 import org.ta4j.core.walkforward.WalkForwardConfig;
 import org.ta4j.core.walkforward.WalkForwardSplit;
@@ -154,6 +159,36 @@ public class StrategyWalkForwardExecutorTest extends AbstractIndicatorTest<BarSe
         }
     }
 
+    @Test
+    public void foldsShareSignalsAndMatchIndependentFoldRuns() {
+        double[] data = new double[96];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + 8 * Math.sin(i / 1.2) + i / 8.0;
+        }
+        BarSeries series = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(data).build();
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator sma = new SMAIndicator(closePrice, 4);
+        Strategy strategy = new BaseStrategy(new CrossedUpIndicatorRule(closePrice, sma),
+                new CrossedDownIndicatorRule(closePrice, sma).or(new StopLossRule(closePrice, 3)));
+        WalkForwardConfig config = new WalkForwardConfig(24, 12, 12, 0, 0, 12, 3, List.of(2), 1, List.of(1), 42L);
+        StrategyWalkForwardExecutor executor = new StrategyWalkForwardExecutor(series, new ZeroCostModel(),
+                new ZeroCostModel(), new TradeOnCurrentCloseModel());
+
+        StrategyWalkForwardExecutionResult result = executor.execute(strategy, Trade.TradeType.BUY, numOf(1), config);
+
+        var perBarManager = new BarSeriesManager(series, new TradeOnCurrentCloseModel());
+        int positions = 0;
+        for (StrategyWalkForwardExecutionResult.FoldResult fold : result.folds()) {
+            WalkForwardSplit split = fold.split();
+            var expected = perBarManager.run(strategy, Trade.TradeType.BUY, numOf(1), split.testStart(),
+                    split.testEnd());
+            assertEquals(expected.getTrades(), fold.tradingRecord().getTrades());
+            positions += expected.getPositionCount();
+        }
+        assertTrue(result.folds().size() > 2);
+        assertTrue(positions > 2);
+    }
+
     private BarSeries buildSeries(int bars) {
         double[] data = new double[bars];
         for (int i = 0; i < bars; i++) {
@@ -0,0 +1,266 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.backtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.Trade;
+import org.ta4j.core.analysis.cost.LinearTransactionCostModel;
+import org.ta4j.core.analysis.cost.ZeroCostModel;
+import org.ta4j.core.analysis.frequency.SamplingFrequency;
+import org.ta4j.core.criteria.Annualization;
+import org.ta4j.core.criteria.NumberOfPositionsCriterion;
+import org.ta4j.core.criteria.SharpeRatioCriterion;
+import org.ta4j.core.criteria.drawdown.MonteCarloMaximumDrawdownCriterion;
+import org.ta4j.core.criteria.pnl.GrossReturnCriterion;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.reports.TradingStatement;
+import org.ta4j.core.rules.FixedRule;
+
+public class SweepCheckpointTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private static final int STRATEGY_COUNT = 300;
+    private static final int TOP_K = 12;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private BarSeries series;
+    private List<Strategy> strategies;
+    private final GrossReturnCriterion criterion = new GrossReturnCriterion();
+
+    public SweepCheckpointTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        series = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(10, 12, 11, 14, 13, 15, 17, 16, 15, 18, 20, 19, 22, 21, 20, 23, 25, 24, 26, 25)
+                .build();
+        strategies = new ArrayList<>(STRATEGY_COUNT);
+        for (int i = 0; i < STRATEGY_COUNT; i++) {
+            int entry = i % 7;
+            strategies.add(new BaseStrategy("strategy-" + i, new FixedRule(entry, entry + 9),
+                    new FixedRule(entry + 2 + i % 5, 18)));
+        }
+    }
+
+    private List<TradingStatement> sweep(BacktestExecutor executor, SweepCheckpoint checkpoint,
+            AtomicInteger evaluated) {
+        return executor
+                .executeAndKeepTopK(strategies, numOf(1), Trade.TradeType.BUY, criterion, TOP_K,
+                        completed -> evaluated.incrementAndGet(), checkpoint)
+                .tradingStatements();
+    }
+
+    private static void assertSameRanking(List<TradingStatement> expected, List<TradingStatement> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i).getStrategy(), actual.get(i).getStrategy());
+        }
+    }
+
+    /** Keeps the header and the first {@code entries} lines, then a torn line. */
+    private static void simulateCrash(Path log, int entries) throws IOException {
+        List<String> lines = Files.readAllLines(log, StandardCharsets.UTF_8);
+        String content = String.join("\n", lines.subList(0, entries + 1)) + "\n{\"index\":7,\"na";
+        Files.writeString(log, content, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void resumedSweepMatchesUninterruptedSweep() throws IOException {
+        BacktestExecutor executor = new BacktestExecutor(series);
+        List<TradingStatement> expected = executor
+                .executeAndKeepTopK(strategies, numOf(1), Trade.TradeType.BUY, criterion, TOP_K, null)
+                .tradingStatements();
+
+        for (BacktestExecutor candidate : List.of(executor,
+                executor.withParallelism(BacktestParallelism.forkJoin(3)))) {
+            Path log = folder.newFile().toPath();
+            Files.delete(log);
+            SweepCheckpoint checkpoint = SweepCheckpoint.at(log).withFlushEvery(10);
+
+            AtomicInteger evaluated = new AtomicInteger();
+            assertSameRanking(expected, sweep(candidate, checkpoint, evaluated));
+            assertEquals(STRATEGY_COUNT, evaluated.get());
+            assertEquals(STRATEGY_COUNT + 1, Files.readAllLines(log).size());
+
+            simulateCrash(log, 120);
+            evaluated.set(0);
+            List<TradingStatement> resumed = sweep(candidate, checkpoint, evaluated);
+            assertEquals(STRATEGY_COUNT - 120, evaluated.get());
+            assertSameRanking(expected, resumed);
+            for (int i = 0; i < resumed.size(); i++) {
+                assertEquals(criterion.calculate(series, expected.get(i).getTradingRecord()),
+                        criterion.calculate(series, resumed.get(i).getTradingRecord()));
+            }
+            assertEquals(STRATEGY_COUNT + 1, Files.readAllLines(log).size());
+
+            // A complete log evaluates nothing
+            evaluated.set(0);
+            assertSameRanking(expected, sweep(candidate, checkpoint, evaluated));
+            assertEquals(0, evaluated.get());
+        }
+    }
+
+    @Test
+    public void rejectsLogOfAnotherSweep() throws IOException {
+        Path log = folder.newFile().toPath();
+        Files.delete(log);
+        SweepCheckpoint checkpoint = SweepCheckpoint.at(log);
+        BacktestExecutor executor = new BacktestExecutor(series);
+        sweep(executor, checkpoint, new AtomicInteger());
+
+        assertThrows(IllegalStateException.class, () -> executor.executeAndKeepTopK(strategies, numOf(1),
+                Trade.TradeType.BUY, new NumberOfPositionsCriterion(), TOP_K, null, checkpoint));
+
+        assertThrows(IllegalStateException.class, () -> executor.executeAndKeepTopK(strategies, numOf(2),
+                Trade.TradeType.BUY, criterion, TOP_K, null, checkpoint));
+        assertThrows(IllegalStateException.class, () -> executor.executeAndKeepTopK(strategies, numOf(1),
+                Trade.TradeType.SELL, criterion, TOP_K, null, checkpoint));
+        BarSeries otherSeries = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(10, 12, 11, 14, 13, 15, 17, 16, 15, 18, 20, 19, 22, 21, 20, 23, 25, 24, 26, 27)
+                .build();
+        assertThrows(IllegalStateException.class, () -> new BacktestExecutor(otherSeries).executeAndKeepTopK(strategies,
+                numOf(1), Trade.TradeType.BUY, criterion, TOP_K, null, checkpoint));
+
+        BacktestExecutor withCosts = new BacktestExecutor(series, new LinearTransactionCostModel(0.001),
+                new ZeroCostModel(), new TradeOnNextOpenModel());
+        assertThrows(IllegalStateException.class, () -> sweep(withCosts, checkpoint, new AtomicInteger()));
+        BacktestExecutor onClose = new BacktestExecutor(series, new ZeroCostModel(), new ZeroCostModel(),
+                new TradeOnCurrentCloseModel());
+        assertThrows(IllegalStateException.class, () -> sweep(onClose, checkpoint, new AtomicInteger()));
+
+        // Same name, other rules
+        Strategy original = strategies.get(5);
+        strategies.set(5, new BaseStrategy(original.getName(), new FixedRule(0), new FixedRule(2)));
+        assertThrows(IllegalStateException.class, () -> sweep(executor, checkpoint, new AtomicInteger()));
+        strategies.set(5, new BaseStrategy("renamed", original.getEntryRule(), original.getExitRule()));
+        assertThrows(IllegalStateException.class, () -> sweep(executor, checkpoint, new AtomicInteger()));
+
+        assertThrows(IllegalArgumentException.class, () -> checkpoint.withFlushEvery(0));
+    }
+
+    @Test
+    public void rejectsStrategiesThatCannotBeSerialized() {
+        strategies.set(3, new BaseStrategy("opaque", (index, tradingRecord) -> index == 2, new FixedRule(5)));
+
+        assertThrows(IllegalArgumentException.class, () -> sweep(new BacktestExecutor(series),
+                SweepCheckpoint.at(folder.getRoot().toPath().resolve("opaque.ckpt")), new AtomicInteger()));
+    }
+
+    @Test
+    public void restartsWhenHeaderWasTorn() throws IOException {
+        Path log = folder.newFile().toPath();
+        Files.writeString(log, "{\"version\":1,\"strat", StandardCharsets.UTF_8);
+
+        AtomicInteger evaluated = new AtomicInteger();
+        sweep(new BacktestExecutor(series), SweepCheckpoint.at(log), evaluated);
+        assertEquals(STRATEGY_COUNT, evaluated.get());
+        assertEquals(STRATEGY_COUNT + 1, Files.readAllLines(log).size());
+    }
+
+    @Test
+    public void fingerprintCoversCriterionConfiguration() {
+        BarSeriesManager manager = new BarSeriesManager(series);
+        Num amount = numOf(1);
+        assertEquals(SweepCheckpoint.fingerprint(manager, amount, Trade.TradeType.BUY, new NumberOfPositionsCriterion()),
+                SweepCheckpoint.fingerprint(manager, amount, Trade.TradeType.BUY, new NumberOfPositionsCriterion()));
+        assertNotEquals(
+                SweepCheckpoint.fingerprint(manager, amount, Trade.TradeType.BUY, new NumberOfPositionsCriterion()),
+                SweepCheckpoint.fingerprint(manager, amount, Trade.TradeType.BUY,
+                        new NumberOfPositionsCriterion(false)));
+    }
+
+    @Test
+    public void fingerprintCoversNestedComponentsAndRejectsOpaqueFields() {
+        BarSeriesManager manager = new BarSeriesManager(series);
+        Num amount = numOf(1);
+        // The sampling frequency is only held by a nested helper of the criterion
+        assertNotEquals(SweepCheckpoint.fingerprint(manager, amount, Trade.TradeType.BUY, new SharpeRatioCriterion()),
+                SweepCheckpoint.fingerprint(manager, amount, Trade.TradeType.BUY, new SharpeRatioCriterion(0,
+                        SamplingFrequency.DAY, Annualization.ANNUALIZED, ZoneOffset.UTC)));
+        // The random generator supplier is a lambda, which cannot be told apart
+        assertThrows(IllegalArgumentException.class, () -> SweepCheckpoint.fingerprint(manager, amount,
+                Trade.TradeType.BUY, new MonteCarloMaximumDrawdownCriterion()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BacktestExecutor(series).executeAndKeepTopK(strategies, amount, Trade.TradeType.BUY,
+                        new MonteCarloMaximumDrawdownCriterion(), TOP_K, null,
+                        SweepCheckpoint.at(folder.getRoot().toPath().resolve("opaque.ckpt"))));
+    }
+
+    @Test
+    public void rejectsHeaderWithMissingField() throws IOException {
+        Path log = folder.newFile().toPath();
+        Files.writeString(log, "{\"version\":3,\"strategyCount\":" + STRATEGY_COUNT + "}\n", StandardCharsets.UTF_8);
+
+        assertThrows(IllegalStateException.class,
+                () -> sweep(new BacktestExecutor(series), SweepCheckpoint.at(log), new AtomicInteger()));
+    }
+
+    @Test
+    public void reEvaluatesOnlyMalformedLines() throws IOException {
+        Path log = folder.newFile().toPath();
+        Files.delete(log);
+        SweepCheckpoint checkpoint = SweepCheckpoint.at(log);
+        BacktestExecutor executor = new BacktestExecutor(series);
+        List<TradingStatement> expected = sweep(executor, checkpoint, new AtomicInteger());
+
+        List<String> lines = new ArrayList<>(Files.readAllLines(log, StandardCharsets.UTF_8));
+        lines.set(40, "{\"index\":");
+        lines.set(41, lines.get(41).replace("\"nanos\"", "\"millis\""));
+        Files.write(log, lines, StandardCharsets.UTF_8);
+
+        AtomicInteger evaluated = new AtomicInteger();
+        assertSameRanking(expected, sweep(executor, checkpoint, evaluated));
+        assertEquals(2, evaluated.get());
+    }
+
+    @Test
+    public void logsPrunedStrategies() throws IOException {
+        Path log = folder.newFile().toPath();
+        Files.delete(log);
+        SweepCheckpoint checkpoint = SweepCheckpoint.at(log);
+        SweepPruner evenEntries = (barSeries, tradingRecord, rankingCriterion,
+                kthBestValue) -> tradingRecord.getPositions().get(0).getEntry().getIndex() % 2 == 0;
+        BacktestExecutor executor = new BacktestExecutor(series).withPruning(evenEntries);
+
+        AtomicInteger evaluated = new AtomicInteger();
+        List<TradingStatement> expected = sweep(executor, checkpoint, evaluated);
+        assertEquals(STRATEGY_COUNT, evaluated.get());
+        List<String> lines = Files.readAllLines(log, StandardCharsets.UTF_8);
+        assertEquals(STRATEGY_COUNT + 1, lines.size());
+        long pruned = lines.stream().filter(line -> line.contains("\"pruned\":true")).count();
+        assertTrue(pruned > 0 && pruned < STRATEGY_COUNT);
+
+        // Pruned strategies are not backtested again
+        evaluated.set(0);
+        assertSameRanking(expected, sweep(executor, checkpoint, evaluated));
+        assertEquals(0, evaluated.get());
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.criteria;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Position;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.cost.LinearTransactionCostModel;
+import org.ta4j.core.analysis.cost.ZeroCostModel;
+import org.ta4j.core.criteria.drawdown.MaximumDrawdownCriterion;
+import org.ta4j.core.criteria.pnl.GrossAverageLossCriterion;
+import org.ta4j.core.criteria.pnl.GrossAverageProfitCriterion;
+import org.ta4j.core.criteria.pnl.GrossLossCriterion;
+import org.ta4j.core.criteria.pnl.GrossProfitCriterion;
+import org.ta4j.core.criteria.pnl.GrossProfitLossCriterion;
+import org.ta4j.core.criteria.pnl.GrossProfitLossPercentageCriterion;
+import org.ta4j.core.criteria.pnl.MaxPositionNetLossCriterion;
+import org.ta4j.core.criteria.pnl.MaxPositionNetProfitCriterion;
+import org.ta4j.core.criteria.pnl.NetAverageLossCriterion;
+import org.ta4j.core.criteria.pnl.NetAverageProfitCriterion;
+import org.ta4j.core.criteria.pnl.NetLossCriterion;
+import org.ta4j.core.criteria.pnl.NetProfitCriterion;
+import org.ta4j.core.criteria.pnl.NetProfitLossCriterion;
+import org.ta4j.core.criteria.pnl.NetProfitLossPercentageCriterion;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.reports.TradingStatement;
+import org.ta4j.core.reports.TradingStatementGenerator;
+
+public class CriterionSuiteTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    private BarSeries series;
+
+    public CriterionSuiteTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        series = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(100, 105, 100, 80, 85, 120, 120, 90, 100, 100, 110, 95)
+                .build();
+    }
+
+    private static List<AnalysisCriterion> positionCriteria() {
+        return List.of(new NetProfitLossCriterion(), new NetProfitCriterion(), new NetLossCriterion(),
+                new GrossProfitLossCriterion(), new GrossProfitCriterion(), new GrossLossCriterion(),
+                new NetAverageProfitCriterion(), new NetAverageLossCriterion(), new GrossAverageProfitCriterion(),
+                new GrossAverageLossCriterion(), new NetProfitLossPercentageCriterion(ReturnRepresentation.DECIMAL),
+                new NetProfitLossPercentageCriterion(ReturnRepresentation.PERCENTAGE),
+                new NetProfitLossPercentageCriterion(ReturnRepresentation.MULTIPLICATIVE),
+                new NetProfitLossPercentageCriterion(ReturnRepresentation.LOG),
+                new GrossProfitLossPercentageCriterion(ReturnRepresentation.DECIMAL),
+                new MaxPositionNetProfitCriterion(), new MaxPositionNetLossCriterion(),
+                new NumberOfPositionsCriterion(), new NumberOfPositionsCriterion(false),
+                new NumberOfWinningPositionsCriterion(), new NumberOfLosingPositionsCriterion(),
+                new NumberOfBreakEvenPositionsCriterion());
+    }
+
+    private TradingRecord record(Trade.TradeType tradeType, boolean withCosts) {
+        var record = withCosts
+                ? new BaseTradingRecord(tradeType, new LinearTransactionCostModel(0.01), new ZeroCostModel())
+                : new BaseTradingRecord(tradeType);
+        int[][] positions = { { 0, 1 }, { 2, 5 }, { 6, 7 }, { 8, 9 } };
+        for (int[] position : positions) {
+            record.enter(position[0], series.getBar(position[0]).getClosePrice(), numFactory.one());
+            record.exit(position[1], series.getBar(position[1]).getClosePrice(), numFactory.one());
+        }
+        record.enter(10, series.getBar(10).getClosePrice(), numFactory.one());
+        return record;
+    }
+
+    private void assertMatchesCriteria(CriterionSuite suite, TradingRecord record) {
+        List<Num> expected = new ArrayList<>();
+        for (AnalysisCriterion criterion : suite.getCriteria()) {
+            expected.add(criterion.calculate(series, record));
+        }
+        assertEquals(expected, suite.calculate(series, record));
+    }
+
+    @Test
+    public void fusedValuesMatchCriteria() {
+        var suite = new CriterionSuite(positionCriteria());
+        for (int i = 0; i < suite.getCriteria().size(); i++) {
+            assertTrue(suite.getCriteria().get(i).toString(), suite.isFused(i));
+        }
+
+        assertMatchesCriteria(suite, record(Trade.TradeType.BUY, false));
+        assertMatchesCriteria(suite, record(Trade.TradeType.BUY, true));
+        assertMatchesCriteria(suite, record(Trade.TradeType.SELL, false));
+        assertMatchesCriteria(suite, record(Trade.TradeType.SELL, true));
+        assertMatchesCriteria(suite, new BaseTradingRecord());
+    }
+
+    @Test
+    public void otherCriteriaAreDelegated() {
+        var subclass = new NetProfitCriterion() {
+            @Override
+            protected Num calculatePosition(Position position) {
+                return position.getProfit().multipliedBy(numFactory.two());
+            }
+        };
+        var suite = new CriterionSuite(List.of(new NetProfitCriterion(), new SharpeRatioCriterion(),
+                new MaximumDrawdownCriterion(), subclass, new NumberOfWinningPositionsCriterion()));
+
+        assertTrue(suite.isFused(0));
+        assertFalse(suite.isFused(1));
+        assertFalse(suite.isFused(2));
+        assertFalse(suite.isFused(3));
+        assertTrue(suite.isFused(4));
+        assertMatchesCriteria(suite, record(Trade.TradeType.BUY, true));
+    }
+
+    @Test
+    public void tradingStatementMatchesCriteria() {
+        var record = record(Trade.TradeType.BUY, true);
+        TradingStatement statement = new TradingStatementGenerator().generate(null, record, series);
+
+        var performance = statement.getPerformanceReport();
+        assertEquals(new NetProfitLossCriterion().calculate(series, record), performance.getTotalProfitLoss());
+        assertEquals(new NetProfitLossPercentageCriterion().calculate(series, record),
+                performance.getTotalProfitLossPercentage());
+        assertEquals(new NetProfitCriterion().calculate(series, record), performance.getTotalProfit());
+        assertEquals(new NetLossCriterion().calculate(series, record), performance.getTotalLoss());
+
+        var positionStats = statement.getPositionStatsReport();
+        assertEquals(new NumberOfWinningPositionsCriterion().calculate(series, record), positionStats.getProfitCount());
+        assertEquals(new NumberOfLosingPositionsCriterion().calculate(series, record), positionStats.getLossCount());
+        assertEquals(new NumberOfBreakEvenPositionsCriterion().calculate(series, record),
+                positionStats.getBreakEvenCount());
+        assertEquals(numFactory.numOf(2), positionStats.getProfitCount());
+    }
+}
@@ -9,9 +9,15 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.ta4j.core.num.DecimalNum;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+
 import static org.junit.Assert.*;
 
 /**
@@ -63,6 +69,47 @@ public class CachedBufferTest {
         assertEquals("Outer write lock should flip stamp twice", initialStamp + 2L, finalStamp);
     }
 
+    @Test
+    public void testThreadConfinedBufferCachesWithoutWriteStamp() {
+        CachedBuffer<Integer> buffer = new CachedBuffer<>(3, false, true);
+        AtomicInteger computations = new AtomicInteger(0);
+        AtomicBoolean writeSectionSeen = new AtomicBoolean(false);
+
+        for (int i = 0; i < 10; i++) {
+            Integer result = buffer.getOrCompute(i, index -> {
+                computations.incrementAndGet();
+                writeSectionSeen.set(buffer.isWriteLockedByCurrentThread());
+                return index == 5 ? null : index * 2;
+            });
+            assertEquals(i == 5 ? null : Integer.valueOf(i * 2), result);
+        }
+        assertTrue(buffer.isThreadConfined());
+        assertTrue("recursive computations must see the write section", writeSectionSeen.get());
+        assertFalse(buffer.isWriteLockedByCurrentThread());
+        assertEquals(10, computations.get());
+        assertEquals("thread-confined buffers do not maintain the stamp", 0L, buffer.getWriteStamp());
+
+        // Only the last 3 indices are retained
+        assertEquals(7, buffer.getFirstCachedIndex());
+        assertEquals(Integer.valueOf(18), buffer.getOrCompute(9, index -> -1));
+        assertEquals(Integer.valueOf(-1), buffer.getOrCompute(6, index -> -1));
+
+        buffer.invalidateFrom(0);
+        assertEquals(-1, buffer.getHighestResultIndex());
+    }
+
+    @Test
+    public void testThreadConfinedPrimitiveStorage() {
+        CachedBuffer<Num> buffer = new CachedBuffer<>(Integer.MAX_VALUE, true, true);
+        for (int i = 0; i < 600; i++) {
+            buffer.getOrCompute(i, DoubleNum::valueOf);
+        }
+        assertTrue(buffer.usesPrimitiveStorage());
+        assertEquals(599.0, buffer.getDouble(599, index -> -1), 0);
+        assertEquals(-1.0, buffer.getDouble(600, index -> -1), 0);
+        assertEquals(DoubleNum.valueOf(42), buffer.get(42));
+    }
+
     @Test
     public void testRingBufferEvictionWithSmallCapacity() {
         // Test with small maximumBarCount (3) and >10 bars to verify wraparound
@@ -821,4 +868,109 @@ public class CachedBufferTest {
 
         assertEquals("No incorrect reads should occur under contention", 0, incorrectReads.get());
     }
+
+    @Test
+    public void primitiveStorageKeepsDoubleNumValues() {
+        CachedBuffer<Num> buffer = new CachedBuffer<>(10, true);
+        Num[] values = new Num[10];
+        for (int i = 0; i < 10; i++) {
+            values[i] = DoubleNum.valueOf(i * 1.5);
+            buffer.put(i, values[i]);
+        }
+
+        assertTrue(buffer.usesPrimitiveStorage());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(values[i], buffer.get(i));
+            final int expected = i;
+            assertEquals(values[i], buffer.getOrCompute(i, index -> DoubleNum.valueOf(expected * 1.5)));
+            assertEquals(i * 1.5, buffer.getDouble(i, index -> {
+                throw new AssertionError("primitive read should not miss");
+            }), 0);
+        }
+        assertEquals(-1, buffer.getDouble(10, index -> -1), 0);
+    }
+
+    @Test
+    public void primitiveStorageDistinguishesNaNAndNullValues() {
+        CachedBuffer<Num> buffer = new CachedBuffer<>(10, true);
+        buffer.put(0, NaN.NaN);
+        buffer.put(1, null);
+        buffer.put(2, DoubleNum.valueOf(Double.NaN));
+
+        assertTrue(buffer.usesPrimitiveStorage());
+        assertSame(NaN.NaN, buffer.get(0));
+        assertTrue(buffer.isCached(1));
+        assertNull(buffer.get(1));
+        assertFalse(buffer.get(2).isNaN());
+        assertTrue(Double.isNaN(buffer.get(2).doubleValue()));
+        assertTrue(Double.isNaN(buffer.getDouble(0, index -> 0)));
+        assertTrue(Double.isNaN(buffer.getDouble(1, index -> 0)));
+    }
+
+    @Test
+    public void primitiveStorageSwitchesToObjectsForOtherValues() {
+        CachedBuffer<Num> buffer = new CachedBuffer<>(10, true);
+        buffer.put(0, DoubleNum.valueOf(1));
+        buffer.put(1, NaN.NaN);
+        buffer.put(2, DecimalNum.valueOf(3));
+
+        assertFalse(buffer.usesPrimitiveStorage());
+        assertEquals(DoubleNum.valueOf(1), buffer.get(0));
+        assertSame(NaN.NaN, buffer.get(1));
+        assertEquals(DecimalNum.valueOf(3), buffer.get(2));
+        assertEquals(7, buffer.getDouble(0, index -> 7), 0);
+
+        CachedBuffer<Boolean> booleans = new CachedBuffer<>(10, true);
+        booleans.put(0, true);
+        assertFalse(booleans.usesPrimitiveStorage());
+        assertEquals(Boolean.TRUE, booleans.get(0));
+    }
+
+    @Test
+    public void primitiveStorageEvictsGrowsAndExpandsBackward() {
+        CachedBuffer<Num> bounded = new CachedBuffer<>(3, true);
+        for (int i = 0; i < 5; i++) {
+            bounded.put(i, DoubleNum.valueOf(i));
+        }
+        assertEquals(2, bounded.getFirstCachedIndex());
+        assertFalse(bounded.isCached(1));
+        assertEquals(DoubleNum.valueOf(4), bounded.get(4));
+
+        bounded.put(1, DoubleNum.valueOf(10));
+        assertEquals(1, bounded.getFirstCachedIndex());
+        assertEquals(3, bounded.getHighestResultIndex());
+        assertEquals(DoubleNum.valueOf(10), bounded.get(1));
+        assertEquals(DoubleNum.valueOf(3), bounded.get(3));
+        assertFalse(bounded.isCached(4));
+
+        CachedBuffer<Num> unbounded = new CachedBuffer<>(Integer.MAX_VALUE, true);
+        for (int i = 0; i < 2000; i++) {
+            unbounded.put(i, DoubleNum.valueOf(i));
+        }
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(i, unbounded.getDouble(i, index -> Double.NaN), 0);
+        }
+        unbounded.invalidateFrom(1000);
+        assertFalse(unbounded.isCached(1000));
+        assertTrue(unbounded.isCached(999));
+    }
+
+    @Test
+    public void primitiveStorageIsCreatedByFirstDoubleNum() {
+        CachedBuffer<Num> buffer = new CachedBuffer<>(10, true);
+        assertFalse(buffer.usesPrimitiveStorage());
+
+        buffer.putDouble(0, 2.5);
+        buffer.putDouble(1, Double.NaN);
+        assertTrue(buffer.usesPrimitiveStorage());
+        assertEquals(DoubleNum.valueOf(2.5), buffer.get(0));
+        assertSame(NaN.NaN, buffer.get(1));
+        assertEquals(2.5, buffer.getDouble(0, index -> -1), 0);
+
+        buffer.put(2, DecimalNum.valueOf(3));
+        buffer.putDouble(3, 4);
+        assertFalse(buffer.usesPrimitiveStorage());
+        assertEquals(DoubleNum.valueOf(2.5), buffer.get(0));
+        assertEquals(DoubleNum.valueOf(4), buffer.get(3));
+    }
 }
@@ -6,11 +6,16 @@ package org.ta4j.core.indicators;
 import org.junit.Before;
 import org.junit.Test;
 import org.ta4j.core.*;
+import org.ta4j.core.indicators.averages.EMAIndicator;
+import org.ta4j.core.indicators.averages.KAMAIndicator;
+import org.ta4j.core.indicators.averages.MMAIndicator;
 import org.ta4j.core.indicators.averages.SMAIndicator;
 import org.ta4j.core.indicators.averages.ZLEMAIndicator;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.indicators.helpers.ConstantIndicator;
+import org.ta4j.core.indicators.helpers.RunningTotalIndicator;
 import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.DoubleNumFactory;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.num.NumFactory;
 import org.ta4j.core.rules.OverIndicatorRule;
@@ -18,7 +23,10 @@ import org.ta4j.core.rules.UnderIndicatorRule;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -27,6 +35,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.*;
@@ -47,6 +56,89 @@ public class CachedIndicatorTest extends AbstractIndicatorTest<Indicator<Num>, N
                 .build();
     }
 
+    @Test
+    public void computeRangeMatchesPerIndexEvaluation() {
+        var random = new Random(3);
+        var builder = new MockBarSeriesBuilder().withNumFactory(numFactory);
+        BarSeries longSeries = builder.build();
+        for (int i = 0; i < 400; i++) {
+            longSeries.barBuilder().closePrice(100 + random.nextInt(20)).add();
+        }
+        var close = new ClosePriceIndicator(longSeries);
+        List<Function<Indicator<Num>, CachedIndicator<Num>>> factories = List.of(c -> new EMAIndicator(c, 10),
+                c -> new MMAIndicator(c, 7), c -> new KAMAIndicator(c), c -> new RunningTotalIndicator(c, 15),
+                c -> new SMAIndicator(c, 5));
+        for (var factory : factories) {
+            CachedIndicator<Num> reference = factory.apply(close);
+            CachedIndicator<Num> ranged = factory.apply(close);
+            // partial ranges, with a gap and an overlap, then the whole series
+            ranged.computeRange(50, 120);
+            ranged.computeRange(100, 250);
+            ranged.computeRange(0, longSeries.getEndIndex());
+            assertEquals(longSeries.getEndIndex(), ranged.highestResultIndex);
+            for (int i = 0; i <= longSeries.getEndIndex(); i++) {
+                assertEquals(reference.toString() + " at " + i, reference.getValue(i), ranged.getValue(i));
+            }
+        }
+    }
+
+    @Test
+    public void computeRangeClampsToAvailableBars() {
+        var bounded = new MockBarSeriesBuilder().withNumFactory(numFactory).build();
+        bounded.setMaximumBarCount(20);
+        for (int i = 0; i < 50; i++) {
+            bounded.barBuilder().closePrice(i).add();
+        }
+        var ema = new EMAIndicator(new ClosePriceIndicator(bounded), 3);
+        var reference = new EMAIndicator(new ClosePriceIndicator(bounded), 3);
+        ema.computeRange(-5, 500);
+        for (int i = bounded.getBeginIndex(); i <= bounded.getEndIndex(); i++) {
+            assertEquals(reference.getValue(i), ema.getValue(i));
+        }
+        ema.computeRange(10, 5);
+    }
+
+    @Test
+    public void threadConfinedSeriesMatchesSharedSeries() {
+        var builder = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(1, 2, 3, 4, 3, 4, 5, 4, 3, 3, 4, 3, 2);
+        builder.withThreadConfined(true);
+        BarSeries confined = builder.build();
+        assertTrue(confined.isThreadConfined());
+        assertFalse(series.isThreadConfined());
+
+        var confinedSma = new SMAIndicator(new ClosePriceIndicator(confined), 3);
+        var confinedZlema = new ZLEMAIndicator(new ClosePriceIndicator(confined), 4);
+        var sharedSma = new SMAIndicator(new ClosePriceIndicator(series), 3);
+        var sharedZlema = new ZLEMAIndicator(new ClosePriceIndicator(series), 4);
+        for (int i = series.getEndIndex(); i >= 0; i--) {
+            assertNumEquals(sharedSma.getValue(i), confinedSma.getValue(i));
+            assertNumEquals(sharedZlema.getValue(i), confinedZlema.getValue(i));
+        }
+
+        // The last bar stays mutation-aware
+        confined.addPrice(numFactory.numOf(8));
+        series.addPrice(numFactory.numOf(8));
+        int endIndex = series.getEndIndex();
+        assertNumEquals(sharedSma.getValue(endIndex), confinedSma.getValue(endIndex));
+        assertNumEquals(sharedZlema.getValue(endIndex), confinedZlema.getValue(endIndex));
+    }
+
+    @Test
+    public void threadConfinedSeriesWithMaximumBarCount() {
+        var builder = new MockBarSeriesBuilder().withNumFactory(numFactory);
+        builder.withThreadConfined(true);
+        BarSeries confined = builder.build();
+        confined.setMaximumBarCount(5);
+        var sma = new SMAIndicator(new ClosePriceIndicator(confined), 2);
+        for (int i = 1; i <= 20; i++) {
+            confined.barBuilder().closePrice(i).add();
+            assertNumEquals(i == 1 ? 1 : i - 0.5, sma.getValue(confined.getEndIndex()));
+        }
+        // Removed indices map to the first available bar
+        assertNumEquals(sma.getValue(confined.getBeginIndex()), sma.getValue(0));
+    }
+
     @Test
     public void ifCacheWorks() {
         var sma = new SMAIndicator(new ClosePriceIndicator(series), 3);
@@ -55,6 +147,58 @@ public class CachedIndicatorTest extends AbstractIndicatorTest<Indicator<Num>, N
         assertEquals(firstTime, secondTime);
     }
 
+    @Test
+    public void getValueAsDoubleMatchesGetValue() {
+        var sma = new SMAIndicator(new ClosePriceIndicator(series), 3);
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            assertEquals(sma.getValue(i).doubleValue(), sma.getValueAsDouble(i), 0);
+            // second read comes from the cache (primitive storage on DoubleNum series)
+            assertEquals(sma.getValue(i).doubleValue(), sma.getValueAsDouble(i), 0);
+        }
+    }
+
+    @Test
+    public void getDoubleAndGetValueShareOneCache() {
+        var sma = new SMAIndicator(new ClosePriceIndicator(series), 3);
+        double primitive = sma.getDouble(5);
+        assertTrue(((CachedIndicator<Num>) sma).getCache().isCached(5));
+        assertEquals(primitive, sma.getValue(5).doubleValue(), 0);
+
+        Num value = sma.getValue(7);
+        assertEquals(value.doubleValue(), sma.getDouble(7), 0);
+    }
+
+    @Test
+    public void getCachedDoubleNeverRunsCalculatorConcurrently() throws Exception {
+        BarSeries doubleSeries = new MockBarSeriesBuilder().withNumFactory(DoubleNumFactory.getInstance())
+                .withData(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12)
+                .build();
+        var indicator = new ConcurrencyTrackingIndicator(doubleSeries);
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = offset; i < doubleSeries.getEndIndex(); i += threads) {
+                        assertEquals(i, indicator.getDouble(i), 0);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, indicator.maxActive.get());
+    }
+
     @Test // should be not null
     public void getValueWithNullBarSeries() {
 
@@ -1355,4 +1499,41 @@ public class CachedIndicatorTest extends AbstractIndicatorTest<Indicator<Num>, N
         }
     }
 
+
+    /** Records how many threads run its primitive calculation at once. */
+    private static final class ConcurrencyTrackingIndicator extends CachedIndicator<Num> implements DoubleIndicator {
+
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger maxActive = new AtomicInteger();
+
+        private ConcurrencyTrackingIndicator(BarSeries series) {
+            super(series);
+        }
+
+        @Override
+        protected Num calculate(int index) {
+            return getBarSeries().numFactory().numOf(index);
+        }
+
+        @Override
+        public double getDouble(int index) {
+            return getCachedDouble(index, this::calculateDouble);
+        }
+
+        private double calculateDouble(int index) {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            active.decrementAndGet();
+            return index;
+        }
+
+        @Override
+        public int getCountOfUnstableBars() {
+            return 0;
+        }
+    }
 }
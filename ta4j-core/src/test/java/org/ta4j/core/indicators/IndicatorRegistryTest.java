@@ -0,0 +1,145 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.indicators;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.averages.EMAIndicator;
+import org.ta4j.core.indicators.averages.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.ConstantIndicator;
+import org.ta4j.core.indicators.helpers.OpenPriceIndicator;
+import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+public class IndicatorRegistryTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    private BarSeries series;
+    private IndicatorRegistry registry;
+
+    public IndicatorRegistryTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        series = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(1, 2, 3, 4, 5, 6, 5, 4, 3, 2, 1, 2, 3)
+                .build();
+        registry = new IndicatorRegistry();
+    }
+
+    @Test
+    public void sharesEquivalentIndicators() {
+        var first = registry.intern(new SMAIndicator(new ClosePriceIndicator(series), 3));
+        var second = registry.intern(new SMAIndicator(new ClosePriceIndicator(series), 3));
+
+        assertSame(first, second);
+        // the SMA, its running total and its close price input
+        assertEquals(3, registry.size());
+        assertSame(registry.intern(new ClosePriceIndicator(series)), registry.intern(new ClosePriceIndicator(series)));
+        assertEquals(3, registry.size());
+    }
+
+    @Test
+    public void keepsDifferentIndicatorsApart() {
+        var close = new ClosePriceIndicator(series);
+        var sma = registry.intern(new SMAIndicator(close, 3));
+
+        assertNotSame(sma, registry.intern(new SMAIndicator(close, 4)));
+        assertNotSame(sma, registry.intern(new EMAIndicator(close, 3)));
+        assertNotSame(sma, registry.intern(new SMAIndicator(new OpenPriceIndicator(series), 3)));
+
+        var otherSeries = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(1, 2, 3).build();
+        assertNotSame(sma, registry.intern(new SMAIndicator(new ClosePriceIndicator(otherSeries), 3)));
+
+        var constant = registry.intern(new ConstantIndicator<>(series, numFactory.numOf(2)));
+        assertSame(constant, registry.intern(new ConstantIndicator<>(series, numFactory.numOf(2))));
+        assertNotSame(constant, registry.intern(new ConstantIndicator<>(series, numFactory.numOf(3))));
+    }
+
+    @Test
+    public void sharesNestedGraphs() {
+        var first = registry.intern(new StandardDeviationIndicator(new ClosePriceIndicator(series), 5));
+        var second = registry.intern(new StandardDeviationIndicator(new ClosePriceIndicator(series), 5));
+        assertSame(first, second);
+
+        var reference = new StandardDeviationIndicator(new ClosePriceIndicator(series), 5);
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            assertNumEquals(reference.getValue(i), second.getValue(i));
+        }
+    }
+
+    @Test
+    public void comparesSubIndicatorsBuiltByConstructors() {
+        var close = new ClosePriceIndicator(series);
+        var first = registry.intern(new MACDIndicator(close, 3, 5));
+        var second = registry.intern(new MACDIndicator(new ClosePriceIndicator(series), 3, 6));
+        var third = new MACDIndicator(new ClosePriceIndicator(series), 3, 5);
+
+        assertNotSame(first, second);
+        assertSame(first, registry.intern(third));
+        // Sub-indicators stay private to the instance that built them
+        assertNotSame(first.getShortTermEma(), second.getShortTermEma());
+        assertNotSame(first.getShortTermEma(), third.getShortTermEma());
+
+        var reference = new MACDIndicator(new ClosePriceIndicator(series), 3, 6);
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            assertNumEquals(reference.getValue(i), second.getValue(i));
+        }
+    }
+
+    @Test
+    public void comparesNumParametersByExactValue() {
+        var constant = registry.intern(new ConstantIndicator<>(series, numFactory.numOf(2)));
+
+        assertSame(constant, registry.intern(new ConstantIndicator<>(series, numFactory.numOf("2.000"))));
+        assertNotSame(constant, registry.intern(new ConstantIndicator<>(series, numFactory.numOf(2.000001))));
+    }
+
+    @Test
+    public void clearForgetsIndicators() {
+        var sma = registry.intern(new SMAIndicator(new ClosePriceIndicator(series), 3));
+        registry.clear();
+
+        assertEquals(0, registry.size());
+        assertNotSame(sma, registry.intern(new SMAIndicator(new ClosePriceIndicator(series), 3)));
+    }
+
+    @Test
+    public void concurrentInterningReturnsOneInstance() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<SMAIndicator>> tasks = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                tasks.add(() -> registry.intern(new SMAIndicator(new ClosePriceIndicator(series), 7)));
+            }
+            SMAIndicator shared = null;
+            for (Future<SMAIndicator> future : executor.invokeAll(tasks)) {
+                if (shared == null) {
+                    shared = future.get();
+                }
+                assertSame(shared, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
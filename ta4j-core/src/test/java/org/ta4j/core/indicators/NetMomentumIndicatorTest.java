@@ -153,7 +153,8 @@ public class NetMomentumIndicatorTest extends AbstractIndicatorTest<Indicator<Nu
         Num firstCall = subject.getValue(15);
         Num secondCall = subject.getValue(15);
 
-        assertSame(firstCall, secondCall); // Should be the same object due to caching
+        // DoubleNum results are cached as primitives and materialized on access
+        assertEquals(firstCall, secondCall);
     }
 
     @Test
@@ -146,6 +146,22 @@ public class RecentFractalSwingHighIndicatorTest extends AbstractIndicatorTest<I
         assertThat(indicator.getSwingPointIndexes()).containsExactly(2, 5, 8, 11);
     }
 
+    @Test
+    public void shouldExposeSwingPointsAppendedSinceAnIndexAndTheirRevision() {
+        final var indicator = new RecentFractalSwingHighIndicator(new HighPriceIndicator(series), 2, 2, 0);
+
+        final long revision = indicator.getSwingPointRevision(7);
+        assertThat(indicator.getSwingPointIndexesBetween(2, 7)).containsExactly(5);
+        assertThat(indicator.getSwingPointIndexesBetween(-1, 10)).containsExactly(2, 5, 8);
+        assertThat(indicator.getSwingPointIndexesBetween(5, 13)).containsExactly(8, 11);
+        assertThat(indicator.getSwingPointRevision(13)).isEqualTo(revision);
+
+        final var plateauSeries = createSeriesFromHighs(9, 10, 10, 10, 10, 8, 7);
+        final var plateau = new RecentFractalSwingHighIndicator(new HighPriceIndicator(plateauSeries), 1, 0, 1);
+        final long plateauRevision = plateau.getSwingPointRevision(2);
+        assertThat(plateau.getSwingPointRevision(4)).isNotEqualTo(plateauRevision);
+    }
+
     private BarSeries createSeriesFromHighs(double... highs) {
         final var barSeries = new MockBarSeriesBuilder().withNumFactory(numFactory).build();
         for (double high : highs) {
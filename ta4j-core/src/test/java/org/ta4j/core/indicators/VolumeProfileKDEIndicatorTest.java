@@ -4,6 +4,8 @@
 package org.ta4j.core.indicators;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
 import static org.ta4j.core.TestUtils.assertNumEquals;
 
 import java.util.List;
@@ -145,6 +147,183 @@ public class VolumeProfileKDEIndicatorTest extends AbstractIndicatorTest<Indicat
         assertThat(indicator.getValue(6).isNaN()).isFalse();
     }
 
+    /**
+     * Verifies that the binned estimate matches the exact one for prices on the
+     * grid, as the window slides.
+     */
+    @Test
+    public void binnedDensityMatchesExactDensityOnTheGrid() {
+        int barCount = 60;
+        double[] closes = new double[barCount];
+        double[] volumes = new double[barCount];
+        for (int i = 0; i < barCount; i++) {
+            closes[i] = 100 + 0.25 * Math.round(12 * Math.sin(i / 5.0));
+            volumes[i] = 100 + (i * 37) % 90;
+        }
+        BarSeries series = buildSeries(closes, volumes);
+        var price = new ClosePriceIndicator(series);
+        var volume = new VolumeIndicator(series, 1);
+
+        // Wide enough for the exact estimate to stay clear of far kernel tails
+        var exact = new VolumeProfileKDEIndicator(price, volume, 12, numOf(2));
+        var binned = new VolumeProfileKDEIndicator(price, volume, 12, numOf(2), numOf(0.25));
+
+        for (int i = binned.getCountOfUnstableBars(); i < barCount; i++) {
+            for (double level = 96; level <= 104; level += 0.25) {
+                double expected = exact.getDensityAtPrice(i, numOf(level)).doubleValue();
+                double actual = binned.getDensityAtPrice(i, numOf(level)).doubleValue();
+                assertThat(actual).isCloseTo(expected, within(1.0e-6));
+            }
+            assertThat(binned.getValue(i).doubleValue()).isCloseTo(exact.getValue(i).doubleValue(), within(1.0e-6));
+            assertThat(binned.getModePrice(i)).isEqualByComparingTo(exact.getModePrice(i));
+        }
+    }
+
+    /**
+     * Verifies that the binned estimate does not depend on the query order.
+     */
+    @Test
+    public void binnedDensityIsIndependentOfQueryOrder() {
+        BarSeries series = buildSeries(new double[] { 10, 10.5, 11, 10.5, 10, 12, 11.5 },
+                new double[] { 150, 60, 25, 80, 40, 90, 10 });
+        var price = new ClosePriceIndicator(series);
+        var volume = new VolumeIndicator(series, 1);
+
+        var forward = new VolumeProfileKDEIndicator(price, volume, 3, numOf(0.5), numOf(0.5));
+        var backward = new VolumeProfileKDEIndicator(price, volume, 3, numOf(0.5), numOf(0.5));
+
+        for (int i = series.getEndIndex(); i >= series.getBeginIndex(); i--) {
+            Num expected = forwardDensity(forward, i);
+            Num actual = backward.getDensityAtPrice(i, numOf(10.75));
+            assertThat(actual.isNaN()).isEqualTo(expected.isNaN());
+            if (!expected.isNaN()) {
+                assertThat(actual.doubleValue()).isCloseTo(expected.doubleValue(), within(1.0e-9));
+            }
+        }
+    }
+
+    /**
+     * Verifies that the binned estimate sums the volumes of each bin when the
+     * bandwidth is zero.
+     */
+    @Test
+    public void shouldSumBinVolumesWhenBandwidthIsZero() {
+        BarSeries series = buildSeries(new double[] { 10, 10.1, 11 }, new double[] { 100, 200, 50 });
+        var price = new ClosePriceIndicator(series);
+        var volume = new VolumeIndicator(series, 1);
+
+        var indicator = new VolumeProfileKDEIndicator(price, volume, 0, numOf(0), numOf(0.5));
+
+        assertThat(indicator.getDensityAtPrice(2, numOf(10))).isEqualByComparingTo(numOf(300));
+        assertThat(indicator.getDensityAtPrice(2, numOf(11))).isEqualByComparingTo(numOf(50));
+        assertThat(indicator.getDensityAtPrice(2, numOf(12))).isEqualByComparingTo(numOf(0));
+        assertThat(indicator.getModePrice(2)).isEqualByComparingTo(numOf(10));
+        assertThat(new VolumeProfileKDEIndicator(price, volume, 0, numOf(0), numOf(0.5)).getModePrice(2))
+                .isEqualByComparingTo(numOf(10));
+    }
+
+    /**
+     * Verifies that a bin emptied of fractional volumes as the window slides is no
+     * longer a mode candidate.
+     */
+    @Test
+    public void binnedModeIgnoresBinsLeftByFractionalVolumes() {
+        BarSeries series = buildSeries(new double[] { 10, 10, 9, 11 }, new double[] { 0.1, 0.2, 1, 0.9 });
+        var price = new ClosePriceIndicator(series);
+        var volume = new VolumeIndicator(series, 1);
+
+        var exact = new VolumeProfileKDEIndicator(price, volume, 2, numOf(2));
+        var binned = new VolumeProfileKDEIndicator(price, volume, 2, numOf(2), numOf(1));
+
+        for (int i = binned.getCountOfUnstableBars(); i <= series.getEndIndex(); i++) {
+            assertThat(binned.getModePrice(i)).isEqualByComparingTo(exact.getModePrice(i));
+        }
+        // Bin 10 is denser than bins 9 and 11, but holds no sample anymore
+        assertThat(binned.getModePrice(3)).isEqualByComparingTo(numOf(9));
+    }
+
+    /**
+     * Verifies that a bandwidth spanning too many bins is rejected instead of
+     * spreading each sample over an unbounded number of bins.
+     */
+    @Test
+    public void binnedEstimateRejectsBandwidthSpanningTooManyBins() {
+        BarSeries series = buildSeries(new double[] { 10, 11 }, new double[] { 1, 1 });
+        var price = new ClosePriceIndicator(series);
+        var volume = new VolumeIndicator(series, 1);
+
+        assertThatThrownBy(() -> new VolumeProfileKDEIndicator(price, volume, 0, numOf(1e6), numOf(0.01)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("binSize");
+        assertThat(new VolumeProfileKDEIndicator(price, volume, 0, numOf(10), numOf(0.01)).getModePrice(1))
+                .isEqualByComparingTo(numOf(10));
+    }
+
+    /**
+     * Verifies that the grid handles negative prices and kernels straddling the
+     * blocks of bins.
+     */
+    @Test
+    public void binnedDensityMatchesExactDensityAcrossBlocks() {
+        BarSeries series = buildSeries(new double[] { -0.5, 0.25, -1.25, 1, -0.25, 0 },
+                new double[] { 3, 1, 2, 4, 2, 5 });
+        var price = new ClosePriceIndicator(series);
+        var volume = new VolumeIndicator(series, 1);
+
+        var exact = new VolumeProfileKDEIndicator(price, volume, 3, numOf(1));
+        var binned = new VolumeProfileKDEIndicator(price, volume, 3, numOf(1), numOf(0.25));
+
+        for (int i = binned.getCountOfUnstableBars(); i <= series.getEndIndex(); i++) {
+            for (double p = -2; p <= 2; p += 0.25) {
+                assertThat(binned.getDensityAtPrice(i, numOf(p)).doubleValue())
+                        .isCloseTo(exact.getDensityAtPrice(i, numOf(p)).doubleValue(), within(1.0e-9));
+            }
+            assertThat(binned.getModePrice(i)).isEqualByComparingTo(exact.getModePrice(i));
+        }
+    }
+
+    /**
+     * Verifies that the grid copes with prices far apart, and forgets them once
+     * they leave the window.
+     */
+    @Test
+    public void binnedEstimateHandlesWidePriceRanges() {
+        BarSeries series = buildSeries(new double[] { 1, 1e9, 1, 1 }, new double[] { 100, 300, 50, 20 });
+        var indicator = new VolumeProfileKDEIndicator(new ClosePriceIndicator(series), new VolumeIndicator(series, 1),
+                2, numOf(0.5), numOf(0.01));
+        double peak = 1.0 / (0.5 * Math.sqrt(2.0 * Math.PI));
+
+        assertThat(indicator.getModePrice(1).doubleValue()).isCloseTo(1e9, within(1.0e-6));
+        assertThat(indicator.getModePrice(2).doubleValue()).isCloseTo(1e9, within(1.0e-6));
+        assertThat(indicator.getModePrice(3)).isEqualByComparingTo(numOf(1));
+        assertThat(indicator.getDensityAtPrice(3, numOf(1)).doubleValue()).isCloseTo(70 * peak, within(1.0e-9));
+        assertThat(indicator.getDensityAtPrice(3, numOf(1e9)).doubleValue()).isZero();
+    }
+
+    /**
+     * Verifies that a binned indicator round-trips through serialization.
+     */
+    @Test
+    public void shouldRoundTripBinnedIndicator() {
+        BarSeries series = buildSeries(new double[] { 10, 10.5, 11 }, new double[] { 150, 60, 25 });
+        var indicator = new VolumeProfileKDEIndicator(new ClosePriceIndicator(series), new VolumeIndicator(series, 1),
+                0, numOf(0.5), numOf(0.25));
+
+        var restored = (VolumeProfileKDEIndicator) Indicator.fromJson(series, indicator.toJson());
+
+        assertThat(restored.toDescriptor()).isEqualTo(indicator.toDescriptor());
+        int index = series.getEndIndex();
+        assertThat(restored.getValue(index)).isEqualByComparingTo(indicator.getValue(index));
+        assertThat(restored.getModePrice(index)).isEqualByComparingTo(indicator.getModePrice(index));
+    }
+
+    private Num forwardDensity(VolumeProfileKDEIndicator indicator, int index) {
+        for (int i = 0; i < index; i++) {
+            indicator.getDensityAtPrice(i, numOf(10.75));
+        }
+        return indicator.getDensityAtPrice(index, numOf(10.75));
+    }
+
     /**
      * Builds series.
      */
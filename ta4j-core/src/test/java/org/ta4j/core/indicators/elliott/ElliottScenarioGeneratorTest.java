@@ -5,11 +5,13 @@ package org.ta4j.core.indicators.elliott;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.ta4j.core.indicators.elliott.confidence.ConfidenceModel;
+import org.ta4j.core.indicators.elliott.confidence.ConfidenceProfiles;
 import org.ta4j.core.indicators.elliott.confidence.ElliottConfidenceBreakdown;
 import org.ta4j.core.num.DecimalNumFactory;
 import org.ta4j.core.num.Num;
@@ -172,6 +174,42 @@ class ElliottScenarioGeneratorTest {
         }
     }
 
+    @Test
+    void boundedAndMemoizedGenerationMatchesFullScoring() {
+        ConfidenceModel defaultModel = ConfidenceProfiles.defaultModel(numFactory);
+        // A lambda only has the default score(...) ignoring the floor
+        ConfidenceModel unboundedModel = defaultModel::score;
+        ElliottScenarioGenerator bounded = new ElliottScenarioGenerator(numFactory, 0.0, 2, defaultModel,
+                PatternSet.all());
+        ElliottScenarioGenerator unbounded = new ElliottScenarioGenerator(numFactory, 0.0, 2, unboundedModel,
+                PatternSet.all());
+        List<ElliottSwing> swings = createAlternatingSwings();
+        ElliottChannel channel = new ElliottChannel(numFactory.numOf(170), numFactory.numOf(130),
+                numFactory.numOf(150));
+
+        for (int run = 0; run < 2; run++) {
+            for (int end = 1; end <= swings.size(); end++) {
+                List<ElliottSwing> window = swings.subList(0, end);
+                for (ElliottChannel projected : Arrays.asList(null, channel)) {
+                    List<ElliottScenario> expected = unbounded.generate(window, ElliottDegree.MINOR, projected, end)
+                            .all();
+                    List<ElliottScenario> actual = bounded.generate(window, ElliottDegree.MINOR, projected, end).all();
+
+                    assertThat(actual).hasSameSizeAs(expected);
+                    for (int i = 0; i < expected.size(); i++) {
+                        assertThat(actual.get(i).type()).isEqualTo(expected.get(i).type());
+                        assertThat(actual.get(i).currentPhase()).isEqualTo(expected.get(i).currentPhase());
+                        assertThat(actual.get(i).startIndex()).isEqualTo(expected.get(i).startIndex());
+                        assertThat(actual.get(i).swings()).isEqualTo(expected.get(i).swings());
+                        assertThat(actual.get(i).confidence()).isEqualTo(expected.get(i).confidence());
+                        assertThat(actual.get(i).invalidationPrice()).isEqualTo(expected.get(i).invalidationPrice());
+                        assertThat(actual.get(i).fibonacciTargets()).isEqualTo(expected.get(i).fibonacciTargets());
+                    }
+                }
+            }
+        }
+    }
+
     private List<ElliottSwing> createAlternatingSwings() {
         // Create properly alternating swings for impulse detection
         return List.of(new ElliottSwing(0, 5, numFactory.numOf(100), numFactory.numOf(120), ElliottDegree.MINOR),
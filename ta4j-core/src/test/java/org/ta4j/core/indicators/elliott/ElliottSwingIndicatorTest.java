@@ -4,7 +4,9 @@
 package org.ta4j.core.indicators.elliott;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -179,6 +181,53 @@ class ElliottSwingIndicatorTest {
         assertThat(swings.get(0).toPrice()).isEqualByComparingTo(factory.numOf(8));
     }
 
+    @Test
+    void incrementalSwingsMatchIndependentEvaluations() {
+        var series = new MockBarSeriesBuilder().build();
+        for (int i = 0; i < 300; i++) {
+            double close = 100 + 10 * Math.sin(i / 4.0) + 4 * Math.sin(i / 1.3) + i / 20.0;
+            series.barBuilder()
+                    .openPrice(close)
+                    .highPrice(close + 1)
+                    .lowPrice(close - 1)
+                    .closePrice(close)
+                    .volume(0)
+                    .add();
+        }
+
+        var indicator = new ElliottSwingIndicator(series, 2, ElliottDegree.MINOR);
+        var history = new ArrayList<List<ElliottSwing>>();
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            history.add(indicator.getValue(i));
+        }
+
+        assertThat(history.get(history.size() - 1)).hasSizeGreaterThan(20);
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i += 7) {
+            var independent = new ElliottSwingIndicator(series, 2, ElliottDegree.MINOR);
+            assertThat(history.get(i)).isEqualTo(independent.getValue(i));
+        }
+    }
+
+    @Test
+    void swingListsShareTheirConfirmedSwings() {
+        var series = new MockBarSeriesBuilder().build();
+        double[] closes = { 10, 12, 9, 13, 8, 14, 7, 15, 6, 16, 5 };
+        for (double close : closes) {
+            series.barBuilder().openPrice(close).highPrice(close).lowPrice(close).closePrice(close).volume(0).add();
+        }
+
+        var indicator = new ElliottSwingIndicator(series, 1, ElliottDegree.MINOR);
+        var earlier = indicator.getValue(6);
+        var later = indicator.getValue(series.getEndIndex());
+
+        assertThat(earlier).hasSize(4);
+        assertThat(later).hasSize(8);
+        assertThat(later.get(0)).isSameAs(earlier.get(0));
+        assertThat(later.subList(0, 4)).isEqualTo(earlier);
+        assertThat(indicator.getValue(6)).isSameAs(earlier);
+        assertThatThrownBy(() -> earlier.add(later.get(4))).isInstanceOf(UnsupportedOperationException.class);
+    }
+
     private static final class FixedRecentSwingIndicator implements RecentSwingIndicator {
 
         private final BarSeries series;
@@ -8,12 +8,18 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 import org.ta4j.core.analysis.AnalysisRunner;
 import org.ta4j.core.BarSeries;
+import org.ta4j.core.indicators.elliott.swing.AdaptiveZigZagConfig;
+import org.ta4j.core.indicators.elliott.swing.SwingDetectors;
 import org.ta4j.core.mocks.MockBarSeriesBuilder;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.num.NumFactory;
@@ -73,6 +79,76 @@ class ElliottWaveAnalysisRunnerMultiDegreeTest {
         assertThat(intermediateBars).isGreaterThan(0);
     }
 
+    @Test
+    void concurrentDegreesMatchSequentialAnalysis() throws InterruptedException {
+        BarSeries series = buildWaveSeries(1100, 0.0);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ElliottWaveAnalysisRunner sequential = ElliottWaveAnalysisRunner.builder()
+                    .degree(ElliottDegree.PRIMARY)
+                    .higherDegrees(1)
+                    .lowerDegrees(2)
+                    .swingDetector(SwingDetectors.adaptiveZigZag(new AdaptiveZigZagConfig(14, 1.0, 0.0, 0.0, 1)))
+                    .minConfidence(0.0)
+                    .build();
+            ElliottWaveAnalysisRunner concurrent = ElliottWaveAnalysisRunner.builder()
+                    .degree(ElliottDegree.PRIMARY)
+                    .higherDegrees(1)
+                    .lowerDegrees(2)
+                    .swingDetector(SwingDetectors.adaptiveZigZag(new AdaptiveZigZagConfig(14, 1.0, 0.0, 0.0, 1)))
+                    .minConfidence(0.0)
+                    .executor(executor)
+                    .build();
+
+            ElliottWaveAnalysisResult expected = sequential.analyze(series);
+            ElliottWaveAnalysisResult actual = concurrent.analyze(series);
+
+            assertThat(actual.analyses()).extracting(ElliottWaveAnalysisResult.DegreeAnalysis::degree)
+                    .containsExactly(ElliottDegree.CYCLE, ElliottDegree.PRIMARY, ElliottDegree.INTERMEDIATE,
+                            ElliottDegree.MINOR);
+            assertThat(actual.notes()).isEqualTo(expected.notes());
+            assertThat(actual.rankedBaseScenarios()).isNotEmpty().isEqualTo(expected.rankedBaseScenarios());
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void analyzesUniverseConcurrentlyInSymbolOrder() throws InterruptedException {
+        Map<String, BarSeries> universe = new LinkedHashMap<>();
+        universe.put("C", buildWaveSeries(600, 0.0));
+        universe.put("A", buildWaveSeries(600, 1.0));
+        universe.put("B", buildWaveSeries(600, 2.0));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ElliottWaveAnalysisRunner sequential = ElliottWaveAnalysisRunner.builder()
+                    .degree(ElliottDegree.INTERMEDIATE)
+                    .swingDetector(SwingDetectors.adaptiveZigZag(new AdaptiveZigZagConfig(14, 1.0, 0.0, 0.0, 1)))
+                    .minConfidence(0.0)
+                    .build();
+            ElliottWaveAnalysisRunner concurrent = ElliottWaveAnalysisRunner.builder()
+                    .degree(ElliottDegree.INTERMEDIATE)
+                    .swingDetector(SwingDetectors.adaptiveZigZag(new AdaptiveZigZagConfig(14, 1.0, 0.0, 0.0, 1)))
+                    .minConfidence(0.0)
+                    .executor(executor)
+                    .build();
+
+            Map<String, ElliottWaveAnalysisResult> results = concurrent.analyzeAll(universe);
+
+            assertThat(results.keySet()).containsExactly("C", "A", "B");
+            for (Map.Entry<String, BarSeries> entry : universe.entrySet()) {
+                ElliottWaveAnalysisResult expected = sequential.analyze(entry.getValue());
+                ElliottWaveAnalysisResult actual = results.get(entry.getKey());
+                assertThat(actual.analyses()).hasSameSizeAs(expected.analyses());
+                assertThat(actual.rankedBaseScenarios()).isNotEmpty().isEqualTo(expected.rankedBaseScenarios());
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
     @Test
     void builderRequiresDegree() {
         IllegalStateException exception = assertThrows(IllegalStateException.class,
@@ -114,6 +190,27 @@ class ElliottWaveAnalysisRunnerMultiDegreeTest {
                 .build();
     }
 
+    private static BarSeries buildWaveSeries(final int barCount, final double phase) {
+        BarSeries series = new MockBarSeriesBuilder().withName("MultiDegreeWaveTest").build();
+        Duration period = Duration.ofDays(1);
+        Instant time = Instant.parse("2022-01-01T00:00:00Z");
+        double previous = 100;
+        for (int i = 0; i < barCount; i++) {
+            double close = 100 + 45 * Math.sin(i / 20.0 + phase) + 15 * Math.sin(i / 6.0) + i / 20.0;
+            series.barBuilder()
+                    .timePeriod(period)
+                    .endTime(time.plus(period.multipliedBy(i + 1)))
+                    .openPrice(previous)
+                    .highPrice(Math.max(previous, close) + 1)
+                    .lowPrice(Math.min(previous, close) - 1)
+                    .closePrice(close)
+                    .volume(1)
+                    .add();
+            previous = close;
+        }
+        return series;
+    }
+
     private static BarSeries buildDailySeries(final int barCount) {
         BarSeries series = new MockBarSeriesBuilder().withName("MultiDegreeAnalyzerTest").build();
         Duration period = Duration.ofDays(1);
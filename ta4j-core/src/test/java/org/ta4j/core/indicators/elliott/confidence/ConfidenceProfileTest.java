@@ -9,6 +9,7 @@ import static org.junit.Assert.assertThrows;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.ta4j.core.indicators.elliott.ElliottFibonacciValidator;
@@ -39,6 +40,52 @@ class ConfidenceProfileTest {
         assertThat(breakdown.factors().get(1).weight()).isEqualByComparingTo(NUM_FACTORY.numOf(1.0));
     }
 
+    @Test
+    void scoreStopsOnceOverallScoreIsBoundedBelowFloor() {
+        CountingFactor last = new CountingFactor();
+        ConfidenceProfile profile = new ConfidenceProfile(List.of(
+                new ConfidenceProfile.WeightedFactor(new ConstantFactor("Fib", ConfidenceFactorCategory.FIBONACCI,
+                        NUM_FACTORY.numOf(0.1), "Fib fit"), NUM_FACTORY.numOf(3.0)),
+                new ConfidenceProfile.WeightedFactor(last, NUM_FACTORY.numOf(1.0))));
+
+        // At most (0.1 * 3 + 1) / 4 = 0.325 once the first factor is known
+        assertThat(profile.score(context(NUM_FACTORY), NUM_FACTORY.numOf(0.4))).isEmpty();
+        assertThat(last.calls).isZero();
+
+        // The first factor leaves room for 0.3, but the last one scores 0.5: 0.2
+        assertThat(profile.score(context(NUM_FACTORY), NUM_FACTORY.numOf(0.3))).isEmpty();
+        assertThat(profile.score(context(NUM_FACTORY), NUM_FACTORY.numOf(0.15))).isPresent();
+        assertThat(last.calls).isEqualTo(2);
+        assertThat(profile.score(context(NUM_FACTORY)).confidence().overall().doubleValue()).isCloseTo(0.2,
+                within(1.0e-12));
+    }
+
+    @Test
+    void scoreKeepsUnboundedFactorScoresAndScoresEveryFactor() {
+        CountingFactor counting = new CountingFactor();
+        ConfidenceProfile profile = new ConfidenceProfile(List.of(
+                new ConfidenceProfile.WeightedFactor(
+                        new ConstantFactor(
+                                "Fib", ConfidenceFactorCategory.FIBONACCI, NUM_FACTORY.numOf(0.1), "Fib fit"),
+                        NUM_FACTORY.numOf(3.0)),
+                new ConfidenceProfile.WeightedFactor(counting, NUM_FACTORY.numOf(1.0)),
+                new ConfidenceProfile.WeightedFactor(new ConstantFactor("Channel", ConfidenceFactorCategory.CHANNEL,
+                        NUM_FACTORY.numOf(2.0), "Channel fit"), NUM_FACTORY.numOf(1.0))));
+
+        ElliottConfidenceBreakdown breakdown = profile.score(context(NUM_FACTORY));
+
+        assertThat(breakdown.factors().get(2).score()).isEqualByComparingTo(NUM_FACTORY.two());
+        // (0.1 * 3 + 0.5 * 1 + 2 * 1) / 5
+        assertThat(breakdown.confidence().overall().doubleValue()).isCloseTo(0.56, within(1.0e-12));
+
+        // Assuming 1.0 for the factors left would wrongly rule this out after the
+        // first factor
+        Optional<ElliottConfidenceBreakdown> floored = profile.score(context(NUM_FACTORY), NUM_FACTORY.numOf(0.5));
+        assertThat(floored).isPresent();
+        assertThat(floored.get().confidence().overall().doubleValue()).isCloseTo(0.56, within(1.0e-12));
+        assertThat(counting.calls).isEqualTo(2);
+    }
+
     @Test
     void weightedFactorRejectsInvalidWeight() {
         ConstantFactor factor = new ConstantFactor("Factor", ConfidenceFactorCategory.OTHER, NUM_FACTORY.one(),
@@ -55,6 +102,31 @@ class ConfidenceProfileTest {
                 new ElliottFibonacciValidator(numFactory), numFactory);
     }
 
+    private static final class CountingFactor implements ConfidenceFactor {
+        private int calls;
+
+        @Override
+        public String name() {
+            return "Time";
+        }
+
+        @Override
+        public ConfidenceFactorCategory category() {
+            return ConfidenceFactorCategory.TIME;
+        }
+
+        @Override
+        public ConfidenceFactorResult score(ElliottConfidenceContext context) {
+            calls++;
+            return ConfidenceFactorResult.of(name(), category(), NUM_FACTORY.numOf(0.5), Map.of(), "counted");
+        }
+
+        @Override
+        public boolean isBounded() {
+            return true;
+        }
+    }
+
     private static final class ConstantFactor implements ConfidenceFactor {
         private final String name;
         private final ConfidenceFactorCategory category;
@@ -82,5 +154,10 @@ class ConfidenceProfileTest {
         public ConfidenceFactorResult score(ElliottConfidenceContext context) {
             return ConfidenceFactorResult.of(name, category, score, Map.of(), summary);
         }
+
+        @Override
+        public boolean isBounded() {
+            return !score.isNegative() && !score.isGreaterThan(NUM_FACTORY.one());
+        }
     }
 }
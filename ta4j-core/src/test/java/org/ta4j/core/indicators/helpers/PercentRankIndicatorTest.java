@@ -7,12 +7,18 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertThrows;
 import static org.ta4j.core.TestUtils.assertNumEquals;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.AbstractIndicatorTest;
 import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.NaN;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.num.NumFactory;
 
@@ -343,4 +349,45 @@ public class PercentRankIndicatorTest extends AbstractIndicatorTest<Indicator<Nu
             assertThat(percentRank.getValue(i).isNaN()).isTrue();
         }
     }
+
+    @Test
+    public void matchesWindowScanForSequentialAndRandomAccess() {
+        var random = new Random(42);
+        double[] data = new double[400];
+        for (int i = 0; i < data.length; i++) {
+            // a small value range produces plenty of ties
+            data[i] = random.nextInt(25);
+        }
+        BarSeries series = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(data).build();
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        List<Integer> order = new ArrayList<>();
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            order.add(i);
+        }
+        PercentRankIndicator sequential = new PercentRankIndicator(closePrice, 20);
+        for (int index : order) {
+            assertNumEquals(scanPercentRank(closePrice, index, 20), sequential.getValue(index));
+        }
+        Collections.shuffle(order, random);
+        PercentRankIndicator shuffled = new PercentRankIndicator(closePrice, 20);
+        for (int index : order) {
+            assertNumEquals(scanPercentRank(closePrice, index, 20), shuffled.getValue(index));
+        }
+    }
+
+    private Num scanPercentRank(Indicator<Num> indicator, int index, int period) {
+        if (index < period - 1) {
+            return NaN.NaN;
+        }
+        Num current = indicator.getValue(index);
+        int valid = 0;
+        int lessThanCount = 0;
+        for (int i = Math.max(0, index - period); i < index; i++) {
+            valid++;
+            if (indicator.getValue(i).isLessThan(current)) {
+                lessThanCount++;
+            }
+        }
+        return numFactory.numOf(lessThanCount).dividedBy(numFactory.numOf(valid)).multipliedBy(numFactory.hundred());
+    }
 }
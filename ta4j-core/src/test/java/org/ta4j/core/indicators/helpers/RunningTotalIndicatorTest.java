@@ -6,12 +6,23 @@ package org.ta4j.core.indicators.helpers;
 import static org.junit.Assert.assertEquals;
 import static org.ta4j.core.TestUtils.assertNumEquals;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.AbstractIndicatorTest;
 import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.DoubleNumFactory;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.num.NumFactory;
 
@@ -51,4 +62,69 @@ public class RunningTotalIndicatorTest extends AbstractIndicatorTest<Indicator<N
             assertNumEquals(indicator.getValue(i), restored.getValue(i));
         }
     }
+
+    @Test
+    public void concurrentGetDoubleMatchesSequentialSums() throws Exception {
+        int barCount = 20;
+        Random random = new Random(7);
+        double[] closes = new double[2000];
+        for (int i = 0; i < closes.length; i++) {
+            closes[i] = 100 + random.nextInt(50);
+        }
+        double[] expected = new double[closes.length];
+        for (int index = 0; index < closes.length; index++) {
+            for (int i = Math.max(0, index - barCount + 1); i <= index; i++) {
+                expected[index] += closes[i];
+            }
+        }
+        BarSeries series = new MockBarSeriesBuilder().withNumFactory(DoubleNumFactory.getInstance())
+                .withData(closes)
+                .build();
+
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 50; round++) {
+                // Threads walk a fresh indicator forward together, so that the running
+                // partial sum is updated from several threads at once
+                RunningTotalIndicator runningTotal = new RunningTotalIndicator(new ClosePriceIndicator(series),
+                        barCount);
+                CyclicBarrier start = new CyclicBarrier(threads);
+                List<Future<Integer>> results = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    Callable<Integer> reader = () -> {
+                        start.await();
+                        int mismatches = 0;
+                        for (int index = 0; index < closes.length - 1; index++) {
+                            if (Math.abs(expected[index] - runningTotal.getDouble(index)) > 1e-9) {
+                                mismatches++;
+                            }
+                        }
+                        return mismatches;
+                    };
+                    results.add(executor.submit(reader));
+                }
+                for (Future<Integer> result : results) {
+                    assertEquals(0, result.get(60, TimeUnit.SECONDS).intValue());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void lastBarGetDoubleFollowsMutations() {
+        BarSeries series = new MockBarSeriesBuilder().withNumFactory(DoubleNumFactory.getInstance())
+                .withData(1, 2, 3, 4, 5)
+                .build();
+        RunningTotalIndicator runningTotal = new RunningTotalIndicator(new ClosePriceIndicator(series), 3);
+
+        assertEquals(12, runningTotal.getDouble(4), 0);
+        assertEquals(12, runningTotal.getDouble(4), 0);
+
+        series.addPrice(8);
+        assertEquals(15, runningTotal.getDouble(4), 0);
+        assertEquals(runningTotal.getValue(3).doubleValue(), runningTotal.getDouble(3), 0);
+    }
 }
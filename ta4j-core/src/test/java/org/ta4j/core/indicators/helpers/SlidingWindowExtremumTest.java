@@ -0,0 +1,163 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.indicators.helpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+public class SlidingWindowExtremumTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    private BarSeries series;
+    private Indicator<Num> values;
+
+    public SlidingWindowExtremumTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        var random = new Random(7);
+        double[] data = new double[500];
+        for (int i = 0; i < data.length; i++) {
+            // a small value range produces plenty of ties
+            data[i] = random.nextInt(20);
+        }
+        series = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(data).build();
+        var close = new ClosePriceIndicator(series);
+        values = new CachedIndicator<>(series) {
+            @Override
+            protected Num calculate(int index) {
+                // sprinkle NaN values, including runs of them
+                return index % 17 == 0 || (index > 100 && index < 106) ? NaN.NaN : close.getValue(index);
+            }
+
+            @Override
+            public int getCountOfUnstableBars() {
+                return 0;
+            }
+        };
+    }
+
+    /** Reference implementation: rescans the window, skipping NaN values. */
+    private static Num bruteForce(Indicator<Num> indicator, int index, int barCount, boolean highest) {
+        Num extremum = NaN.NaN;
+        for (int i = index; i >= Math.max(0, index - barCount + 1); i--) {
+            Num value = indicator.getValue(i);
+            if (value.isNaN()) {
+                continue;
+            }
+            if (extremum.isNaN() || (highest ? value.isGreaterThan(extremum) : value.isLessThan(extremum))) {
+                extremum = value;
+            }
+        }
+        return extremum;
+    }
+
+    private void assertMatchesBruteForce(List<Integer> order, int barCount) {
+        var highest = new HighestValueIndicator(values, barCount);
+        var lowest = new LowestValueIndicator(values, barCount);
+        for (int index : order) {
+            assertNumEquals(bruteForce(values, index, barCount, true), highest.getValue(index));
+            assertNumEquals(bruteForce(values, index, barCount, false), lowest.getValue(index));
+        }
+    }
+
+    @Test
+    public void sequentialAccessMatchesRescan() {
+        List<Integer> order = new ArrayList<>();
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            order.add(i);
+        }
+        for (int barCount : new int[] { 1, 2, 5, 50, 1000 }) {
+            assertMatchesBruteForce(order, barCount);
+        }
+    }
+
+    @Test
+    public void randomAccessMatchesRescan() {
+        List<Integer> order = new ArrayList<>();
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, new Random(3));
+        for (int barCount : new int[] { 1, 3, 20 }) {
+            assertMatchesBruteForce(order, barCount);
+        }
+        Collections.reverse(order);
+        assertMatchesBruteForce(order, 20);
+    }
+
+    @Test
+    public void stridedAccessMatchesRescan() {
+        for (int stride : new int[] { 2, 7, 20 }) {
+            List<Integer> order = new ArrayList<>();
+            for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i += stride) {
+                order.add(i);
+            }
+            assertMatchesBruteForce(order, 20);
+        }
+    }
+
+    @Test
+    public void allNaNWindowIsNaN() {
+        var highest = new HighestValueIndicator(values, 3);
+        assertTrue(highest.getValue(104).isNaN());
+        assertNumEquals(values.getValue(106), highest.getValue(106));
+        assertTrue(new LowestValueIndicator(values, 1).getValue(17).isNaN());
+    }
+
+    @Test
+    public void followsLastBarMutations() {
+        var live = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(5, 3, 4).build();
+        var highest = new HighestValueIndicator(new ClosePriceIndicator(live), 2);
+        var lowest = new LowestValueIndicator(new ClosePriceIndicator(live), 2);
+        assertNumEquals(4, highest.getValue(2));
+        assertNumEquals(3, lowest.getValue(2));
+
+        live.addPrice(numFactory.numOf(1));
+        assertNumEquals(3, highest.getValue(2));
+        assertNumEquals(1, lowest.getValue(2));
+
+        live.addPrice(numFactory.numOf(9));
+        assertNumEquals(9, highest.getValue(2));
+        assertNumEquals(3, lowest.getValue(2));
+    }
+
+    @Test
+    public void matchesRescanWithMaximumBarCount() {
+        var bounded = new MockBarSeriesBuilder().withNumFactory(numFactory).build();
+        bounded.setMaximumBarCount(30);
+        var close = new ClosePriceIndicator(bounded);
+        var highest = new HighestValueIndicator(close, 10);
+        var random = new Random(11);
+        for (int i = 0; i < 200; i++) {
+            bounded.barBuilder().closePrice(random.nextInt(100)).add();
+            int endIndex = bounded.getEndIndex();
+            Num expected = close.getValue(endIndex);
+            for (int j = endIndex - 1; j >= Math.max(0, endIndex - 9); j--) {
+                if (close.getValue(j).isGreaterThan(expected)) {
+                    expected = close.getValue(j);
+                }
+            }
+            assertEquals(expected, highest.getValue(endIndex));
+        }
+    }
+}
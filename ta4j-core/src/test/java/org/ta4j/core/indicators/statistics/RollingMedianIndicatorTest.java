@@ -0,0 +1,60 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.indicators.statistics;
+
+import static org.junit.Assert.assertThrows;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+public class RollingMedianIndicatorTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    public RollingMedianIndicatorTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Test
+    public void medianOfOddAndEvenWindows() {
+        BarSeries series = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(5, 1, 4, 4, 9, 2, 7, 3)
+                .build();
+        var median = new RollingMedianIndicator(new ClosePriceIndicator(series), 4);
+
+        assertNumEquals(5, median.getValue(0));
+        assertNumEquals(3, median.getValue(1)); // 1, 5
+        assertNumEquals(4, median.getValue(2)); // 1, 4, 5
+        assertNumEquals(4, median.getValue(3)); // 1, 4, 4, 5
+        assertNumEquals(4, median.getValue(4)); // 1, 4, 4, 9
+        assertNumEquals(4, median.getValue(5)); // 2, 4, 4, 9
+        assertNumEquals(5.5, median.getValue(6)); // 2, 4, 7, 9
+        assertNumEquals(5, median.getValue(7)); // 2, 3, 7, 9
+    }
+
+    @Test
+    public void matchesMidQuantile() {
+        BarSeries series = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(3, 8, 1, 9, 4, 4, 6, 2, 7, 5, 0, 8)
+                .build();
+        var close = new ClosePriceIndicator(series);
+        var median = new RollingMedianIndicator(close, 5);
+        var quantile = new RollingQuantileIndicator(close, 5, 0.5);
+        for (int i = series.getEndIndex(); i >= 0; i--) {
+            assertNumEquals(quantile.getValue(i), median.getValue(i));
+        }
+    }
+
+    @Test
+    public void rejectsInvalidBarCount() {
+        BarSeries series = new MockBarSeriesBuilder().withNumFactory(numFactory).withDefaultData().build();
+        assertThrows(IllegalArgumentException.class,
+                () -> new RollingMedianIndicator(new ClosePriceIndicator(series), 0));
+    }
+}
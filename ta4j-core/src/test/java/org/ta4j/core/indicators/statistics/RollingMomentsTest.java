@@ -0,0 +1,166 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.indicators.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.VolumeIndicator;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+public class RollingMomentsTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    private BarSeries series;
+    private Indicator<Num> close;
+    private Indicator<Num> volume;
+
+    public RollingMomentsTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        var random = new Random(5);
+        var builder = new MockBarSeriesBuilder().withNumFactory(numFactory).build();
+        double price = 1_000_000;
+        for (int i = 0; i < 3000; i++) {
+            // large offset with small moves stresses cancellation
+            price += random.nextGaussian() * 0.5;
+            builder.barBuilder()
+                    .openPrice(price)
+                    .highPrice(price)
+                    .lowPrice(price)
+                    .closePrice(price)
+                    .volume(random.nextInt(1000))
+                    .add();
+        }
+        series = builder;
+        close = new ClosePriceIndicator(series);
+        volume = new VolumeIndicator(series);
+    }
+
+    /** Two-pass reference co-moment over the window ending at {@code index}. */
+    private static double coMoment(Indicator<Num> first, Indicator<Num> second, int index, int barCount) {
+        int start = Math.max(0, index - barCount + 1);
+        int n = index - start + 1;
+        double meanFirst = 0;
+        double meanSecond = 0;
+        for (int i = start; i <= index; i++) {
+            meanFirst += first.getValue(i).doubleValue();
+            meanSecond += second.getValue(i).doubleValue();
+        }
+        meanFirst /= n;
+        meanSecond /= n;
+        double result = 0;
+        for (int i = start; i <= index; i++) {
+            result += (first.getValue(i).doubleValue() - meanFirst) * (second.getValue(i).doubleValue() - meanSecond);
+        }
+        return result;
+    }
+
+    private void assertMatchesReference(List<Integer> order, int barCount) {
+        var variance = new VarianceIndicator(close, barCount, SampleType.POPULATION);
+        var sampleVariance = new VarianceIndicator(close, barCount);
+        var covariance = new CovarianceIndicator(close, volume, barCount);
+        for (int index : order) {
+            int n = Math.min(barCount, index + 1);
+            double expected = coMoment(close, close, index, barCount);
+            assertEquals(expected / n, variance.getValue(index).doubleValue(), 1e-6);
+            assertEquals(n > 1 ? expected / (n - 1) : 0, sampleVariance.getValue(index).doubleValue(), 1e-6);
+            assertEquals(coMoment(close, volume, index, barCount) / n, covariance.getValue(index).doubleValue(), 1e-4);
+        }
+    }
+
+    @Test
+    public void sequentialAccessMatchesTwoPassComputation() {
+        List<Integer> order = new ArrayList<>();
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            order.add(i);
+        }
+        for (int barCount : new int[] { 1, 2, 20, 200 }) {
+            assertMatchesReference(order, barCount);
+        }
+    }
+
+    @Test
+    public void randomAccessMatchesTwoPassComputation() {
+        List<Integer> order = new ArrayList<>();
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i += 3) {
+            order.add(i);
+        }
+        Collections.shuffle(order, new Random(9));
+        assertMatchesReference(order, 20);
+        Collections.sort(order);
+        assertMatchesReference(order, 5);
+    }
+
+    @Test
+    public void constantWindowHasZeroVariance() {
+        var constant = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(1.1, 7.3, 2.9, 3.3, 3.3, 3.3, 3.3, 3.3, 3.3)
+                .build();
+        var variance = new VarianceIndicator(new ClosePriceIndicator(constant), 5);
+        for (int i = 0; i <= constant.getEndIndex(); i++) {
+            variance.getValue(i);
+        }
+        assertNumEquals(0, variance.getValue(8));
+        assertNumEquals(0, new StandardDeviationIndicator(new ClosePriceIndicator(constant), 5).getValue(8));
+    }
+
+    @Test
+    public void nanInsideWindowPropagatesAndRecovers() {
+        var withGap = new CachedIndicator<Num>(series) {
+            @Override
+            protected Num calculate(int index) {
+                return index == 50 ? NaN.NaN : close.getValue(index);
+            }
+
+            @Override
+            public int getCountOfUnstableBars() {
+                return 0;
+            }
+        };
+        var variance = new VarianceIndicator(withGap, 10);
+        for (int i = 0; i < 100; i++) {
+            Num value = variance.getValue(i);
+            if (i >= 50 && i < 60) {
+                assertTrue("window containing NaN at " + i, value.isNaN());
+            } else {
+                assertEquals(coMoment(withGap, withGap, i, 10) / Math.max(1, Math.min(10, i + 1) - 1),
+                        value.doubleValue(), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    public void matchesTwoPassComputationWithMaximumBarCount() {
+        var bounded = new MockBarSeriesBuilder().withNumFactory(numFactory).build();
+        bounded.setMaximumBarCount(40);
+        var boundedClose = new ClosePriceIndicator(bounded);
+        var variance = new VarianceIndicator(boundedClose, 10, SampleType.POPULATION);
+        var random = new Random(1);
+        for (int i = 0; i < 300; i++) {
+            bounded.barBuilder().closePrice(100 + random.nextInt(10)).add();
+            int endIndex = bounded.getEndIndex();
+            assertEquals(coMoment(boundedClose, boundedClose, endIndex, 10) / Math.min(10, endIndex + 1),
+                    variance.getValue(endIndex).doubleValue(), 1e-9);
+        }
+    }
+}
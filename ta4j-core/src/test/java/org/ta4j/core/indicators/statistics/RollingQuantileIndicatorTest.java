@@ -0,0 +1,131 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.indicators.statistics;
+
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+public class RollingQuantileIndicatorTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    private BarSeries series;
+    private Indicator<Num> values;
+
+    public RollingQuantileIndicatorTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        var random = new Random(13);
+        double[] data = new double[300];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextInt(30);
+        }
+        series = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(data).build();
+        var close = new ClosePriceIndicator(series);
+        values = new CachedIndicator<>(series) {
+            @Override
+            protected Num calculate(int index) {
+                return index % 11 == 0 || (index > 50 && index < 60) ? NaN.NaN : close.getValue(index);
+            }
+
+            @Override
+            public int getCountOfUnstableBars() {
+                return 0;
+            }
+        };
+    }
+
+    /** Reference implementation: sorts the window. */
+    private double sortedQuantile(int index, int barCount, double quantile) {
+        List<Double> window = new ArrayList<>();
+        for (int i = Math.max(0, index - barCount + 1); i <= index; i++) {
+            Num value = values.getValue(i);
+            if (!value.isNaN()) {
+                window.add(value.doubleValue());
+            }
+        }
+        if (window.isEmpty()) {
+            return Double.NaN;
+        }
+        Collections.sort(window);
+        double position = (window.size() - 1) * quantile;
+        int lower = (int) Math.floor(position);
+        int upper = Math.min(lower + 1, window.size() - 1);
+        return window.get(lower) + (position - lower) * (window.get(upper) - window.get(lower));
+    }
+
+    @Test
+    public void matchesSortedWindow() {
+        for (double quantile : new double[] { 0, 0.1, 0.25, 0.5, 0.9, 1 }) {
+            for (int barCount : new int[] { 1, 4, 25 }) {
+                var indicator = new RollingQuantileIndicator(values, barCount, quantile);
+                for (int i = 0; i <= series.getEndIndex(); i++) {
+                    double expected = sortedQuantile(i, barCount, quantile);
+                    if (Double.isNaN(expected)) {
+                        assertTrue(indicator.getValue(i).isNaN());
+                    } else {
+                        assertNumEquals(expected, indicator.getValue(i));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void randomAccessMatchesSortedWindow() {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, new Random(5));
+        var indicator = new RollingQuantileIndicator(values, 25, 0.75);
+        for (int index : order) {
+            double expected = sortedQuantile(index, 25, 0.75);
+            if (!Double.isNaN(expected)) {
+                assertNumEquals(expected, indicator.getValue(index));
+            }
+        }
+    }
+
+    @Test
+    public void followsLastBarMutations() {
+        var live = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(1, 2, 3).build();
+        var maximum = new RollingQuantileIndicator(new ClosePriceIndicator(live), 3, 1);
+        assertNumEquals(3, maximum.getValue(2));
+        live.addPrice(numFactory.numOf(10));
+        assertNumEquals(10, maximum.getValue(2));
+        live.addPrice(numFactory.numOf(0));
+        assertNumEquals(2, maximum.getValue(2));
+        live.barBuilder().closePrice(1).add();
+        assertNumEquals(2, maximum.getValue(3));
+    }
+
+    @Test
+    public void rejectsInvalidArguments() {
+        var close = new ClosePriceIndicator(series);
+        assertThrows(IllegalArgumentException.class, () -> new RollingQuantileIndicator(close, 0, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new RollingQuantileIndicator(close, 5, -0.1));
+        assertThrows(IllegalArgumentException.class, () -> new RollingQuantileIndicator(close, 5, 1.1));
+        assertThrows(IllegalArgumentException.class, () -> new RollingQuantileIndicator(close, 5, Double.NaN));
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.indicators.wyckoff;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.ColumnarBarSeriesBuilder;
+import org.ta4j.core.bars.TimeBarBuilder;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+public class WyckoffPhaseEngineTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    public WyckoffPhaseEngineTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Test
+    public void shouldEmitPhasesAsBarsArrive() {
+        BarSeries series = new MockBarSeriesBuilder().withNumFactory(numFactory).build();
+        WyckoffPhaseEngine engine = engine(series, 4);
+
+        assertThat(engine.update()).isNull();
+
+        List<WyckoffPhaseEngine.Step> steps = new ArrayList<>();
+        addBar(series, 101, 102, 100, 101, 800);
+        steps.add(engine.update());
+        addBar(series, 103, 104, 101, 103, 900);
+        steps.add(engine.update());
+        addBar(series, 100, 101, 99, 100, 900);
+        steps.add(engine.update());
+        addBar(series, 82, 83, 79, 80, 5000);
+        steps.add(engine.update());
+        addBar(series, 92, 93, 85, 91, 1500);
+        steps.add(engine.update());
+        addBar(series, 84, 85, 80, 82, 500);
+        steps.add(engine.update());
+        addBar(series, 95, 96, 90, 93, 1500);
+        steps.add(engine.update());
+        addBar(series, 108, 111, 105, 110, 2600);
+        steps.add(engine.update());
+
+        for (int i = 0; i < steps.size(); i++) {
+            assertThat(steps.get(i).index()).isEqualTo(i);
+            assertThat(engine.step(i)).isSameAs(steps.get(i));
+        }
+        assertThat(steps.get(2).phase()).isEqualTo(WyckoffPhase.UNKNOWN);
+        assertThat(steps.get(3).phase().cycleType()).isEqualTo(WyckoffCycleType.ACCUMULATION);
+        assertThat(steps.get(3).phase().phaseType()).isEqualTo(WyckoffPhaseType.PHASE_A);
+        assertThat(steps.get(3).events()).contains(WyckoffEvent.SELLING_CLIMAX);
+        assertThat(steps.get(3).isPhaseTransition()).isTrue();
+        assertThat(steps.get(4).phase().phaseType()).isEqualTo(WyckoffPhaseType.PHASE_B);
+        assertThat(steps.get(5).phase().phaseType()).isEqualTo(WyckoffPhaseType.PHASE_C);
+        assertThat(steps.get(7).phase().phaseType()).isEqualTo(WyckoffPhaseType.PHASE_E);
+        assertThat(steps.get(7).isPhaseTransition()).isTrue();
+        assertThat(steps.get(7).structure().brokeAboveRange()).isTrue();
+    }
+
+    @Test
+    public void shouldMatchTheCachedBuildingBlocks() {
+        BarSeries series = new MockBarSeriesBuilder().withNumFactory(numFactory).build();
+        for (int i = 0; i < 120; i++) {
+            double close = 100 + 15 * Math.sin(i / 6.0) - i / 8.0;
+            double volume = i % 17 == 0 ? 6000 : 1000 + 300 * Math.cos(i / 3.0);
+            addBar(series, close + 1, close + 2, close - 2, close, volume);
+        }
+        WyckoffPhaseEngine engine = engine(series, 6);
+        WyckoffStructureTracker tracker = new WyckoffStructureTracker(series, 1, 1, 0, numOf(0.02));
+        WyckoffVolumeProfile volumeProfile = new WyckoffVolumeProfile(series, 1, 6, numOf(1.4), numOf(0.6));
+        WyckoffEventDetector detector = new WyckoffEventDetector(series, numOf(0.05));
+
+        WyckoffPhase previous = WyckoffPhase.UNKNOWN;
+        int transitions = 0;
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            WyckoffPhaseEngine.Step step = engine.step(i);
+            assertThat(step.structure()).isEqualTo(tracker.snapshot(i));
+            if (i >= engine.getCountOfUnstableBars()) {
+                assertThat(step.events())
+                        .isEqualTo(detector.detect(i, tracker.snapshot(i), volumeProfile.snapshot(i), previous));
+            }
+            if (step.isPhaseTransition()) {
+                transitions++;
+            }
+            previous = step.phase();
+        }
+        assertThat(transitions).isPositive();
+        assertThat(engine.step(series.getEndIndex() + 1)).isNull();
+    }
+
+    @Test
+    public void shouldDropTheStepsOfRemovedBars() {
+        BarSeries capped = new MockBarSeriesBuilder().withNumFactory(numFactory).build();
+        capped.setMaximumBarCount(20);
+        BarSeries full = new MockBarSeriesBuilder().withNumFactory(numFactory).build();
+        WyckoffPhaseEngine cappedEngine = engine(capped, 6);
+        WyckoffPhaseEngine fullEngine = engine(full, 6);
+
+        for (int i = 0; i < 120; i++) {
+            double close = 100 + 15 * Math.sin(i / 6.0) - i / 8.0;
+            double volume = i % 17 == 0 ? 6000 : 1000 + 300 * Math.cos(i / 3.0);
+            addBar(capped, close + 1, close + 2, close - 2, close, volume);
+            addBar(full, close + 1, close + 2, close - 2, close, volume);
+
+            WyckoffPhaseEngine.Step step = cappedEngine.update();
+            assertThat(step.index()).isEqualTo(i);
+            assertThat(step.phase()).isEqualTo(fullEngine.update().phase());
+            assertThat(cappedEngine.retainedSteps()).isLessThanOrEqualTo(2 * 20);
+        }
+        assertThat(cappedEngine.step(capped.getBeginIndex() - 1)).isNull();
+        assertThat(cappedEngine.step(capped.getBeginIndex()).phase())
+                .isEqualTo(fullEngine.step(capped.getBeginIndex()).phase());
+    }
+
+    @Test
+    public void shouldReprocessTheLastBarWhenItChanges() {
+        BarSeries series = new MockBarSeriesBuilder().withNumFactory(numFactory).build();
+        WyckoffPhaseEngine engine = engine(series, 4);
+        addBar(series, 101, 102, 100, 101, 800);
+        addBar(series, 103, 104, 101, 103, 900);
+        addBar(series, 100, 101, 99, 100, 900);
+        WyckoffPhaseEngine.Step third = engine.update();
+        addBar(series, 100, 101, 99, 100, 900);
+        WyckoffPhaseEngine.Step quiet = engine.update();
+        assertThat(quiet.events()).doesNotContain(WyckoffEvent.SELLING_CLIMAX);
+
+        // the last bar turns into a selling climax
+        series.addTrade(4100, 80);
+        WyckoffPhaseEngine.Step climax = engine.update();
+
+        assertThat(climax.index()).isEqualTo(quiet.index());
+        assertThat(climax.events()).contains(WyckoffEvent.SELLING_CLIMAX);
+        assertThat(climax.lowestLow()).isEqualByComparingTo(numOf(80));
+        assertThat(engine.step(2)).isSameAs(third);
+        assertThat(engine.update()).isSameAs(climax);
+
+        WyckoffPhaseEngine fresh = engine(series, 4);
+        assertThat(climax).isEqualTo(fresh.step(series.getEndIndex()));
+
+        series.addPrice(81);
+        assertThat(engine.update()).isEqualTo(engine(series, 4).step(series.getEndIndex())).isNotSameAs(climax);
+    }
+
+    @Test
+    public void shouldKeepEarlierStepsWhenTheChangedLastBarIsReadLater() {
+        BarSeries capped = new MockBarSeriesBuilder().withNumFactory(numFactory).build();
+        capped.setMaximumBarCount(60);
+        BarSeries full = new MockBarSeriesBuilder().withNumFactory(numFactory).build();
+        WyckoffPhaseEngine cappedEngine = engine(capped, 6);
+        WyckoffPhaseEngine fullEngine = engine(full, 6);
+        for (int i = 0; i < 100; i++) {
+            double close = 100 + 10 * Math.sin(i / 5.0) - i / 10.0;
+            addBar(capped, close + 1, close + 2, close - 2, close, 1000 + 200 * Math.cos(i / 3.0));
+            addBar(full, close + 1, close + 2, close - 2, close, 1000 + 200 * Math.cos(i / 3.0));
+            cappedEngine.update();
+            fullEngine.update();
+        }
+        int retained = cappedEngine.retainedSteps();
+
+        capped.addTrade(500, 95);
+        full.addTrade(500, 95);
+        int earlier = capped.getBeginIndex() + 10;
+        for (int i = 0; i < 10; i++) {
+            assertThat(cappedEngine.step(earlier).index()).isEqualTo(earlier);
+        }
+        assertThat(cappedEngine.retainedSteps()).isEqualTo(retained);
+
+        WyckoffPhaseEngine.Step last = cappedEngine.update();
+        WyckoffPhaseEngine.Step expected = fullEngine.update();
+        assertThat(last.highestHigh()).isEqualByComparingTo(expected.highestHigh());
+        assertThat(last.phase()).isEqualTo(expected.phase());
+    }
+
+    @Test
+    public void shouldNotReprocessUnchangedBarsOfAColumnarSeries() {
+        List<Bar> bars = new ArrayList<>();
+        for (int i = 0; i < 41; i++) {
+            double close = 100 + 10 * Math.sin(i / 5.0);
+            bars.add(bar(i, close + 1, close + 2, close - 2, close, 1000 + 200 * Math.cos(i / 3.0)));
+        }
+        BarSeries series = new ColumnarBarSeriesBuilder().withNumFactory(numFactory)
+                .withBars(bars.subList(0, 40))
+                .build();
+        WyckoffPhaseEngine engine = engine(series, 6);
+
+        // Reading the history in order, as getValue does, processes each bar once
+        List<WyckoffPhaseEngine.Step> steps = new ArrayList<>();
+        int reprocessed = 0;
+        for (int i = 0; i < 39; i++) {
+            steps.add(engine.step(i));
+            for (int j = 0; j < i; j++) {
+                if (engine.step(j) != steps.get(j)) {
+                    reprocessed++;
+                }
+            }
+        }
+        assertThat(reprocessed).isZero();
+
+        // A new live bar leaves the step of the previous bar alone
+        WyckoffPhaseEngine.Step previous = engine.update();
+        series.addBar(bars.get(40));
+        engine.update();
+        assertThat(engine.step(39)).isSameAs(previous);
+    }
+
+    private Bar bar(int i, double open, double high, double low, double close, double volume) {
+        return new TimeBarBuilder(numFactory).timePeriod(Duration.ofDays(1))
+                .endTime(Instant.parse("2024-01-01T00:00:00Z").plus(Duration.ofDays(i)))
+                .openPrice(open)
+                .highPrice(high)
+                .lowPrice(low)
+                .closePrice(close)
+                .volume(volume)
+                .build();
+    }
+
+    private WyckoffPhaseEngine engine(BarSeries series, int volumeLongWindow) {
+        return new WyckoffPhaseEngine(series, 1, 1, 0, 1, volumeLongWindow, numOf(0.02), numOf(0.05), numOf(1.4),
+                numOf(0.6));
+    }
+
+    private void addBar(BarSeries series, double open, double high, double low, double close, double volume) {
+        series.barBuilder().openPrice(open).highPrice(high).lowPrice(low).closePrice(close).volume(volume).add();
+    }
+}
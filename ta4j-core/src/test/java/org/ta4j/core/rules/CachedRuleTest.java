@@ -0,0 +1,107 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.rules;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Rule;
+import org.ta4j.core.indicators.AbstractIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.DecimalNumFactory;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.rules.helper.ChainLink;
+
+public class CachedRuleTest {
+
+    private BarSeries series;
+    private CountingIndicator aboveHundred;
+
+    /** Close price above 100, counting its evaluations. */
+    private static final class CountingIndicator extends AbstractIndicator<Boolean> {
+
+        private int evaluations;
+
+        private CountingIndicator(BarSeries series) {
+            super(series);
+        }
+
+        @Override
+        public Boolean getValue(int index) {
+            evaluations++;
+            return getBarSeries().getBar(index).getClosePrice().doubleValue() > 100;
+        }
+
+        @Override
+        public int getCountOfUnstableBars() {
+            return 0;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        NumFactory numFactory = DecimalNumFactory.getInstance();
+        series = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(99, 101, 102, 98, 103).build();
+        aboveHundred = new CountingIndicator(series);
+    }
+
+    @Test
+    public void evaluatesEachIndexOnce() {
+        var rule = new CachedRule(series, new BooleanIndicatorRule(aboveHundred));
+        for (int pass = 0; pass < 3; pass++) {
+            assertFalse(rule.isSatisfied(0));
+            assertTrue(rule.isSatisfied(1));
+            assertTrue(rule.isSatisfied(2));
+            assertFalse(rule.isSatisfied(3));
+        }
+        assertEquals(4, aboveHundred.evaluations);
+    }
+
+    @Test
+    public void recomputesLastBarWhenItChanges() {
+        var rule = new CachedRule(series, new BooleanIndicatorRule(aboveHundred));
+        assertTrue(rule.isSatisfied(4));
+        assertTrue(rule.isSatisfied(4));
+        assertEquals(1, aboveHundred.evaluations);
+
+        series.addPrice(97);
+        assertFalse(rule.isSatisfied(4));
+        assertEquals(2, aboveHundred.evaluations);
+
+        // Once another bar is added, the former last bar is cached for good
+        series.barBuilder().openPrice(97).highPrice(106).lowPrice(96).closePrice(105).volume(1).add();
+        assertFalse(rule.isSatisfied(4));
+        assertFalse(rule.isSatisfied(4));
+        assertTrue(rule.isSatisfied(5));
+        assertEquals(4, aboveHundred.evaluations);
+    }
+
+    @Test
+    public void cachesOnlyRecordIndependentRules() {
+        Indicator<Boolean> indicator = aboveHundred;
+        Rule over = new OverIndicatorRule(new ClosePriceIndicator(series), 100);
+        assertTrue(CachedRule.isCacheable(new BooleanIndicatorRule(indicator)));
+        assertTrue(CachedRule.isCacheable(over.and(new FixedRule(1)).or(over.negation()).xor(over)));
+        assertTrue(CachedRule.isCacheable(new AndWithThresholdRule(over, new FixedRule(2), 3)));
+        assertTrue(CachedRule.isCacheable(new ChainRule(over, new ChainLink(new FixedRule(2), 2))));
+        assertTrue(CachedRule.isCacheable(new VoteRule(1, over, new FixedRule(2))));
+        assertTrue(CachedRule.isCacheable(new CachedRule(series, over)));
+
+        var stopLoss = new StopLossRule(new ClosePriceIndicator(series), 2);
+        assertFalse(CachedRule.isCacheable(stopLoss));
+        assertFalse(CachedRule.isCacheable(over.and(stopLoss)));
+        assertFalse(CachedRule.isCacheable(new VoteRule(1, over, stopLoss)));
+        assertFalse(CachedRule.isCacheable(new JustOnceRule(over)));
+        assertFalse(CachedRule.isCacheable(new FixedRule(1) {
+        }));
+        assertThrows(IllegalArgumentException.class, () -> new CachedRule(series, stopLoss));
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * SPDX-License-Identifier: MIT
+ */
+package org.ta4j.core.rules;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.backtest.BarSeriesManager;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.averages.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.rules.helper.ChainLink;
+
+public class RuleResultCacheTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    private BarSeries series;
+    private ClosePriceIndicator closePrice;
+
+    public RuleResultCacheTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        double[] data = new double[200];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + 10 * Math.sin(i / 6.0) + 3 * Math.cos(i / 1.3);
+        }
+        series = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(data).build();
+        closePrice = new ClosePriceIndicator(series);
+    }
+
+    private Rule crossUp(int fast, int slow) {
+        return new CrossedUpIndicatorRule(new SMAIndicator(closePrice, fast), new SMAIndicator(closePrice, slow));
+    }
+
+    @Test
+    public void memoizedRuleMatchesOriginal() {
+        Rule trend = new OverIndicatorRule(closePrice, new SMAIndicator(closePrice, 20));
+        Rule tree = crossUp(3, 9).and(trend)
+                .and(new IsRisingRule(closePrice, 2).or(new IsFallingRule(closePrice, 3)))
+                .or(new AndWithThresholdRule(crossUp(2, 5), trend, 4).xor(new FixedRule(17, 60)))
+                .or(new ChainRule(trend, new ChainLink(crossUp(4, 12), 5)).and(new VoteRule(2, trend,
+                        new UnderIndicatorRule(closePrice, 105), new IsHighestRule(closePrice, 10))))
+                .and(new FixedRule(3).negation());
+        Rule memoized = new RuleResultCache(series).memoize(tree);
+        assertTrue(memoized instanceof CachedRule);
+
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+                assertEquals("index " + i, tree.isSatisfied(i), memoized.isSatisfied(i));
+            }
+        }
+    }
+
+    @Test
+    public void sharesSubRulesAcrossTrees() {
+        var cache = new RuleResultCache(series);
+        Rule shared = crossUp(3, 9);
+        Rule first = cache.memoize(shared.and(new IsRisingRule(closePrice, 2)));
+        Rule second = cache.memoize(shared.or(new IsFallingRule(closePrice, 2)));
+        assertNotSame(first, second);
+        // shared, IsRising, AND, IsFalling, OR
+        assertEquals(5, cache.size());
+        assertSame(cache.memoize(shared), cache.memoize(shared));
+        assertEquals(5, cache.size());
+        assertSame(first, cache.memoize(first));
+    }
+
+    @Test
+    public void keepsStatefulRulesInOrder() {
+        var cache = new RuleResultCache(series);
+        Rule stop = new StopLossRule(closePrice, 2);
+        Rule exit = crossUp(3, 9).negation().or(stop);
+        Rule memoized = cache.memoize(exit);
+        OrRule or = (OrRule) memoized;
+        assertTrue(or.getRule1() instanceof CachedRule);
+        assertSame(stop, or.getRule2());
+
+        Rule justOnce = new JustOnceRule(crossUp(2, 5));
+        assertSame(justOnce, cache.memoize(justOnce));
+    }
+
+    @Test
+    public void reordersOperandsBySelectivity() {
+        double[] data = new double[3 * AdaptiveJunctionRule.REORDER_PERIOD];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + i % 7;
+        }
+        BarSeries longSeries = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(data).build();
+        var close = new ClosePriceIndicator(longSeries);
+        Rule alwaysTrue = new OverIndicatorRule(close, 50);
+        Rule rarelyTrue = new OverIndicatorRule(close, 105);
+        var junction = (AdaptiveJunctionRule) ((CachedRule) new RuleResultCache(longSeries)
+                .memoize(alwaysTrue.and(rarelyTrue))).getRule();
+        assertSame(alwaysTrue, ((CachedRule) junction.getOperands().get(0)).getRule());
+
+        for (int i = 0; i <= longSeries.getEndIndex(); i++) {
+            assertEquals(i % 7 == 6, junction.isSatisfied(i));
+        }
+        // The always-true operand never decides an AND: it is evaluated last
+        assertSame(rarelyTrue, ((CachedRule) junction.getOperands().get(0)).getRule());
+    }
+
+    @Test
+    public void memoizedStrategiesTradeAsOriginals() {
+        var cache = new RuleResultCache(series);
+        var manager = new BarSeriesManager(series);
+        for (int fast = 2; fast <= 4; fast++) {
+            for (int slow = 8; slow <= 12; slow += 2) {
+                Rule trend = new OverIndicatorRule(closePrice, new SMAIndicator(closePrice, slow));
+                Rule exit = new CrossedDownIndicatorRule(new SMAIndicator(closePrice, fast),
+                        new SMAIndicator(closePrice, slow));
+                Strategy strategy = new BaseStrategy("s-" + fast + "-" + slow, crossUp(fast, slow).and(trend),
+                        exit.or(new StopLossRule(closePrice, 3)), 5);
+                Strategy memoized = cache.memoize(strategy);
+                assertEquals(strategy.getName(), memoized.getName());
+                assertEquals(strategy.getUnstableBars(), memoized.getUnstableBars());
+
+                TradingRecord expected = manager.run(strategy);
+                TradingRecord actual = manager.run(memoized);
+                assertEquals(expected.getTrades().size(), actual.getTrades().size());
+                for (int i = 0; i < expected.getTrades().size(); i++) {
+                    assertEquals(expected.getTrades().get(i).getIndex(), actual.getTrades().get(i).getIndex());
+                }
+            }
+        }
+        Strategy custom = new BaseStrategy(new FixedRule(1), new FixedRule(2)) {
+        };
+        assertSame(custom, cache.memoize(custom));
+    }
+}
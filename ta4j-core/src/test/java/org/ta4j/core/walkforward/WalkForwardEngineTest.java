@@ -6,7 +6,13 @@ package org.ta4j.core.walkforward;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 import org.ta4j.core.BarSeries;
@@ -65,6 +71,81 @@ class WalkForwardEngineTest {
         assertThat(second.foldMetricsByHorizon()).isEqualTo(first.foldMetricsByHorizon());
     }
 
+    @Test
+    void parallelFoldsMatchSequentialRun() throws InterruptedException {
+        BarSeries series = new MockBarSeriesBuilder().withData(prices(260)).build();
+        NumFactory numFactory = series.numFactory();
+        WalkForwardConfig config = new WalkForwardConfig(80, 30, 30, 2, 2, 20, 5, List.of(3), 2, List.of(1), 7L);
+
+        List<WalkForwardRunResult.LeakageAudit> auditRecords = Collections.synchronizedList(new ArrayList<>());
+        PredictionProvider<String, String> provider = (fullSeries, decisionIndex, context) -> List.of(
+                new RankedPrediction<>(context + "-bull", 1, numFactory.numOf(0.7), numFactory.numOf(0.8), "bull"),
+                new RankedPrediction<>(context + "-bear", 2, numFactory.numOf(0.3), numFactory.numOf(0.4), "bear"));
+        OutcomeLabeler<String, Boolean> labeler = (fullSeries, decisionIndex, horizonBars, prediction) -> fullSeries
+                .getBar(decisionIndex + horizonBars)
+                .getClosePrice()
+                .isGreaterThan(fullSeries.getBar(decisionIndex).getClosePrice());
+        List<WalkForwardMetric<String, Boolean>> metrics = List.of(
+                WalkForwardMetric.agreement("eventAgreement", 1, (prediction, outcome) -> outcome),
+                WalkForwardMetric.topKHitRate("top2Hit", 2, (prediction, outcome) -> outcome));
+        AtomicInteger progress = new AtomicInteger();
+        WalkForwardEngine<String, String, Boolean> engine = new WalkForwardEngine<>(
+                new AnchoredExpandingWalkForwardSplitter(), provider, labeler, metrics,
+                ignored -> progress.incrementAndGet(), auditRecords::add);
+
+        WalkForwardRunResult<String, Boolean> sequential = engine.run(series, "ctx", config, "c", Map.of());
+        List<WalkForwardRunResult.LeakageAudit> sequentialAudit = List.copyOf(auditRecords);
+        auditRecords.clear();
+        progress.set(0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            WalkForwardRunResult<String, Boolean> parallel = engine.run(series, "ctx", config, "c", Map.of(), executor);
+
+            assertThat(parallel.splits()).hasSizeGreaterThan(2);
+            assertThat(parallel.snapshots()).isEqualTo(sequential.snapshots());
+            assertThat(parallel.observationsByHorizon()).isEqualTo(sequential.observationsByHorizon());
+            assertThat(parallel.globalMetricsByHorizon()).isEqualTo(sequential.globalMetricsByHorizon());
+            assertThat(parallel.foldMetricsByHorizon()).isEqualTo(sequential.foldMetricsByHorizon());
+            assertThat(parallel.leakageAudit()).isEqualTo(sequential.leakageAudit());
+            assertThat(auditRecords).isEqualTo(sequentialAudit);
+            assertThat(progress.get()).isEqualTo(sequential.snapshots().size());
+            assertThat(parallel.runtimeReport().foldRuntimes()).extracting(WalkForwardRuntimeReport.FoldRuntime::foldId)
+                    .containsExactlyElementsOf(sequential.splits().stream().map(WalkForwardSplit::foldId).toList());
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void sequentialRunAuditsEachLabelWindowBeforeLabelingIt() {
+        BarSeries series = new MockBarSeriesBuilder().withData(prices(120)).build();
+        WalkForwardConfig config = new WalkForwardConfig(60, 20, 20, 0, 0, 0, 5, List.of(), 1, List.of(), 1L);
+
+        List<String> calls = new ArrayList<>();
+        WalkForwardEngine<String, String, Boolean> engine = new WalkForwardEngine<>(
+                new AnchoredExpandingWalkForwardSplitter(),
+                (fullSeries, decisionIndex,
+                        context) -> List.of(new RankedPrediction<>("p", 1, fullSeries.numFactory().numOf(0.5),
+                                fullSeries.numFactory().numOf(0.5), "p")),
+                (fullSeries, decisionIndex, horizonBars, prediction) -> {
+                    calls.add("label " + decisionIndex);
+                    return true;
+                }, List.of(WalkForwardMetric.agreement("agreement", 1, (prediction, outcome) -> outcome)), ignored -> {
+                    // no-op
+                }, audit -> calls.add("audit " + audit.decisionIndex()));
+
+        engine.run(series, "ctx", config);
+
+        assertThat(calls).isNotEmpty();
+        for (int i = 0; i < calls.size(); i++) {
+            if (calls.get(i).startsWith("label ")) {
+                assertThat(calls.get(i - 1)).isEqualTo("audit " + calls.get(i).substring("label ".length()));
+            }
+        }
+    }
+
     @Test
     void engineExposesFoldBoundedLabelWindowSkips() {
         BarSeries series = new MockBarSeriesBuilder().withData(prices(120)).build();
@@ -5,8 +5,12 @@ package org.ta4j.core.walkforward;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 import org.ta4j.core.BarSeries;
@@ -89,6 +93,53 @@ class WalkForwardTunerTest {
         assertThat(leaderboard.entries().get(0).calibrationSelection().selected()).isEqualTo("platt");
     }
 
+    @Test
+    void parallelTuningMatchesSequentialLeaderboard() throws InterruptedException {
+        BarSeries series = new MockBarSeriesBuilder().withData(prices(300)).build();
+        NumFactory numFactory = series.numFactory();
+        WalkForwardConfig config = new WalkForwardConfig(100, 40, 40, 0, 0, 0, 4, List.of(), 1, List.of(), 42L);
+
+        PredictionProvider<Double, Double> provider = (fullSeries, decisionIndex, context) -> List
+                .of(new RankedPrediction<>("top", 1, numFactory.numOf(context), numFactory.numOf(context), context));
+        OutcomeLabeler<Double, Boolean> labeler = (fullSeries, decisionIndex, horizonBars, prediction) -> true;
+        List<WalkForwardMetric<Double, Boolean>> metrics = List.of(
+                WalkForwardMetric.brierScore("brier", 1, outcome -> outcome ? numFactory.one() : numFactory.zero()));
+        WalkForwardEngine<Double, Double, Boolean> engine = new WalkForwardEngine<>(
+                new AnchoredExpandingWalkForwardSplitter(), provider, labeler, metrics);
+        WalkForwardObjective objective = WalkForwardObjective.weighted(Map.of("brier", numFactory.minusOne()), Map.of(),
+                Map.of(), numFactory.zero());
+        WalkForwardTuner<Double, Double, Boolean> tuner = new WalkForwardTuner<>(engine, objective, 5, 4);
+
+        // Pairs of candidates with equal scores, ranked in input order
+        List<WalkForwardCandidate<Double>> candidates = new ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            candidates.add(new WalkForwardCandidate<>("c-" + i, 0.3 + (i / 2) * 0.1));
+        }
+
+        WalkForwardLeaderboard<Double> sequential = tuner.tune(series, candidates, config);
+        // Two threads for candidates and their folds: nested tasks must not deadlock
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            WalkForwardLeaderboard<Double> parallel = tuner.tune(series, candidates, config, executor);
+
+            assertThat(ids(sequential)).containsExactly("c-12", "c-13", "c-10", "c-11", "c-8");
+            assertThat(ids(parallel)).isEqualTo(ids(sequential));
+            assertThat(parallel.evaluatedCount()).isEqualTo(14);
+            for (int i = 0; i < parallel.entries().size(); i++) {
+                WalkForwardLeaderboard.Entry<Double> entry = parallel.entries().get(i);
+                assertThat(entry.globalMetrics()).isEqualTo(sequential.entries().get(i).globalMetrics());
+                assertThat(entry.runResult().runtimeReport().foldRuntimes()).hasSameSizeAs(entry.runResult().splits());
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static List<String> ids(WalkForwardLeaderboard<Double> leaderboard) {
+        return leaderboard.entries().stream().map(entry -> entry.candidate().id()).toList();
+    }
+
     @Test
     void holdoutValidatorProducesSignOffReport() {
         BarSeries series = new MockBarSeriesBuilder().withData(prices(320)).build();